@@ -411,6 +411,11 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
         }
     }
 
+    @Override
+    public int getMaxDiscoveryConnections() {
+        return Math.min(super.getMaxDiscoveryConnections(), Math.max(1, maxConnections));
+    }
+
     @Override
     protected BlueGigaBluetoothDevice createDevice(BluetoothAddress address) {
         return new BlueGigaBluetoothDevice(this, address, BluetoothAddressType.UNKNOWN);
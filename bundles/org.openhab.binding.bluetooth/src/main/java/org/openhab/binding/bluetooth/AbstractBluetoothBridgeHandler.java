@@ -13,12 +13,15 @@
 package org.openhab.binding.bluetooth;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,8 +30,10 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +49,15 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice> extends BaseBridgeHandler
         implements BluetoothAdapter {
 
+    public static final String PROPERTY_ADVERTISEMENTS_PER_SECOND = "advertisementsPerSecond";
+    public static final String PROPERTY_DROPPED_ADVERTISEMENTS = "droppedAdvertisements";
+
+    /**
+     * Time after which an identical scan record is delivered again, so that devices with a static advertisement still
+     * report their presence
+     */
+    private static final long DUPLICATE_SCAN_RECORD_MAX_AGE = TimeUnit.SECONDS.toNanos(10);
+
     private final Logger logger = LoggerFactory.getLogger(AbstractBluetoothBridgeHandler.class);
 
     // Set of discovery listeners
@@ -53,6 +67,24 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
     // This contains the devices from the most recent scan
     private final Map<BluetoothAddress, BD> devices = new ConcurrentHashMap<>();
 
+    // Addresses of the devices that have a handler on this bridge, by the UID of the handled thing
+    private final Map<ThingUID, BluetoothAddress> handledAddresses = new ConcurrentHashMap<>();
+
+    // The UID of the handled thing, by the address of its device
+    private final Map<BluetoothAddress, ThingUID> handledThings = new ConcurrentHashMap<>();
+
+    // The last delivered scan record of each device, to drop duplicate and too frequent advertisements
+    private final Map<BluetoothAddress, ScanRecordState> scanRecordStates = new ConcurrentHashMap<>();
+
+    // Advertisement statistics
+    private final AtomicLong receivedAdvertisements = new AtomicLong();
+    private final AtomicLong droppedAdvertisements = new AtomicLong();
+    private long statisticsTime = System.nanoTime();
+    private long statisticsReceivedAdvertisements = 0;
+    private volatile long advertisementsPerSecond = 0;
+    private long publishedAdvertisementsPerSecond = -1;
+    private long publishedDroppedAdvertisements = -1;
+
     // Actual discovery status.
     protected volatile boolean activeScanEnabled = false;
 
@@ -60,6 +92,16 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    /**
+     * The last scan record of a device that has been delivered to the device listeners
+     */
+    private static class ScanRecordState {
+        long time;
+        int rssi;
+        byte @Nullable [] data;
+        byte @Nullable [] manufacturerData;
+    }
+
     /**
      * Constructor
      *
@@ -91,10 +133,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
         }
         this.inactiveRemovalJob = null;
 
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                removeDevice(device);
-            }
+        for (BD device : devices.values()) {
+            removeDevice(device);
         }
     }
 
@@ -104,21 +144,19 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private void removeInactiveDevices() {
         // clean up orphaned entries
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                if (shouldRemove(device)) {
-                    logger.debug("Removing device '{}' due to inactivity", device.getAddress());
-                    removeDevice(device);
-                }
+        for (BD device : devices.values()) {
+            if (shouldRemove(device)) {
+                logger.debug("Removing device '{}' due to inactivity", device.getAddress());
+                removeDevice(device);
             }
         }
+        updateAdvertisementStatistics();
     }
 
     protected void removeDevice(BluetoothDevice device) {
         device.dispose();
-        synchronized (devices) {
-            devices.remove(device.getAddress());
-        }
+        devices.remove(device.getAddress(), device);
+        scanRecordStates.remove(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
@@ -156,9 +194,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
-        synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
-        }
+        devices.values().forEach(this::deviceDiscovered);
     }
 
     @Override
@@ -170,34 +206,150 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     @Override
     public BD getDevice(BluetoothAddress address) {
-        synchronized (devices) {
-            if (devices.containsKey(address)) {
-                return devices.get(address);
-            }
-            BD device = createDevice(address);
-            device.updateLastSeenTime();
-            devices.put(address, device);
+        BD device = devices.get(address);
+        if (device != null) {
             return device;
         }
+        return devices.computeIfAbsent(address, addr -> {
+            BD newDevice = createDevice(addr);
+            newDevice.updateLastSeenTime();
+            return newDevice;
+        });
     }
 
     protected abstract BD createDevice(BluetoothAddress address);
 
     @Override
     public boolean hasHandlerForDevice(BluetoothAddress address) {
-        String addrStr = address.toString();
-        /*
-         * This type of search is inefficient and won't scale as the number of bluetooth Thing children increases on
-         * this bridge. But implementing a more efficient search would require a bit more overhead.
-         * Luckily though, it is reasonable to assume that the number of Thing children will remain small.
-         */
-        for (Thing childThing : getThing().getThings()) {
-            Object childAddr = childThing.getConfiguration().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
-            if (addrStr.equals(childAddr)) {
-                return childThing.getHandler() != null;
+        return handledThings.containsKey(address);
+    }
+
+    @Override
+    public int getMaxDiscoveryConnections() {
+        return Math.max(1, config.maxDiscoveryConnections);
+    }
+
+    @Override
+    public synchronized void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        removeHandledThing(childThing.getUID());
+        BluetoothAddress address = getChildAddress(childThing);
+        if (address != null) {
+            handledAddresses.put(childThing.getUID(), address);
+            handledThings.put(address, childThing.getUID());
+        }
+    }
+
+    @Override
+    public synchronized void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        removeHandledThing(childThing.getUID());
+    }
+
+    private void removeHandledThing(ThingUID thingUID) {
+        BluetoothAddress address = handledAddresses.remove(thingUID);
+        if (address != null && handledThings.remove(address, thingUID)) {
+            // another thing may still handle the same device
+            for (Map.Entry<ThingUID, BluetoothAddress> entry : handledAddresses.entrySet()) {
+                if (address.equals(entry.getValue())) {
+                    handledThings.put(address, entry.getKey());
+                    break;
+                }
+            }
+        }
+    }
+
+    private @Nullable BluetoothAddress getChildAddress(Thing childThing) {
+        Object childAddr = childThing.getConfiguration().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
+        if (childAddr instanceof String) {
+            try {
+                return new BluetoothAddress((String) childAddr);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Thing '{}' has an invalid address: {}", childThing.getUID(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops scan records that are received within the configured minimum interval after the last delivered scan record
+     * of the device. Scan records identical to the last delivered one are dropped until it is older than the interval
+     * and {@link #DUPLICATE_SCAN_RECORD_MAX_AGE}. Without a minimum interval, and for changed manufacturer data, all
+     * scan records are delivered.
+     */
+    @Override
+    public boolean acceptScanRecord(BluetoothDevice device, BluetoothScanNotification scanNotification) {
+        receivedAdvertisements.incrementAndGet();
+        ScanRecordState state = scanRecordStates.computeIfAbsent(device.getAddress(), addr -> new ScanRecordState());
+        byte[] data = scanNotification.getData();
+        byte[] manufacturerData = scanNotification.getManufacturerData();
+        long now = System.nanoTime();
+        synchronized (state) {
+            boolean manufacturerDataChanged = manufacturerData != null
+                    && !Arrays.equals(manufacturerData, state.manufacturerData);
+            long minInterval = TimeUnit.MILLISECONDS.toNanos(config.minAdvertisementInterval);
+            if (minInterval > 0 && !manufacturerDataChanged && state.time != 0) {
+                long age = now - state.time;
+                boolean duplicate = scanNotification.getRssi() == state.rssi && Arrays.equals(data, state.data)
+                        && Arrays.equals(manufacturerData, state.manufacturerData);
+                if (age < minInterval || (duplicate && age < Math.max(minInterval, DUPLICATE_SCAN_RECORD_MAX_AGE))) {
+                    droppedAdvertisements.incrementAndGet();
+                    return false;
+                }
+            }
+            state.time = now;
+            state.rssi = scanNotification.getRssi();
+            state.data = data;
+            if (manufacturerData != null) {
+                state.manufacturerData = manufacturerData;
             }
         }
-        return false;
+        return true;
+    }
+
+    /**
+     * Returns the rate of received advertisements, measured over the last inactive device cleanup interval.
+     *
+     * @return the received advertisements per second
+     */
+    public long getAdvertisementsPerSecond() {
+        return advertisementsPerSecond;
+    }
+
+    /**
+     * Returns the number of advertisements that have been dropped by {@link #acceptScanRecord}.
+     *
+     * @return the number of dropped advertisements
+     */
+    public long getDroppedAdvertisements() {
+        return droppedAdvertisements.get();
+    }
+
+    void updateAdvertisementStatistics() {
+        long now = System.nanoTime();
+        long received = receivedAdvertisements.get();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(now - statisticsTime));
+        long rate = (received - statisticsReceivedAdvertisements) / seconds;
+        long dropped = droppedAdvertisements.get();
+        statisticsTime = now;
+        statisticsReceivedAdvertisements = received;
+        advertisementsPerSecond = rate;
+
+        logger.debug("Adapter {} received {} advertisements/s, {} of {} advertisements have been dropped", getUID(),
+                rate, dropped, received);
+
+        // the thing properties are persisted, so they are only updated when the statistics changed noticeably
+        if (isMaterialChange(publishedAdvertisementsPerSecond, rate)
+                || isMaterialChange(publishedDroppedAdvertisements, dropped)) {
+            publishedAdvertisementsPerSecond = rate;
+            publishedDroppedAdvertisements = dropped;
+            Map<String, String> properties = new HashMap<>(editProperties());
+            properties.put(PROPERTY_ADVERTISEMENTS_PER_SECOND, Long.toString(rate));
+            properties.put(PROPERTY_DROPPED_ADVERTISEMENTS, Long.toString(dropped));
+            updateProperties(properties);
+        }
+    }
+
+    private static boolean isMaterialChange(long published, long value) {
+        return published < 0 || Math.abs(value - published) > Math.max(1, published / 10);
     }
 
     public void deviceDiscovered(BluetoothDevice device) {
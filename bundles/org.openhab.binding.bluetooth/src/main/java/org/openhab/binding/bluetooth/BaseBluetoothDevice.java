@@ -294,6 +294,10 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
      */
     @Override
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD
+                && !adapter.acceptScanRecord(this, (BluetoothScanNotification) args[0])) {
+            return;
+        }
         for (BluetoothDeviceListener listener : eventListeners) {
             try {
                 switch (event) {
@@ -16,6 +16,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.registry.Identifiable;
 import org.eclipse.smarthome.core.thing.ThingUID;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 
 /**
  * The {@link BluetoothAdapter} class defines the standard adapter API that must be implemented by bridge handlers,
@@ -82,4 +83,25 @@ public interface BluetoothAdapter extends Identifiable<ThingUID> {
      * @return true if this adapter has a {@link BluetoothDevice} with that address
      */
     boolean hasHandlerForDevice(BluetoothAddress address);
+
+    /**
+     * Checks if a received scan record of a device should be delivered to the listeners of the device.
+     * Adapters may drop duplicate or too frequent scan records to reduce the load in dense environments.
+     *
+     * @param device the {@link BluetoothDevice} that sent the scan record
+     * @param scanNotification the received scan record
+     * @return true if the scan record should be delivered
+     */
+    default boolean acceptScanRecord(BluetoothDevice device, BluetoothScanNotification scanNotification) {
+        return true;
+    }
+
+    /**
+     * Returns the maximum number of devices the discovery may connect to at the same time through this adapter.
+     *
+     * @return the maximum number of concurrent discovery connections
+     */
+    default int getMaxDiscoveryConnections() {
+        return 1;
+    }
 }
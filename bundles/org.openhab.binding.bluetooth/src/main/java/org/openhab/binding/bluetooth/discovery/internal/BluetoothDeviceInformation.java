@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.discovery.internal;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link BluetoothDeviceInformation} holds the information that the discovery reads from a connected device.
+ * It is stored by device address so that devices don't need to be connected again after a restart.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothDeviceInformation {
+
+    public @Nullable String name;
+    public @Nullable String model;
+    public @Nullable String serialNumber;
+    public @Nullable String hardwareRevision;
+    public @Nullable String firmwareRevision;
+    public @Nullable String softwareRevision;
+    public long timestamp;
+
+    /**
+     * Creates the information from a snapshot.
+     *
+     * @param snapshot the snapshot of the device
+     * @return the device information or null if nothing has been read from the device
+     */
+    public static @Nullable BluetoothDeviceInformation from(BluetoothDeviceSnapshot snapshot) {
+        BluetoothDeviceInformation information = new BluetoothDeviceInformation();
+        information.model = snapshot.getModel();
+        information.serialNumber = snapshot.getSerialNumber();
+        information.hardwareRevision = snapshot.getHardwareRevision();
+        information.firmwareRevision = snapshot.getFirmwareRevision();
+        information.softwareRevision = snapshot.getSoftwareRevision();
+        if (information.model == null && information.serialNumber == null && information.hardwareRevision == null
+                && information.firmwareRevision == null && information.softwareRevision == null) {
+            // the name alone is advertised, there is nothing worth storing
+            return null;
+        }
+        information.name = snapshot.getName();
+        information.timestamp = System.currentTimeMillis();
+        return information;
+    }
+
+    /**
+     * Sets the fields of the snapshot that are not known yet.
+     *
+     * @param snapshot the snapshot of the device
+     */
+    public void applyTo(BluetoothDeviceSnapshot snapshot) {
+        String name = this.name;
+        String model = this.model;
+        String serialNumber = this.serialNumber;
+        String hardwareRevision = this.hardwareRevision;
+        String firmwareRevision = this.firmwareRevision;
+        String softwareRevision = this.softwareRevision;
+
+        if (snapshot.getName() == null && name != null) {
+            snapshot.setName(name);
+        }
+        if (snapshot.getModel() == null && model != null) {
+            snapshot.setModel(model);
+        }
+        if (snapshot.getSerialNumber() == null && serialNumber != null) {
+            snapshot.setSerialNumberl(serialNumber);
+        }
+        if (snapshot.getHardwareRevision() == null && hardwareRevision != null) {
+            snapshot.setHardwareRevision(hardwareRevision);
+        }
+        if (snapshot.getFirmwareRevision() == null && firmwareRevision != null) {
+            snapshot.setFirmwareRevision(firmwareRevision);
+        }
+        if (snapshot.getSoftwareRevision() == null && softwareRevision != null) {
+            snapshot.setSoftwareRevision(softwareRevision);
+        }
+    }
+
+    /**
+     * Compares the device information, ignoring the timestamp.
+     *
+     * @param other the information to compare with
+     * @return true if all fields read from the device are equal
+     */
+    public boolean sameInformation(BluetoothDeviceInformation other) {
+        return Objects.equals(name, other.name) && Objects.equals(model, other.model)
+                && Objects.equals(serialNumber, other.serialNumber)
+                && Objects.equals(hardwareRevision, other.hardwareRevision)
+                && Objects.equals(firmwareRevision, other.firmwareRevision)
+                && Objects.equals(softwareRevision, other.softwareRevision);
+    }
+}
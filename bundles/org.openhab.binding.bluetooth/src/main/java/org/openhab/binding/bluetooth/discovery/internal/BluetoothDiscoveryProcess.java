@@ -69,6 +69,7 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult>, Blu
     private final BluetoothDeviceSnapshot device;
     private final Collection<BluetoothDiscoveryParticipant> participants;
     private final Set<BluetoothAdapter> adapters;
+    private final List<BluetoothDiscoveryParticipant> connectionParticipants = new ArrayList<>();
 
     private volatile boolean servicesDiscovered = false;
 
@@ -84,41 +85,86 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult>, Blu
         this.adapters = adapters;
     }
 
+    /**
+     * Returns the device snapshot this process creates a {@link DiscoveryResult} for.
+     *
+     * @return the device snapshot
+     */
+    public BluetoothDeviceSnapshot getDevice() {
+        return device;
+    }
+
     @Override
     public DiscoveryResult get() {
+        DiscoveryResult result = createResultWithoutConnection();
+        if (result == null) {
+            result = createResultWithConnection();
+        }
+        return result;
+    }
+
+    /**
+     * Asks the participants that don't require a connection for a result. If the device information is already known
+     * (e.g. from an earlier connection to the device), the connection based participants are asked as well.
+     *
+     * @return a result or null if a connection is required or no participant recognized the device
+     */
+    public @Nullable DiscoveryResult createResultWithoutConnection() {
         // first see if any of the participants that don't require a connection recognize this device
-        List<BluetoothDiscoveryParticipant> connectionParticipants = new ArrayList<>();
+        connectionParticipants.clear();
         for (BluetoothDiscoveryParticipant participant : participants) {
             if (participant.requiresConnection(device)) {
                 connectionParticipants.add(participant);
                 continue;
             }
-            try {
-                DiscoveryResult result = participant.createResult(device);
+            DiscoveryResult result = createResult(participant);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (hasDeviceInformation()) {
+            // the information read over a connection is already known, so the connection might not be necessary
+            for (BluetoothDiscoveryParticipant participant : connectionParticipants) {
+                DiscoveryResult result = createResult(participant);
                 if (result != null) {
                     return result;
                 }
-            } catch (RuntimeException e) {
-                logger.warn("Participant '{}' threw an exception", participant.getClass().getName(), e);
             }
         }
+        return null;
+    }
 
+    /**
+     * Checks if a connection to the device is required to find a result. Must be called after
+     * {@link #createResultWithoutConnection()}.
+     *
+     * @return true if there are connection based participants and no handler uses the device
+     */
+    public boolean requiresConnection() {
+        return !connectionParticipants.isEmpty() && isAddressAvailable(device.getAddress());
+    }
+
+    /**
+     * Connects to the device and asks the connection based participants for a result. Must be called after
+     * {@link #createResultWithoutConnection()}.
+     *
+     * @return the result of a participant or the default result if no participant recognized the device
+     */
+    public DiscoveryResult createResultWithConnection() {
         // Since we couldn't find a result, lets try the connection based participants
         DiscoveryResult result = null;
-        if (!connectionParticipants.isEmpty()) {
+        if (requiresConnection()) {
             BluetoothAddress address = device.getAddress();
-            if (isAddressAvailable(address)) {
-                result = findConnectionResult(connectionParticipants);
-                // make sure to disconnect before letting go of the device
-                if (device.getConnectionState() == ConnectionState.CONNECTED) {
-                    try {
-                        if (!device.disconnect()) {
-                            logger.debug("Failed to disconnect from device {}", address);
-                        }
-                    } catch (RuntimeException ex) {
-                        logger.warn("Error occurred during bluetooth discovery for device {} on adapter {}", address,
-                                device.getAdapter().getAddress(), ex);
+            result = findConnectionResult(connectionParticipants);
+            // make sure to disconnect before letting go of the device
+            if (device.getConnectionState() == ConnectionState.CONNECTED) {
+                try {
+                    if (!device.disconnect()) {
+                        logger.debug("Failed to disconnect from device {}", address);
                     }
+                } catch (RuntimeException ex) {
+                    logger.warn("Error occurred during bluetooth discovery for device {} on adapter {}", address,
+                            device.getAdapter().getAddress(), ex);
                 }
             }
         }
@@ -128,6 +174,29 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult>, Blu
         return result;
     }
 
+    /**
+     * Creates the generic result that is used if no participant recognized the device.
+     *
+     * @return the default result
+     */
+    public DiscoveryResult createDefaultResult() {
+        return createDefaultResult(device);
+    }
+
+    private @Nullable DiscoveryResult createResult(BluetoothDiscoveryParticipant participant) {
+        try {
+            return participant.createResult(device);
+        } catch (RuntimeException e) {
+            logger.warn("Participant '{}' threw an exception", participant.getClass().getName(), e);
+            return null;
+        }
+    }
+
+    private boolean hasDeviceInformation() {
+        return device.getModel() != null || device.getSerialNumber() != null || device.getHardwareRevision() != null
+                || device.getFirmwareRevision() != null || device.getSoftwareRevision() != null;
+    }
+
     private boolean isAddressAvailable(BluetoothAddress address) {
         // if a device with this address has a handler on any of the adapters, we abandon discovery
         return adapters.stream().noneMatch(adapter -> adapter.hasHandlerForDevice(address));
@@ -190,13 +259,9 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult>, Blu
                     logger.debug("Device information fetched from the device: {}", device);
                 }
 
-                try {
-                    DiscoveryResult result = participant.createResult(device);
-                    if (result != null) {
-                        return result;
-                    }
-                } catch (RuntimeException e) {
-                    logger.warn("Participant '{}' threw an exception", participant.getClass().getName(), e);
+                DiscoveryResult result = createResult(participant);
+                if (result != null) {
+                    return result;
                 }
             }
         } catch (InterruptedException e) {
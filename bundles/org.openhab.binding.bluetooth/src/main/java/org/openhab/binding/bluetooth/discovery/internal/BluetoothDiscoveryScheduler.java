@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.discovery.internal;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.discovery.DiscoveryResult;
+import org.openhab.binding.bluetooth.BluetoothAdapter;
+import org.openhab.binding.bluetooth.BluetoothCompanyIdentifiers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BluetoothDiscoveryScheduler} runs {@link BluetoothDiscoveryProcess}es concurrently.
+ * <p>
+ * Processes that can find a result without a connection are run right away. Processes that need to connect to the
+ * device are queued per adapter and at most {@link BluetoothAdapter#getMaxDiscoveryConnections()} of them are run at
+ * the same time. Queued devices with an unknown manufacturer are connected first, followed by devices with a strong
+ * signal, as those are the most likely to be identified by a connection.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothDiscoveryScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(BluetoothDiscoveryScheduler.class);
+
+    private final Executor executor;
+    private final Map<BluetoothAdapter, AdapterQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLong discoveries = new AtomicLong();
+    private final AtomicLong connectionDiscoveries = new AtomicLong();
+    private final AtomicLong connectionTime = new AtomicLong();
+    private long statisticsStart = System.nanoTime();
+    private long lastDiscoveries = 0;
+    private long lastConnectionDiscoveries = 0;
+    private long lastConnectionTime = 0;
+
+    public BluetoothDiscoveryScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules the given discovery process.
+     *
+     * @param process the process to run
+     * @return a future that is completed with the result of the process
+     */
+    public CompletableFuture<DiscoveryResult> submit(BluetoothDiscoveryProcess process) {
+        CompletableFuture<DiscoveryResult> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                DiscoveryResult result = process.createResultWithoutConnection();
+                if (result == null) {
+                    if (process.requiresConnection()) {
+                        BluetoothAdapter adapter = process.getDevice().getAdapter();
+                        AdapterQueue queue = queues.computeIfAbsent(adapter, AdapterQueue::new);
+                        queue.add(new ConnectionTask(queue, process, future));
+                        queue.runPending();
+                        return;
+                    }
+                    result = process.createDefaultResult();
+                }
+                discoveries.incrementAndGet();
+                future.complete(result);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Drops the queued processes of an adapter that has been removed.
+     *
+     * @param adapter the removed adapter
+     */
+    public void removeAdapter(BluetoothAdapter adapter) {
+        AdapterQueue queue = queues.remove(adapter);
+        if (queue != null) {
+            queue.cancelPending();
+        }
+    }
+
+    /**
+     * Returns the number of devices for which a result has been created.
+     *
+     * @return the number of completed discoveries
+     */
+    public long getDiscoveries() {
+        return discoveries.get();
+    }
+
+    /**
+     * Returns the number of devices for which a connection has been required to create a result.
+     *
+     * @return the number of completed connection based discoveries
+     */
+    public long getConnectionDiscoveries() {
+        return connectionDiscoveries.get();
+    }
+
+    /**
+     * Returns the number of processes that wait for a connection slot of their adapter.
+     *
+     * @return the number of queued processes
+     */
+    public int getPendingConnections() {
+        return queues.values().stream().mapToInt(AdapterQueue::size).sum();
+    }
+
+    /**
+     * Logs the discovery throughput since the last call.
+     */
+    public synchronized void logStatistics() {
+        long now = System.nanoTime();
+        long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - statisticsStart));
+        long total = discoveries.get() - lastDiscoveries;
+        long connections = connectionDiscoveries.get() - lastConnectionDiscoveries;
+        long time = TimeUnit.NANOSECONDS.toMillis(connectionTime.get() - lastConnectionTime);
+        statisticsStart = now;
+        lastDiscoveries += total;
+        lastConnectionDiscoveries += connections;
+        lastConnectionTime = connectionTime.get();
+
+        int pending = getPendingConnections();
+        if (total == 0 && pending == 0) {
+            return;
+        }
+        logger.debug(
+                "Bluetooth discovery identified {} devices in {} s ({} devices/min), {} of them by a connection "
+                        + "(average {} ms), {} devices waiting for a connection",
+                total, elapsed / 1000, total * 60000 / elapsed, connections, connections == 0 ? 0 : time / connections,
+                pending);
+    }
+
+    private class AdapterQueue {
+        private final BluetoothAdapter adapter;
+        private final PriorityQueue<ConnectionTask> pending = new PriorityQueue<>();
+        private int running = 0;
+
+        public AdapterQueue(BluetoothAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        public synchronized void add(ConnectionTask task) {
+            pending.add(task);
+        }
+
+        public synchronized int size() {
+            return pending.size();
+        }
+
+        private synchronized @Nullable ConnectionTask next() {
+            if (running >= adapter.getMaxDiscoveryConnections()) {
+                return null;
+            }
+            ConnectionTask task = pending.poll();
+            if (task != null) {
+                running++;
+            }
+            return task;
+        }
+
+        public synchronized void finished() {
+            running--;
+        }
+
+        public void runPending() {
+            ConnectionTask task;
+            while ((task = next()) != null) {
+                executor.execute(task);
+            }
+        }
+
+        public void cancelPending() {
+            ConnectionTask task;
+            synchronized (this) {
+                while ((task = pending.poll()) != null) {
+                    // the adapter is gone, so there is no connection but a result is still expected
+                    task.future.complete(task.process.createDefaultResult());
+                }
+            }
+        }
+    }
+
+    private class ConnectionTask implements Runnable, Comparable<ConnectionTask> {
+        private final AdapterQueue queue;
+        private final BluetoothDiscoveryProcess process;
+        private final CompletableFuture<DiscoveryResult> future;
+        private final boolean knownManufacturer;
+        private final int rssi;
+        private final long order = sequence.getAndIncrement();
+
+        public ConnectionTask(AdapterQueue queue, BluetoothDiscoveryProcess process,
+                CompletableFuture<DiscoveryResult> future) {
+            this.queue = queue;
+            this.process = process;
+            this.future = future;
+            BluetoothDeviceSnapshot device = process.getDevice();
+            this.knownManufacturer = BluetoothCompanyIdentifiers.get(device.getManufacturerId()) != null;
+            Integer rssi = device.getRssi();
+            this.rssi = rssi == null ? Integer.MIN_VALUE : rssi;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                DiscoveryResult result = process.createResultWithConnection();
+                connectionTime.addAndGet(System.nanoTime() - start);
+                connectionDiscoveries.incrementAndGet();
+                discoveries.incrementAndGet();
+                future.complete(result);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                queue.finished();
+                queue.runPending();
+            }
+        }
+
+        @Override
+        public int compareTo(ConnectionTask other) {
+            if (knownManufacturer != other.knownManufacturer) {
+                return knownManufacturer ? 1 : -1;
+            }
+            if (rssi != other.rssi) {
+                return Integer.compare(other.rssi, rssi);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
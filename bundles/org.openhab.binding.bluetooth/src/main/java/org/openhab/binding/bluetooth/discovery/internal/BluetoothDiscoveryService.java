@@ -12,19 +12,22 @@
  */
 package org.openhab.binding.bluetooth.discovery.internal;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.discovery.AbstractDiscoveryService;
 import org.eclipse.smarthome.config.discovery.DiscoveryResult;
 import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.storage.Storage;
+import org.eclipse.smarthome.core.storage.StorageService;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.bluetooth.BluetoothAdapter;
@@ -56,6 +59,9 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     private final Logger logger = LoggerFactory.getLogger(BluetoothDiscoveryService.class);
 
     private static final int SEARCH_TIME = 15;
+    private static final String THREADPOOL_NAME = "bluetooth.discovery";
+    private static final String STORAGE_NAME = "org.openhab.binding.bluetooth.discovery";
+    private static final long DEVICE_INFORMATION_EXPIRY = TimeUnit.DAYS.toMillis(7);
 
     private final Set<BluetoothAdapter> adapters = new CopyOnWriteArraySet<>();
     private final Set<BluetoothDiscoveryParticipant> participants = new CopyOnWriteArraySet<>();
@@ -63,6 +69,12 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
     private final Set<ThingTypeUID> supportedThingTypes = new CopyOnWriteArraySet<>();
 
+    private final BluetoothDiscoveryScheduler discoveryScheduler = new BluetoothDiscoveryScheduler(
+            ThreadPoolManager.getPool(THREADPOOL_NAME));
+
+    // device information read over a connection, so that it survives a restart
+    private volatile @Nullable Storage<BluetoothDeviceInformation> deviceInformationStorage;
+
     public BluetoothDiscoveryService() {
         super(SEARCH_TIME);
         supportedThingTypes.add(BluetoothBindingConstants.THING_TYPE_BEACON);
@@ -85,6 +97,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating Bluetooth discovery service");
+        discoveryScheduler.logStatistics();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -96,6 +109,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
     protected void removeBluetoothAdapter(BluetoothAdapter adapter) {
         this.adapters.remove(adapter);
         adapter.removeDiscoveryListener(this);
+        discoveryScheduler.removeAdapter(adapter);
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -109,6 +123,16 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         this.participants.remove(participant);
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setStorageService(StorageService storageService) {
+        this.deviceInformationStorage = storageService.getStorage(STORAGE_NAME,
+                BluetoothDeviceInformation.class.getClassLoader());
+    }
+
+    protected void unsetStorageService(StorageService storageService) {
+        this.deviceInformationStorage = null;
+    }
+
     @Override
     public Set<ThingTypeUID> getSupportedThingTypes() {
         return supportedThingTypes;
@@ -127,6 +151,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             adapter.scanStop();
         }
         removeOlderResults(getTimestampOfLastScan());
+        discoveryScheduler.logStatistics();
     }
 
     @Override
@@ -142,6 +167,38 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         cache.handleDiscovery(device);
     }
 
+    private void applyStoredDeviceInformation(BluetoothDeviceSnapshot snapshot) {
+        Storage<BluetoothDeviceInformation> storage = deviceInformationStorage;
+        if (storage == null) {
+            return;
+        }
+        String key = snapshot.getAddress().toString();
+        BluetoothDeviceInformation information = storage.get(key);
+        if (information == null) {
+            return;
+        }
+        if (information.timestamp + DEVICE_INFORMATION_EXPIRY < System.currentTimeMillis()) {
+            // the firmware of the device might have been updated in the meantime
+            storage.remove(key);
+            return;
+        }
+        information.applyTo(snapshot);
+        logger.trace("Applied stored device information to {}", snapshot);
+    }
+
+    private void storeDeviceInformation(BluetoothDeviceSnapshot snapshot) {
+        Storage<BluetoothDeviceInformation> storage = deviceInformationStorage;
+        BluetoothDeviceInformation information = BluetoothDeviceInformation.from(snapshot);
+        if (storage == null || information == null) {
+            return;
+        }
+        String key = snapshot.getAddress().toString();
+        BluetoothDeviceInformation stored = storage.get(key);
+        if (stored == null || !stored.sameInformation(information)) {
+            storage.put(key, information);
+        }
+    }
+
     private static ThingUID createThingUIDWithBridge(DiscoveryResult result, BluetoothAdapter adapter) {
         return new ThingUID(result.getThingTypeUID(), adapter.getUID(), result.getThingUID().getId());
     }
@@ -164,7 +221,7 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
     private class DiscoveryCache {
 
-        private Map<BluetoothAdapter, SnapshotFuture> discoveryFutures = new HashMap<>();
+        private Map<BluetoothAdapter, SnapshotFuture> discoveryFutures = new ConcurrentHashMap<>();
 
         private @Nullable BluetoothDeviceSnapshot latestSnapshot;
 
@@ -186,13 +243,13 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             return this;
         }
 
-        public synchronized void handleDiscovery(BluetoothDevice device) {
-            if (!discoveryFutures.isEmpty()) {
-                CompletableFuture
-                        // we have an ongoing futures so lets create our discovery after they all finish
-                        .allOf(discoveryFutures.values().stream().map(sf -> sf.future)
-                                .toArray(CompletableFuture[]::new))
-                        .thenRun(() -> createDiscoveryFuture(device));
+        public void handleDiscovery(BluetoothDevice device) {
+            // the futures are only read here, so there is no need to block the adapter thread reporting the device
+            CompletableFuture<?>[] futures = discoveryFutures.values().stream().map(sf -> sf.future)
+                    .toArray(CompletableFuture[]::new);
+            if (futures.length > 0) {
+                // we have an ongoing futures so lets create our discovery after they all finish
+                CompletableFuture.allOf(futures).thenRun(() -> createDiscoveryFuture(device));
             } else {
                 createDiscoveryFuture(device);
             }
@@ -204,7 +261,10 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
 
             BluetoothDeviceSnapshot snapshot = new BluetoothDeviceSnapshot(device);
             BluetoothDeviceSnapshot latestSnapshot = this.latestSnapshot;
-            if (latestSnapshot != null) {
+            if (latestSnapshot == null) {
+                // nothing is known about this device yet, but it might have been identified before a restart
+                applyStoredDeviceInformation(snapshot);
+            } else {
                 snapshot.merge(latestSnapshot);
 
                 if (snapshot.equals(latestSnapshot)) {
@@ -270,8 +330,11 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
         }
 
         private CompletableFuture<DiscoveryResult> startDiscoveryProcess(BluetoothDeviceSnapshot device) {
-            return CompletableFuture.supplyAsync(new BluetoothDiscoveryProcess(device, participants, adapters),
-                    scheduler);
+            return discoveryScheduler.submit(new BluetoothDiscoveryProcess(device, participants, adapters))
+                    .thenApply(result -> {
+                        storeDeviceInformation(device);
+                        return result;
+                    });
         }
     }
 
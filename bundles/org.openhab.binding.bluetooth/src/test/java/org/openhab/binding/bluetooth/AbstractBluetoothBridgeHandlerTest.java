@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link AbstractBluetoothBridgeHandler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class AbstractBluetoothBridgeHandlerTest {
+
+    private static class TestBridgeHandler extends AbstractBluetoothBridgeHandler<MockBluetoothDevice> {
+        private final BluetoothAddress address = TestUtils.randomAddress();
+
+        public TestBridgeHandler(Bridge bridge) {
+            super(bridge);
+        }
+
+        @Override
+        public BluetoothAddress getAddress() {
+            return address;
+        }
+
+        @Override
+        protected MockBluetoothDevice createDevice(BluetoothAddress address) {
+            return new MockBluetoothDevice(this, address);
+        }
+    }
+
+    private Map<String, Object> configuration = new HashMap<>();
+    private @NonNullByDefault({}) TestBridgeHandler handler;
+    private @NonNullByDefault({}) BluetoothDeviceListener listener;
+    private @NonNullByDefault({}) MockBluetoothDevice device;
+
+    @Before
+    public void setUp() {
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("bluetooth:mock:bridge"));
+        when(bridge.getConfiguration()).thenAnswer(i -> new Configuration(configuration));
+        handler = new TestBridgeHandler(bridge);
+        listener = mock(BluetoothDeviceListener.class);
+        device = handler.getDevice(TestUtils.randomAddress());
+        device.addListener(listener);
+    }
+
+    @After
+    public void tearDown() {
+        handler.dispose();
+    }
+
+    private void scanRecord(int rssi, byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        if (manufacturerData.length > 0) {
+            notification.setManufacturerData(manufacturerData);
+        }
+        device.notifyListeners(BluetoothDevice.BluetoothEventType.SCAN_RECORD, notification);
+    }
+
+    @Test
+    public void getDeviceReturnsSameInstance() {
+        assertSame(device, handler.getDevice(device.getAddress()));
+    }
+
+    @Test
+    public void allScanRecordsAreDeliveredWithoutMinimumInterval() {
+        scanRecord(-60, (byte) 1);
+        scanRecord(-60, (byte) 1);
+        scanRecord(-61, (byte) 1);
+        verify(listener, times(3)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void duplicateScanRecordsAreDroppedWithMinimumInterval() {
+        configuration.put("minAdvertisementInterval", 1);
+        configuration.put("inactiveDeviceCleanupInterval", 60);
+        handler.initialize();
+
+        scanRecord(-60, (byte) 1);
+        sleep(5);
+        scanRecord(-60, (byte) 1);
+        verify(listener, times(1)).onScanRecordReceived(any());
+
+        // Changed RSSI is delivered once the minimum interval has passed
+        scanRecord(-61, (byte) 1);
+        verify(listener, times(2)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void minimumIntervalPassesChangedManufacturerData() {
+        configuration.put("minAdvertisementInterval", 60000);
+        configuration.put("inactiveDeviceCleanupInterval", 60);
+        handler.initialize();
+
+        scanRecord(-60, (byte) 1);
+        scanRecord(-61, (byte) 1);
+        scanRecord(-62, (byte) 1);
+        verify(listener, times(1)).onScanRecordReceived(any());
+
+        scanRecord(-62, (byte) 2);
+        verify(listener, times(2)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void handledAddressesAreIndexed() {
+        Thing child = mockChild("bluetooth:mock:bridge:child", device.getAddress());
+        assertFalse(handler.hasHandlerForDevice(device.getAddress()));
+
+        handler.childHandlerInitialized(mock(ThingHandler.class), child);
+        assertTrue(handler.hasHandlerForDevice(device.getAddress()));
+
+        handler.childHandlerDisposed(mock(ThingHandler.class), child);
+        assertFalse(handler.hasHandlerForDevice(device.getAddress()));
+    }
+
+    @Test
+    public void handledAddressesAreRemovedByThing() {
+        Thing child = mockChild("bluetooth:mock:bridge:child", device.getAddress());
+        Thing otherChild = mockChild("bluetooth:mock:bridge:other", device.getAddress());
+
+        handler.childHandlerInitialized(mock(ThingHandler.class), child);
+        handler.childHandlerInitialized(mock(ThingHandler.class), otherChild);
+        handler.childHandlerDisposed(mock(ThingHandler.class), child);
+        assertTrue("Other thing still handles the address", handler.hasHandlerForDevice(device.getAddress()));
+
+        // The address of the other thing has been edited before it is disposed
+        BluetoothAddress newAddress = TestUtils.randomAddress();
+        when(otherChild.getConfiguration()).thenReturn(new Configuration(
+                Collections.singletonMap(BluetoothBindingConstants.CONFIGURATION_ADDRESS, newAddress.toString())));
+        handler.childHandlerDisposed(mock(ThingHandler.class), otherChild);
+        assertFalse(handler.hasHandlerForDevice(device.getAddress()));
+        assertFalse(handler.hasHandlerForDevice(newAddress));
+    }
+
+    @Test
+    public void statisticsUpdateThePropertiesOnMaterialChange() {
+        Bridge bridge = (Bridge) handler.getThing();
+        handler.setCallback(mock(ThingHandlerCallback.class));
+
+        handler.updateAdvertisementStatistics();
+        verify(bridge, times(1)).setProperty(eq(AbstractBluetoothBridgeHandler.PROPERTY_ADVERTISEMENTS_PER_SECOND),
+                anyString());
+
+        // Unchanged and marginally changed statistics are only kept in memory
+        handler.updateAdvertisementStatistics();
+        scanRecord(-60, (byte) 1);
+        handler.updateAdvertisementStatistics();
+        assertEquals(1, handler.getAdvertisementsPerSecond());
+        verify(bridge, times(1)).setProperty(eq(AbstractBluetoothBridgeHandler.PROPERTY_ADVERTISEMENTS_PER_SECOND),
+                anyString());
+
+        for (int i = 0; i < 20; i++) {
+            scanRecord(-60, (byte) 1);
+        }
+        handler.updateAdvertisementStatistics();
+        assertEquals(20, handler.getAdvertisementsPerSecond());
+        verify(bridge).setProperty(AbstractBluetoothBridgeHandler.PROPERTY_ADVERTISEMENTS_PER_SECOND, "20");
+    }
+
+    private Thing mockChild(String uid, BluetoothAddress address) {
+        Thing child = mock(Thing.class);
+        when(child.getUID()).thenReturn(new ThingUID(uid));
+        when(child.getConfiguration()).thenReturn(new Configuration(
+                Collections.singletonMap(BluetoothBindingConstants.CONFIGURATION_ADDRESS, address.toString())));
+        return child;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang.RandomStringUtils;
 import org.eclipse.jdt.annotation.NonNull;
@@ -27,6 +29,8 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.discovery.DiscoveryListener;
 import org.eclipse.smarthome.config.discovery.DiscoveryResult;
 import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
+import org.eclipse.smarthome.core.storage.Storage;
+import org.eclipse.smarthome.core.storage.StorageService;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.junit.Assert;
@@ -452,6 +456,67 @@ public class BluetoothDiscoveryServiceTest {
         Assert.assertEquals(1, callCount.get());
     }
 
+    @Test
+    public void connectionLimitTest() {
+        Mockito.doReturn(true).when(participant1).requiresConnection(ArgumentMatchers.any());
+
+        // the mock adapter allows a single discovery connection at a time
+        BluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
+        AtomicInteger activeConnections = new AtomicInteger(0);
+        AtomicInteger maxActiveConnections = new AtomicInteger(0);
+        List<BadConnectionDevice> devices = IntStream.range(0, 3)
+                .mapToObj(i -> new BadConnectionDevice(mockAdapter1, TestUtils.randomAddress(), 50) {
+                    @Override
+                    public boolean connect() {
+                        int active = activeConnections.incrementAndGet();
+                        maxActiveConnections.accumulateAndGet(active, Math::max);
+                        try {
+                            return super.connect();
+                        } finally {
+                            activeConnections.decrementAndGet();
+                        }
+                    }
+                }).collect(Collectors.toList());
+        devices.forEach(discoveryService::deviceDiscovered);
+
+        Mockito.verify(mockDiscoveryListener, Mockito.timeout(TIMEOUT).times(3))
+                .thingDiscovered(ArgumentMatchers.same(discoveryService), ArgumentMatchers
+                        .argThat(arg -> arg.getThingTypeUID().equals(BluetoothBindingConstants.THING_TYPE_BEACON)));
+        Assert.assertEquals(1, maxActiveConnections.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void storedDeviceInformationTest() {
+        Mockito.doReturn(true).when(participant1).requiresConnection(ArgumentMatchers.any());
+
+        MockBluetoothAdapter mockAdapter1 = new MockBluetoothAdapter();
+        MockBluetoothDevice mockDevice = mockAdapter1.getDevice(TestUtils.randomAddress());
+        BluetoothDevice device = Mockito.spy(mockDevice);
+
+        // the information was read from the device before a restart
+        BluetoothDeviceInformation information = new BluetoothDeviceInformation();
+        information.name = RandomStringUtils.randomAlphanumeric(10);
+        information.model = "model";
+        information.timestamp = System.currentTimeMillis();
+        Storage<BluetoothDeviceInformation> storage = Mockito.mock(Storage.class);
+        Mockito.doReturn(information).when(storage).get(device.getAddress().toString());
+        StorageService storageService = Mockito.mock(StorageService.class);
+        Mockito.doReturn(storage).when(storageService).getStorage(ArgumentMatchers.anyString(),
+                ArgumentMatchers.any());
+        discoveryService.setStorageService(storageService);
+
+        discoveryService.deviceDiscovered(device);
+
+        Mockito.verify(mockDiscoveryListener, Mockito.timeout(TIMEOUT).times(1)).thingDiscovered(
+                ArgumentMatchers.same(discoveryService),
+                ArgumentMatchers.argThat(arg -> arg.getThingTypeUID().equals(participant1.typeUID)
+                        && arg.getThingUID().getId().equals(information.name)));
+        Mockito.verify(device, Mockito.never()).connect();
+        // nothing new has been read from the device
+        Mockito.verify(storage, Mockito.never()).put(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+    }
+
     private class MockDiscoveryParticipant implements BluetoothDiscoveryParticipant {
 
         private ThingTypeUID typeUID;
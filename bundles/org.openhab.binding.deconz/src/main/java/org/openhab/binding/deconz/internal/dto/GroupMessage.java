@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The REST interface and websocket connection are using the same fields.
+ * The REST data contains more descriptive info like the group type and its lights.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class GroupMessage extends DeconzBaseMessage {
+    public String type = "";
+
+    public @Nullable GroupState state;
+    public @Nullable LightState action;
+
+    @Override
+    public String toString() {
+        return "GroupMessage{" + "type='" + type + '\'' + ", state=" + state + ", action=" + action + ", e='" + e
+                + '\'' + ", r='" + r + '\'' + ", t='" + t + '\'' + ", id='" + id + '\'' + ", name='" + name + '\''
+                + '}';
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The {@link GroupState} is send by the websocket connection as well as the Rest API.
+ * It is part of a {@link GroupMessage}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class GroupState {
+    /** true if all lights of the group are on */
+    @SerializedName("all_on")
+    public @Nullable Boolean allOn;
+    /** true if at least one light of the group is on */
+    @SerializedName("any_on")
+    public @Nullable Boolean anyOn;
+
+    @Override
+    public String toString() {
+        return "GroupState{allOn=" + allOn + ", anyOn=" + anyOn + '}';
+    }
+}
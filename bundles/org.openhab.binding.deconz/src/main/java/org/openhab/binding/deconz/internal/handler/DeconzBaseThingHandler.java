@@ -168,10 +168,7 @@ public abstract class DeconzBaseThingHandler<T extends DeconzBaseMessage> extend
     @Override
     public void dispose() {
         stopTimer();
-        WebSocketConnection webSocketConnection = connection;
-        if (webSocketConnection != null) {
-            webSocketConnection.unregisterLightListener(config.id);
-        }
+        unregisterListener();
         super.dispose();
     }
 
@@ -84,7 +84,8 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         this.gson = gson;
         String websocketID = thing.getUID().getAsString().replace(':', '-');
         websocketID = websocketID.length() < 3 ? websocketID : websocketID.substring(websocketID.length() - 20);
-        this.websocket = new WebSocketConnection(this, webSocketFactory.createWebSocketClient(websocketID), gson);
+        this.websocket = new WebSocketConnection(this, webSocketFactory.createWebSocketClient(websocketID), scheduler,
+                gson);
     }
 
     @Override
@@ -13,8 +13,11 @@
 package org.openhab.binding.deconz.internal.netutils;
 
 import java.net.URI;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.websocket.api.Session;
@@ -25,18 +28,28 @@ import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
 import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.GroupMessage;
 import org.openhab.binding.deconz.internal.dto.LightMessage;
 import org.openhab.binding.deconz.internal.dto.SensorMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * Every message is parsed only once. The resource type and id are read from the parsed tree and only messages for
+ * registered listeners are bound to their DTO. Messages are delivered on the given executor, one at a time per
+ * resource. If a listener is still busy with the previous message of its resource, pending messages are merged so
+ * that only the latest values are delivered. Button events are never merged.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
@@ -46,15 +59,21 @@ public class WebSocketConnection {
 
     private final WebSocketClient client;
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketMessageListener> sensorListener = new HashMap<>();
-    private final Map<String, WebSocketMessageListener> lightListener = new HashMap<>();
+    private final Map<String, WebSocketMessageListener> sensorListener = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketMessageListener> lightListener = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketMessageListener> groupListener = new ConcurrentHashMap<>();
+    private final Map<String, Deque<JsonObject>> pendingMessages = new ConcurrentHashMap<>();
+    private final JsonParser jsonParser = new JsonParser();
+    private final Executor executor;
     private final Gson gson;
     private boolean connected = false;
 
-    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Gson gson) {
+    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Executor executor,
+            Gson gson) {
         this.connectionListener = listener;
         this.client = client;
         this.client.setMaxIdleTimeout(0);
+        this.executor = executor;
         this.gson = gson;
     }
 
@@ -90,6 +109,7 @@ public class WebSocketConnection {
 
     public void unregisterSensorListener(String sensorID) {
         sensorListener.remove(sensorID);
+        discardPendingMessages("sensors", sensorID);
     }
 
     public void registerLightListener(String lightID, WebSocketMessageListener listener) {
@@ -97,7 +117,17 @@ public class WebSocketConnection {
     }
 
     public void unregisterLightListener(String lightID) {
-        sensorListener.remove(lightID);
+        lightListener.remove(lightID);
+        discardPendingMessages("lights", lightID);
+    }
+
+    public void registerGroupListener(String groupID, WebSocketMessageListener listener) {
+        groupListener.put(groupID, listener);
+    }
+
+    public void unregisterGroupListener(String groupID) {
+        groupListener.remove(groupID);
+        discardPendingMessages("groups", groupID);
     }
 
     @OnWebSocketConnect
@@ -107,27 +137,135 @@ public class WebSocketConnection {
         connectionListener.connectionEstablished();
     }
 
-    @SuppressWarnings("null")
     @OnWebSocketMessage
     public void onMessage(String message) {
-        DeconzBaseMessage changedMessage = gson.fromJson(message, DeconzBaseMessage.class);
-        switch (changedMessage.r) {
+        JsonObject json;
+        try {
+            json = jsonParser.parse(message).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            logger.debug("Ignoring invalid message: {}", message);
+            return;
+        }
+
+        String resource = getAsString(json, "r");
+        String id = getAsString(json, "id");
+        switch (resource) {
             case "sensors":
-                WebSocketMessageListener listener = sensorListener.get(changedMessage.id);
-                if (listener != null) {
-                    listener.messageReceived(changedMessage.id, gson.fromJson(message, SensorMessage.class));
-                }
+                dispatch(sensorListener, resource, id, json, SensorMessage.class);
                 break;
             case "lights":
-                listener = lightListener.get(changedMessage.id);
-                if (listener != null) {
-                    listener.messageReceived(changedMessage.id, gson.fromJson(message, LightMessage.class));
-                }
+                dispatch(lightListener, resource, id, json, LightMessage.class);
+                break;
+            case "groups":
+                dispatch(groupListener, resource, id, json, GroupMessage.class);
                 break;
             default:
         }
     }
 
+    private String getAsString(JsonObject json, String memberName) {
+        JsonElement element = json.get(memberName);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : "";
+    }
+
+    private void dispatch(Map<String, WebSocketMessageListener> listeners, String resource, String id,
+            JsonObject json, Class<? extends DeconzBaseMessage> messageClass) {
+        if (!listeners.containsKey(id)) {
+            return;
+        }
+
+        String key = resource + "/" + id;
+        Deque<JsonObject> queue;
+        while (true) {
+            queue = pendingMessages.computeIfAbsent(key, k -> new ArrayDeque<>());
+            synchronized (queue) {
+                if (pendingMessages.get(key) != queue) {
+                    // the queue has been drained and removed in the meantime
+                    continue;
+                }
+                // the first element is handed to the listener, so only merge into messages which are still waiting
+                JsonObject pending = queue.peekLast();
+                if (queue.size() > 1 && pending != null && isCoalescable(pending) && isCoalescable(json)) {
+                    logger.trace("Listener for {} {} is busy, coalescing pending message", resource, id);
+                    merge(pending, json);
+                    return;
+                }
+                queue.addLast(json);
+                if (queue.size() > 1) {
+                    return;
+                }
+                break;
+            }
+        }
+        final Deque<JsonObject> deliveryQueue = queue;
+        executor.execute(() -> deliver(listeners, key, id, deliveryQueue, messageClass));
+    }
+
+    private void deliver(Map<String, WebSocketMessageListener> listeners, String key, String id,
+            Deque<JsonObject> queue, Class<? extends DeconzBaseMessage> messageClass) {
+        JsonObject json;
+        synchronized (queue) {
+            json = queue.peekFirst();
+        }
+        while (json != null) {
+            WebSocketMessageListener listener = listeners.get(id);
+            if (listener != null) {
+                try {
+                    listener.messageReceived(id, gson.fromJson(json, messageClass));
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to process message {}", json, e);
+                }
+            }
+            synchronized (queue) {
+                queue.pollFirst();
+                json = queue.peekFirst();
+                if (json == null) {
+                    pendingMessages.remove(key, queue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the messages still waiting for an unregistered listener. A message which is currently delivered is left
+     * in the queue, the queue is removed as soon as that delivery returns.
+     */
+    private void discardPendingMessages(String resource, String id) {
+        Deque<JsonObject> queue = pendingMessages.get(resource + "/" + id);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            while (queue.size() > 1) {
+                queue.pollLast();
+            }
+        }
+    }
+
+    /**
+     * Button events and gestures are triggers and must not be merged with other messages.
+     */
+    private boolean isCoalescable(JsonObject json) {
+        JsonElement state = json.get("state");
+        return state == null || !state.isJsonObject()
+                || !(state.getAsJsonObject().has("buttonevent") || state.getAsJsonObject().has("gesture"));
+    }
+
+    /**
+     * deCONZ may only send the changed attributes, so a newer message is merged into the pending one instead of
+     * replacing it.
+     */
+    private void merge(JsonObject target, JsonObject source) {
+        for (Map.Entry<String, JsonElement> entry : source.entrySet()) {
+            JsonElement existing = target.get(entry.getKey());
+            if (existing != null && existing.isJsonObject() && entry.getValue().isJsonObject()) {
+                merge(existing.getAsJsonObject(), entry.getValue().getAsJsonObject());
+            } else {
+                target.add(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     @OnWebSocketError
     public void onError(Throwable cause) {
         connected = false;
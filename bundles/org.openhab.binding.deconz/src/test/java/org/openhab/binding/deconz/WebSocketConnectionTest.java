@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.openhab.binding.deconz.internal.dto.DeconzBaseMessage;
+import org.openhab.binding.deconz.internal.dto.GroupMessage;
+import org.openhab.binding.deconz.internal.dto.LightMessage;
+import org.openhab.binding.deconz.internal.dto.SensorMessage;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnection;
+import org.openhab.binding.deconz.internal.netutils.WebSocketConnectionListener;
+import org.openhab.binding.deconz.internal.netutils.WebSocketMessageListener;
+import org.openhab.binding.deconz.internal.types.LightType;
+import org.openhab.binding.deconz.internal.types.LightTypeDeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * This class provides tests for the message dispatching of the {@link WebSocketConnection}
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    private @NonNullByDefault({}) WebSocketConnection connection;
+
+    @Mock
+    private @NonNullByDefault({}) WebSocketClient client;
+
+    @Mock
+    private @NonNullByDefault({}) WebSocketConnectionListener connectionListener;
+
+    @Mock
+    private @NonNullByDefault({}) WebSocketMessageListener messageListener;
+
+    @Before
+    public void initialize() {
+        initMocks(this);
+
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(LightType.class, new LightTypeDeserializer());
+        connection = new WebSocketConnection(connectionListener, client, pendingTasks::add, gsonBuilder.create());
+    }
+
+    @Test
+    public void sensorMessageIsDispatchedToSensorListener() {
+        connection.registerSensorListener("3", messageListener);
+        connection.registerLightListener("4", mock(WebSocketMessageListener.class));
+
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"3\",\"r\":\"sensors\",\"state\":{\"presence\":true},"
+                + "\"t\":\"event\"}");
+        runPendingTasks();
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(messageListener).messageReceived(eq("3"), captor.capture());
+        Assert.assertTrue(captor.getValue() instanceof SensorMessage);
+        Assert.assertEquals(Boolean.TRUE, ((SensorMessage) captor.getValue()).state.presence);
+    }
+
+    @Test
+    public void groupMessageIsDispatchedToGroupListener() {
+        connection.registerGroupListener("1", messageListener);
+
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"1\",\"r\":\"groups\",\"state\":{\"all_on\":false,"
+                + "\"any_on\":true},\"t\":\"event\"}");
+        runPendingTasks();
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(messageListener).messageReceived(eq("1"), captor.capture());
+        GroupMessage groupMessage = (GroupMessage) captor.getValue();
+        Assert.assertEquals(Boolean.FALSE, groupMessage.state.allOn);
+        Assert.assertEquals(Boolean.TRUE, groupMessage.state.anyOn);
+    }
+
+    @Test
+    public void messageWithoutListenerIsIgnored() {
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"5\",\"r\":\"lights\",\"state\":{\"on\":true},"
+                + "\"t\":\"event\"}");
+        connection.onMessage("no json");
+
+        Assert.assertTrue(pendingTasks.isEmpty());
+    }
+
+    @Test
+    public void pendingMessagesAreMergedWhileListenerIsBusy() {
+        connection.registerLightListener("2", messageListener);
+
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"2\",\"r\":\"lights\",\"state\":{\"bri\":1},\"t\":\"event\"}");
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"2\",\"r\":\"lights\",\"state\":{\"on\":true},\"t\":\"event\"}");
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"2\",\"r\":\"lights\",\"state\":{\"bri\":3},\"t\":\"event\"}");
+        Assert.assertEquals(1, pendingTasks.size());
+        runPendingTasks();
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(messageListener, times(2)).messageReceived(eq("2"), captor.capture());
+        LightMessage first = (LightMessage) captor.getAllValues().get(0);
+        LightMessage merged = (LightMessage) captor.getAllValues().get(1);
+        Assert.assertEquals(Integer.valueOf(1), first.state.bri);
+        Assert.assertEquals(Boolean.TRUE, merged.state.on);
+        Assert.assertEquals(Integer.valueOf(3), merged.state.bri);
+    }
+
+    @Test
+    public void buttonEventsAreNotMerged() {
+        connection.registerSensorListener("7", messageListener);
+
+        for (int buttonEvent : new int[] { 1002, 2002, 3002 }) {
+            connection.onMessage("{\"e\":\"changed\",\"id\":\"7\",\"r\":\"sensors\",\"state\":{\"buttonevent\":"
+                    + buttonEvent + "},\"t\":\"event\"}");
+        }
+        runPendingTasks();
+
+        verify(messageListener, times(3)).messageReceived(eq("7"), any());
+    }
+
+    @Test
+    public void drainedQueueIsDeliveredAgain() {
+        connection.registerLightListener("2", messageListener);
+
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"2\",\"r\":\"lights\",\"state\":{\"bri\":1},\"t\":\"event\"}");
+        runPendingTasks();
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"2\",\"r\":\"lights\",\"state\":{\"bri\":2},\"t\":\"event\"}");
+        Assert.assertEquals(1, pendingTasks.size());
+        runPendingTasks();
+
+        verify(messageListener, times(2)).messageReceived(eq("2"), any());
+    }
+
+    @Test
+    public void pendingMessagesAreDroppedOnUnregister() {
+        connection.registerGroupListener("1", messageListener);
+
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"1\",\"r\":\"groups\",\"state\":{\"any_on\":true},"
+                + "\"t\":\"event\"}");
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"1\",\"r\":\"groups\",\"state\":{\"any_on\":false},"
+                + "\"t\":\"event\"}");
+        connection.unregisterGroupListener("1");
+        runPendingTasks();
+        verify(messageListener, never()).messageReceived(any(), any());
+
+        // a new listener starts with an empty queue
+        WebSocketMessageListener newListener = mock(WebSocketMessageListener.class);
+        connection.registerGroupListener("1", newListener);
+        connection.onMessage("{\"e\":\"changed\",\"id\":\"1\",\"r\":\"groups\",\"state\":{\"all_on\":true},"
+                + "\"t\":\"event\"}");
+        Assert.assertEquals(1, pendingTasks.size());
+        runPendingTasks();
+
+        ArgumentCaptor<DeconzBaseMessage> captor = ArgumentCaptor.forClass(DeconzBaseMessage.class);
+        verify(newListener).messageReceived(eq("1"), captor.capture());
+        Assert.assertEquals(Boolean.TRUE, ((GroupMessage) captor.getValue()).state.allOn);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,18 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList = new ArrayList<>();
 
+    /**
+     * Maximum number of received OBIS identifier strings in the {@link #obisLookupTableReceived}. A telegram only has
+     * a few dozen different identifiers, the limit protects against filling the table with corrupted data.
+     */
+    private static final int MAX_RECEIVED_OBIS_IDS = 256;
+
+    /**
+     * Lookup table for OBIS identifier strings as received in telegrams. The identifier string is parsed and resolved
+     * to the matching Cosem Object types only the first time it is received.
+     */
+    private final Map<String, ObisLookup> obisLookupTableReceived = new HashMap<>();
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -80,6 +93,18 @@ public class CosemObjectFactory {
                 obisLookupTableFixed.put(msgType.obisId, msgType);
             }
         }
+        // Precompute the received lookup table for the identifiers that don't depend on the actual device
+        for (CosemObjectType msgType : CosemObjectType.values()) {
+            if (!msgType.obisId.reducedOBISIdentifierIsWildCard()) {
+                String obisIdString = msgType.obisId.toString();
+                try {
+                    OBISIdentifier obisId = new OBISIdentifier(obisIdString);
+                    obisLookupTableReceived.put(obisIdString, new ObisLookup(obisId, resolveCosemObjectTypes(obisId)));
+                } catch (ParseException e) {
+                    // not a string as received in telegrams, it will be resolved when received
+                }
+            }
+        }
     }
 
     /**
@@ -91,51 +116,41 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
+        @Nullable ObisLookup lookup = obisLookupTableReceived.get(obisIdString);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
-            return null;
+        if (lookup == null) {
+            OBISIdentifier obisId;
+
+            try {
+                obisId = new OBISIdentifier(obisIdString);
+            } catch (final ParseException pe) {
+                logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+                return null;
+            }
+            lookup = new ObisLookup(obisId, resolveCosemObjectTypes(obisId));
+            if (obisLookupTableReceived.size() < MAX_RECEIVED_OBIS_IDS) {
+                obisLookupTableReceived.put(obisIdString, lookup);
+            }
         }
+        final OBISIdentifier obisId = lookup.obisId;
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
         CosemObject cosemObject = null;
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableMultipleFixed.containsKey(reducedObisId)) {
-            for (CosemObjectType cosemObjectType : obisLookupTableMultipleFixed.get(reducedObisId)) {
-                cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
-                if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-                    break;
-                }
-            }
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
-            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
-        } else if (obisLookupTableFixed.containsKey(reducedObisIdGroupE)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisIdGroupE), obisId,
-                    cosemStringValues);
-        } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
-                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
-                    if (cosemObject != null) {
-                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
-                                cosemObject);
-                        obisLookupTableDynamic.put(reducedObisId, obisMsgType);
-                        break;
-                    }
+        for (CosemObjectType cosemObjectType : lookup.cosemObjectTypes) {
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
+            if (cosemObject != null) {
+                if (lookup.wildcard) {
+                    final OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+
+                    logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
+                            cosemObject);
+                    obisLookupTableDynamic.put(reducedObisId, cosemObjectType);
+                    // The device specific type is known now, no need to search the wild card list again
+                    lookup.resolved(cosemObjectType);
                 }
+                break;
             }
         }
 
@@ -146,6 +161,49 @@ public class CosemObjectFactory {
         return cosemObject;
     }
 
+    /**
+     * Returns the Cosem Object types that can be identified by the given OBIS Identifier. If more than one type is
+     * returned, the first type the values can be parsed for is the type of the Cosem Object.
+     *
+     * @param obisId the OBIS Identifier as received
+     * @return the Cosem Object types to try in the order given
+     */
+    private List<CosemObjectType> resolveCosemObjectTypes(OBISIdentifier obisId) {
+        final OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        final OBISIdentifier reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
+        final @Nullable CosemObjectType fixedType = obisLookupTableFixed.get(reducedObisId);
+
+        if (fixedType != null) {
+            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+            return Collections.singletonList(fixedType);
+        }
+        final @Nullable List<CosemObjectType> multipleFixedTypes = obisLookupTableMultipleFixed.get(reducedObisId);
+
+        if (multipleFixedTypes != null) {
+            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+            return multipleFixedTypes;
+        }
+        final @Nullable CosemObjectType dynamicType = obisLookupTableDynamic.get(reducedObisId);
+
+        if (dynamicType != null) {
+            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
+            return Collections.singletonList(dynamicType);
+        }
+        final @Nullable CosemObjectType fixedTypeGroupE = obisLookupTableFixed.get(reducedObisIdGroupE);
+
+        if (fixedTypeGroupE != null) {
+            return Collections.singletonList(fixedTypeGroupE);
+        }
+        final List<CosemObjectType> wildcardTypes = new ArrayList<>();
+
+        for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
+            if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
+                wildcardTypes.add(obisMsgType);
+            }
+        }
+        return wildcardTypes;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
@@ -170,4 +228,26 @@ public class CosemObjectFactory {
         }
         return null;
     }
+
+    /**
+     * The parsed OBIS Identifier of a received OBIS identifier string and the Cosem Object types it can identify.
+     */
+    private static class ObisLookup {
+        private final OBISIdentifier obisId;
+        private List<CosemObjectType> cosemObjectTypes;
+        private boolean wildcard;
+
+        private ObisLookup(OBISIdentifier obisId, List<CosemObjectType> cosemObjectTypes) {
+            this.obisId = obisId;
+            this.cosemObjectTypes = cosemObjectTypes;
+            // Types from the wild card list are resolved to the device specific type on the first match
+            this.wildcard = !cosemObjectTypes.isEmpty()
+                    && cosemObjectTypes.get(0).obisId.reducedOBISIdentifierIsWildCard();
+        }
+
+        private void resolved(CosemObjectType cosemObjectType) {
+            cosemObjectTypes = Collections.singletonList(cosemObjectType);
+            wildcard = false;
+        }
+    }
 }
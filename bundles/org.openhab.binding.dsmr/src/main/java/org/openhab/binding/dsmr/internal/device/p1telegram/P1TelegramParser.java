@@ -15,10 +15,10 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -33,6 +33,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The data is processed byte by byte: the OBIS identifier and values are collected in reused byte buffers and the CRC
+ * value is parsed while it is received. Only complete OBIS identifiers and values are converted to Strings.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -60,9 +63,14 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the OBIS identifier and value buffers, they grow when a longer identifier or value is received
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int INITIAL_BUFFER_SIZE = 128;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -71,12 +79,22 @@ public class P1TelegramParser implements TelegramParser {
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Number of bytes in the obisId buffer.
+     */
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder obisValue = new StringBuilder();
+    private byte[] obisValue = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Number of bytes in the obisValue buffer.
+     */
+    private int obisValueLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -86,7 +104,17 @@ public class P1TelegramParser implements TelegramParser {
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of characters of the crc value read.
+     */
+    private int crcValueLength;
+
+    /**
+     * Set if the crc value contains a character that is not an upper case hexadecimal digit.
+     */
+    private boolean crcValueInvalid;
 
     /**
      * CRC calculation helper
@@ -242,18 +270,20 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    String.format("%04X", crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (crcValueLength == CRC_LENGTH && !crcValueInvalid) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -324,22 +354,25 @@ public class P1TelegramParser implements TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                if (obisIdLength == obisId.length) {
+                    obisId = Arrays.copyOf(obisId, obisId.length * 2);
+                }
+                obisId[obisIdLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                obisValue.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE_END:
-                obisValue.append(c);
+                if (obisValueLength == obisValue.length) {
+                    obisValue = Arrays.copyOf(obisValue, obisValue.length * 2);
+                }
+                obisValue[obisValueLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    handleCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -348,14 +381,31 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Adds a character of the CRC-code to the crc value. The CRC-code consists of upper case hexadecimal digits.
+     *
+     * @param c the character to process
+     */
+    private void handleCrcCharacter(char c) {
+        if (c >= '0' && c <= '9') {
+            crcValue = (crcValue << 4) | (c - '0');
+        } else if (c >= 'A' && c <= 'F') {
+            crcValue = (crcValue << 4) | (c - 'A' + 10);
+        } else {
+            crcValueInvalid = true;
+        }
+        crcValueLength++;
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
+        clearObisData();
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
+        crcValueInvalid = false;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
@@ -367,18 +417,17 @@ public class P1TelegramParser implements TelegramParser {
      * - current OBIS value
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        obisValue.setLength(0);
+        obisIdLength = 0;
+        obisValueLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            final String obisValueString = obisValue.toString();
+        if (obisIdLength > 0) {
+            final String obisIdString = new String(obisId, 0, obisIdLength, StandardCharsets.ISO_8859_1);
+            final String obisValueString = new String(obisValue, 0, obisValueLength, StandardCharsets.ISO_8859_1);
             CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
 
             if (cosemObject == null) {
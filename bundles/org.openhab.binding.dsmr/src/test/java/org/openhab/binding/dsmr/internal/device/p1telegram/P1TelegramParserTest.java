@@ -12,10 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -64,4 +65,26 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testParsingInChunks() {
+        byte[] telegram = TelegramReaderUtil.readRawTelegram(telegramName);
+
+        // Serial data arrives in small blocks, the parser state must be kept between the blocks
+        for (int chunkSize : new int[] { 1, 7, 64 }) {
+            AtomicReference<P1Telegram> p1Telegram = new AtomicReference<>();
+            P1TelegramParser parser = new P1TelegramParser(p1Telegram::set);
+
+            parser.setLenientMode(true);
+            for (int offset = 0; offset < telegram.length; offset += chunkSize) {
+                int length = Math.min(chunkSize, telegram.length - offset);
+                parser.parse(Arrays.copyOfRange(telegram, offset, offset + length), length);
+            }
+            assertNotNull("Telegram should have been received with chunk size " + chunkSize, p1Telegram.get());
+            assertEquals("Expected TelegramState should be as expected", TelegramState.OK,
+                    p1Telegram.get().getTelegramState());
+            assertEquals("Expected number of objects", numberOfCosemObjects, p1Telegram.get().getCosemObjects()
+                    .stream().mapToInt(co -> co.getCosemValues().size()).sum());
+        }
+    }
 }
@@ -14,7 +14,15 @@ package org.openhab.binding.enocean.internal.eep;
 
 import static org.openhab.binding.enocean.internal.messages.ESP3Packet.*;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -39,33 +47,79 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
+    // Constructors of the EEP classes, bound once per EEPType so that messages are created without reflection
+    private static final Map<EEPType, Supplier<EEP>> constructors = new ConcurrentHashMap<>();
+    private static final Map<EEPType, Function<ERP1Message, EEP>> messageConstructors = new ConcurrentHashMap<>();
+
     public static EEP createEEP(EEPType eepType) {
-        try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
-            }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
-            throw new IllegalArgumentException(e);
-        }
+        return constructors.computeIfAbsent(eepType, EEPFactory::createConstructor).get();
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
-            }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+            return messageConstructors.computeIfAbsent(eepType, EEPFactory::createMessageConstructor).apply(packet);
+        } catch (RuntimeException e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
 
+            throw e instanceof IllegalArgumentException ? (IllegalArgumentException) e
+                    : new IllegalArgumentException(e);
+        }
+    }
+
+    private static Class<? extends EEP> getEEPClass(EEPType eepType) {
+        Class<? extends EEP> cl = eepType.getEEPClass();
+        if (cl == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+        return cl;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<EEP> createConstructor(EEPType eepType) {
+        Class<? extends EEP> cl = getEEPClass(eepType);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(cl, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), constructor, MethodType.methodType(cl));
+            return (Supplier<EEP>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            logger.debug("Falling back to reflection for EEP {}: {}", eepType, e.getMessage());
+            return () -> {
+                try {
+                    return cl.newInstance();
+                } catch (IllegalAccessException | InstantiationException ex) {
+                    throw new IllegalArgumentException(ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<ERP1Message, EEP> createMessageConstructor(EEPType eepType) {
+        Class<? extends EEP> cl = getEEPClass(eepType);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(cl,
+                    MethodType.methodType(void.class, ERP1Message.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), constructor,
+                    MethodType.methodType(cl, ERP1Message.class));
+            return (Function<ERP1Message, EEP>) site.getTarget().invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             throw new IllegalArgumentException(e);
+        } catch (Throwable e) {
+            logger.debug("Falling back to reflection for EEP {}: {}", eepType, e.getMessage());
+            return packet -> {
+                try {
+                    return cl.getConstructor(ERP1Message.class).newInstance(packet);
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalArgumentException(ex);
+                }
+            };
         }
     }
 
@@ -44,116 +44,113 @@ public class EnOceanESP2Transceiver extends EnOceanTransceiver {
         ReadingData
     }
 
-    byte[] dataBuffer = new byte[ESP2Packet.ESP_PACKET_LENGTH];
+    // header, data and the checksum
+    byte[] dataBuffer = new byte[ESP2Packet.ESP_PACKET_LENGTH + 1];
     ReadingState state = ReadingState.WaitingForFirstSyncByte;
     int currentPosition = 0;
     int dataLength = -1;
     byte packetType = -1;
 
     @Override
-    protected void processMessage(byte firstByte) {
-        byte[] readingBuffer = new byte[ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
-        byte _byte;
-
-        try {
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
-
-            if (readingTask == null || readingTask.isCancelled()) {
-                return;
+    protected void processData(byte[] buffer, int length) throws IOException {
+        int p = 0;
+        while (p < length) {
+            switch (state) {
+                case WaitingForFirstSyncByte:
+                    while (p < length && buffer[p] != ESP2Packet.ENOCEAN_ESP2_FIRSTSYNC_BYTE) {
+                        p++;
+                    }
+                    if (p < length) {
+                        p++;
+                        state = ReadingState.WaitingForSecondSyncByte;
+                        logger.trace("Received First Sync Byte");
+                    }
+                    break;
+                case WaitingForSecondSyncByte: {
+                    byte _byte = buffer[p++];
+                    if (_byte == ESP2Packet.ENOCEAN_ESP2_SECONDSYNC_BYTE) {
+                        state = ReadingState.ReadingHeader;
+                        logger.trace("Received Second Sync Byte");
+                    } else if (_byte != ESP2Packet.ENOCEAN_ESP2_FIRSTSYNC_BYTE) {
+                        state = ReadingState.WaitingForFirstSyncByte;
+                    }
+                    break;
+                }
+                case ReadingHeader: {
+                    currentPosition = 0;
+                    dataBuffer[currentPosition++] = buffer[p++];
+                    dataLength = ((dataBuffer[0] & 0xFF) & 0b11111);
+                    packetType = (byte) ((dataBuffer[0] & 0xFF) >> 5);
+
+                    if (dataLength < 1 || dataLength >= dataBuffer.length) {
+                        logger.debug("ESP2Packet with invalid length {}", dataLength);
+                        state = ReadingState.WaitingForFirstSyncByte;
+                    } else {
+                        state = ReadingState.ReadingData;
+                        logger.trace(">> Received header, data length {} packet type {}", dataLength, packetType);
+                    }
+                    break;
+                }
+                case ReadingData: {
+                    // the checksum follows the data
+                    int frameLength = dataLength + 1;
+                    int count = Math.min(frameLength - currentPosition, length - p);
+                    System.arraycopy(buffer, p, dataBuffer, currentPosition, count);
+                    currentPosition += count;
+                    p += count;
+                    if (currentPosition == frameLength) {
+                        processFrame();
+                    }
+                    break;
+                }
             }
+        }
+    }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
-
-                switch (state) {
-                    case WaitingForFirstSyncByte:
-                        if (_byte == ESP2Packet.ENOCEAN_ESP2_FIRSTSYNC_BYTE) {
-                            state = ReadingState.WaitingForSecondSyncByte;
-                            logger.trace("Received First Sync Byte");
-                        }
-                        break;
-                    case WaitingForSecondSyncByte:
-                        if (_byte == ESP2Packet.ENOCEAN_ESP2_SECONDSYNC_BYTE) {
-                            state = ReadingState.ReadingHeader;
-                            logger.trace("Received Second Sync Byte");
+    private void processFrame() throws IOException {
+        byte checkSum = dataBuffer[dataLength];
+        if (ESP2Packet.validateCheckSum(dataBuffer, dataLength, checkSum)) {
+            BasePacket packet = ESP2PacketConverter.BuildPacket(dataLength, packetType, dataBuffer);
+            if (packet != null) {
+                switch (packet.getPacketType()) {
+                    case RADIO_ERP1: {
+                        ERP1Message msg = (ERP1Message) packet;
+                        logger.debug("Converted to: {} with RORG {} for {}", packet.getPacketType().name(),
+                                msg.getRORG().name(), HexUtils.bytesToHex(msg.getSenderId()));
+
+                        if (msg.getRORG() != RORG.Unknown) {
+                            informListeners(msg);
+                        } else {
+                            logger.debug("Received unknown RORG");
                         }
+                    }
                         break;
-                    case ReadingHeader: {
-                        state = ReadingState.ReadingData;
+                    case RESPONSE: {
+                        Response response = (Response) packet;
+                        logger.debug("Converted to: {} with code {}", packet.getPacketType().name(),
+                                response.getResponseType().name());
 
-                        currentPosition = 0;
-                        dataBuffer[currentPosition++] = _byte;
-                        dataLength = ((dataBuffer[0] & 0xFF) & 0b11111);
-                        packetType = (byte) ((dataBuffer[0] & 0xFF) >> 5);
-
-                        logger.trace(">> Received header, data length {} packet type {}", dataLength, packetType);
+                        handleResponse(response);
                     }
                         break;
-                    case ReadingData:
-                        if (currentPosition == dataLength) {
-                            if (ESP2Packet.validateCheckSum(dataBuffer, dataLength, _byte)) {
-                                BasePacket packet = ESP2PacketConverter.BuildPacket(dataLength, packetType, dataBuffer);
-                                if (packet != null) {
-                                    switch (packet.getPacketType()) {
-                                        case RADIO_ERP1: {
-                                            ERP1Message msg = (ERP1Message) packet;
-                                            logger.debug("Converted to: {} with RORG {} for {}",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()));
-
-                                            if (msg.getRORG() != RORG.Unknown) {
-                                                informListeners(msg);
-                                            } else {
-                                                logger.debug("Received unknown RORG");
-                                            }
-                                        }
-                                            break;
-                                        case RESPONSE: {
-                                            Response response = (Response) packet;
-                                            logger.debug("Converted to: {} with code {}", packet.getPacketType().name(),
-                                                    response.getResponseType().name());
-
-                                            handleResponse(response);
-                                        }
-                                            break;
-                                        default:
-                                            break;
-                                    }
-                                } else {
-                                    if (dataBuffer[1] != (byte) 0xFC) {
-                                        logger.debug("Unknown/unsupported ESP2Packet: {}",
-                                                HexUtils.bytesToHex(Arrays.copyOf(dataBuffer, dataLength)));
-                                    }
-                                }
-                            } else {
-                                logger.debug("ESP2Packet malformed: {}", HexUtils.bytesToHex(dataBuffer));
-                            }
-
-                            state = _byte == ESP2Packet.ENOCEAN_ESP2_FIRSTSYNC_BYTE
-                                    ? ReadingState.WaitingForSecondSyncByte
-                                    : ReadingState.WaitingForFirstSyncByte;
-
-                            currentPosition = 0;
-                            dataLength = packetType = -1;
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
-                        }
+                    default:
                         break;
                 }
+            } else {
+                if (dataBuffer[1] != (byte) 0xFC) {
+                    logger.debug("Unknown/unsupported ESP2Packet: {}",
+                            HexUtils.bytesToHex(Arrays.copyOf(dataBuffer, dataLength)));
+                }
             }
-        } catch (
-
-        IOException ioexception) {
-            errorListener.ErrorOccured(ioexception);
-            return;
+        } else {
+            logger.debug("ESP2Packet malformed: {}", HexUtils.bytesToHex(Arrays.copyOf(dataBuffer, dataLength + 1)));
         }
+
+        state = checkSum == ESP2Packet.ENOCEAN_ESP2_FIRSTSYNC_BYTE ? ReadingState.WaitingForSecondSyncByte
+                : ReadingState.WaitingForFirstSyncByte;
+
+        currentPosition = 0;
+        dataLength = packetType = -1;
     }
 
     @Override
@@ -15,11 +15,12 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -50,6 +51,9 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
 
     public static final int ENOCEAN_MAX_DATA = 65790;
 
+    // Size of the buffer the serial stream is read into, several telegrams fit into it
+    private static final int READ_BUFFER_SIZE = 1024;
+
     // Thread management
     protected Future<?> readingTask = null;
     private Future<?> timeOut = null;
@@ -137,7 +141,8 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     RequestQueue requestQueue;
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<PacketListener>> listeners;
+    // listeners are added by the thing handlers while the reading thread dispatches packets
+    protected Map<Long, Set<PacketListener>> listeners;
     protected PacketListener teachInListener;
 
     protected InputStream inputStream;
@@ -150,7 +155,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
             SerialPortManager serialPortManager) {
         requestQueue = new RequestQueue(scheduler);
 
-        listeners = new HashMap<>();
+        listeners = new ConcurrentHashMap<>();
         teachInListener = null;
 
         this.errorListener = errorListener;
@@ -246,17 +251,38 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
-            int bytesRead = read(buffer, 1);
-            if (bytesRead > 0) {
-                processMessage(buffer[0]);
+            int bytesRead = read(buffer, buffer.length);
+            if (readingTask == null || readingTask.isCancelled()) {
+                return;
+            }
+            try {
+                if (bytesRead == -1) {
+                    throw new IOException("could not read from inputstream");
+                }
+                if (bytesRead > 0) {
+                    processData(buffer, bytesRead);
+                }
+            } catch (IOException e) {
+                TransceiverErrorListener listener = errorListener;
+                if (listener != null) {
+                    listener.ErrorOccured(e);
+                }
+                return;
             }
         }
     }
 
-    protected abstract void processMessage(byte firstByte);
+    /**
+     * Decodes the received bytes. Telegrams may be split across several calls, so the decoder has to keep its state
+     * between calls.
+     *
+     * @param buffer the received bytes
+     * @param length the number of valid bytes in the buffer
+     */
+    protected abstract void processData(byte[] buffer, int length) throws IOException;
 
     protected int read(byte[] buffer, int length) {
         try {
@@ -291,8 +317,7 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<PacketListener> pl = listeners.get(s);
+                Set<PacketListener> pl = listeners.get(toListenerKey(senderId));
                 if (pl != null) {
                     pl.forEach(l -> l.packetReceived(msg));
                 }
@@ -302,6 +327,18 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
         }
     }
 
+    /**
+     * Converts a sender id into the key of the listeners, which is the numeric value of the hex representation of the
+     * id.
+     */
+    private static long toListenerKey(byte[] senderId) {
+        long key = 0;
+        for (byte b : senderId) {
+            key = (key << 8) | (b & 0xFF);
+        }
+        return key;
+    }
+
     protected void handleResponse(Response response) throws IOException {
         if (currentRequest != null) {
             if (currentRequest.ResponseListener != null) {
@@ -339,19 +376,16 @@ public abstract class EnOceanTransceiver implements SerialPortEventListener {
     protected abstract byte[] serializePacket(BasePacket packet) throws EnOceanException;
 
     public void addPacketListener(PacketListener listener, long senderIdToListenTo) {
-        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new HashSet<>()).add(listener)) {
+        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new CopyOnWriteArraySet<>()).add(listener)) {
             logger.debug("Listener added: {}", senderIdToListenTo);
         }
     }
 
     public void removePacketListener(PacketListener listener, long senderIdToListenTo) {
-        HashSet<PacketListener> pl = listeners.get(senderIdToListenTo);
-        if (pl != null) {
+        listeners.computeIfPresent(senderIdToListenTo, (k, pl) -> {
             pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(senderIdToListenTo);
-            }
-        }
+            return pl.isEmpty() ? null : pl;
+        });
     }
 
     public void startDiscovery(PacketListener teachInListener) {
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+import org.openhab.binding.enocean.internal.messages.Response;
+import org.openhab.binding.enocean.internal.messages.Response.ResponseType;
+
+/**
+ * Tests the ESP2 framing of {@link EnOceanESP2Transceiver}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class EnOceanESP2TransceiverTest {
+
+    private static final byte[] SENDER_ID = new byte[] { 0x01, (byte) 0x82, 0x3A, 0x4B };
+
+    private List<ERP1Message> messages;
+    private List<Response> responses;
+    private EnOceanESP2Transceiver transceiver;
+
+    @Before
+    public void setUp() {
+        messages = new ArrayList<>();
+        responses = new ArrayList<>();
+        transceiver = createTransceiver();
+    }
+
+    private EnOceanESP2Transceiver createTransceiver() {
+        return new EnOceanESP2Transceiver("/dev/ttyUSB0", mock(TransceiverErrorListener.class),
+                mock(ScheduledExecutorService.class), mock(SerialPortManager.class)) {
+            @Override
+            protected void informListeners(ERP1Message msg) {
+                messages.add(msg);
+            }
+
+            @Override
+            protected void handleResponse(Response response) {
+                responses.add(response);
+            }
+        };
+    }
+
+    /**
+     * A frame with the two sync bytes, the header, 10 bytes of ORG, data, sender id and status and the checksum.
+     */
+    private static byte[] frame(int packetType, byte org, byte[] data) {
+        byte[] frame = new byte[14];
+        frame[0] = (byte) 0xA5;
+        frame[1] = 0x5A;
+        frame[2] = (byte) ((packetType << 5) | 0x0B);
+        frame[3] = org;
+        System.arraycopy(data, 0, frame, 4, 4);
+        System.arraycopy(SENDER_ID, 0, frame, 8, 4);
+        frame[12] = 0x00;
+        int checkSum = 0;
+        for (int i = 2; i < 13; i++) {
+            checkSum += frame[i] & 0xFF;
+        }
+        frame[13] = (byte) checkSum;
+        return frame;
+    }
+
+    private static byte[] fourBSFrame(byte db0) {
+        return frame(0, (byte) 0x07, new byte[] { 0x10, 0x20, 0x30, db0 });
+    }
+
+    private static byte[] okFrame() {
+        return frame(4, (byte) 0x58, new byte[4]);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            stream.write(part, 0, part.length);
+        }
+        return stream.toByteArray();
+    }
+
+    private void feed(byte[] data, int chunkSize) throws IOException {
+        int size = Math.min(chunkSize, data.length);
+        for (int offset = 0; offset < data.length; offset += size) {
+            byte[] chunk = Arrays.copyOfRange(data, offset, Math.min(offset + size, data.length));
+            transceiver.processData(chunk, chunk.length);
+        }
+    }
+
+    @Test
+    public void frameInSingleCall() throws IOException {
+        feed(fourBSFrame((byte) 0x08), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+        ERP1Message msg = messages.get(0);
+        assertEquals(RORG._4BS, msg.getRORG());
+        assertArrayEquals(SENDER_ID, msg.getSenderId());
+        assertArrayEquals(new byte[] { RORG._4BS.getValue(), 0x10, 0x20, 0x30, 0x08, SENDER_ID[0], SENDER_ID[1],
+                SENDER_ID[2], SENDER_ID[3], 0x00 }, msg.getPayload());
+        assertEquals(EnOceanESP2Transceiver.ReadingState.WaitingForFirstSyncByte, transceiver.state);
+    }
+
+    @Test
+    public void frameSplitAcrossCalls() throws IOException {
+        byte[] frame = fourBSFrame((byte) 0x08);
+        for (int chunkSize = 1; chunkSize < frame.length; chunkSize++) {
+            messages.clear();
+            feed(frame, chunkSize);
+
+            assertEquals("chunk size " + chunkSize, 1, messages.size());
+            assertArrayEquals(SENDER_ID, messages.get(0).getSenderId());
+        }
+    }
+
+    @Test
+    public void framesSharingOneCall() throws IOException {
+        feed(concat(fourBSFrame((byte) 0x08), okFrame(), fourBSFrame((byte) 0x00)), Integer.MAX_VALUE);
+
+        assertEquals(2, messages.size());
+        assertFalse(messages.get(0).getIsTeachIn());
+        assertTrue(messages.get(1).getIsTeachIn());
+        assertEquals(1, responses.size());
+        assertEquals(ResponseType.RET_OK, responses.get(0).getResponseType());
+    }
+
+    @Test
+    public void repeatedFirstSyncByteIsSkipped() throws IOException {
+        feed(concat(new byte[] { 0x00, (byte) 0xA5, (byte) 0xA5 }, fourBSFrame((byte) 0x08)), 1);
+
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void invalidLengthIsRejected() throws IOException {
+        // a header with a data length of 0 and one that does not fit into the buffer
+        feed(concat(new byte[] { (byte) 0xA5, 0x5A, 0x00 }, new byte[] { (byte) 0xA5, 0x5A, 0x1F },
+                fourBSFrame((byte) 0x08)), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void checkSumFailureDropsFrameAndResyncs() throws IOException {
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[6] ^= 0x01;
+
+        feed(concat(corrupted, fourBSFrame((byte) 0x00)), 3);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).getIsTeachIn());
+    }
+
+    @Test
+    public void checkSumFailureOnFirstSyncByteContinuesWithSecondSyncByte() throws IOException {
+        // a checksum that equals the first sync byte is treated as the start of the next frame
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[corrupted.length - 1] = (byte) 0xA5;
+        byte[] next = fourBSFrame((byte) 0x00);
+
+        feed(concat(corrupted, Arrays.copyOfRange(next, 1, next.length)), 4);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).getIsTeachIn());
+    }
+
+    @Test
+    public void replayedStreamDecodesTheSame() throws IOException {
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[9] ^= 0x10;
+        byte[] stream = concat(new byte[] { 0x5A, (byte) 0xA5, 0x13 }, fourBSFrame((byte) 0x08), okFrame(), corrupted,
+                new byte[] { (byte) 0xA5, (byte) 0xA5 }, fourBSFrame((byte) 0x00));
+
+        feed(stream, Integer.MAX_VALUE);
+        List<ERP1Message> expected = new ArrayList<>(messages);
+        assertEquals(2, expected.size());
+        assertEquals(1, responses.size());
+
+        // replaying the stream on the same transceiver and on a new one, in different chunk sizes
+        for (int chunkSize : new int[] { 1, 2, 7, 14, 15, stream.length }) {
+            for (boolean fresh : new boolean[] { false, true }) {
+                if (fresh) {
+                    transceiver = createTransceiver();
+                }
+                messages.clear();
+                responses.clear();
+                feed(stream, chunkSize);
+
+                assertEquals("chunk size " + chunkSize, expected.size(), messages.size());
+                assertEquals(1, responses.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertArrayEquals(expected.get(i).getPayload(), messages.get(i).getPayload());
+                }
+            }
+        }
+    }
+}
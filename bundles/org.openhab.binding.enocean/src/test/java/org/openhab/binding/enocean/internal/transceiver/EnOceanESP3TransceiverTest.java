@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.EnOceanException;
+import org.openhab.binding.enocean.internal.messages.BasePacket;
+import org.openhab.binding.enocean.internal.messages.BasePacket.ESPPacketType;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
+import org.openhab.binding.enocean.internal.messages.Response;
+import org.openhab.binding.enocean.internal.messages.Response.ResponseType;
+
+/**
+ * Tests the ESP3 framing of {@link EnOceanESP3Transceiver}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class EnOceanESP3TransceiverTest {
+
+    private static final byte[] SENDER_ID = new byte[] { (byte) 0xFE, (byte) 0xF1, 0x23, 0x45 };
+
+    private List<ERP1Message> messages;
+    private List<Response> responses;
+    private EnOceanESP3Transceiver transceiver;
+
+    @Before
+    public void setUp() {
+        messages = new ArrayList<>();
+        responses = new ArrayList<>();
+        transceiver = createTransceiver();
+    }
+
+    private EnOceanESP3Transceiver createTransceiver() {
+        return new EnOceanESP3Transceiver("/dev/ttyUSB0", mock(TransceiverErrorListener.class),
+                mock(ScheduledExecutorService.class), mock(SerialPortManager.class)) {
+            @Override
+            protected void informListeners(ERP1Message msg) {
+                messages.add(msg);
+            }
+
+            @Override
+            protected void handleResponse(Response response) {
+                responses.add(response);
+            }
+        };
+    }
+
+    private static byte[] serialize(BasePacket packet) throws EnOceanException {
+        return new ESP3Packet(packet).serialize();
+    }
+
+    /**
+     * A 4BS telegram with the usual 7 bytes of optional data.
+     */
+    private static byte[] fourBSFrame(byte db0) throws EnOceanException {
+        byte[] payload = new byte[] { RORG._4BS.getValue(), 0x01, 0x02, 0x03, db0, SENDER_ID[0], SENDER_ID[1],
+                SENDER_ID[2], SENDER_ID[3], 0x00, 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x40,
+                0x00 };
+        return serialize(new ERP1Message(10, 7, payload));
+    }
+
+    /**
+     * A VLD telegram whose data length does not fit into a single byte.
+     */
+    private static byte[] vldFrame(int dataLength) throws EnOceanException {
+        byte[] payload = new byte[dataLength + 7];
+        payload[0] = RORG.VLD.getValue();
+        for (int i = 1; i < dataLength - 5; i++) {
+            payload[i] = (byte) i;
+        }
+        System.arraycopy(SENDER_ID, 0, payload, dataLength - 5, SENDER_ID.length);
+        return serialize(new ERP1Message(dataLength, 7, payload));
+    }
+
+    private static byte[] responseFrame() throws EnOceanException {
+        return serialize(ESP3PacketFactory.BuildPacket(1, 0, ESPPacketType.RESPONSE.getValue(),
+                new byte[] { ResponseType.RET_OK.getValue() }));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            stream.write(part, 0, part.length);
+        }
+        return stream.toByteArray();
+    }
+
+    private void feed(byte[] data, int chunkSize) throws IOException {
+        int size = Math.min(chunkSize, data.length);
+        for (int offset = 0; offset < data.length; offset += size) {
+            byte[] chunk = Arrays.copyOfRange(data, offset, Math.min(offset + size, data.length));
+            transceiver.processData(chunk, chunk.length);
+        }
+    }
+
+    @Test
+    public void frameInSingleCall() throws Exception {
+        feed(fourBSFrame((byte) 0x08), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+        assertEquals(RORG._4BS, messages.get(0).getRORG());
+        assertArrayEquals(SENDER_ID, messages.get(0).getSenderId());
+        assertArrayEquals(new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x40, 0x00 },
+                messages.get(0).getOptionalPayload());
+        assertEquals(EnOceanESP3Transceiver.ReadingState.WaitingForSyncByte, transceiver.state);
+    }
+
+    @Test
+    public void frameSplitAcrossCalls() throws Exception {
+        byte[] frame = fourBSFrame((byte) 0x08);
+        for (int chunkSize = 1; chunkSize < frame.length; chunkSize++) {
+            messages.clear();
+            feed(frame, chunkSize);
+
+            assertEquals("chunk size " + chunkSize, 1, messages.size());
+            assertArrayEquals(SENDER_ID, messages.get(0).getSenderId());
+        }
+    }
+
+    @Test
+    public void framesSharingOneCall() throws Exception {
+        feed(concat(fourBSFrame((byte) 0x08), responseFrame(), fourBSFrame((byte) 0x00)), Integer.MAX_VALUE);
+
+        assertEquals(2, messages.size());
+        assertFalse(messages.get(0).getIsTeachIn());
+        assertTrue(messages.get(1).getIsTeachIn());
+        assertEquals(1, responses.size());
+        assertEquals(ResponseType.RET_OK, responses.get(0).getResponseType());
+    }
+
+    @Test
+    public void garbageBeforeSyncByteIsSkipped() throws Exception {
+        feed(concat(new byte[] { 0x00, 0x12, (byte) 0xAB }, fourBSFrame((byte) 0x08)), 2);
+
+        assertEquals(1, messages.size());
+        assertArrayEquals(SENDER_ID, messages.get(0).getSenderId());
+    }
+
+    @Test
+    public void headerCrcFailureResyncsOnSyncByteInsideHeader() throws Exception {
+        // the header read after the first sync byte fails its CRC and contains the sync byte of the real frame
+        feed(concat(new byte[] { 0x55, 0x01, 0x02 }, fourBSFrame((byte) 0x08)), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+        assertArrayEquals(SENDER_ID, messages.get(0).getSenderId());
+    }
+
+    @Test
+    public void headerCrcFailureDropsFrame() throws Exception {
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[5] ^= 0x01;
+
+        feed(concat(corrupted, fourBSFrame((byte) 0x00)), 3);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).getIsTeachIn());
+    }
+
+    @Test
+    public void emptyHeaderIsRejected() throws Exception {
+        // a header with zero data and optional length has a valid CRC but can not be a frame
+        feed(concat(new byte[] { 0x55, 0x00, 0x00, 0x00, 0x00, 0x00 }, fourBSFrame((byte) 0x08)), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void dataCrcFailureDropsFrameAndResyncs() throws Exception {
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[8] ^= 0x01;
+
+        feed(concat(corrupted, fourBSFrame((byte) 0x00)), Integer.MAX_VALUE);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).getIsTeachIn());
+        assertEquals(EnOceanESP3Transceiver.ReadingState.WaitingForSyncByte, transceiver.state);
+    }
+
+    @Test
+    public void dataCrcFailureOnSyncByteContinuesWithHeader() throws Exception {
+        // a data CRC that equals the sync byte is treated as the start of the next frame
+        byte[] corrupted = fourBSFrame((byte) 0x08);
+        corrupted[corrupted.length - 1] = ESP3Packet.ESP3_SYNC_BYTE;
+        byte[] next = fourBSFrame((byte) 0x00);
+
+        feed(concat(corrupted, Arrays.copyOfRange(next, 1, next.length)), 4);
+
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).getIsTeachIn());
+    }
+
+    @Test
+    public void dataLengthAbove255() throws Exception {
+        byte[] frame = vldFrame(300);
+        assertEquals(0x01, frame[1]);
+        assertEquals(0x2C, frame[2]);
+
+        feed(concat(frame, fourBSFrame((byte) 0x08)), 64);
+
+        assertEquals(2, messages.size());
+        ERP1Message msg = messages.get(0);
+        assertEquals(RORG.VLD, msg.getRORG());
+        assertEquals(300, msg.getPayload().length);
+        assertEquals(7, msg.getOptionalPayload().length);
+        assertArrayEquals(SENDER_ID, msg.getSenderId());
+        for (int i = 1; i < 295; i++) {
+            assertEquals((byte) i, msg.getPayload()[i]);
+        }
+        assertEquals(RORG._4BS, messages.get(1).getRORG());
+    }
+
+    @Test
+    public void replayedStreamDecodesTheSame() throws Exception {
+        byte[] corruptedData = fourBSFrame((byte) 0x08);
+        corruptedData[10] ^= 0x40;
+        byte[] stream = concat(new byte[] { 0x00, 0x55, 0x13 }, fourBSFrame((byte) 0x08), responseFrame(),
+                corruptedData, vldFrame(280), new byte[] { 0x55, 0x55 }, fourBSFrame((byte) 0x00));
+
+        feed(stream, Integer.MAX_VALUE);
+        List<ERP1Message> expected = new ArrayList<>(messages);
+        assertEquals(3, expected.size());
+        assertEquals(1, responses.size());
+
+        // replaying the stream on the same transceiver and on a new one, in different chunk sizes
+        for (int chunkSize : new int[] { 1, 5, 16, 255, 256, stream.length }) {
+            for (boolean fresh : new boolean[] { false, true }) {
+                if (fresh) {
+                    transceiver = createTransceiver();
+                }
+                messages.clear();
+                responses.clear();
+                feed(stream, chunkSize);
+
+                assertEquals("chunk size " + chunkSize, expected.size(), messages.size());
+                assertEquals(1, responses.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getRORG(), messages.get(i).getRORG());
+                    assertArrayEquals(expected.get(i).getPayload(), messages.get(i).getPayload());
+                    assertArrayEquals(expected.get(i).getOptionalPayload(), messages.get(i).getOptionalPayload());
+                }
+            }
+        }
+    }
+}
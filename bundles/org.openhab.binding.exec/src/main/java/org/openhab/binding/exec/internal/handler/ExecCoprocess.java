@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecCoprocess} keeps a command running and talks to it with a line based protocol: every request is
+ * written as one line to the stdin of the process, and the next line the process writes to its stdout is the
+ * response. Lines written while no request is pending are passed to the listener as they are. The stderr of the
+ * process is logged.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ExecCoprocess {
+
+    /**
+     * Receives the output of the process which doesn't belong to a request and the exit of the process.
+     */
+    public interface CoprocessListener {
+        void onOutput(String line);
+
+        void onExit(int exitValue);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ExecCoprocess.class);
+
+    private final String[] cmdArray;
+    private final String name;
+    private final CoprocessListener listener;
+
+    private final Object requestLock = new Object();
+    private @Nullable Process process;
+    private @Nullable BufferedWriter stdin;
+    private volatile @Nullable CompletableFuture<String> pendingResponse;
+
+    public ExecCoprocess(String[] cmdArray, String name, CoprocessListener listener) {
+        this.cmdArray = cmdArray;
+        this.name = name;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the process, if it isn't running.
+     *
+     * @throws IOException if the process can't be started
+     */
+    public synchronized void start() throws IOException {
+        Process currentProcess = process;
+        if (currentProcess != null && currentProcess.isAlive()) {
+            return;
+        }
+
+        logger.debug("Starting co-process '{}'", Arrays.asList(cmdArray));
+        Process newProcess = new ProcessBuilder(cmdArray).start();
+        process = newProcess;
+        stdin = new BufferedWriter(new OutputStreamWriter(newProcess.getOutputStream()));
+        startThread(() -> readOutput(newProcess), "stdout");
+        startThread(() -> readErrors(newProcess.getErrorStream()), "stderr");
+    }
+
+    /**
+     * Stops the process. A pending request fails.
+     */
+    public synchronized void stop() {
+        Process currentProcess = process;
+        process = null;
+        stdin = null;
+        if (currentProcess != null) {
+            logger.debug("Stopping co-process '{}'", Arrays.asList(cmdArray));
+            currentProcess.destroy();
+            try {
+                if (!currentProcess.waitFor(1, TimeUnit.SECONDS)) {
+                    currentProcess.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                currentProcess.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the process is running.
+     *
+     * @return true if the process is running
+     */
+    public synchronized boolean isAlive() {
+        Process currentProcess = process;
+        return currentProcess != null && currentProcess.isAlive();
+    }
+
+    /**
+     * Sends a request to the process and waits for its response. The process is started if it isn't running.
+     *
+     * @param input the request, it must not contain line breaks
+     * @param timeout time in milliseconds to wait for the response
+     * @return the response line
+     * @throws IOException if the process can't be started or exits before responding
+     * @throws TimeoutException if the process doesn't respond in time
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public String request(String input, long timeout) throws IOException, TimeoutException, InterruptedException {
+        synchronized (requestLock) {
+            CompletableFuture<String> response = new CompletableFuture<>();
+            synchronized (this) {
+                start();
+                BufferedWriter writer = stdin;
+                if (writer == null) {
+                    throw new IOException("Co-process is not running");
+                }
+                pendingResponse = response;
+                writer.write(input);
+                writer.newLine();
+                writer.flush();
+            }
+            try {
+                return response.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            } finally {
+                pendingResponse = null;
+            }
+        }
+    }
+
+    private void startThread(Runnable runnable, String stream) {
+        Thread thread = new Thread(runnable, "OH-exec-" + name + "-" + stream);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void readOutput(Process ownProcess) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ownProcess.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
+                CompletableFuture<String> response = pendingResponse;
+                if (response == null || !response.complete(line)) {
+                    listener.onOutput(line);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Reading the stdout of co-process '{}' failed: {}", Arrays.asList(cmdArray),
+                    e.getMessage());
+        }
+
+        int exitValue;
+        try {
+            exitValue = ownProcess.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        CompletableFuture<String> response = pendingResponse;
+        if (response != null) {
+            response.completeExceptionally(new IOException("Co-process exited with " + exitValue));
+        }
+
+        boolean current;
+        synchronized (this) {
+            current = process == ownProcess;
+            if (current) {
+                process = null;
+                stdin = null;
+            }
+        }
+        // a stopped process is not reported
+        if (current) {
+            listener.onExit(exitValue);
+        }
+    }
+
+    private void readErrors(InputStream errorStream) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(errorStream))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Exec [{}]: '{}'", "ERROR", line);
+            }
+        } catch (IOException e) {
+            logger.debug("Reading the stderr of co-process '{}' failed: {}", Arrays.asList(cmdArray),
+                    e.getMessage());
+        }
+    }
+}
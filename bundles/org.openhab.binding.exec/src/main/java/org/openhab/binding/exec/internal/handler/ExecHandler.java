@@ -24,6 +24,7 @@ import java.util.Calendar;
 import java.util.IllegalFormatException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -38,6 +39,7 @@ import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationHelper;
@@ -82,12 +84,24 @@ public class ExecHandler extends BaseThingHandler {
     public static final String COMMAND = "command";
     public static final String TRANSFORM = "transform";
     public static final String AUTORUN = "autorun";
+    public static final String PERSISTENT = "persistent";
+
+    // Delay before a persistent command is started again after it exited
+    private static final long RESTART_DELAY = 10;
+
+    // Number of executions after which the average latency is logged
+    private static final int STATISTICS_INTERVAL = 100;
 
     // RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code>
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
 
     private @Nullable ScheduledFuture<?> executionJob;
+    private @Nullable ScheduledFuture<?> restartJob;
     private @Nullable String lastInput;
+    private @Nullable ExecCoprocess coprocess;
+
+    private long executions;
+    private long executionTime;
 
     private static Runtime rt = Runtime.getRuntime();
 
@@ -126,6 +140,25 @@ public class ExecHandler extends BaseThingHandler {
 
     @Override
     public void initialize() {
+        Object persistent = getConfig().get(PERSISTENT);
+        if (persistent != null && ((Boolean) persistent)) {
+            String commandLine = (String) getConfig().get(COMMAND);
+            if (commandLine == null || !execWhitelistWatchService.isWhitelisted(commandLine)) {
+                logger.warn("Tried to start '{}', but it is not contained in whitelist.", commandLine);
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                        "The command is not contained in the whitelist");
+                return;
+            }
+            String[] cmdArray = createCommandArray(commandLine);
+            if (cmdArray == null || cmdArray.length == 0) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                        "The command can't be executed");
+                return;
+            }
+            coprocess = new ExecCoprocess(cmdArray, getThing().getUID().getId(), coprocessListener);
+            scheduler.execute(this::startCoprocess);
+        }
+
         if (executionJob == null || executionJob.isCancelled()) {
             if ((getConfig().get(INTERVAL)) != null && ((BigDecimal) getConfig().get(INTERVAL)).intValue() > 0) {
                 int pollingInterval = ((BigDecimal) getConfig().get(INTERVAL)).intValue();
@@ -142,12 +175,26 @@ public class ExecHandler extends BaseThingHandler {
             executionJob.cancel(true);
             executionJob = null;
         }
+        ScheduledFuture<?> job = restartJob;
+        if (job != null) {
+            job.cancel(true);
+            restartJob = null;
+        }
+        ExecCoprocess currentCoprocess = coprocess;
+        if (currentCoprocess != null) {
+            currentCoprocess.stop();
+            coprocess = null;
+        }
     }
 
     public void execute() {
         String commandLine = (String) getConfig().get(COMMAND);
         if (!execWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
+            ExecCoprocess currentCoprocess = coprocess;
+            if (currentCoprocess != null) {
+                currentCoprocess.stop();
+            }
             return;
         }
 
@@ -156,6 +203,12 @@ public class ExecHandler extends BaseThingHandler {
             timeOut = ((BigDecimal) getConfig().get(TIME_OUT)).intValue() * 1000;
         }
 
+        ExecCoprocess currentCoprocess = coprocess;
+        if (currentCoprocess != null) {
+            executeCoprocess(currentCoprocess, timeOut);
+            return;
+        }
+
         if (commandLine != null && !commandLine.isEmpty()) {
             updateState(RUN, OnOffType.ON);
 
@@ -183,42 +236,9 @@ public class ExecHandler extends BaseThingHandler {
                 return;
             }
 
-            String[] cmdArray;
-            String[] shell;
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
-                try {
-                    cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                } catch (PatternSyntaxException e) {
-                    logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
-                    updateState(RUN, OnOffType.OFF);
-                    updateState(OUTPUT, new StringType(e.getMessage()));
-                    return;
-                }
-            } else {
-                // Invoke shell with 'c' option and pass string
-                logger.debug("Passing to shell for parsing command.");
-                switch (getOperatingSystemType()) {
-                    case WINDOWS:
-                        shell = SHELL_WINDOWS;
-                        logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "/c", commandLine);
-                        break;
-                    case LINUX:
-                    case MAC:
-                    case SOLARIS:
-                        // assume sh is present, should all be POSIX-compliant
-                        shell = SHELL_NIX;
-                        logger.debug("OS: *NIX ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "-c", commandLine);
-                        break;
-                    default:
-                        logger.debug("OS: Unknown ({})", getOperatingSystemName());
-                        logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
-                        updateState(RUN, OnOffType.OFF);
-                        updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
-                        return;
-                }
+            String[] cmdArray = createCommandArray(commandLine);
+            if (cmdArray == null) {
+                return;
             }
 
             if (cmdArray.length == 0) {
@@ -228,6 +248,7 @@ public class ExecHandler extends BaseThingHandler {
 
             logger.trace("The command to be executed will be '{}'", Arrays.asList(cmdArray));
 
+            long start = System.nanoTime();
             Process proc;
             try {
                 proc = rt.exec(cmdArray);
@@ -279,6 +300,7 @@ public class ExecHandler extends BaseThingHandler {
                 proc.destroyForcibly();
             }
 
+            recordExecution(start, "classic");
             updateState(RUN, OnOffType.OFF);
             updateState(EXIT, new DecimalType(proc.exitValue()));
 
@@ -300,6 +322,140 @@ public class ExecHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Sends the last input to the running co-process and publishes its response.
+     *
+     * @param currentCoprocess the co-process of the command
+     * @param timeOut time in milliseconds to wait for the response
+     */
+    private void executeCoprocess(ExecCoprocess currentCoprocess, int timeOut) {
+        updateState(RUN, OnOffType.ON);
+        String input = lastInput;
+        long start = System.nanoTime();
+        try {
+            String response = currentCoprocess.request(input == null ? "" : input.replaceAll("[\\r\\n]+", " "),
+                    timeOut);
+            recordExecution(start, "persistent");
+            publishOutput(response);
+            updateState(LAST_EXECUTION, new DateTimeType(ZonedDateTime.now()));
+        } catch (TimeoutException e) {
+            logger.warn("The process ('{}') did not respond within {} ms, restarting it", getConfig().get(COMMAND),
+                    timeOut);
+            currentCoprocess.stop();
+            startCoprocess();
+        } catch (IOException e) {
+            logger.warn("An exception occurred while sending a request to the process ('{}') : '{}'",
+                    getConfig().get(COMMAND), e.getMessage());
+            updateState(OUTPUT, new StringType(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            updateState(RUN, OnOffType.OFF);
+        }
+    }
+
+    private void publishOutput(String output) {
+        String transformedResponse = output;
+        String transformation = (String) getConfig().get(TRANSFORM);
+
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(transformedResponse, transformation);
+        }
+
+        updateState(OUTPUT, new StringType(transformedResponse));
+    }
+
+    private void startCoprocess() {
+        ExecCoprocess currentCoprocess = coprocess;
+        if (currentCoprocess == null) {
+            return;
+        }
+        try {
+            currentCoprocess.start();
+        } catch (IOException e) {
+            logger.warn("An exception occurred while starting the process ('{}') : '{}'", getConfig().get(COMMAND),
+                    e.getMessage());
+            updateState(OUTPUT, new StringType(e.getMessage()));
+        }
+    }
+
+    private final ExecCoprocess.CoprocessListener coprocessListener = new ExecCoprocess.CoprocessListener() {
+        @Override
+        public void onOutput(String line) {
+            publishOutput(line);
+        }
+
+        @Override
+        public void onExit(int exitValue) {
+            logger.debug("The process ('{}') exited with {}, starting it again in {} s", getConfig().get(COMMAND),
+                    exitValue, RESTART_DELAY);
+            updateState(EXIT, new DecimalType(exitValue));
+            restartJob = scheduler.schedule(ExecHandler.this::startCoprocess, RESTART_DELAY, TimeUnit.SECONDS);
+        }
+    };
+
+    /**
+     * Adds an execution to the latency statistics, which are logged every {@link #STATISTICS_INTERVAL} executions.
+     *
+     * @param start the start of the execution by {@link System#nanoTime()}
+     * @param mode the execution mode for logging
+     */
+    private synchronized void recordExecution(long start, String mode) {
+        executions++;
+        executionTime += System.nanoTime() - start;
+        if (executions % STATISTICS_INTERVAL == 0) {
+            logger.debug("Executed '{}' {} times in {} mode with an average latency of {} ms", getConfig().get(COMMAND),
+                    executions, mode, TimeUnit.NANOSECONDS.toMillis(executionTime / executions));
+        }
+    }
+
+    /**
+     * Splits the command line into the command and its arguments, or passes it to the shell.
+     *
+     * @param commandLine the formatted command line
+     * @return the command array or null if the command line can't be executed
+     */
+    private String @Nullable [] createCommandArray(String commandLine) {
+        String[] cmdArray;
+        String[] shell;
+        if (commandLine.contains(CMD_LINE_DELIMITER)) {
+            logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
+            try {
+                cmdArray = commandLine.split(CMD_LINE_DELIMITER);
+            } catch (PatternSyntaxException e) {
+                logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
+                updateState(RUN, OnOffType.OFF);
+                updateState(OUTPUT, new StringType(e.getMessage()));
+                return null;
+            }
+        } else {
+            // Invoke shell with 'c' option and pass string
+            logger.debug("Passing to shell for parsing command.");
+            switch (getOperatingSystemType()) {
+                case WINDOWS:
+                    shell = SHELL_WINDOWS;
+                    logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "/c", commandLine);
+                    break;
+                case LINUX:
+                case MAC:
+                case SOLARIS:
+                    // assume sh is present, should all be POSIX-compliant
+                    shell = SHELL_NIX;
+                    logger.debug("OS: *NIX ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "-c", commandLine);
+                    break;
+                default:
+                    logger.debug("OS: Unknown ({})", getOperatingSystemName());
+                    logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
+                    updateState(RUN, OnOffType.OFF);
+                    updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
+                    return null;
+            }
+        }
+        return cmdArray;
+    }
+
     protected @Nullable String transformResponse(String response, String transformation) {
         String transformedResponse;
 
@@ -39,6 +39,7 @@ import org.osgi.service.component.annotations.Reference;
 public class HueCommandExtension extends AbstractConsoleCommandExtension {
 
     private static final String USER_NAME = "username";
+    private static final String STATISTICS = "statistics";
 
     private final ThingRegistry thingRegistry;
 
@@ -81,6 +82,10 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension {
                         String userName = bridgeHandler.getUserName();
                         console.println("Your user name is " + (userName != null ? userName : "undefined"));
                         break;
+                    case STATISTICS:
+                        console.println("Light polling: " + bridgeHandler.getLightPollingStatistics());
+                        console.println("Sensor polling: " + bridgeHandler.getSensorPollingStatistics());
+                        break;
                     default:
                         printUsage(console);
                         break;
@@ -93,6 +98,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension {
 
     @Override
     public List<String> getUsages() {
-        return Arrays.asList(buildCommandUsage("<bridgeUID> " + USER_NAME, "show the user name"));
+        return Arrays.asList(buildCommandUsage("<bridgeUID> " + USER_NAME, "show the user name"),
+                buildCommandUsage("<bridgeUID> " + STATISTICS, "show the polling statistics"));
     }
 }
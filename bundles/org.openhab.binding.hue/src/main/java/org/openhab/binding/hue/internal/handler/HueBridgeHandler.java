@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -98,6 +99,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, GroupStatusListener> groupStatusListeners = new ConcurrentHashMap<>();
 
+    private final PollingStatistics lightPollingStatistics = new PollingStatistics();
+    private final PollingStatistics sensorPollingStatistics = new PollingStatistics();
+
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
@@ -167,13 +171,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            long start = System.currentTimeMillis();
+            int changed = 0;
+            int unchanged = 0;
+
             Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
 
             final HueLightDiscoveryService discovery = discoveryService;
 
             for (final FullSensor sensor : hueBridge.getSensors()) {
                 String sensorId = sensor.getId();
-                lastSensorStateCopy.remove(sensorId);
+                final FullSensor lastSensor = lastSensorStateCopy.remove(sensorId);
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
@@ -184,7 +192,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastSensorStates.put(sensorId, sensor);
+                } else if (!isSensorChanged(lastSensor, sensor)) {
+                    unchanged++;
                 } else {
+                    changed++;
                     if (sensorStatusListener.onSensorStateChanged(sensor)) {
                         lastSensorStates.put(sensorId, sensor);
                     }
@@ -205,12 +216,20 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeSensorDiscovery(sensor);
                 }
             });
+
+            sensorPollingStatistics.record(System.currentTimeMillis() - start, changed, unchanged);
+            logger.trace("Sensor polling took {} ms, {} sensor(s) changed, {} sensor(s) unchanged.",
+                    sensorPollingStatistics.getLastDuration(), changed, unchanged);
         }
     };
 
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            long start = System.currentTimeMillis();
+            int changed = 0;
+            int unchanged = 0;
+
             Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
 
             List<FullLight> lights;
@@ -224,7 +243,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
-                lastLightStateCopy.remove(lightId);
+                final FullLight lastLight = lastLightStateCopy.remove(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
@@ -235,7 +254,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                } else if (!isLightChanged(lastLight, fullLight)) {
+                    unchanged++;
                 } else {
+                    changed++;
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
                     }
@@ -307,7 +329,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                         groupState.getXY());
 
                 String groupId = fullGroup.getId();
-                lastGroupStateCopy.remove(groupId);
+                final FullGroup lastGroup = lastGroupStateCopy.remove(groupId);
 
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener == null) {
@@ -319,7 +341,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     }
 
                     lastGroupStates.put(groupId, fullGroup);
+                } else if (!isGroupChanged(lastGroup, fullGroup)) {
+                    unchanged++;
                 } else {
+                    changed++;
                     if (groupStatusListener.onGroupStateChanged(fullGroup)) {
                         lastGroupStates.put(groupId, fullGroup);
                     }
@@ -340,9 +365,51 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeGroupDiscovery(group);
                 }
             });
+
+            lightPollingStatistics.record(System.currentTimeMillis() - start, changed, unchanged);
+            logger.trace("Light polling took {} ms, {} light(s)/group(s) changed, {} light(s)/group(s) unchanged.",
+                    lightPollingStatistics.getLastDuration(), changed, unchanged);
         }
     };
 
+    /**
+     * Checks whether the state of a light reported by the bridge differs from the last state which was accepted by
+     * its {@link LightStatusListener}.
+     *
+     * @param lastLight the last accepted light or null if the light is not known yet
+     * @param light the light as reported by the bridge
+     * @return true if the listener has to be notified
+     */
+    static boolean isLightChanged(@Nullable FullLight lastLight, FullLight light) {
+        return lastLight == null || !Objects.equals(lastLight.getState(), light.getState());
+    }
+
+    /**
+     * Checks whether the state or configuration of a sensor reported by the bridge differs from the last one which was
+     * accepted by its {@link SensorStatusListener}.
+     *
+     * @param lastSensor the last accepted sensor or null if the sensor is not known yet
+     * @param sensor the sensor as reported by the bridge
+     * @return true if the listener has to be notified
+     */
+    static boolean isSensorChanged(@Nullable FullSensor lastSensor, FullSensor sensor) {
+        return lastSensor == null || !Objects.equals(lastSensor.getState(), sensor.getState())
+                || !Objects.equals(lastSensor.getConfig(), sensor.getConfig());
+    }
+
+    /**
+     * Checks whether the computed state or the members of a group differ from the last ones which were accepted by its
+     * {@link GroupStatusListener}.
+     *
+     * @param lastGroup the last accepted group or null if the group is not known yet
+     * @param group the group as reported by the bridge
+     * @return true if the listener has to be notified
+     */
+    static boolean isGroupChanged(@Nullable FullGroup lastGroup, FullGroup group) {
+        return lastGroup == null || !Objects.equals(lastGroup.getState(), group.getState())
+                || !Objects.equals(lastGroup.getLights(), group.getLights());
+    }
+
     private boolean lastBridgeConnectionState = false;
 
     private boolean propertiesInitializedSuccessfully = false;
@@ -640,6 +707,14 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         return hueBridgeConfig == null ? null : hueBridgeConfig.getUserName();
     }
 
+    public PollingStatistics getLightPollingStatistics() {
+        return lightPollingStatistics;
+    }
+
+    public PollingStatistics getSensorPollingStatistics() {
+        return sensorPollingStatistics;
+    }
+
     private synchronized void onUpdate() {
         if (hueBridge != null) {
             startLightPolling();
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link PollingStatistics} collects the duration of the polling cycles of a {@link HueBridgeHandler} and the
+ * number of hue objects which were reported as changed or unchanged by the bridge.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class PollingStatistics {
+
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private final AtomicLong lastDuration = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
+    private final AtomicLong changedObjects = new AtomicLong();
+    private final AtomicLong unchangedObjects = new AtomicLong();
+
+    /**
+     * Records a finished polling cycle.
+     *
+     * @param duration the duration of the polling cycle in milliseconds
+     * @param changed the number of objects whose state changed since the last cycle
+     * @param unchanged the number of objects whose state did not change since the last cycle
+     */
+    void record(long duration, int changed, int unchanged) {
+        polls.incrementAndGet();
+        totalDuration.addAndGet(duration);
+        lastDuration.set(duration);
+        maxDuration.accumulateAndGet(duration, Math::max);
+        changedObjects.addAndGet(changed);
+        unchangedObjects.addAndGet(unchanged);
+    }
+
+    public long getPolls() {
+        return polls.get();
+    }
+
+    public long getLastDuration() {
+        return lastDuration.get();
+    }
+
+    public long getMaxDuration() {
+        return maxDuration.get();
+    }
+
+    public long getAverageDuration() {
+        long count = polls.get();
+        return count == 0 ? 0 : totalDuration.get() / count;
+    }
+
+    public long getChangedObjects() {
+        return changedObjects.get();
+    }
+
+    public long getUnchangedObjects() {
+        return unchangedObjects.get();
+    }
+
+    @Override
+    public String toString() {
+        return "polls " + getPolls() + ", duration last " + getLastDuration() + " ms / avg " + getAverageDuration()
+                + " ms / max " + getMaxDuration() + " ms, changed objects " + getChangedObjects()
+                + ", unchanged objects " + getUnchangedObjects();
+    }
+}
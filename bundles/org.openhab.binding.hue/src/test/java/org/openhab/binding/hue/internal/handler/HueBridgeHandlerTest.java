@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.FullConfig;
+import org.openhab.binding.hue.internal.FullLight;
+import org.openhab.binding.hue.internal.FullSensor;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for the change detection of {@link HueBridgeHandler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class HueBridgeHandlerTest {
+
+    private Gson gson;
+
+    @Before
+    public void setUp() {
+        gson = new Gson();
+    }
+
+    @Test
+    public void unknownLightIsChanged() {
+        assertTrue(HueBridgeHandler.isLightChanged(null, light(new HueLightState())));
+    }
+
+    @Test
+    public void lightWithSameStateIsNotChanged() {
+        assertFalse(HueBridgeHandler.isLightChanged(light(new HueLightState().bri(100)),
+                light(new HueLightState().bri(100))));
+    }
+
+    @Test
+    public void lightWithDifferentStateIsChanged() {
+        assertTrue(HueBridgeHandler.isLightChanged(light(new HueLightState().bri(100)),
+                light(new HueLightState().bri(101))));
+        assertTrue(HueBridgeHandler.isLightChanged(light(new HueLightState().on(true)),
+                light(new HueLightState().on(false))));
+    }
+
+    @Test
+    public void sensorWithSameStateAndConfigIsNotChanged() {
+        assertFalse(HueBridgeHandler.isSensorChanged(sensor(true, "2020-01-01T10:00:00", 100),
+                sensor(true, "2020-01-01T10:00:00", 100)));
+    }
+
+    @Test
+    public void sensorWithDifferentStateIsChanged() {
+        assertTrue(HueBridgeHandler.isSensorChanged(sensor(false, "2020-01-01T10:00:00", 100),
+                sensor(true, "2020-01-01T10:00:01", 100)));
+    }
+
+    @Test
+    public void sensorWithDifferentConfigIsChanged() {
+        assertTrue(HueBridgeHandler.isSensorChanged(sensor(true, "2020-01-01T10:00:00", 100),
+                sensor(true, "2020-01-01T10:00:00", 99)));
+    }
+
+    private FullLight light(HueLightState state) {
+        return gson.fromJson(state.toString(), FullConfig.class).getLights().get(0);
+    }
+
+    private FullSensor sensor(boolean presence, String lastUpdated, int battery) {
+        String json = "{\"state\": {\"presence\": " + presence + ", \"lastupdated\": \"" + lastUpdated + "\"},"
+                + " \"config\": {\"on\": true, \"battery\": " + battery + ", \"reachable\": true},"
+                + " \"name\": \"Hue motion sensor 1\", \"type\": \"ZLLPresence\"}";
+        return gson.fromJson(json, FullSensor.class);
+    }
+}
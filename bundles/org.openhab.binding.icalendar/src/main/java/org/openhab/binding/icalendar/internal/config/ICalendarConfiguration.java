@@ -22,6 +22,7 @@ import java.math.BigDecimal;
  */
 public class ICalendarConfiguration {
     public String authorizationCode;
+    public Integer indexWindow;
     public Integer maxSize;
     public String password;
     public BigDecimal refreshTime;
@@ -19,6 +19,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
@@ -241,7 +242,9 @@ public class ICalendarHandler extends BaseThingHandler implements CalendarUpdate
             return false;
         }
         try (final FileInputStream fileStream = new FileInputStream(calendarFile)) {
-            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream);
+            final Duration indexWindow = config.indexWindow == null ? AbstractPresentableCalendar.DEFAULT_INDEX_WINDOW
+                    : Duration.ofDays(config.indexWindow);
+            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream, indexWindow);
             runtimeCalendar = calendar;
             rescheduleCalendarStateUpdate();
         } catch (IOException | CalendarException e) {
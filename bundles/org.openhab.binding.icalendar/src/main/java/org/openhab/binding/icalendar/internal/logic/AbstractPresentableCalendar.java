@@ -14,6 +14,7 @@ package org.openhab.binding.icalendar.internal.logic;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -30,6 +31,11 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public abstract class AbstractPresentableCalendar {
 
+    /**
+     * The default duration for which the occurrences of the events are indexed ahead of the queried instants.
+     */
+    public static final Duration DEFAULT_INDEX_WINDOW = Duration.ofDays(30);
+
     /**
      * Creates an implementing Instance of AbstractPresentableCalendar.
      *
@@ -39,7 +45,21 @@ public abstract class AbstractPresentableCalendar {
      * @throws CalendarException When something while parsing fails.
      */
     public static AbstractPresentableCalendar create(InputStream calendarStream) throws IOException, CalendarException {
-        return new BiweeklyPresentableCalendar(calendarStream);
+        return create(calendarStream, DEFAULT_INDEX_WINDOW);
+    }
+
+    /**
+     * Creates an implementing Instance of AbstractPresentableCalendar.
+     *
+     * @param calendarStream A Stream containing the iCal data.
+     * @param indexWindow How far ahead of the queried instants the occurrences of the events are indexed.
+     * @return The instance.
+     * @throws IOException When something while reading stream fails.
+     * @throws CalendarException When something while parsing fails.
+     */
+    public static AbstractPresentableCalendar create(InputStream calendarStream, Duration indexWindow)
+            throws IOException, CalendarException {
+        return new BiweeklyPresentableCalendar(calendarStream, indexWindow);
     }
 
     /**
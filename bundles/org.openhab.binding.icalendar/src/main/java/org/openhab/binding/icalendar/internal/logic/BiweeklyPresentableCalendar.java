@@ -18,8 +18,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -43,15 +49,39 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * Implementation of {@link AbstractPresentableCalendar} with ical4j. Please
  * use {@link AbstractPresentableCalendar#create(InputStream)} for productive
  * instantiation.
+ * <p>
+ * The occurrences of all events are expanded into an index, sorted by start and by end, which covers a window from
+ * one day before to the configured duration after the queried instants. Queries are answered by binary search
+ * within the index. The window is moved forward incrementally when later instants are queried and rebuilt when
+ * earlier ones are queried.
  *
  * @author Michael Wodniok - Initial contribution
  * @author Andrew Fiddian-Green - Methods getJustBegunEvents() & getJustEndedEvents()
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    private static final Duration LOOK_BEHIND = Duration.ofDays(1);
+
+    private static final Comparator<Occurrence> BY_START = Comparator.<Occurrence, Instant> comparing(o -> o.start)
+            .thenComparingInt(o -> o.order);
+    private static final Comparator<Occurrence> BY_END = Comparator.<Occurrence, Instant> comparing(o -> o.end)
+            .thenComparingInt(o -> o.order);
+
     private final ICalendar usedCalendar;
+    private final Duration indexWindow;
+
+    private final List<Occurrence> occurrencesByStart = new ArrayList<>();
+    private final List<Occurrence> occurrencesByEnd = new ArrayList<>();
+    private final Map<String, Set<Instant>> negativeStarts = new HashMap<>();
+    private Duration maxDuration = Duration.ZERO;
+    private @Nullable Instant windowStart;
+    private @Nullable Instant windowEnd;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
+        this(streamed, DEFAULT_INDEX_WINDOW);
+    }
+
+    BiweeklyPresentableCalendar(InputStream streamed, Duration indexWindow) throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
             final ICalendar currentCalendar = reader.readNext();
             if (currentCalendar == null) {
@@ -59,6 +89,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        this.indexWindow = indexWindow;
     }
 
     @Override
@@ -72,60 +103,96 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
     }
 
     @Override
-    public List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
-        final List<Event> eventList = new ArrayList<>();
-        // process all the events in the iCalendar
-        for (final VEvent event : usedCalendar.getEvents()) {
-            // iterate over all begin dates
-            final DateIterator begDates = getRecurredEventDateIterator(event);
-            while (begDates.hasNext()) {
-                final Instant begInst = begDates.next().toInstant();
-                if (begInst.isBefore(frameBegin)) {
-                    continue;
-                } else if (begInst.isAfter(frameEnd)) {
-                    break;
-                }
-                // fall through => means we are within the time frame
-                Duration duration = getEventLength(event);
-                if (duration == null) {
-                    duration = Duration.ofMinutes(1);
-                }
-                eventList.add(new VEventWPeriod(event, begInst, begInst.plus(duration)).toEvent());
+    public synchronized List<Event> getJustBegunEvents(Instant frameBegin, Instant frameEnd) {
+        ensureWindow(frameBegin, frameEnd);
+        // only the first occurrence of every event within the time frame
+        final Map<Integer, Occurrence> firstOccurrences = new HashMap<>();
+        for (int i = firstIndex(occurrencesByStart, frameBegin, true); i < occurrencesByStart.size(); i++) {
+            final Occurrence occurrence = occurrencesByStart.get(i);
+            if (occurrence.start.isAfter(frameEnd)) {
                 break;
             }
+            firstOccurrences.putIfAbsent(occurrence.order, occurrence);
         }
-        return eventList;
+        return toEvents(firstOccurrences);
     }
 
     @Override
-    public List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
-        final List<Event> eventList = new ArrayList<>();
-        // process all the events in the iCalendar
-        for (final VEvent event : usedCalendar.getEvents()) {
-            final Duration duration = getEventLength(event);
-            if (duration == null) {
-                continue;
-            }
-            // iterate over all begin dates
-            final DateIterator begDates = getRecurredEventDateIterator(event);
-            while (begDates.hasNext()) {
-                final Instant begInst = begDates.next().toInstant();
-                final Instant endInst = begInst.plus(duration);
-                if (endInst.isBefore(frameBegin)) {
-                    continue;
-                } else if (endInst.isAfter(frameEnd)) {
-                    break;
-                }
-                // fall through => means we are within the time frame
-                eventList.add(new VEventWPeriod(event, begInst, endInst).toEvent());
+    public synchronized List<Event> getJustEndedEvents(Instant frameBegin, Instant frameEnd) {
+        ensureWindow(frameBegin, frameEnd);
+        // only the first occurrence of every event within the time frame
+        final Map<Integer, Occurrence> firstOccurrences = new HashMap<>();
+        for (int i = firstIndex(occurrencesByEnd, frameBegin, false); i < occurrencesByEnd.size(); i++) {
+            final Occurrence occurrence = occurrencesByEnd.get(i);
+            if (occurrence.end.isAfter(frameEnd)) {
                 break;
             }
+            if (occurrence.hasDuration) {
+                firstOccurrences.putIfAbsent(occurrence.order, occurrence);
+            }
         }
-        return eventList;
+        return toEvents(firstOccurrences);
     }
 
     @Override
-    public @Nullable Event getNextEvent(Instant instant) {
+    public synchronized @Nullable Event getNextEvent(Instant instant) {
+        ensureWindow(instant, instant);
+        for (int i = firstIndex(occurrencesByStart, instant, true); i < occurrencesByStart.size(); i++) {
+            final Occurrence occurrence = occurrencesByStart.get(i);
+            if (occurrence.start.isAfter(instant) && occurrence.positive && occurrence.hasDuration
+                    && !isCountered(occurrence)) {
+                return occurrence.toEvent();
+            }
+        }
+
+        // nothing within the window, continue the search behind it
+        final Instant currentWindowEnd = windowEnd;
+        if (currentWindowEnd == null) {
+            return null;
+        }
+        final VEventWPeriod nextComponentWPeriod = findNextComponentWPeriod(currentWindowEnd);
+        if (nextComponentWPeriod == null) {
+            return null;
+        }
+        return nextComponentWPeriod.toEvent();
+    }
+
+    @Override
+    public boolean isEventPresent(Instant instant) {
+        return (this.getCurrentComponentWPeriod(instant) != null);
+    }
+
+    /**
+     * Searches for a current event at given Instant. If several events are present, the first one of the calendar
+     * is returned.
+     *
+     * @param instant The Instant to use for finding events.
+     * @return A VEventWPeriod describing the event or null if there is none.
+     */
+    private synchronized @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        ensureWindow(instant, instant);
+        Occurrence current = null;
+        for (int i = firstIndex(occurrencesByStart, instant.minus(maxDuration), true); i < occurrencesByStart
+                .size(); i++) {
+            final Occurrence occurrence = occurrencesByStart.get(i);
+            if (!occurrence.start.isBefore(instant)) {
+                break;
+            }
+            if (occurrence.end.isAfter(instant) && occurrence.positive && occurrence.hasDuration
+                    && (current == null || occurrence.order < current.order) && !isCountered(occurrence)) {
+                current = occurrence;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Searches for the next event after given Instant without the index.
+     *
+     * @param instant The Instant after which the next event should be searched.
+     * @return A VEventWPeriod describing the event or null if there is none.
+     */
+    private @Nullable VEventWPeriod findNextComponentWPeriod(Instant instant) {
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -155,69 +222,181 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
                 earliestNextEvent = positiveCandidate;
             }
         }
+        return earliestNextEvent;
+    }
 
-        if (earliestNextEvent == null) {
-            return null;
+    /**
+     * Makes sure the index covers the given time frame. If it doesn't, the window is moved forward by expanding the
+     * occurrences behind the current window only, or rebuilt if the time frame begins before the current window.
+     *
+     * @param frameBegin The begin of the time frame.
+     * @param frameEnd The end of the time frame.
+     */
+    private void ensureWindow(Instant frameBegin, Instant frameEnd) {
+        final Instant currentStart = windowStart;
+        final Instant currentEnd = windowEnd;
+        if (currentStart != null && currentEnd != null && !frameBegin.isBefore(currentStart)
+                && !frameEnd.isAfter(currentEnd)) {
+            return;
         }
-        return earliestNextEvent.toEvent();
-    }
 
-    @Override
-    public boolean isEventPresent(Instant instant) {
-        return (this.getCurrentComponentWPeriod(instant) != null);
+        Instant newStart = frameBegin.minus(LOOK_BEHIND);
+        final Instant newEnd = frameEnd.plus(indexWindow);
+        if (currentStart != null && currentEnd != null && !frameBegin.isBefore(currentStart)
+                && !frameBegin.isAfter(currentEnd)) {
+            // only the end of the window is expanded, so the window must not start before the indexed time frame
+            if (newStart.isBefore(currentStart)) {
+                newStart = currentStart;
+            }
+            final Instant dropBefore = newStart;
+            // drop what is no longer needed and add the occurrences behind the current window
+            occurrencesByStart.removeIf(o -> o.end.isBefore(dropBefore));
+            occurrencesByEnd.removeIf(o -> o.end.isBefore(dropBefore));
+            expandOccurrences(currentEnd, newEnd, false);
+        } else {
+            occurrencesByStart.clear();
+            occurrencesByEnd.clear();
+            negativeStarts.clear();
+            maxDuration = Duration.ZERO;
+            expandOccurrences(newStart, newEnd, true);
+        }
+        windowStart = newStart;
+        windowEnd = newEnd;
     }
 
     /**
-     * Classifies events into positive and negative ones.
+     * Adds the occurrences of all events within the given time frame to the index. Occurrences ending within the
+     * time frame are added too.
      *
-     * @param positiveEvents A List where to add positive ones.
-     * @param negativeEvents A List where to add negative ones.
+     * @param from The begin of the time frame.
+     * @param to The end of the time frame.
+     * @param includeFrom Whether occurrences starting at the begin of the time frame are added.
      */
-    private void classifyEvents(Collection<VEvent> positiveEvents, Collection<VEvent> negativeEvents) {
-        for (final VEvent currentEvent : usedCalendar.getEvents()) {
+    private void expandOccurrences(Instant from, Instant to, boolean includeFrom) {
+        final List<VEvent> events = usedCalendar.getEvents();
+        for (final VEvent event : events) {
+            final Duration duration = getEventLength(event);
+            if (duration != null && duration.compareTo(maxDuration) > 0) {
+                maxDuration = duration;
+            }
+        }
+
+        final List<Occurrence> added = new ArrayList<>();
+        for (int order = 0; order < events.size(); order++) {
+            final VEvent event = events.get(order);
+            final Duration duration = getEventLength(event);
             @Nullable
-            final Status eventStatus = currentEvent.getStatus();
-            boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
-            final Collection<VEvent> positiveOrNegativeEvents = (positive ? positiveEvents : negativeEvents);
-            positiveOrNegativeEvents.add(currentEvent);
+            final Status eventStatus = event.getStatus();
+            final boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+            @Nullable
+            final Uid eventUid = event.getUid();
+            final String uid = eventUid == null ? null : eventUid.getValue();
+
+            final Instant iterateFrom;
+            if (!includeFrom) {
+                iterateFrom = from;
+            } else if (!positive) {
+                // negative events have to cover the start of every positive occurrence within the index
+                iterateFrom = from.minus(maxDuration);
+            } else {
+                iterateFrom = duration == null ? from : from.minus(duration);
+            }
+
+            final DateIterator startDates = getRecurredEventDateIterator(event);
+            startDates.advanceTo(Date.from(iterateFrom));
+            while (startDates.hasNext()) {
+                final Instant start = startDates.next().toInstant();
+                if (start.isAfter(to)) {
+                    break;
+                }
+                if (start.isBefore(iterateFrom) || (!includeFrom && !start.isAfter(from))) {
+                    continue;
+                }
+                final Instant end = start.plus(duration == null ? Duration.ofMinutes(1) : duration);
+                added.add(new Occurrence(event, start, end, order, uid, positive, duration != null));
+                if (!positive && uid != null) {
+                    negativeStarts.computeIfAbsent(uid, k -> new HashSet<>()).add(start);
+                }
+            }
         }
+        occurrencesByStart.addAll(added);
+        occurrencesByEnd.addAll(added);
+        // both lists are mostly sorted already
+        occurrencesByStart.sort(BY_START);
+        occurrencesByEnd.sort(BY_END);
     }
 
     /**
-     * Searches for a current event at given Instant.
+     * Checks whether a negative event with the same uid and start blocks an occurrence.
      *
-     * @param instant The Instant to use for finding events.
-     * @return A VEventWPeriod describing the event or null if there is none.
+     * @param occurrence The occurrence to check.
+     * @return True if a negative event blocks the occurrence.
      */
-    private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
-        final List<VEvent> negativeEvents = new ArrayList<VEvent>();
-        final List<VEvent> positiveEvents = new ArrayList<VEvent>();
-        classifyEvents(positiveEvents, negativeEvents);
+    private boolean isCountered(Occurrence occurrence) {
+        final String uid = occurrence.uid;
+        if (uid == null) {
+            return false;
+        }
+        final Set<Instant> starts = negativeStarts.get(uid);
+        return starts != null && starts.contains(occurrence.start);
+    }
 
-        for (final VEvent currentEvent : positiveEvents) {
-            final DateIterator startDates = this.getRecurredEventDateIterator(currentEvent);
-            final Duration duration = getEventLength(currentEvent);
-            if (duration == null) {
-                continue;
+    /**
+     * Finds the first occurrence in a sorted list which starts (or ends) at or after given Instant.
+     *
+     * @param occurrences The list sorted by start or end.
+     * @param instant The Instant to search for.
+     * @param byStart Whether the list is sorted by start, else by end.
+     * @return The index of the first matching occurrence or the size of the list if there is none.
+     */
+    private static int firstIndex(List<Occurrence> occurrences, Instant instant, boolean byStart) {
+        int low = 0;
+        int high = occurrences.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final Occurrence occurrence = occurrences.get(middle);
+            if ((byStart ? occurrence.start : occurrence.end).isBefore(instant)) {
+                low = middle + 1;
+            } else {
+                high = middle;
             }
-            startDates.advanceTo(Date.from(instant.minus(duration)));
-            while (startDates.hasNext()) {
-                final Instant startInstant = startDates.next().toInstant();
-                final Instant endInstant = startInstant.plus(duration);
-                if (startInstant.isBefore(instant) && endInstant.isAfter(instant)) {
-                    @Nullable
-                    final Uid eventUid = currentEvent.getUid();
-                    if (eventUid == null || !isCounteredBy(startInstant, eventUid, negativeEvents)) {
-                        return new VEventWPeriod(currentEvent, startInstant, endInstant);
-                    }
-                }
-                if (startInstant.isAfter(instant.plus(duration))) {
-                    break;
-                }
+        }
+        return low;
+    }
+
+    /**
+     * Converts occurrences into events, in the order of the events in the calendar.
+     *
+     * @param occurrences The occurrences by the position of their event in the calendar.
+     * @return The list of events.
+     */
+    private static List<Event> toEvents(Map<Integer, Occurrence> occurrences) {
+        final List<Integer> orders = new ArrayList<>(occurrences.keySet());
+        Collections.sort(orders);
+        final List<Event> eventList = new ArrayList<>(orders.size());
+        for (final Integer order : orders) {
+            final Occurrence occurrence = occurrences.get(order);
+            if (occurrence != null) {
+                eventList.add(occurrence.toEvent());
             }
         }
+        return eventList;
+    }
 
-        return null;
+    /**
+     * Classifies events into positive and negative ones.
+     *
+     * @param positiveEvents A List where to add positive ones.
+     * @param negativeEvents A List where to add negative ones.
+     */
+    private void classifyEvents(Collection<VEvent> positiveEvents, Collection<VEvent> negativeEvents) {
+        for (final VEvent currentEvent : usedCalendar.getEvents()) {
+            @Nullable
+            final Status eventStatus = currentEvent.getStatus();
+            boolean positive = (eventStatus == null || (eventStatus.isTentative() || eventStatus.isConfirmed()));
+            final Collection<VEvent> positiveOrNegativeEvents = (positive ? positiveEvents : negativeEvents);
+            positiveOrNegativeEvents.add(currentEvent);
+        }
     }
 
     /**
@@ -310,4 +489,23 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             return new Event(title, start, end, description);
         }
     }
+
+    /**
+     * An occurrence of an event within the index.
+     */
+    private static class Occurrence extends VEventWPeriod {
+        final int order;
+        final @Nullable String uid;
+        final boolean positive;
+        final boolean hasDuration;
+
+        public Occurrence(VEvent vEvent, Instant start, Instant end, int order, @Nullable String uid,
+                boolean positive, boolean hasDuration) {
+            super(vEvent, start, end);
+            this.order = order;
+            this.uid = uid;
+            this.positive = positive;
+            this.hasDuration = hasDuration;
+        }
+    }
 }
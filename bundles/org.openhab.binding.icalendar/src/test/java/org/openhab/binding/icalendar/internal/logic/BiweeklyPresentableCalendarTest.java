@@ -16,6 +16,7 @@ import static org.junit.Assert.*;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -147,6 +148,65 @@ public class BiweeklyPresentableCalendarTest {
         assertEquals(0, Instant.parse("2019-12-01T10:00:00Z").compareTo(nextEventAfterCancelled.start));
     }
 
+    /**
+     * Tests that queries give the same results when the window of the occurrence index is moved forward, rebuilt
+     * for earlier instants or left for events behind it.
+     */
+    @Test
+    public void testOccurrenceIndexWindow() throws IOException, CalendarException {
+        AbstractPresentableCalendar smallWindowCalendar = new BiweeklyPresentableCalendar(
+                new FileInputStream("src/test/resources/test.ics"), Duration.ofDays(1));
+        AbstractPresentableCalendar smallWindowCalendar2 = new BiweeklyPresentableCalendar(
+                new FileInputStream("src/test/resources/test2.ics"), Duration.ofDays(1));
+
+        // moving forward
+        assertTrue(smallWindowCalendar.isEventPresent(Instant.parse("2019-09-08T09:08:00Z")));
+        assertFalse(smallWindowCalendar.isEventPresent(Instant.parse("2019-09-09T09:08:00Z")));
+        assertTrue(smallWindowCalendar.isEventPresent(Instant.parse("2019-09-11T09:08:00Z")));
+        assertTrue(smallWindowCalendar.isEventPresent(Instant.parse("2019-09-14T08:03:00Z")));
+
+        // earlier instant
+        Event currentEvent = smallWindowCalendar.getCurrentEvent(Instant.parse("2019-09-10T09:07:00Z"));
+        assertNotNull(currentEvent);
+        assertEquals(0, Instant.parse("2019-09-10T09:05:00Z").compareTo(currentEvent.start));
+
+        // next event behind the window
+        Event nextEvent = smallWindowCalendar.getNextEvent(Instant.parse("2019-09-12T09:07:00Z"));
+        assertNotNull(nextEvent);
+        assertEquals(0, Instant.parse("2019-09-14T08:00:00Z").compareTo(nextEvent.start));
+        assertNull(smallWindowCalendar.getNextEvent(Instant.parse("2019-09-14T12:00:00Z")));
+
+        // cancelled occurrences within and behind the window
+        assertFalse(smallWindowCalendar2.isEventPresent(Instant.parse("2019-11-24T10:01:00Z")));
+        Event nextEventAfterCancelled = smallWindowCalendar2.getNextEvent(Instant.parse("2019-11-20T09:55:00Z"));
+        assertNotNull(nextEventAfterCancelled);
+        assertEquals(0, Instant.parse("2019-12-01T10:00:00Z").compareTo(nextEventAfterCancelled.start));
+
+        // begun and ended events over a long time frame
+        assertEquals(2, smallWindowCalendar.getJustBegunEvents(Instant.parse("2019-09-01T00:00:00Z"),
+                Instant.parse("2019-09-30T00:00:00Z")).size());
+        List<Event> endedEvents = smallWindowCalendar.getJustEndedEvents(Instant.parse("2019-09-01T00:00:00Z"),
+                Instant.parse("2019-09-30T00:00:00Z"));
+        assertEquals(2, endedEvents.size());
+        assertEquals("Test Event in UTC+2", endedEvents.get(0).title);
+        assertEquals(0, Instant.parse("2019-09-08T09:10:00Z").compareTo(endedEvents.get(1).end));
+    }
+
+    @Test
+    public void testOccurrenceIndexWindowMovingBackwards() throws IOException, CalendarException {
+        AbstractPresentableCalendar smallWindowCalendar = new BiweeklyPresentableCalendar(
+                new FileInputStream("src/test/resources/test.ics"), Duration.ofDays(1));
+
+        assertFalse(smallWindowCalendar.isEventPresent(Instant.parse("2019-09-11T12:00:00Z")));
+        // begins within the indexed time frame, but looks behind its begin
+        assertTrue(smallWindowCalendar.getJustBegunEvents(Instant.parse("2019-09-10T13:00:00Z"),
+                Instant.parse("2019-09-13T00:00:00Z")).size() > 0);
+
+        Event currentEvent = smallWindowCalendar.getCurrentEvent(Instant.parse("2019-09-10T09:07:00Z"));
+        assertNotNull(currentEvent);
+        assertEquals(0, Instant.parse("2019-09-10T09:05:00Z").compareTo(currentEvent.start));
+    }
+
     /**
      * This test checks for Events that have just begun or ended, and if so it checks for Command Tags
      * and checks if these tags are valid
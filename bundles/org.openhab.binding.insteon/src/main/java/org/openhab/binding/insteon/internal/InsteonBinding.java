@@ -131,6 +131,8 @@ public class InsteonBinding {
 
         driver = new Driver(port, portListener, serialPortManager, scheduler);
         driver.addMsgListener(portListener);
+        driver.setAdaptivePacing(config.isAdaptivePacing());
+        logger.debug("adaptive pacing of the modem is {}", config.isAdaptivePacing() ? "enabled" : "disabled");
 
         Integer devicePollIntervalSeconds = config.getDevicePollIntervalSeconds();
         if (devicePollIntervalSeconds != null) {
@@ -410,6 +412,9 @@ public class InsteonBinding {
                 Poller.instance().getSizeOfQueue(), messagesReceived);
         logger.debug("{}", msg);
         messagesReceived = 0;
+        logger.debug("modem: {} msgs waiting to be written, average ack time {} msec, quiet time {} msec",
+                driver.getWriteQueueLength(), driver.getAverageAckTime(), driver.getQuietTime());
+        RequestQueueManager.instance().logStatistics();
         for (InsteonDevice dev : devices.values()) {
             if (dev.isModem()) {
                 continue;
@@ -496,12 +501,12 @@ public class InsteonBinding {
         }
 
         private void handleInsteonMessage(Msg msg) {
-            InsteonAddress toAddr = msg.getAddr("toAddress");
+            InsteonAddress toAddr = msg.getToAddress();
             if (!msg.isBroadcast() && !driver.isMsgForUs(toAddr)) {
                 // not for one of our modems, do not process
                 return;
             }
-            InsteonAddress fromAddr = msg.getAddr("fromAddress");
+            InsteonAddress fromAddr = msg.getFromAddress();
             if (fromAddr == null) {
                 logger.debug("invalid fromAddress, ignoring msg {}", msg);
                 return;
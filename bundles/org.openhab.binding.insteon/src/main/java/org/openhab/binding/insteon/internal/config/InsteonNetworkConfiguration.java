@@ -32,6 +32,8 @@ public class InsteonNetworkConfiguration {
 
     private @Nullable String additionalFeatures;
 
+    private boolean adaptivePacing = false;
+
     public String getPort() {
         return port;
     }
@@ -47,4 +49,8 @@ public class InsteonNetworkConfiguration {
     public @Nullable String getAdditionalFeatures() {
         return additionalFeatures;
     }
+
+    public boolean isAdaptivePacing() {
+        return adaptivePacing;
+    }
 }
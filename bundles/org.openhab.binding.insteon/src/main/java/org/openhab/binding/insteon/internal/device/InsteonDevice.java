@@ -57,6 +57,10 @@ public class InsteonDevice {
     private static final int QUIET_TIME_DIRECT_MESSAGE = 2000;
     /** how far to space out poll messages */
     private static final int TIME_BETWEEN_POLL_MESSAGES = 1500;
+    /** how much to delay the request queue of a device for each unanswered query */
+    private static final int TIMEOUT_PENALTY = 2000;
+    /** upper bound for the delay of devices that do not answer */
+    private static final int MAX_TIMEOUT_PENALTY = 30000;
 
     private InsteonAddress address = new InsteonAddress();
     private long pollInterval = -1L; // in milliseconds
@@ -69,6 +73,8 @@ public class InsteonDevice {
     private PriorityQueue<@Nullable QEntry> mrequestQueue = new PriorityQueue<>();
     private @Nullable DeviceFeature featureQueried = null;
     private long lastQueryTime = 0L;
+    private int queryTimeouts = 0; // consecutive unanswered queries
+    private long queryLatency = 0L; // averaged time between query and reply
     private boolean hasModemDBEntry = false;
     private DeviceStatus status = DeviceStatus.INITIALIZED;
 
@@ -137,6 +143,39 @@ public class InsteonDevice {
         return (pollInterval > 0);
     }
 
+    /**
+     * Returns the number of requests waiting to be sent to the device
+     *
+     * @return length of the request queue
+     */
+    public int getRequestQueueLength() {
+        synchronized (mrequestQueue) {
+            return mrequestQueue.size();
+        }
+    }
+
+    /**
+     * Returns the number of queries in a row the device did not answer
+     *
+     * @return number of consecutive query timeouts
+     */
+    public int getQueryTimeouts() {
+        synchronized (mrequestQueue) {
+            return queryTimeouts;
+        }
+    }
+
+    /**
+     * Returns the averaged time the device took to answer a query
+     *
+     * @return query latency in milliseconds, or 0 if no query has been answered yet
+     */
+    public long getQueryLatency() {
+        synchronized (mrequestQueue) {
+            return queryLatency;
+        }
+    }
+
     public long getPollOverDueTime() {
         return (lastTimePolled - lastMsgReceived);
     }
@@ -292,7 +331,7 @@ public class InsteonDevice {
                         // handled a reply to a query,
                         // mark it as processed
                         logger.trace("handled reply of direct: {}", f);
-                        setFeatureQueried(null);
+                        queryAnswered();
                         break;
                     }
                 }
@@ -307,6 +346,17 @@ public class InsteonDevice {
         }
     }
 
+    private void queryAnswered() {
+        synchronized (mrequestQueue) {
+            if (featureQueried != null) {
+                long latency = System.currentTimeMillis() - lastQueryTime;
+                queryLatency = queryLatency == 0 ? latency : queryLatency + (latency - queryLatency) / 4;
+            }
+            featureQueried = null;
+            queryTimeouts = 0;
+        }
+    }
+
     /**
      * Helper method to make standard message
      *
@@ -441,7 +491,9 @@ public class InsteonDevice {
                     logger.debug("still waiting for query reply from {} for another {} usec", address, -dt);
                     return (timeNow + 2000L); // retry soon
                 } else {
-                    logger.debug("gave up waiting for query reply from device {}", address);
+                    queryTimeouts++;
+                    logger.debug("gave up waiting for query reply from device {} ({} in a row)", address,
+                            queryTimeouts);
                 }
             }
             QEntry qe = mrequestQueue.poll(); // take it off the queue!
@@ -465,8 +517,11 @@ public class InsteonDevice {
             // figure out when the request queue should be checked next
             QEntry qnext = mrequestQueue.peek();
             long nextExpTime = (qnext == null ? 0L : qnext.getExpirationTime());
-            long nextTime = Math.max(timeNow + quietTime, nextExpTime);
-            logger.debug("next request queue processed in {} msec, quiettime = {}", nextTime - timeNow, quietTime);
+            // devices that do not answer are serviced less often, to leave the modem to the others
+            long penalty = Math.min((long) queryTimeouts * TIMEOUT_PENALTY, MAX_TIMEOUT_PENALTY);
+            long nextTime = Math.max(timeNow + quietTime + penalty, nextExpTime);
+            logger.debug("next request queue processed in {} msec, quiettime = {}, penalty = {}", nextTime - timeNow,
+                    quietTime, penalty);
             return (nextTime);
         }
     }
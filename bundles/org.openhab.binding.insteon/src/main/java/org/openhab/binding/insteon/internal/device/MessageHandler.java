@@ -252,11 +252,11 @@ public abstract class MessageHandler {
     protected boolean isDuplicate(Msg msg) {
         boolean isDuplicate = false;
         try {
-            MsgType t = MsgType.fromValue(msg.getByte("messageFlags"));
+            MsgType t = MsgType.fromValue(msg.getFlags());
             int hops = msg.getHopsLeft();
             if (t == MsgType.ALL_LINK_BROADCAST) {
                 int group = msg.getAddress("toAddress").getLowByte() & 0xff;
-                byte cmd1 = msg.getByte("command1");
+                byte cmd1 = msg.getCommand1();
                 // if the command is 0x06, then it's success message
                 // from the original broadcaster, with which the device
                 // confirms that it got all cleanup replies successfully.
@@ -265,7 +265,7 @@ public abstract class MessageHandler {
             } else if (t == MsgType.ALL_LINK_CLEANUP) {
                 // the cleanup messages are direct messages, so the
                 // group # is not in the toAddress, but in cmd2
-                int group = msg.getByte("command2") & 0xff;
+                int group = msg.getCommand2() & 0xff;
                 isDuplicate = !updateGroupState(group, hops, GroupMessage.CLEAN);
             }
         } catch (IllegalArgumentException e) {
@@ -305,7 +305,7 @@ public abstract class MessageHandler {
         // the cleanup messages have the button number in the command2 field
         // the broadcast messages have it as the lsb of the toAddress
         try {
-            int bclean = msg.getByte("command2") & 0xff;
+            int bclean = msg.getCommand2() & 0xff;
             int bbcast = msg.getAddress("toAddress").getLowByte() & 0xff;
             int button = msg.isCleanup() ? bclean : bbcast;
             logger.trace("{} button: {} bclean: {} bbcast: {}", f.getDevice().getAddress(), button, bclean, bbcast);
@@ -496,7 +496,7 @@ public abstract class MessageHandler {
 
         private int getLevel(Msg msg) {
             try {
-                byte cmd2 = msg.getByte("command2");
+                byte cmd2 = msg.getCommand2();
                 return (int) Math.round(((cmd2 >> 4) & 0x0f) * (100 / 15d));
             } catch (FieldException e) {
                 logger.warn("Can't access command2 byte", e);
@@ -521,7 +521,7 @@ public abstract class MessageHandler {
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
                 InsteonAddress a = f.getDevice().getAddress();
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 int button = this.getIntParameter("button", -1);
                 if (button < 0) {
                     handleNoButtons(cmd2, a, msg);
@@ -589,7 +589,7 @@ public abstract class MessageHandler {
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             InsteonDevice dev = f.getDevice();
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 if (cmd2 == 0xfe) {
                     // sometimes dimmer devices are returning 0xfe when on instead of 0xff
                     cmd2 = 0xff;
@@ -653,7 +653,7 @@ public abstract class MessageHandler {
         @Override
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 int upDown = (cmd2 == 0) ? 0 : 2;
                 logger.debug("{}: dev {} manual state change: {}", nm(), f.getDevice().getAddress(),
                         (upDown == 0) ? "DOWN" : "UP");
@@ -698,7 +698,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 switch (cmd2) {
                     case 0x00: // this is a product data response message
                         int prodKey = msg.getInt24("userData2", "userData3", "userData4");
@@ -734,7 +734,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 switch (cmd2) {
                     case 0x00: // this is a product data response message
                         int batteryLevel = msg.getByte("userData12") & 0xff;
@@ -769,7 +769,7 @@ public abstract class MessageHandler {
                 return;
             }
             try {
-                int cmd2 = msg.getByte("command2") & 0xff;
+                int cmd2 = msg.getCommand2() & 0xff;
                 switch (cmd2) {
                     case 0x00: // this is a product data response message
                         int batteryLevel = msg.getByte("userData4") & 0xff;
@@ -873,8 +873,8 @@ public abstract class MessageHandler {
             byte cmd = 0x00;
             byte cmd2 = 0x00;
             try {
-                cmd = msg.getByte("Cmd");
-                cmd2 = msg.getByte("command2");
+                cmd = msg.getCmd();
+                cmd2 = msg.getCommand2();
             } catch (FieldException e) {
                 logger.debug("{} no cmd found, dropping msg {}", nm(), msg);
                 return;
@@ -920,7 +920,7 @@ public abstract class MessageHandler {
         @Override
         public void handleMessage(int group, byte cmd1, Msg msg, DeviceFeature f) {
             try {
-                byte cmd2 = msg.getByte("command2");
+                byte cmd2 = msg.getCommand2();
                 switch (cmd1) {
                     case 0x11:
                         switch (cmd2) {
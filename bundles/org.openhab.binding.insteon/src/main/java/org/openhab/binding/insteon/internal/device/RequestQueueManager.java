@@ -12,7 +12,9 @@
  */
 package org.openhab.binding.insteon.internal.device;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.PriorityQueue;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,6 +32,9 @@ import org.slf4j.LoggerFactory;
  * - A hash map (m_requestQueueHash) is kept in sync with m_requestQueues for
  * faster lookup in case a request queue is modified and needs to be
  * rescheduled.
+ * - Queues that are due at the same time are processed in the order in which
+ * they were scheduled, so a device that has just been serviced goes behind the
+ * others. Devices that did not answer their last queries come last.
  *
  * @author Bernd Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
@@ -43,6 +48,8 @@ public class RequestQueueManager {
     private PriorityQueue<RequestQueue> requestQueues = new PriorityQueue<>();
     private HashMap<InsteonDevice, @Nullable RequestQueue> requestQueueHash = new HashMap<>();
     private boolean keepRunning = true;
+    private long sequence = 0;
+    private int processed = 0;
 
     private RequestQueueManager() {
         queueThread = new Thread(new RequestQueueReader());
@@ -63,7 +70,7 @@ public class RequestQueueManager {
             if (q == null) {
                 logger.trace("scheduling request for device {} in {} msec", dev.getAddress(),
                         time - System.currentTimeMillis());
-                q = new RequestQueue(dev, time);
+                q = new RequestQueue(dev, time, sequence++);
             } else {
                 logger.trace("queue for dev {} is already scheduled in {} msec", dev.getAddress(),
                         q.getExpirationTime() - System.currentTimeMillis());
@@ -105,6 +112,25 @@ public class RequestQueueManager {
         }
     }
 
+    /**
+     * Logs the number of processed requests since the last call, and the
+     * queue length, query latency and timeouts of the devices with pending requests.
+     */
+    public void logStatistics() {
+        List<InsteonDevice> scheduled;
+        int count;
+        synchronized (requestQueues) {
+            scheduled = new ArrayList<>(requestQueueHash.keySet());
+            count = processed;
+            processed = 0;
+        }
+        logger.debug("request queues: {} devices scheduled, {} requests processed", scheduled.size(), count);
+        for (InsteonDevice dev : scheduled) {
+            logger.debug("device {}: {} requests queued, query latency {} msec, {} timeouts in a row",
+                    dev.getAddress(), dev.getRequestQueueLength(), dev.getQueryLatency(), dev.getQueryTimeouts());
+        }
+    }
+
     @NonNullByDefault
     class RequestQueueReader implements Runnable {
         @Override
@@ -137,8 +163,9 @@ public class RequestQueueManager {
                             q = requestQueues.poll(); // remove front element
                             requestQueueHash.remove(dev); // and remove from hash map
                             long nextExp = dev.processRequestQueue(now);
+                            processed++;
                             if (nextExp > 0) {
-                                q = new RequestQueue(dev, nextExp);
+                                q = new RequestQueue(dev, nextExp, sequence++);
                                 requestQueues.add(q);
                                 requestQueueHash.put(dev, q);
                                 logger.trace("device queue for {} rescheduled in {} msec", dev.getAddress(),
@@ -164,10 +191,15 @@ public class RequestQueueManager {
     public static class RequestQueue implements Comparable<RequestQueue> {
         private InsteonDevice device;
         private long expirationTime;
+        private long sequence;
+        private int timeouts;
 
-        RequestQueue(InsteonDevice dev, long expirationTime) {
+        RequestQueue(InsteonDevice dev, long expirationTime, long sequence) {
             this.device = dev;
             this.expirationTime = expirationTime;
+            this.sequence = sequence;
+            // taken once, the order must not change while the queue is scheduled
+            this.timeouts = dev.getQueryTimeouts();
         }
 
         public InsteonDevice getDevice() {
@@ -184,7 +216,13 @@ public class RequestQueueManager {
 
         @Override
         public int compareTo(RequestQueue a) {
-            return (int) (expirationTime - a.expirationTime);
+            if (expirationTime != a.expirationTime) {
+                return Long.compare(expirationTime, a.expirationTime);
+            }
+            if (timeouts != a.timeouts) {
+                return Integer.compare(timeouts, a.timeouts);
+            }
+            return Long.compare(sequence, a.sequence);
         }
     }
 
@@ -68,6 +68,10 @@ public class Driver {
         port.start();
     }
 
+    public void setAdaptivePacing(boolean adaptivePacing) {
+        port.setAdaptivePacing(adaptivePacing);
+    }
+
     public void stop() {
         port.stop();
     }
@@ -76,6 +80,18 @@ public class Driver {
         port.writeMessage(m);
     }
 
+    public int getWriteQueueLength() {
+        return port.getWriteQueueLength();
+    }
+
+    public long getAverageAckTime() {
+        return port.getAverageAckTime();
+    }
+
+    public long getQuietTime() {
+        return port.getQuietTime();
+    }
+
     public String getPortName() {
         return portName;
     }
@@ -126,6 +126,42 @@ public class Port {
         return devName;
     }
 
+    /**
+     * Returns the number of messages waiting to be written to the modem
+     *
+     * @return length of the write queue
+     */
+    public int getWriteQueueLength() {
+        return writeQueue.size();
+    }
+
+    /**
+     * Returns the averaged time it took the modem to acknowledge a message
+     *
+     * @return average acknowledgement time in milliseconds
+     */
+    public long getAverageAckTime() {
+        return writer.getAverageAckTime();
+    }
+
+    /**
+     * Enables or disables the adaptive pacing of the modem writes
+     *
+     * @param adaptivePacing true to lengthen the quiet times while the modem is slow
+     */
+    public void setAdaptivePacing(boolean adaptivePacing) {
+        writer.setAdaptivePacing(adaptivePacing);
+    }
+
+    /**
+     * Returns the quiet time currently applied after rate limited messages
+     *
+     * @return quiet time in milliseconds
+     */
+    public long getQuietTime() {
+        return writer.getQuietTime();
+    }
+
     public Driver getDriver() {
         return driver;
     }
@@ -435,11 +471,70 @@ public class Port {
      * Writes messages to the port. Flow control is implemented following Insteon
      * documents to avoid over running the modem.
      *
+     * The quiet time requested by a message is always kept, it covers the reply of the
+     * device over the powerline or RF. With adaptive pacing enabled, the writer waits
+     * longer while the modem is slow to acknowledge messages: at least a multiple of the
+     * averaged acknowledgement time, and twice the requested quiet time for a number of
+     * messages after the modem asked for a retransmission.
+     *
      * @author Bernd Pfrommer - Initial contribution
      */
     @NonNullByDefault
     class IOStreamWriter implements Runnable {
         private static final int WAIT_TIME = 200; // milliseconds
+        private static final int QUIET_TIME_FACTOR = 4;
+        private static final int BACKOFF_MESSAGES = 10;
+
+        private volatile long averageAckTime = -1;
+        private volatile long quietTime = 0;
+        private int backoff = 0;
+        private volatile boolean adaptivePacing = false;
+
+        public void setAdaptivePacing(boolean adaptivePacing) {
+            this.adaptivePacing = adaptivePacing;
+        }
+
+        public long getAverageAckTime() {
+            return averageAckTime;
+        }
+
+        public long getQuietTime() {
+            return quietTime;
+        }
+
+        /**
+         * Updates the acknowledgement statistics and computes the quiet time for a message
+         *
+         * @param msg the message that has been written
+         * @param ackTime time it took the modem to acknowledge the message (in milliseconds)
+         * @param retransmits number of times the message had to be retransmitted
+         * @return time to wait before writing the next message
+         */
+        private long updateQuietTime(Msg msg, long ackTime, int retransmits) {
+            if (retransmits > 0) {
+                backoff = BACKOFF_MESSAGES;
+            } else if (averageAckTime < 0) {
+                averageAckTime = ackTime;
+            } else {
+                // exponentially weighted moving average, weight 1/8 for the new value
+                averageAckTime = averageAckTime + (ackTime - averageAckTime) / 8;
+            }
+            long requested = msg.getQuietTime();
+            if (requested <= 0) {
+                return 0;
+            }
+            long time = requested;
+            if (adaptivePacing) {
+                if (backoff > 0) {
+                    backoff--;
+                    time = 2 * requested;
+                } else if (averageAckTime > 0) {
+                    time = Math.max(requested, averageAckTime * QUIET_TIME_FACTOR);
+                }
+            }
+            quietTime = time;
+            return time;
+        }
 
         @Override
         public void run() {
@@ -457,18 +552,24 @@ public class Port {
                         // file definitions be available *before* the modem link records,
                         // slow down the modem traffic with the following statement:
                         // Thread.sleep(500);
+                        long start = System.currentTimeMillis();
+                        int retransmits = 0;
                         synchronized (reader.getRequestReplyLock()) {
                             ioStream.write(msg.getData());
                             while (reader.waitForReply()) {
                                 Thread.sleep(WAIT_TIME);
                                 logger.trace("retransmitting msg: {}", msg);
+                                retransmits++;
+                                start = System.currentTimeMillis();
                                 ioStream.write(msg.getData());
                             }
 
                         }
                         // if rate limited, need to sleep now.
-                        if (msg.getQuietTime() > 0) {
-                            Thread.sleep(msg.getQuietTime());
+                        long time = updateQuietTime(msg, System.currentTimeMillis() - start, retransmits);
+                        if (time > 0) {
+                            logger.trace("quiet time {} msec, average ack time {} msec", time, averageAckTime);
+                            Thread.sleep(time);
                         }
                     }
                 } catch (InterruptedException e) {
@@ -506,7 +607,7 @@ public class Port {
                 if (msg.isPureNack()) {
                     return;
                 }
-                if (msg.getByte("Cmd") == 0x60) {
+                if (msg.getCmd() == 0x60) {
                     // add the modem to the device list
                     InsteonAddress a = new InsteonAddress(msg.getAddress("IMAddress"));
                     String prodKey = "0x000045";
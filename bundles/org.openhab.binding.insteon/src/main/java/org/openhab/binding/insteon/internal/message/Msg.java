@@ -25,7 +25,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.utils.Utils;
 import org.openhab.binding.insteon.internal.utils.Utils.ParsingException;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -117,7 +116,7 @@ public class Msg {
     static {
         // Use xml msg loader to load configs
         try {
-            InputStream stream = FrameworkUtil.getBundle(Msg.class).getResource("/msg_definitions.xml").openStream();
+            InputStream stream = Msg.class.getResourceAsStream("/msg_definitions.xml");
             if (stream != null) {
                 HashMap<String, Msg> msgs = XMLMessageReader.readMessageDefinitions(stream);
                 MSG_MAP.putAll(msgs);
@@ -182,11 +181,12 @@ public class Msg {
         if (data == null || getLength() < 2) {
             return false;
         }
-        if (!definition.containsField("messageFlags")) {
+        Field f = definition.getMessageFlagsField();
+        if (f == null) {
             return (false);
         }
         try {
-            byte flags = getByte("messageFlags");
+            byte flags = f.getByte(data);
             return ((flags & 0x10) == 0x10);
         } catch (FieldException e) {
             // do nothing
@@ -197,7 +197,7 @@ public class Msg {
     public boolean isUnsolicited() {
         // if the message has an ACK/NACK, it is in response to our message,
         // otherwise it is out-of-band, i.e. unsolicited
-        return !definition.containsField("ACK/NACK");
+        return !definition.hasAckNack();
     }
 
     public boolean isEcho() {
@@ -206,7 +206,7 @@ public class Msg {
 
     public boolean isOfType(MsgType mt) {
         try {
-            MsgType t = MsgType.fromValue(getByte("messageFlags"));
+            MsgType t = MsgType.fromValue(getFlags());
             return (t == mt);
         } catch (FieldException e) {
             return false;
@@ -235,7 +235,7 @@ public class Msg {
 
     public boolean isX10() {
         try {
-            int cmd = getByte("Cmd") & 0xff;
+            int cmd = getCmd() & 0xff;
             if (cmd == 0x63 || cmd == 0x52) {
                 return true;
             }
@@ -267,6 +267,82 @@ public class Msg {
         return a;
     }
 
+    /**
+     * Fetches the toAddress field without a lookup by name
+     *
+     * @return the address or null if the message has no toAddress field
+     */
+    public @Nullable InsteonAddress getToAddress() {
+        return readAddress(definition.getToAddressField());
+    }
+
+    /**
+     * Fetches the fromAddress field without a lookup by name
+     *
+     * @return the address or null if the message has no fromAddress field
+     */
+    public @Nullable InsteonAddress getFromAddress() {
+        return readAddress(definition.getFromAddressField());
+    }
+
+    private @Nullable InsteonAddress readAddress(@Nullable Field f) {
+        if (f == null) {
+            return null;
+        }
+        try {
+            return f.getAddress(data);
+        } catch (FieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the Cmd field (the modem command) without a lookup by name
+     *
+     * @return the value of the field
+     * @throws FieldException if the message has no such field
+     */
+    public byte getCmd() throws FieldException {
+        return readByte(definition.getCmdField(), "Cmd");
+    }
+
+    /**
+     * Fetches the messageFlags field without a lookup by name
+     *
+     * @return the value of the field
+     * @throws FieldException if the message has no such field
+     */
+    public byte getFlags() throws FieldException {
+        return readByte(definition.getMessageFlagsField(), "messageFlags");
+    }
+
+    /**
+     * Fetches the command1 field without a lookup by name
+     *
+     * @return the value of the field
+     * @throws FieldException if the message has no such field
+     */
+    public byte getCommand1() throws FieldException {
+        return readByte(definition.getCommand1Field(), "command1");
+    }
+
+    /**
+     * Fetches the command2 field without a lookup by name
+     *
+     * @return the value of the field
+     * @throws FieldException if the message has no such field
+     */
+    public byte getCommand2() throws FieldException {
+        return readByte(definition.getCommand2Field(), "command2");
+    }
+
+    private byte readByte(@Nullable Field f, String name) throws FieldException {
+        if (f == null) {
+            throw new FieldException("field " + name + " not found");
+        }
+        return f.getByte(data);
+    }
+
     public int getHopsLeft() throws FieldException {
         int hops = (getByte("messageFlags") & 0x0c) >> 2;
         return hops;
@@ -387,20 +463,13 @@ public class Msg {
     public void setUserData(byte[] arg) {
         byte[] data = Arrays.copyOf(arg, 14); // appends zeros if short
         try {
-            setByte("userData1", data[0]);
-            setByte("userData2", data[1]);
-            setByte("userData3", data[2]);
-            setByte("userData4", data[3]);
-            setByte("userData5", data[4]);
-            setByte("userData6", data[5]);
-            setByte("userData7", data[6]);
-            setByte("userData8", data[7]);
-            setByte("userData9", data[8]);
-            setByte("userData10", data[9]);
-            setByte("userData11", data[10]);
-            setByte("userData12", data[11]);
-            setByte("userData13", data[12]);
-            setByte("userData14", data[13]);
+            for (int i = 1; i <= MsgDefinition.USER_DATA_FIELDS; i++) {
+                Field f = definition.getUserDataField(i);
+                if (f == null) {
+                    throw new FieldException("field userData" + i + " not found");
+                }
+                f.setByte(this.data, data[i - 1]);
+            }
         } catch (FieldException e) {
             logger.warn("got field exception on msg {}:", e.getMessage());
         }
@@ -414,7 +483,7 @@ public class Msg {
     public int setCRC() {
         int crc;
         try {
-            crc = getByte("command1") + getByte("command2");
+            crc = getCommand1() + getCommand2();
             byte[] bytes = getBytes("userData1", 13); // skip userData14!
             for (byte b : bytes) {
                 crc += b;
@@ -28,8 +28,20 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 @SuppressWarnings("null")
 public class MsgDefinition {
+    static final int USER_DATA_FIELDS = 14;
+
     private HashMap<String, @Nullable Field> fields = new HashMap<>();
 
+    // the fields used on every received message, resolved once when the field is added
+    private @Nullable Field messageFlags = null;
+    private @Nullable Field cmd = null;
+    private @Nullable Field command1 = null;
+    private @Nullable Field command2 = null;
+    private @Nullable Field toAddress = null;
+    private @Nullable Field fromAddress = null;
+    private @Nullable Field ackNack = null;
+    private @Nullable Field[] userData = new @Nullable Field[USER_DATA_FIELDS];
+
     MsgDefinition() {
     }
 
@@ -40,6 +52,14 @@ public class MsgDefinition {
      */
     MsgDefinition(@Nullable MsgDefinition m) {
         fields = new HashMap<>(m.fields);
+        messageFlags = m.messageFlags;
+        cmd = m.cmd;
+        command1 = m.command1;
+        command2 = m.command2;
+        toAddress = m.toAddress;
+        fromAddress = m.fromAddress;
+        ackNack = m.ackNack;
+        userData = m.userData.clone();
     }
 
     public HashMap<String, @Nullable Field> getFields() {
@@ -52,6 +72,91 @@ public class MsgDefinition {
 
     public void addField(Field field) {
         fields.put(field.getName(), field);
+        resolve(field);
+    }
+
+    private void resolve(Field field) {
+        String name = field.getName();
+        switch (name) {
+            case "messageFlags":
+                messageFlags = field;
+                break;
+            case "Cmd":
+                cmd = field;
+                break;
+            case "command1":
+                command1 = field;
+                break;
+            case "command2":
+                command2 = field;
+                break;
+            case "toAddress":
+                toAddress = field;
+                break;
+            case "fromAddress":
+                fromAddress = field;
+                break;
+            case "ACK/NACK":
+                ackNack = field;
+                break;
+            default:
+                if (name.startsWith("userData")) {
+                    try {
+                        int i = Integer.parseInt(name.substring(8));
+                        if (i >= 1 && i <= USER_DATA_FIELDS) {
+                            userData[i - 1] = field;
+                        }
+                    } catch (NumberFormatException e) {
+                        // not one of the numbered user data fields
+                    }
+                }
+                break;
+        }
+    }
+
+    @Nullable
+    Field getMessageFlagsField() {
+        return messageFlags;
+    }
+
+    @Nullable
+    Field getCmdField() {
+        return cmd;
+    }
+
+    @Nullable
+    Field getCommand1Field() {
+        return command1;
+    }
+
+    @Nullable
+    Field getCommand2Field() {
+        return command2;
+    }
+
+    @Nullable
+    Field getToAddressField() {
+        return toAddress;
+    }
+
+    @Nullable
+    Field getFromAddressField() {
+        return fromAddress;
+    }
+
+    boolean hasAckNack() {
+        return ackNack != null;
+    }
+
+    /**
+     * Returns the numbered user data field
+     *
+     * @param i number of the field, starting at 1
+     * @return the field or null if the message has no such field
+     */
+    @Nullable
+    Field getUserDataField(int i) {
+        return userData[i - 1];
     }
 
     /**
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.insteon.internal.message;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.insteon.internal.device.InsteonAddress;
+
+/**
+ * Tests the fields of {@link Msg} which are resolved once per {@link MsgDefinition}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class MsgTest {
+
+    @Test
+    public void extendedMessageRoundTrip() throws Exception {
+        Msg msg = Msg.makeMessage("SendExtendedMessage");
+        msg.setAddress("toAddress", new InsteonAddress("AA.BB.CC"));
+        msg.setByte("command1", (byte) 0x2E);
+        msg.setByte("command2", (byte) 0x01);
+        byte[] userData = new byte[] { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D,
+                (byte) 0xFE };
+        msg.setUserData(userData);
+
+        assertEquals(new InsteonAddress("AA.BB.CC"), msg.getToAddress());
+        assertEquals(msg.getAddress("toAddress"), msg.getToAddress());
+        assertNull(msg.getFromAddress());
+        assertEquals((byte) 0x62, msg.getCmd());
+        assertEquals(msg.getByte("Cmd"), msg.getCmd());
+        assertEquals((byte) 0x10, msg.getFlags());
+        assertEquals(msg.getByte("messageFlags"), msg.getFlags());
+        assertEquals((byte) 0x2E, msg.getCommand1());
+        assertEquals((byte) 0x01, msg.getCommand2());
+        for (int i = 1; i <= MsgDefinition.USER_DATA_FIELDS; i++) {
+            assertEquals(userData[i - 1], msg.getByte("userData" + i));
+        }
+        assertArrayEquals(new byte[] { 0x02, 0x62, (byte) 0xAA, (byte) 0xBB, (byte) 0xCC, 0x10, 0x2E, 0x01, 0x01,
+                0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, (byte) 0xFE }, msg.getData());
+        assertTrue(msg.isExtended());
+        assertTrue(msg.isUnsolicited());
+    }
+
+    @Test
+    public void setUserDataPadsWithZeros() throws Exception {
+        Msg msg = Msg.makeMessage("SendExtendedMessage");
+        msg.setUserData(new byte[] { 0x11, 0x22 });
+
+        assertEquals((byte) 0x11, msg.getByte("userData1"));
+        assertEquals((byte) 0x22, msg.getByte("userData2"));
+        for (int i = 3; i <= MsgDefinition.USER_DATA_FIELDS; i++) {
+            assertEquals(0, msg.getByte("userData" + i));
+        }
+    }
+
+    @Test
+    public void receivedMessageRoundTrip() throws Exception {
+        byte[] data = new byte[] { 0x02, 0x50, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, (byte) 0x8B, 0x19, 0x7F };
+        Msg msg = Msg.createMessage(data, data.length, false);
+
+        assertNotNull(msg);
+        assertEquals(new InsteonAddress("11.22.33"), msg.getFromAddress());
+        assertEquals(new InsteonAddress("44.55.66"), msg.getToAddress());
+        assertEquals((byte) 0x50, msg.getCmd());
+        assertEquals((byte) 0x8B, msg.getFlags());
+        assertEquals((byte) 0x19, msg.getCommand1());
+        assertEquals((byte) 0x7F, msg.getCommand2());
+        assertFalse(msg.isExtended());
+        assertTrue(msg.isUnsolicited());
+        assertFalse(msg.isX10());
+
+        // a copy has its own data, but resolves the same fields
+        Msg copy = new Msg(msg);
+        copy.setByte("command1", (byte) 0x2E);
+        copy.setAddress("fromAddress", new InsteonAddress("AA.BB.CC"));
+        assertEquals((byte) 0x2E, copy.getCommand1());
+        assertEquals(new InsteonAddress("AA.BB.CC"), copy.getFromAddress());
+        assertEquals((byte) 0x19, msg.getCommand1());
+        assertEquals(new InsteonAddress("11.22.33"), msg.getFromAddress());
+    }
+
+    @Test
+    public void replyHasAckNack() throws Exception {
+        byte[] data = new byte[] { 0x02, 0x62, 0x11, 0x22, 0x33, 0x0F, 0x19, 0x00, 0x06 };
+        Msg msg = Msg.createMessage(data, data.length, false);
+
+        assertNotNull(msg);
+        assertFalse(msg.isUnsolicited());
+        assertEquals(new InsteonAddress("11.22.33"), msg.getToAddress());
+        assertEquals((byte) 0x19, msg.getCommand1());
+    }
+
+    @Test(expected = FieldException.class)
+    public void missingFieldThrows() throws Exception {
+        Msg msg = Msg.makeMessage("GetIMInfo");
+
+        assertNull(msg.getToAddress());
+        assertNull(msg.getFromAddress());
+        assertEquals((byte) 0x60, msg.getCmd());
+        msg.getCommand1();
+    }
+}
@@ -12,13 +12,28 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
@@ -26,47 +41,61 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * {@link FileChannel} based log file reader implementation.
+ * <p>
+ * New bytes are read in bulk from the last read position and split into lines. The directory of the file is watched
+ * so that changes are read as soon as they are written; the refresh rate is used as the maximum time between reads
+ * for file systems that don't report changes. The file is treated as rotated when it is replaced by another file or
+ * when it gets shorter than the last read position. The remaining lines of a replaced file are read before the new
+ * file is read from its beginning.
  *
  * @author Pauli Anttila - Initial contribution
  */
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
-    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
 
-    private Tailer tailer;
-    private ExecutorService executor;
+    private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-    TailerListener logListener = new TailerListenerAdapter() {
+    private final Charset charset = Charset.defaultCharset();
 
-        @Override
-        public void handle(@Nullable String line) {
-            sendLineToListeners(line);
-        }
+    private @Nullable ExecutorService executor;
+    private @Nullable WatchService watchService;
+    private volatile boolean running;
 
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
+    private @Nullable FileChannel channel;
+    private @Nullable Object fileKey;
+    private long position;
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength;
 
-        @Override
-        public void handle(@Nullable Exception e) {
-            sendExceptionToListeners(e);
-        }
-
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private long lines;
+    private long bytes;
+    private long reads;
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        tailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
+        Path path = Paths.get(filePath).toAbsolutePath();
+        WatchService watchService;
+        try {
+            watchService = path.getFileSystem().newWatchService();
+            Path directory = path.getParent();
+            if (directory != null && Files.isDirectory(directory)) {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            } else {
+                logger.debug("Directory of '{}' can't be watched, poll every {} ms", path, refreshRate);
+            }
+        } catch (IOException e) {
+            throw new FileReaderException(e);
+        }
+
+        this.watchService = watchService;
+        running = true;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        this.executor = executor;
         try {
             logger.debug("Start executor");
-            executor.execute(tailer);
+            executor.execute(() -> tail(path, watchService, Math.max(1, refreshRate)));
             logger.debug("Executor started");
         } catch (Exception e) {
             throw new FileReaderException(e);
@@ -76,12 +105,199 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     @Override
     public void stop() {
         logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
+        running = false;
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Closing the watch service failed: {}", e.getMessage());
+            }
+            this.watchService = null;
         }
+        ExecutorService executor = this.executor;
         if (executor != null) {
             executor.shutdown();
+            try {
+                // the reader state is reused by the next start
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.executor = null;
         }
         logger.debug("Shutdown complite");
     }
+
+    private void tail(Path path, WatchService watchService, long refreshRate) {
+        lines = 0;
+        bytes = 0;
+        reads = 0;
+        long start = System.nanoTime();
+        boolean fromBeginning = false;
+        boolean notFoundReported = false;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try {
+            while (running) {
+                try {
+                    BasicFileAttributes attributes = readAttributes(path);
+                    if (attributes == null) {
+                        if (channel != null) {
+                            // moved away by the log rotation, the new file is read from its beginning
+                            readAvailable(buffer);
+                            flushLine();
+                            close();
+                            fromBeginning = true;
+                        } else if (!notFoundReported) {
+                            notFoundReported = true;
+                            sendFileNotFoundToListeners();
+                        }
+                    } else if (channel == null) {
+                        open(path, attributes, fromBeginning);
+                        if (fromBeginning) {
+                            sendFileRotationToListeners();
+                        }
+                        fromBeginning = false;
+                        notFoundReported = false;
+                    } else if (!Objects.equals(fileKey, attributes.fileKey()) || attributes.size() < position) {
+                        if (!Objects.equals(fileKey, attributes.fileKey())) {
+                            // replaced by a new file, the old one may still contain unread lines
+                            readAvailable(buffer);
+                            flushLine();
+                        } else {
+                            // truncated, the rest of the last line is gone
+                            lineLength = 0;
+                        }
+                        close();
+                        open(path, attributes, true);
+                        sendFileRotationToListeners();
+                    }
+
+                    if (channel != null) {
+                        readAvailable(buffer);
+                    }
+                } catch (IOException e) {
+                    sendExceptionToListeners(e);
+                    close();
+                }
+                waitForChange(watchService, path.getFileName(), refreshRate);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        } finally {
+            close();
+            lineLength = 0;
+            long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+            logger.debug("Read {} lines ({} bytes in {} reads) from '{}' in {} s", lines, bytes, reads, path,
+                    elapsed);
+        }
+    }
+
+    private @Nullable BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void open(Path path, BasicFileAttributes attributes, boolean fromBeginning) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel = channel;
+        fileKey = attributes.fileKey();
+        position = fromBeginning ? 0 : channel.size();
+        lineLength = 0;
+    }
+
+    private void close() {
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Closing the log file failed: {}", e.getMessage());
+            }
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Reads all bytes written since the last read and sends the complete lines to the listeners. An incomplete last
+     * line is kept until the rest of it is written.
+     */
+    private void readAvailable(ByteBuffer buffer) throws IOException {
+        FileChannel channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+        byte[] data = buffer.array();
+        int count;
+        buffer.clear();
+        while (running && (count = channel.read(buffer, position)) > 0) {
+            position += count;
+            bytes += count;
+            reads++;
+
+            int lineStart = 0;
+            for (int i = 0; i < count; i++) {
+                if (data[i] == '\n') {
+                    if (lineLength == 0) {
+                        sendLine(data, lineStart, i - lineStart);
+                    } else {
+                        appendLine(data, lineStart, i - lineStart);
+                        flushLine();
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            appendLine(data, lineStart, count - lineStart);
+            buffer.clear();
+        }
+    }
+
+    private void appendLine(byte[] data, int offset, int length) {
+        if (lineLength + length > lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, lineLength + length));
+        }
+        System.arraycopy(data, offset, lineBuffer, lineLength, length);
+        lineLength += length;
+    }
+
+    private void flushLine() {
+        if (lineLength > 0) {
+            sendLine(lineBuffer, 0, lineLength);
+            lineLength = 0;
+        }
+    }
+
+    private void sendLine(byte[] data, int offset, int length) {
+        int end = length > 0 && data[offset + length - 1] == '\r' ? length - 1 : length;
+        lines++;
+        sendLineToListeners(new String(data, offset, end, charset));
+    }
+
+    /**
+     * Waits until the watched file changes or the refresh rate elapses.
+     */
+    private void waitForChange(WatchService watchService, @Nullable Path fileName, long refreshRate)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refreshRate);
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+            if (key == null) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // other files of the directory (e.g. other logs) are ignored
+                changed |= event.kind() == OVERFLOW || Objects.equals(fileName, event.context());
+            }
+            key.reset();
+            if (changed) {
+                return;
+            }
+        }
+    }
 }
@@ -176,16 +176,19 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         }
 
         if (errorEngine.isMatching(line)) {
+            logger.trace("Line matched error pattern '{}'", errorEngine.getLastMatchedPattern());
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
         }
         if (warningEngine.isMatching(line)) {
+            logger.trace("Line matched warning pattern '{}'", warningEngine.getLastMatchedPattern());
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
         }
         if (customEngine.isMatching(line)) {
+            logger.trace("Line matched custom pattern '{}'", customEngine.getLastMatchedPattern());
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
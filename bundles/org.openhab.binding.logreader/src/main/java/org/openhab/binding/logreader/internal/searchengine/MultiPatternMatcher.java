@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Matches data against several regular expressions at once.
+ * <p>
+ * Each pattern is reduced to the literal text every match has to start with. If all patterns have such a literal
+ * and none of them is contained in the data, no regular expression needs to be run at all. Otherwise the patterns are
+ * run as one compiled alternation and the group that participated in the match tells which pattern matched. As the
+ * alternation finds the leftmost match, patterns listed before the matching one are checked one by one, so that the
+ * result is the same as if all patterns were run in the given order.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+class MultiPatternMatcher {
+
+    private static final String META_CHARACTERS = ".[]{}()*+?^$|";
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\(?:[1-9]|k<|Q)");
+
+    private final List<String> patterns;
+    private final List<String> literals = new ArrayList<>();
+    private final List<Pattern> compiled = new ArrayList<>();
+    private final int[] groups;
+    private final boolean prefilter;
+    private final @Nullable Pattern combined;
+
+    /**
+     * Compiles the given patterns.
+     *
+     * @param patterns the regular expressions to match against.
+     * @throws PatternSyntaxException if one of the patterns is not a valid regular expression.
+     */
+    MultiPatternMatcher(List<String> patterns) throws PatternSyntaxException {
+        this.patterns = patterns;
+        this.groups = new int[patterns.size()];
+
+        boolean allLiterals = !patterns.isEmpty();
+        boolean combinable = !patterns.isEmpty();
+        StringBuilder alternation = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            Pattern p = Pattern.compile(pattern);
+            compiled.add(p);
+
+            String literal = requiredPrefix(pattern);
+            literals.add(literal);
+            allLiterals &= !literal.isEmpty();
+
+            // back references are numbered in the pattern itself and would point to the wrong group, quotes may
+            // swallow the parentheses around the pattern
+            combinable &= !NOT_COMBINABLE.matcher(pattern).find();
+            if (alternation.length() > 0) {
+                alternation.append('|');
+            }
+            alternation.append('(').append(pattern).append(')');
+            groups[i] = group;
+            group += p.matcher("").groupCount() + 1;
+        }
+        prefilter = allLiterals;
+
+        Pattern combined = null;
+        if (combinable && patterns.size() > 1) {
+            try {
+                combined = Pattern.compile(alternation.toString());
+            } catch (PatternSyntaxException e) {
+                // e.g. the same named group in two patterns, run them one by one
+            }
+        }
+        this.combined = combined;
+    }
+
+    /**
+     * Finds the pattern matching the data.
+     *
+     * @param data data against search will be done.
+     * @return index of the first pattern found in the data or -1 if none of the patterns is found.
+     */
+    int find(String data) {
+        if (patterns.isEmpty() || (prefilter && !containsLiteral(data))) {
+            return -1;
+        }
+
+        Pattern combined = this.combined;
+        if (combined != null) {
+            Matcher matcher = combined.matcher(data);
+            if (matcher.find()) {
+                for (int i = 0; i < groups.length; i++) {
+                    if (matcher.start(groups[i]) >= 0) {
+                        return find(data, i);
+                    }
+                }
+            }
+            return -1;
+        }
+        return find(data, compiled.size());
+    }
+
+    /**
+     * Runs the patterns before the given index one by one.
+     *
+     * @return index of the first pattern found in the data or the given index if none of them is found.
+     */
+    private int find(String data, int end) {
+        for (int i = 0; i < end; i++) {
+            if (data.contains(literals.get(i)) && compiled.get(i).matcher(data).find()) {
+                return i;
+            }
+        }
+        return end < compiled.size() ? end : -1;
+    }
+
+    /**
+     * Returns the pattern with the given index.
+     *
+     * @param index index returned by {@link #find(String)}.
+     * @return the regular expression.
+     */
+    String getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    private boolean containsLiteral(String data) {
+        for (String literal : literals) {
+            if (data.contains(literal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the literal text every match of the regular expression starts with.
+     *
+     * @param regex the regular expression.
+     * @return the literal text, empty if the match can start with any character.
+     */
+    static String requiredPrefix(String regex) {
+        if (hasTopLevelAlternation(regex)) {
+            return "";
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    // character classes, quotes and back references
+                    break;
+                }
+                literal = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (next < regex.length()) {
+                char quantifier = regex.charAt(next);
+                if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                    break;
+                } else if (quantifier == '+') {
+                    prefix.append(literal);
+                    break;
+                }
+            }
+            prefix.append(literal);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Checks if the regular expression has an alternation outside of groups and character classes, in which case a
+     * match may start with any of the alternatives.
+     */
+    private static boolean hasTopLevelAlternation(String regex) {
+        int groupDepth = 0;
+        int classDepth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (regex.startsWith("Q", i + 1)) {
+                    int end = regex.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    i = end + 1;
+                } else {
+                    i++;
+                }
+            } else if (c == '[') {
+                classDepth++;
+            } else if (c == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (c == '(') {
+                    groupDepth++;
+                } else if (c == ')') {
+                    groupDepth--;
+                } else if (c == '|' && groupDepth == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -14,23 +14,23 @@ package org.openhab.binding.logreader.internal.searchengine;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * This class implements logic for regular expression based searching.
+ * This class implements logic for regular expression based searching. All search patterns (and all blacklisting
+ * patterns) are matched at once by a {@link MultiPatternMatcher}.
  *
  * @author Pauli Anttila - Initial contribution
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private MultiPatternMatcher matchers;
+    private MultiPatternMatcher blacklistingMatchers;
 
     private long matchCount;
+    private @Nullable String lastMatchedPattern;
 
     /**
      * Initialize search patterns.
@@ -40,8 +40,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matchers = new MultiPatternMatcher(splitPatterns(patterns));
+        blacklistingMatchers = new MultiPatternMatcher(splitPatterns(blacklistingPatterns));
     }
 
     /**
@@ -51,15 +51,26 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
+        int index = matchers.find(data);
+        if (index >= 0) {
             if (notBlacklisted(data)) {
                 matchCount++;
+                lastMatchedPattern = matchers.getPattern(index);
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Returns the search pattern which was found by the last successful {@link #isMatching(String)} call.
+     *
+     * @return the search pattern or null if nothing has been matched yet.
+     */
+    public @Nullable String getLastMatchedPattern() {
+        return lastMatchedPattern;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
@@ -73,38 +84,24 @@ public class SearchEngine {
     }
 
     /**
-     * Split pattern string and precompile search patterns.
+     * Split pattern string into search patterns.
      *
      * @param patterns patterns which will handled.
-     * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
+     * @return list of patterns. If pattern parameter is null, empty list is returned.
      */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<>();
+    private List<String> splitPatterns(@Nullable String patterns) {
+        List<String> patternsList = new ArrayList<>();
 
         if (patterns != null && !patterns.isEmpty()) {
             String list[] = patterns.split("\\|");
-            if (list.length > 0) {
-                for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
-                }
+            for (String patternStr : list) {
+                patternsList.add(patternStr);
             }
         }
         return patternsList;
     }
 
     private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
-
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return blacklistingMatchers.find(data) < 0;
     }
 }
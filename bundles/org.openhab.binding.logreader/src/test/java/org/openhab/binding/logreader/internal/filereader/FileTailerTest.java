@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests cases for {@link FileTailer}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class FileTailerTest {
+
+    private static final String ROTATED = "<rotated>";
+    private static final String NOT_FOUND = "<not found>";
+    private static final String READY = "ready";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private final FileTailer tailer = new FileTailer();
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("openhab.log");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add(NOT_FOUND);
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(String line) {
+                events.add(line);
+            }
+
+            @Override
+            public void handle(Exception ex) {
+                events.add(ex.toString());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    public void appendedLinesAreRead() throws Exception {
+        write("old line\n");
+        startTailing();
+
+        append("first\nsecond\r\nthi");
+        assertEvents("first", "second");
+        append("rd\n");
+        assertEvents("third");
+    }
+
+    @Test
+    public void longLinesAreRead() throws Exception {
+        startTailing();
+
+        char[] line = new char[200 * 1024];
+        Arrays.fill(line, 'x');
+        append(new String(line) + "\nshort\n");
+        assertEvents(new String(line), "short");
+    }
+
+    @Test
+    public void rotationByRenameReadsTheRestOfTheOldFile() throws Exception {
+        startTailing();
+
+        append("before\n");
+        assertEvents("before");
+
+        append("last of old file\nincomplete");
+        Files.move(file, file.resolveSibling("openhab.log.1"), StandardCopyOption.ATOMIC_MOVE);
+        write("first of new file\n");
+        assertEvents("last of old file", "incomplete", ROTATED, "first of new file");
+
+        append("after\n");
+        assertEvents("after");
+    }
+
+    @Test
+    public void rotationByTruncationReadsFromTheBeginning() throws Exception {
+        startTailing();
+
+        append("a line which is longer than the first line of the truncated file\nincomplete");
+        assertEvents("a line which is longer than the first line of the truncated file");
+
+        write("new\n");
+        assertEvents(ROTATED, "new");
+
+        append("after\n");
+        assertEvents("after");
+    }
+
+    @Test
+    public void missingFileIsReported() throws Exception {
+        tailer.start(file.toString(), 50);
+
+        assertEvents(NOT_FOUND);
+    }
+
+    /**
+     * Starts the tailer and waits until it reads the file.
+     */
+    private void startTailing() throws Exception {
+        if (!Files.exists(file)) {
+            write("");
+        }
+        tailer.start(file.toString(), 50);
+        for (int i = 0; i < 50; i++) {
+            // lines written before the tailer opened the file are skipped
+            append(READY + "\n");
+            if (READY.equals(events.poll(100, TimeUnit.MILLISECONDS))) {
+                assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+                return;
+            }
+        }
+        fail("Tailer did not read the file");
+    }
+
+    private void assertEvents(String... expected) throws InterruptedException {
+        for (String event : expected) {
+            assertEquals(event, events.poll(5, TimeUnit.SECONDS));
+        }
+        assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private void write(String data) throws IOException {
+        Files.write(file, data.getBytes(Charset.defaultCharset()));
+    }
+
+    private void append(String data) throws IOException {
+        Files.write(file, data.getBytes(Charset.defaultCharset()), StandardOpenOption.APPEND);
+    }
+}
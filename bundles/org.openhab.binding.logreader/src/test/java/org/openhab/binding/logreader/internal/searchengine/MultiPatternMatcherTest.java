@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link MultiPatternMatcher}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    private static final List<String> LINES = Arrays.asList("",
+            "2020-06-01 10:00:00.001 [INFO ] [org.openhab.core] - Started",
+            "2020-06-01 10:00:00.002 [WARN ] [org.openhab.binding.hue] - Bridge offline",
+            "2020-06-01 10:00:00.003 [ERROR] [org.openhab.binding.hue] - Timeout after 30000 ms",
+            "2020-06-01 10:00:00.004 [ERROR] [org.openhab.core] - Exception: java.lang.NullPointerException",
+            "2020-06-01 10:00:00.005 [DEBUG] [org.openhab.io.neeo] - Search for 'a.b*c' took 3 ms",
+            "2020-06-01 10:00:00.006 [WARN ] [org.openhab.core] - Retrying 3 times, then ERROR",
+            "aaa abab abcabc xyzzy xy xz", "Exception|Error", "(ERROR) {x} [y] a+b a?b", "error ERROR Error",
+            "WARN ERROR");
+
+    private static final List<List<String>> PATTERN_LISTS = Arrays.asList(Collections.singletonList("ERROR"),
+            Arrays.asList("ERROR", "WARN"), Arrays.asList("WARN", "ERROR"), Arrays.asList("ERR.R", "Exception"),
+            Arrays.asList("\\[ERROR\\]", "\\[WARN \\]"), Arrays.asList("hue.*Timeout", "neeo"),
+            Arrays.asList("Timeout after \\d+ ms", "Bridge (offline|online)"), Arrays.asList("^2020", "xyz+y"),
+            Arrays.asList("(ab)\\1", "xy"), Arrays.asList("(?i)error", "nothing"),
+            Arrays.asList("a.b\\*c", "\\Qa.b*c\\E"), Arrays.asList("\\Qa+b", "abc"), Arrays.asList("x?yz", "ab{2}"),
+            Arrays.asList("(?<level>ERROR)", "(?<level>WARN)"), Arrays.asList("ERROR|WARN"),
+            Arrays.asList("Retry.*", ""), Arrays.asList("nothing", "matches", "here"));
+
+    @Test
+    public void requiredPrefixOfLiterals() {
+        assertEquals("ERROR", MultiPatternMatcher.requiredPrefix("ERROR"));
+        assertEquals("ERROR", MultiPatternMatcher.requiredPrefix("^ERROR"));
+        assertEquals("Bridge ", MultiPatternMatcher.requiredPrefix("Bridge (offline|online)"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix(""));
+    }
+
+    @Test
+    public void requiredPrefixWithEscapes() {
+        assertEquals("[ERROR]", MultiPatternMatcher.requiredPrefix("\\[ERROR\\]"));
+        assertEquals("a.b*c", MultiPatternMatcher.requiredPrefix("a\\.b\\*c"));
+        assertEquals("a|b", MultiPatternMatcher.requiredPrefix("a\\|b"));
+        assertEquals("a\\b", MultiPatternMatcher.requiredPrefix("a\\\\b"));
+        assertEquals("Timeout after ", MultiPatternMatcher.requiredPrefix("Timeout after \\d+ ms"));
+        assertEquals("x", MultiPatternMatcher.requiredPrefix("x\\tb"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("\\Qa.b\\E"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("\\"));
+    }
+
+    @Test
+    public void requiredPrefixWithAlternations() {
+        assertEquals("", MultiPatternMatcher.requiredPrefix("ERROR|WARN"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("^ERROR|WARN"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("ERROR\\d|WARN"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("(ERROR)|WARN"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("ERROR\\Q|\\E|WARN"));
+        assertEquals("ERROR ", MultiPatternMatcher.requiredPrefix("ERROR (a|b)"));
+        assertEquals("ERROR", MultiPatternMatcher.requiredPrefix("ERROR[|]"));
+        assertEquals("ERROR", MultiPatternMatcher.requiredPrefix("ERROR\\Q|\\E"));
+    }
+
+    @Test
+    public void requiredPrefixWithQuantifiers() {
+        assertEquals("", MultiPatternMatcher.requiredPrefix("a?b"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("a*b"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("a{2}b"));
+        assertEquals("a", MultiPatternMatcher.requiredPrefix("a+b"));
+        assertEquals("a", MultiPatternMatcher.requiredPrefix("a+?b"));
+        assertEquals("xy", MultiPatternMatcher.requiredPrefix("xyz?"));
+        assertEquals("xyz", MultiPatternMatcher.requiredPrefix("xyz+y"));
+        assertEquals("ab", MultiPatternMatcher.requiredPrefix("abc{1,3}"));
+        assertEquals("a", MultiPatternMatcher.requiredPrefix("a.*"));
+        assertEquals(".", MultiPatternMatcher.requiredPrefix("\\.+"));
+        assertEquals("", MultiPatternMatcher.requiredPrefix("\\.*"));
+    }
+
+    @Test
+    public void findEqualsPatternsRunOneByOne() {
+        for (List<String> patterns : PATTERN_LISTS) {
+            MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+            for (String line : LINES) {
+                int index = matcher.find(line);
+                assertEquals(patterns + " on '" + line + "'", findOneByOne(patterns, line), index);
+                if (index >= 0) {
+                    assertEquals(patterns.get(index), matcher.getPattern(index));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findWithoutPatterns() {
+        assertEquals(-1, new MultiPatternMatcher(Collections.emptyList()).find("ERROR"));
+    }
+
+    /**
+     * The matching as {@link SearchEngine} did it before the {@link MultiPatternMatcher} was introduced.
+     */
+    private static int findOneByOne(List<String> patterns, String data) {
+        for (int i = 0; i < patterns.size(); i++) {
+            if (Pattern.compile(patterns.get(i)).matcher(data).find()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -56,4 +56,14 @@ public class ChannelConfig {
     public @Nullable String stop;
 
     public int onBrightness = 10;
+
+    // Update policy for received state updates
+    /** If true, a received state is only posted to the framework if it differs from the last posted state. */
+    public boolean updateOnChangeOnly = false;
+    /** Minimum time in milliseconds between two posted state updates. The latest state is posted afterwards. */
+    public int throttle = 0;
+    /** Time in milliseconds without a new message before the latest received state is posted. */
+    public int debounce = 0;
+    /** Numeric states that differ by less than this value from the last posted state are not posted. */
+    public @Nullable BigDecimal deadband;
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -73,4 +75,35 @@ public class ChannelConfigBuilder {
         config.trigger = trigger;
         return this;
     }
+
+    public ChannelConfigBuilder withUpdateOnChangeOnly(boolean updateOnChangeOnly) {
+        config.updateOnChangeOnly = updateOnChangeOnly;
+        return this;
+    }
+
+    public ChannelConfigBuilder withThrottle(int throttle) {
+        config.throttle = throttle;
+        return this;
+    }
+
+    public ChannelConfigBuilder withDebounce(int debounce) {
+        config.debounce = debounce;
+        return this;
+    }
+
+    public ChannelConfigBuilder withDeadband(@Nullable BigDecimal deadband) {
+        config.deadband = deadband;
+        return this;
+    }
+
+    /**
+     * Copies the update policy (update on change only, throttle, debounce and deadband) of the given configuration.
+     */
+    public ChannelConfigBuilder withUpdatePolicy(ChannelConfig policy) {
+        config.updateOnChangeOnly = policy.updateOnChangeOnly;
+        config.throttle = policy.throttle;
+        config.debounce = policy.debounce;
+        config.deadband = policy.deadband;
+        return this;
+    }
 }
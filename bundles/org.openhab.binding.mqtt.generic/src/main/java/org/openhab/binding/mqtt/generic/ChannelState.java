@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.IllegalFormatException;
@@ -24,9 +25,13 @@ import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
@@ -55,6 +60,7 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicDispatcher topicDispatcher;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
@@ -62,6 +68,13 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
 
+    // Update policy (see ChannelConfig#updateOnChangeOnly, #throttle, #debounce, #deadband)
+    private @Nullable ScheduledExecutorService scheduler;
+    private @Nullable State lastPostedState;
+    private long lastPostedTime;
+    private @Nullable State pendingState;
+    private @Nullable ScheduledFuture<?> pendingUpdate;
+
     /**
      * Creates a new channel state.
      *
@@ -80,6 +93,15 @@ public class ChannelState implements MqttMessageSubscriber {
         this.readOnly = StringUtils.isBlank(config.commandTopic);
     }
 
+    /**
+     * Subscribe to the state topic through the given dispatcher, which shares one subscription per topic between
+     * the channel states of a handler. Without a dispatcher the channel state subscribes itself.
+     * Must be set before {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)}.
+     */
+    public void setTopicDispatcher(@Nullable MqttTopicDispatcher topicDispatcher) {
+        this.topicDispatcher = topicDispatcher;
+    }
+
     public boolean isReadOnly() {
         return this.readOnly;
     }
@@ -131,6 +153,13 @@ public class ChannelState implements MqttMessageSubscriber {
         return channelUID;
     }
 
+    /**
+     * Return the channel configuration, including the update policy
+     */
+    public ChannelConfig getConfig() {
+        return config;
+    }
+
     /**
      * Incoming message from the MqttBrokerConnection
      *
@@ -139,6 +168,17 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        processMessage(topic, payload, null);
+    }
+
+    /**
+     * Incoming message, dispatched by the {@link MqttTopicDispatcher}.
+     *
+     * @param topic The topic. Is the same as the field stateTopic.
+     * @param payload The byte payload. Must be UTF8 encoded text or binary data.
+     * @param decodedPayload The payload decoded as UTF8 text or null if it has not been decoded yet.
+     */
+    public void processMessage(String topic, byte[] payload, @Nullable String decodedPayload) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -147,13 +187,13 @@ public class ChannelState implements MqttMessageSubscriber {
 
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
-            channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
+            updateChannelState(channelStateUpdateListener, cachedValue.getChannelState());
             receivedOrTimeout();
             return;
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = decodedPayload != null ? decodedPayload : new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
@@ -200,7 +240,7 @@ public class ChannelState implements MqttMessageSubscriber {
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
         } else {
-            channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
+            updateChannelState(channelStateUpdateListener, cachedValue.getChannelState());
         }
         receivedOrTimeout();
     }
@@ -242,7 +282,11 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            final MqttTopicDispatcher topicDispatcher = this.topicDispatcher;
+            final CompletableFuture<Boolean> unsubscribed = topicDispatcher != null
+                    ? topicDispatcher.unsubscribe(connection, config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this);
+            return unsubscribed.thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -255,6 +299,107 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
+        resetUpdatePolicy();
+    }
+
+    /**
+     * Posts a received state to the framework, if the update policy of the channel configuration allows it.
+     * <p>
+     * Unchanged states and numeric changes within the deadband are dropped. With a debounce time the state is only
+     * posted after no other message has been received for that time. With a throttle time the latest state is posted
+     * at most once per interval. The debounce time takes precedence over the throttle time.
+     * </p>
+     *
+     * @param listener The listener to post the state to
+     * @param state The received state
+     */
+    private synchronized void updateChannelState(ChannelStateUpdateListener listener, State state) {
+        if (!isSignificantChange(state)) {
+            // The latest received state supersedes a still pending one
+            cancelPendingUpdate();
+            logger.trace("Channel {} received state {}, which is not posted by the update policy", channelUID, state);
+            return;
+        }
+
+        long delay = 0;
+        if (config.debounce > 0) {
+            delay = config.debounce;
+        } else if (config.throttle > 0) {
+            delay = lastPostedTime + config.throttle - System.currentTimeMillis();
+        }
+
+        final ScheduledExecutorService scheduler = this.scheduler;
+        if (delay <= 0 || scheduler == null) {
+            cancelPendingUpdate();
+            postState(listener, state);
+            return;
+        }
+
+        pendingState = state;
+        final ScheduledFuture<?> pendingUpdate = this.pendingUpdate;
+        if (pendingUpdate != null) {
+            if (config.debounce <= 0) {
+                return; // Throttled: The already scheduled update posts the latest state
+            }
+            pendingUpdate.cancel(false);
+        }
+        this.pendingUpdate = scheduler.schedule(this::postPendingState, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isSignificantChange(State state) {
+        final State lastPostedState = this.lastPostedState;
+        if (lastPostedState == null) {
+            return true;
+        }
+        final BigDecimal deadband = config.deadband;
+        if (deadband != null) {
+            BigDecimal value = toBigDecimal(state);
+            BigDecimal lastValue = toBigDecimal(lastPostedState);
+            if (value != null && lastValue != null) {
+                return value.subtract(lastValue).abs().compareTo(deadband) >= 0;
+            }
+        }
+        return !config.updateOnChangeOnly || !state.equals(lastPostedState);
+    }
+
+    private static @Nullable BigDecimal toBigDecimal(State state) {
+        if (state instanceof QuantityType) {
+            return ((QuantityType<?>) state).toBigDecimal();
+        } else if (state instanceof DecimalType && !(state instanceof HSBType)) {
+            return ((DecimalType) state).toBigDecimal();
+        }
+        return null;
+    }
+
+    private synchronized void postPendingState() {
+        final State state = pendingState;
+        final ChannelStateUpdateListener listener = channelStateUpdateListener;
+        pendingState = null;
+        pendingUpdate = null;
+        if (state != null && listener != null) {
+            postState(listener, state);
+        }
+    }
+
+    private void postState(ChannelStateUpdateListener listener, State state) {
+        lastPostedState = state;
+        lastPostedTime = System.currentTimeMillis();
+        listener.updateChannelState(channelUID, state);
+    }
+
+    private void cancelPendingUpdate() {
+        final ScheduledFuture<?> pendingUpdate = this.pendingUpdate;
+        if (pendingUpdate != null) {
+            pendingUpdate.cancel(false);
+            this.pendingUpdate = null;
+        }
+        pendingState = null;
+    }
+
+    private synchronized void resetUpdatePolicy() {
+        cancelPendingUpdate();
+        lastPostedState = null;
+        lastPostedTime = 0;
     }
 
     private void receivedOrTimeout() {
@@ -295,13 +440,18 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         this.connection = connection;
+        this.scheduler = scheduler;
 
         if (StringUtils.isBlank(config.stateTopic)) {
             return CompletableFuture.completedFuture(null);
         }
 
         this.future = new CompletableFuture<>();
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        final MqttTopicDispatcher topicDispatcher = this.topicDispatcher;
+        final CompletableFuture<Boolean> subscribed = topicDispatcher != null
+                ? topicDispatcher.subscribe(connection, config.stateTopic, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscribed.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -331,6 +481,8 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        // The item follows the command now, the next received state has to be posted whatever was posted before
+        resetUpdatePolicy();
 
         Value mqttCommandValue = cachedValue;
 
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares one broker subscription per topic (filter) between the {@link ChannelState}s of a Thing handler.
+ * <p>
+ * A received message is decoded only once and then dispatched to all channel states of that topic, e.g. a JSON
+ * state topic that feeds several channels. Each handler owns its dispatcher, see
+ * {@link ChannelState#setTopicDispatcher(MqttTopicDispatcher)}.
+ * </p>
+ * <p>
+ * A channel state that joins an existing subscription would not receive the retained message of the topic, because
+ * the broker only sends retained messages in response to a subscription. The broker connection does not expose the
+ * retained flag of a message, so the dispatcher does not replay received messages. It subscribes to the topic once
+ * more instead, which makes the broker send the retained message again, and removes that extra subscriber as soon
+ * as the subscription is acknowledged.
+ * </p>
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicDispatcher {
+    private final Map<String, TopicSubscription> subscriptions = new HashMap<>();
+
+    /**
+     * Subscribes the given channel state to the topic. Only the first channel state of a topic subscribes on the
+     * broker connection.
+     *
+     * @param connection A broker connection
+     * @param topic The topic or topic filter
+     * @param channelState The channel state to receive the messages
+     * @return A future that completes with the result of the broker subscription
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscription subscription = subscriptions.get(topic);
+        if (subscription == null) {
+            final TopicSubscription newSubscription = new TopicSubscription(topic);
+            subscriptions.put(topic, newSubscription);
+            newSubscription.channelStates.add(channelState);
+            newSubscription.subscribed = connection.subscribe(topic, newSubscription).whenComplete((r, e) -> {
+                if (e != null) {
+                    removeSubscription(newSubscription);
+                }
+            });
+            return newSubscription.subscribed;
+        }
+        if (!subscription.channelStates.add(channelState)) {
+            return subscription.subscribed;
+        }
+        final TopicSubscription joinedSubscription = subscription;
+        return joinedSubscription.subscribed.thenCompose(r -> requestRetained(connection, joinedSubscription));
+    }
+
+    /**
+     * Unsubscribes the given channel state from the topic. The broker subscription is removed together with the last
+     * channel state of a topic.
+     *
+     * @param connection A broker connection
+     * @param topic The topic or topic filter
+     * @param channelState The channel state to remove
+     * @return A future that completes with true if unsubscribing succeeded
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic,
+            ChannelState channelState) {
+        TopicSubscription subscription = subscriptions.get(topic);
+        if (subscription == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscription.channelStates.remove(channelState);
+        if (!subscription.channelStates.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        removeSubscription(subscription);
+        return connection.unsubscribe(topic, subscription);
+    }
+
+    /**
+     * Returns the current subscriptions of this dispatcher.
+     *
+     * @return A map of topics to subscriptions
+     */
+    public synchronized Map<String, TopicSubscription> getSubscriptions() {
+        return Collections.unmodifiableMap(new HashMap<>(subscriptions));
+    }
+
+    private synchronized void removeSubscription(TopicSubscription subscription) {
+        if (subscriptions.get(subscription.topic) == subscription) {
+            subscriptions.remove(subscription.topic);
+        }
+    }
+
+    /**
+     * Subscribes a subscriber that ignores all messages, so that the broker sends the retained message of the topic
+     * again. The retained message reaches the joined channel state through the shared subscription.
+     */
+    private CompletableFuture<Boolean> requestRetained(MqttBrokerConnection connection,
+            TopicSubscription subscription) {
+        final MqttMessageSubscriber retainedRequest = (topic, payload) -> {
+        };
+        return connection.subscribe(subscription.topic, retainedRequest)
+                .thenCompose(r -> connection.unsubscribe(subscription.topic, retainedRequest).thenApply(u -> r));
+    }
+
+    /**
+     * The subscription of a single topic, which dispatches received messages to all of its channel states.
+     */
+    public static class TopicSubscription implements MqttMessageSubscriber {
+        private final Logger logger = LoggerFactory.getLogger(TopicSubscription.class);
+
+        private final String topic;
+        private final Set<ChannelState> channelStates = new CopyOnWriteArraySet<>();
+        private CompletableFuture<Boolean> subscribed = CompletableFuture.completedFuture(true);
+
+        TopicSubscription(String topic) {
+            this.topic = topic;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            @Nullable String strValue = null;
+            for (ChannelState channelState : channelStates) {
+                if (strValue == null && !channelState.getCache().isBinary()) {
+                    strValue = new String(payload, StandardCharsets.UTF_8);
+                }
+                channelState.processMessage(topic, payload, strValue);
+            }
+            logger.trace("Dispatched message on {} to {} channel(s)", topic, channelStates.size());
+        }
+
+        /**
+         * Returns the topic or topic filter of this subscription.
+         */
+        public String getTopic() {
+            return topic;
+        }
+
+        /**
+         * Returns the number of channel states sharing this subscription.
+         */
+        public int getChannelStateCount() {
+            return channelStates.size();
+        }
+    }
+}
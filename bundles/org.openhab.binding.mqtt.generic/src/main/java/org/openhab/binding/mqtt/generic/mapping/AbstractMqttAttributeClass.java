@@ -15,9 +15,12 @@ package org.openhab.binding.mqtt.generic.mapping;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.binding.mqtt.generic.mapping.AttributeClassLayout.AttributeField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +49,12 @@ import org.slf4j.LoggerFactory;
  * </p>
  *
  * <p>
+ * Alternatively the values can be provided by someone else, for example by a single wildcard subscription for an
+ * entire topic tree. Call {@link #attach(MqttBrokerConnection, ScheduledExecutorService, String, AttributeChanged)}
+ * instead of subscribing and pass each received value to {@link #applyTopicValue(String, byte[])}.
+ * </p>
+ *
+ * <p>
  * The Homie 3.x convention uses attribute classes for Devices, Nodes and Properties configuration.
  * </p>
  *
@@ -107,6 +117,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
     };
     private transient boolean complete = false;
+    private final transient Set<String> receivedTopicLevels = ConcurrentHashMap.newKeySet();
 
     /**
      * Implement this interface to be notified of an updated field.
@@ -196,6 +207,77 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
         return CompletableFuture.allOf(startFuture, CompletableFuture.allOf(futures));
     }
 
+    /**
+     * Prepares this attribute class to receive values via {@link #applyTopicValue(String, byte[])}, instead of
+     * subscribing to a topic per field.
+     *
+     * @param connection A MQTT broker connection.
+     * @param scheduler A scheduler.
+     * @param basetopic The base topic.
+     * @param attributeChangedListener Field change listener
+     */
+    public void attach(MqttBrokerConnection connection, ScheduledExecutorService scheduler, String basetopic,
+            @Nullable AttributeChanged attributeChangedListener) {
+        this.connection = new WeakReference<>(connection);
+        this.scheduler = new WeakReference<>(scheduler);
+        this.basetopic = basetopic;
+        if (attributeChangedListener != null) {
+            this.attributeChangedListener = attributeChangedListener;
+        } else {
+            this.attributeChangedListener = (b, c, d, e, f) -> {
+            };
+        }
+        receivedTopicLevels.clear();
+    }
+
+    /**
+     * Applies a received value to the field that belongs to the given topic level.
+     * The field change listener is notified like for values of own subscriptions.
+     *
+     * @param topicLevel The last topic level, for example "$name".
+     * @param payload The MQTT payload.
+     * @return Returns true if the topic level belongs to a field of this attribute class.
+     */
+    public boolean applyTopicValue(String topicLevel, byte[] payload) {
+        final AttributeField field = getLayout().getField(topicLevel);
+        if (field == null) {
+            return false;
+        }
+        if (payload.length == 0) {
+            logger.debug("NULL payload on topic: {}/{}", basetopic, topicLevel);
+            return true;
+        }
+        final MqttBrokerConnection connection = this.connection.get();
+        final ScheduledExecutorService scheduler = this.scheduler.get();
+        if (connection == null || scheduler == null) {
+            logger.warn("No connection or scheduler set!");
+            return true;
+        }
+
+        // It is not a reason to fail if a field could not be set. But at least issue a warning to the log.
+        final String valueStr = new String(payload, StandardCharsets.UTF_8);
+        final Object value;
+        try {
+            value = field.convert(valueStr);
+            field.set(getFieldsOf(), value);
+        } catch (Throwable e) {
+            logger.warn("Could not assign value {} to field {}", valueStr, field.name, e);
+            return true;
+        }
+        receivedTopicLevels.add(topicLevel);
+        final boolean newComplete = receivedTopicLevels.containsAll(getLayout().getMandatoryTopicLevels());
+        attributeChangedListener.attributeChanged(field.name, value, connection, scheduler, newComplete);
+        complete = newComplete;
+        return true;
+    }
+
+    /**
+     * Returns the precomputed topic layout of this attribute class.
+     */
+    public AttributeClassLayout getLayout() {
+        return AttributeClassLayout.of(getFieldsOf().getClass());
+    }
+
     /**
      * Return fields of the given class as well as all super classes.
      *
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The topic layout of an attribute class (see {@link AbstractMqttAttributeClass}).
+ * <p>
+ * All reflection and annotation lookups are performed once per class. Each field is mapped to its topic level
+ * (e.g. "$name"), a precomputed value converter and a method handle setter. Assigning a received value does not
+ * require any reflection afterwards.
+ * </p>
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class AttributeClassLayout {
+    private static final Map<Class<?>, AttributeClassLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final Map<String, AttributeField> fields;
+    private final Set<String> mandatoryTopicLevels;
+
+    /**
+     * A single field of an attribute class.
+     */
+    public static class AttributeField {
+        /** The field name */
+        public final String name;
+        /** The last topic level of the field, consisting of the topic prefix and the field name */
+        public final String topicLevel;
+        public final boolean mandatory;
+        private final MethodHandle setter;
+        private final Function<String, Object> converter;
+
+        AttributeField(Field field, String topicLevel, boolean mandatory, MethodHandle setter,
+                Function<String, Object> converter) {
+            this.name = field.getName();
+            this.topicLevel = topicLevel;
+            this.mandatory = mandatory;
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        /**
+         * Converts a received value to the field type.
+         *
+         * @param value The received value
+         * @return The converted value
+         * @throws IllegalArgumentException If the value cannot be converted
+         */
+        public Object convert(String value) throws IllegalArgumentException {
+            return converter.apply(value);
+        }
+
+        /**
+         * Assigns a converted value to this field of the given bean.
+         *
+         * @param bean The attribute class object
+         * @param value The converted value
+         * @throws Throwable Any exception of the underlying setter
+         */
+        public void set(Object bean, Object value) throws Throwable {
+            setter.invokeExact(bean, value);
+        }
+    }
+
+    /**
+     * Returns the layout of the given attribute class. The layout is computed on the first call and cached.
+     *
+     * @param clazz An attribute class
+     * @return The layout of the class
+     */
+    public static AttributeClassLayout of(Class<?> clazz) {
+        return LAYOUTS.computeIfAbsent(clazz, AttributeClassLayout::new);
+    }
+
+    @SuppressWarnings("null")
+    private AttributeClassLayout(Class<?> clazz) {
+        TopicPrefix classPrefix = clazz.getAnnotation(TopicPrefix.class);
+        final String prefix = (classPrefix != null) ? classPrefix.value() : "";
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+
+        Map<String, AttributeField> fields = new LinkedHashMap<>();
+        Set<String> mandatoryTopicLevels = new HashSet<>();
+        for (Field field : AbstractMqttAttributeClass.getAllFields(clazz)) {
+            if (!AbstractMqttAttributeClass.filterField(field)) {
+                continue;
+            }
+            TopicPrefix fieldPrefix = field.getAnnotation(TopicPrefix.class);
+            String topicLevel = ((fieldPrefix != null) ? fieldPrefix.value() : prefix) + field.getName();
+            boolean mandatory = field.getAnnotation(MandatoryField.class) != null;
+
+            MethodHandle setter;
+            try {
+                if (!Modifier.isPublic(field.getModifiers())
+                        || !Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+                    field.setAccessible(true);
+                }
+                setter = lookup.unreflectSetter(field).asType(setterType);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access field " + field, e);
+            }
+
+            fields.put(topicLevel, new AttributeField(field, topicLevel, mandatory, setter, createConverter(field)));
+            if (mandatory) {
+                mandatoryTopicLevels.add(topicLevel);
+            }
+        }
+        this.fields = Collections.unmodifiableMap(fields);
+        this.mandatoryTopicLevels = Collections.unmodifiableSet(mandatoryTopicLevels);
+    }
+
+    /**
+     * Creates the value converter for the given field. This is the precomputed equivalent of the conversion in
+     * {@link SubscribeFieldToMQTTtopic#processMessage(String, byte[])}.
+     */
+    @SuppressWarnings("null")
+    private static Function<String, Object> createConverter(Field field) {
+        final Class<?> type = field.getType();
+        final MQTTvalueTransform transform = field.getAnnotation(MQTTvalueTransform.class);
+        if (transform != null) {
+            final String prefix = transform.prefix();
+            final String suffix = transform.suffix();
+            if (type.isArray()) {
+                final String splitCharacter = transform.splitCharacter();
+                return value -> (prefix + value + suffix).split(splitCharacter);
+            }
+            return value -> SubscribeFieldToMQTTtopic.numberConvert(prefix + value + suffix, type);
+        } else if (type.isArray()) {
+            return value -> {
+                throw new IllegalArgumentException("No split character defined!");
+            };
+        }
+        return value -> SubscribeFieldToMQTTtopic.numberConvert(value, type);
+    }
+
+    /**
+     * Returns the field for the given topic level or null if there is no such field.
+     *
+     * @param topicLevel The last topic level, for example "$name"
+     */
+    public @Nullable AttributeField getField(String topicLevel) {
+        return fields.get(topicLevel);
+    }
+
+    /**
+     * Returns all fields, keyed by their topic level.
+     */
+    public Map<String, AttributeField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the topic levels of all mandatory fields.
+     */
+    public Set<String> getMandatoryTopicLevels() {
+        return mandatoryTopicLevels;
+    }
+}
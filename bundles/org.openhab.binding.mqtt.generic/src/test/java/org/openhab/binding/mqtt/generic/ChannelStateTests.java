@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -297,4 +298,92 @@ public class ChannelStateTests {
         assertThat(value.getChannelState(), is(instanceOf(RawType.class)));
         assertThat(((RawType) value.getChannelState()).getMimeType(), is("image/jpeg"));
     }
+
+    @Test
+    public void updateOnChangeOnlyTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withUpdateOnChangeOnly(true).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "B".getBytes());
+        c.processMessage("state", "A".getBytes());
+
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), eq(new StringType("A")));
+        verify(channelStateUpdateListener, times(1)).updateChannelState(eq(channelUID), eq(new StringType("B")));
+    }
+
+    @Test
+    public void updateOnChangeOnlyResetByCommandTest() throws InterruptedException, ExecutionException {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withUpdateOnChangeOnly(true).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A".getBytes());
+        c.publishValue(new StringType("B")).get();
+        c.processMessage("state", "A".getBytes()); // The device rejected the command
+
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), eq(new StringType("A")));
+    }
+
+    @Test
+    public void deadbandTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withDeadband(new BigDecimal("0.5"))
+                .build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "20.0".getBytes());
+        c.processMessage("state", "20.3".getBytes()); // Within the deadband of the last posted 20.0
+        c.processMessage("state", "20.5".getBytes());
+        c.processMessage("state", "20.1".getBytes()); // Within the deadband of the last posted 20.5
+
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType("20.0")));
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new DecimalType("20.5")));
+    }
+
+    @Test
+    public void debounceTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withDebounce(50).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, scheduler, 0);
+
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "B".getBytes());
+        c.processMessage("state", "C".getBytes());
+
+        verify(channelStateUpdateListener, timeout(500)).updateChannelState(eq(channelUID), eq(new StringType("C")));
+        verify(channelStateUpdateListener, times(1)).updateChannelState(eq(channelUID), any());
+    }
+
+    @Test
+    public void throttleTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withThrottle(100).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, scheduler, 0);
+
+        c.processMessage("state", "A".getBytes()); // Posted immediately
+        c.processMessage("state", "B".getBytes());
+        c.processMessage("state", "C".getBytes()); // Posted after the throttle time
+
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID), eq(new StringType("A")));
+        verify(channelStateUpdateListener, timeout(500)).updateChannelState(eq(channelUID), eq(new StringType("C")));
+        verify(channelStateUpdateListener, never()).updateChannelState(eq(channelUID), eq(new StringType("B")));
+    }
+
+    @Test
+    public void updatePolicyNotAppliedToCommandsTest() {
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withUpdateOnChangeOnly(true).build();
+        config.postCommand = true;
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "A".getBytes());
+
+        verify(channelStateUpdateListener, times(2)).postChannelCommand(eq(channelUID), eq(new StringType("A")));
+    }
 }
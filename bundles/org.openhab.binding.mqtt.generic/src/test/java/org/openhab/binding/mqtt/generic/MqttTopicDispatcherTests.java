@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+
+/**
+ * Tests the {@link MqttTopicDispatcher} class.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class MqttTopicDispatcherTests {
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private ChannelStateUpdateListener channelStateUpdateListener;
+
+    private final ChannelUID channelUID1 = new ChannelUID("mqtt:topic:broker:thing1:channel");
+    private final ChannelUID channelUID2 = new ChannelUID("mqtt:topic:broker:thing2:channel");
+
+    private ChannelState state1;
+    private ChannelState state2;
+
+    private MqttTopicDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+
+        ChannelConfig config = ChannelConfigBuilder.create("tele/sensor/STATE", null).build();
+        state1 = new ChannelState(config, channelUID1, new TextValue(), channelStateUpdateListener);
+        state2 = new ChannelState(config, channelUID2, new TextValue(), channelStateUpdateListener);
+        dispatcher = new MqttTopicDispatcher();
+    }
+
+    @Test
+    public void oneBrokerSubscriptionPerTopic() {
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state1);
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state2);
+
+        verify(connection, times(1)).subscribe(eq("tele/sensor/STATE"),
+                isA(MqttTopicDispatcher.TopicSubscription.class));
+        assertThat(dispatcher.getSubscriptions().get("tele/sensor/STATE").getChannelStateCount(), is(2));
+
+        dispatcher.unsubscribe(connection, "tele/sensor/STATE", state1);
+        verify(connection, never()).unsubscribe(any(), isA(MqttTopicDispatcher.TopicSubscription.class));
+
+        dispatcher.unsubscribe(connection, "tele/sensor/STATE", state2);
+        verify(connection).unsubscribe(eq("tele/sensor/STATE"), isA(MqttTopicDispatcher.TopicSubscription.class));
+        assertThat(dispatcher.getSubscriptions().isEmpty(), is(true));
+    }
+
+    @Test
+    public void dispatchersDoNotShareSubscriptions() {
+        MqttTopicDispatcher otherDispatcher = new MqttTopicDispatcher();
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state1);
+        otherDispatcher.subscribe(connection, "tele/sensor/STATE", state2);
+
+        verify(connection, times(2)).subscribe(eq("tele/sensor/STATE"),
+                isA(MqttTopicDispatcher.TopicSubscription.class));
+        assertThat(dispatcher.getSubscriptions().get("tele/sensor/STATE").getChannelStateCount(), is(1));
+        assertThat(otherDispatcher.getSubscriptions().get("tele/sensor/STATE").getChannelStateCount(), is(1));
+    }
+
+    @Test
+    public void messageIsDispatchedToAllChannelStates() {
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state1);
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state2);
+
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, times(2)).subscribe(eq("tele/sensor/STATE"), captor.capture());
+        captor.getAllValues().get(0).processMessage("tele/sensor/STATE", "ON".getBytes());
+
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID1), eq(new StringType("ON")));
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID2), eq(new StringType("ON")));
+    }
+
+    @Test
+    public void joiningChannelStateRequestsRetainedMessage() {
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state1);
+        verify(connection, times(1)).subscribe(eq("tele/sensor/STATE"), any());
+
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state2);
+
+        // A second, temporary subscriber makes the broker send the retained message again
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, times(2)).subscribe(eq("tele/sensor/STATE"), captor.capture());
+        MqttMessageSubscriber retainedRequest = captor.getAllValues().get(1);
+        assertThat(retainedRequest instanceof MqttTopicDispatcher.TopicSubscription, is(false));
+        verify(connection).unsubscribe(eq("tele/sensor/STATE"), eq(retainedRequest));
+    }
+
+    @Test
+    public void receivedMessageIsNotReplayedToJoiningChannelState() {
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state1);
+
+        ArgumentCaptor<MqttTopicDispatcher.TopicSubscription> captor = ArgumentCaptor
+                .forClass(MqttTopicDispatcher.TopicSubscription.class);
+        verify(connection).subscribe(eq("tele/sensor/STATE"), captor.capture());
+        captor.getValue().processMessage("tele/sensor/STATE", "OFF".getBytes());
+
+        dispatcher.subscribe(connection, "tele/sensor/STATE", state2);
+        verify(channelStateUpdateListener).updateChannelState(eq(channelUID1), eq(new StringType("OFF")));
+        verify(channelStateUpdateListener, never()).updateChannelState(eq(channelUID2), any());
+    }
+}
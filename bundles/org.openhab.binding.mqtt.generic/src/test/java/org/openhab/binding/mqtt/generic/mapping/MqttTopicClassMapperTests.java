@@ -203,4 +203,47 @@ public class MqttTopicClassMapperTests {
 
         assertThat(future.isDone(), is(true));
     }
+
+    @SuppressWarnings("null")
+    @Test
+    public void applyTopicValues() throws IllegalArgumentException, IllegalAccessException {
+        final Attributes attributes = new Attributes();
+        attributes.attach(connection, executor, "homie/device123", fieldChangedObserver);
+
+        // The precomputed layout maps the topic level (prefix and field name) to each field
+        AttributeClassLayout layout = attributes.getLayout();
+        assertThat(layout.getFields().size(), is(10));
+        assertNotNull(layout.getField("aInt"));
+        assertNull(layout.getField("ignoreTransient"));
+
+        int loopCounter = 0;
+        for (Field field : Attributes.class.getDeclaredFields()) {
+            TestValue annotation = field.getAnnotation(TestValue.class);
+            if (annotation == null) {
+                continue;
+            }
+            TopicPrefix topicPrefix = field.getAnnotation(TopicPrefix.class);
+            String topicLevel = (topicPrefix != null ? topicPrefix.value() : "$") + field.getName();
+
+            // Simulate a received MQTT value of a wildcard subscription
+            assertTrue(attributes.applyTopicValue(topicLevel, annotation.value().getBytes()));
+            verify(fieldChangedObserver, times(++loopCounter)).attributeChanged(eq(field.getName()), any(), any(),
+                    any(), anyBoolean());
+
+            if (!field.getType().isArray()) {
+                MQTTvalueTransform mapToField = field.getAnnotation(MQTTvalueTransform.class);
+                String prefix = mapToField != null ? mapToField.prefix() : "";
+                String suffix = mapToField != null ? mapToField.suffix() : "";
+                assertThat(field.get(attributes).toString(), is(prefix + annotation.value() + suffix));
+            } else {
+                assertThat(Stream.of((String[]) field.get(attributes)).reduce((v, i) -> v + "," + i).orElse(""),
+                        is(annotation.value()));
+            }
+        }
+
+        // Unknown topic levels are not applied
+        assertFalse(attributes.applyTopicValue("unknown", "value".getBytes()));
+        verify(fieldChangedObserver, times(loopCounter)).attributeChanged(any(), any(), any(), any(), anyBoolean());
+        verify(connection, never()).subscribe(anyString(), any());
+    }
 }
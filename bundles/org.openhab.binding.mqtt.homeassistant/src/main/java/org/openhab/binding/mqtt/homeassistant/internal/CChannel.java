@@ -195,7 +195,8 @@ public class CChannel {
                     channelUID.getGroupId() + "_" + channelID);
             channelState = new ChannelState(
                     ChannelConfigBuilder.create().withRetain(retain).withQos(qos).withStateTopic(state_topic)
-                            .withCommandTopic(command_topic).build(),
+                            .withCommandTopic(command_topic)
+                            .withUpdatePolicy(componentConfiguration.getUpdatePolicy()).build(),
                     channelUID, valueState, channelStateUpdateListener);
 
             if (StringUtils.isBlank(state_topic)) {
@@ -16,6 +16,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.mqtt.generic.AvailabilityTracker;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.slf4j.Logger;
@@ -42,14 +44,15 @@ public class CFactory {
      * @param configJSON Most components expect a "name", a "state_topic" and "command_topic" like with
      *            "{name:'Name',state_topic:'homeassistant/switch/0/object/state',command_topic:'homeassistant/switch/0/object/set'".
      * @param updateListener A channel state update listener
+     * @param updatePolicy A channel configuration carrying the update policy for all channels of the component
      * @return A HA MQTT Component
      */
     public static @Nullable AbstractComponent<?> createComponent(ThingUID thingUID, HaID haID,
             String channelConfigurationJSON, ChannelStateUpdateListener updateListener, AvailabilityTracker tracker,
-            Gson gson, TransformationServiceProvider transformationServiceProvider) {
+            Gson gson, TransformationServiceProvider transformationServiceProvider, ChannelConfig updatePolicy) {
         ComponentConfiguration componentConfiguration = new ComponentConfiguration(thingUID, haID,
                 channelConfigurationJSON, gson, updateListener, tracker)
-                        .transformationProvider(transformationServiceProvider);
+                        .transformationProvider(transformationServiceProvider).updatePolicy(updatePolicy);
         try {
             switch (haID.component) {
                 case "alarm_control_panel":
@@ -87,6 +90,7 @@ public class CFactory {
         private final AvailabilityTracker tracker;
         private final Gson gson;
         private @Nullable TransformationServiceProvider transformationServiceProvider;
+        private ChannelConfig updatePolicy = ChannelConfigBuilder.create().build();
 
         protected ComponentConfiguration(ThingUID thingUID, HaID haID, String configJSON, Gson gson,
                 ChannelStateUpdateListener updateListener, AvailabilityTracker tracker) {
@@ -104,6 +108,11 @@ public class CFactory {
             return this;
         }
 
+        public ComponentConfiguration updatePolicy(ChannelConfig updatePolicy) {
+            this.updatePolicy = updatePolicy;
+            return this;
+        }
+
         public ThingUID getThingUID() {
             return thingUID;
         }
@@ -125,6 +134,10 @@ public class CFactory {
             return transformationServiceProvider;
         }
 
+        public ChannelConfig getUpdatePolicy() {
+            return updatePolicy;
+        }
+
         public Gson getGson() {
             return gson;
         }
@@ -27,6 +27,8 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.binding.mqtt.generic.AvailabilityTracker;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.utils.FutureCollector;
@@ -49,6 +51,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final ChannelStateUpdateListener updateListener;
     private final AvailabilityTracker tracker;
     private final TransformationServiceProvider transformationServiceProvider;
+    private ChannelConfig updatePolicy = ChannelConfigBuilder.create().build();
 
     protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
@@ -84,6 +87,16 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         this.transformationServiceProvider = transformationServiceProvider;
     }
 
+    /**
+     * Sets the update policy (update on change only, throttle, debounce and deadband) for the channels of all
+     * components discovered from now on.
+     *
+     * @param updatePolicy A channel configuration carrying the update policy
+     */
+    public void setUpdatePolicy(ChannelConfig updatePolicy) {
+        this.updatePolicy = updatePolicy;
+    }
+
     @Override
     public void processMessage(String topic, byte[] payload) {
         if (!topic.endsWith("/config")) {
@@ -97,7 +110,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
 
         if (config.length() > 0) {
             component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, gson,
-                    transformationServiceProvider);
+                    transformationServiceProvider, updatePolicy);
         }
         if (component != null) {
             component.setConfigSeen();
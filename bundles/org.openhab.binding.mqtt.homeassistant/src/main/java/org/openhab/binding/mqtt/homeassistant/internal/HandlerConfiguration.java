@@ -12,11 +12,15 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.homeassistant.internal.handler.HomeAssistantThingHandler;
 
 /**
@@ -63,6 +67,14 @@ public class HandlerConfiguration {
      */
     public List<String> topics;
 
+    /**
+     * Update policy applied to all channels of the Thing, see the channel parameters of the generic MQTT Thing.
+     */
+    public boolean updateOnChangeOnly = false;
+    public int throttle = 0;
+    public int debounce = 0;
+    public @Nullable BigDecimal deadband;
+
     public HandlerConfiguration() {
         this("homeassistant", Collections.emptyList());
     }
@@ -73,6 +85,14 @@ public class HandlerConfiguration {
         this.topics = topics;
     }
 
+    /**
+     * @return A channel configuration carrying the update policy of this Thing.
+     */
+    public ChannelConfig getUpdatePolicy() {
+        return ChannelConfigBuilder.create().withUpdateOnChangeOnly(updateOnChangeOnly).withThrottle(throttle)
+                .withDebounce(debounce).withDeadband(deadband).build();
+    }
+
     /**
      * Add the <code>basetopic</code> and <code>objectid</code> to the properties.
      *
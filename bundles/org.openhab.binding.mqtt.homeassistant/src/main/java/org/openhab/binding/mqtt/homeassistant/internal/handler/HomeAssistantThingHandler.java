@@ -38,6 +38,7 @@ import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.eclipse.smarthome.core.thing.util.ThingHelper;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.AbstractMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
@@ -129,6 +130,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             return;
         }
         discoveryHomeAssistantIDs.addAll(HaID.fromConfig(config));
+        final ChannelConfig updatePolicy = config.getUpdatePolicy();
+        discoverComponents.setUpdatePolicy(updatePolicy);
 
         for (Channel channel : thing.getChannels()) {
             final String groupID = channel.getUID().getGroupId();
@@ -153,7 +156,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 logger.warn("Provided channel does not have a 'config' configuration key!");
             } else {
                 component = CFactory.createComponent(thingUID, haID, channelConfigurationJSON, this, this, gson,
-                        transformationServiceProvider);
+                        transformationServiceProvider, updatePolicy);
             }
 
             if (component != null) {
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.Test;
+import org.openhab.binding.mqtt.generic.AvailabilityTracker;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests cases for {@link CFactory}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class CFactoryTests {
+
+    private Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void updatePolicyAppliedToComponentChannels() {
+        ChannelConfig updatePolicy = ChannelConfigBuilder.create().withUpdateOnChangeOnly(true).withThrottle(1000)
+                .withDebounce(200).withDeadband(new BigDecimal("0.5")).build();
+
+        AbstractComponent<?> component = CFactory.createComponent(new ThingUID("mqtt:homeassistant:thing"),
+                new HaID("homeassistant/switch/node/object/config"),
+                "{\"name\":\"Switch\",\"state_topic\":\"node/state\",\"command_topic\":\"node/set\"}",
+                mock(ChannelStateUpdateListener.class), mock(AvailabilityTracker.class), gson,
+                mock(TransformationServiceProvider.class), updatePolicy);
+
+        assertThat(component, is(instanceOf(ComponentSwitch.class)));
+        assertThat(component.channelTypes().isEmpty(), is(false));
+        for (CChannel channel : component.channelTypes().values()) {
+            ChannelConfig config = channel.getState().getConfig();
+            assertThat(config.stateTopic, is("node/state"));
+            assertThat(config.updateOnChangeOnly, is(true));
+            assertThat(config.throttle, is(1000));
+            assertThat(config.debounce, is(200));
+            assertThat(config.deadband, is(new BigDecimal("0.5")));
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.AbstractMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
@@ -100,6 +101,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Object ID unknown");
             return;
         }
+        device.setUpdatePolicy(ChannelConfigBuilder.create().withUpdateOnChangeOnly(config.updateOnChangeOnly)
+                .withThrottle(config.throttle).withDebounce(config.debounce).withDeadband(config.deadband).build());
         device.initialize(config.basetopic, config.deviceid, thing.getChannels());
         super.initialize();
     }
@@ -122,7 +125,10 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                     "Homie devices require QoS 1 but Qos 0/2 is configured. Using override. Please check the configuration");
             connection.setQos(1);
         }
-        return device.subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
+        final CompletableFuture<@Nullable Void> subscribed = config.wildcardsubscription
+                ? device.subscribeTree(connection, scheduler, subscribeTimeout)
+                : device.subscribe(connection, scheduler, attributeReceiveTimeout);
+        return subscribed.thenCompose((Void v) -> {
             return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
         }).thenRun(() -> {
             logger.debug("Homie device {} fully attached", device.attributes.name);
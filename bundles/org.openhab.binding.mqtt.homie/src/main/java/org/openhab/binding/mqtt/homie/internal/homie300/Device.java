@@ -27,6 +27,7 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.util.UIDUtils;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
@@ -64,6 +65,8 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    private @Nullable DeviceTopicTree topicTree;
+    private ChannelConfig updatePolicy = ChannelConfigBuilder.create().build();
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -122,6 +125,31 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
                 });
     }
 
+    /**
+     * Like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}, but performs only a single
+     * wildcard subscription to the device topic tree. The device, node and property attributes are filled from the
+     * received retained messages via a {@link DeviceTopicTree}.
+     *
+     * @param connection A broker connection
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds for the entire topic tree
+     * @return A future that is complete as soon as all attributes, nodes and properties have been received.
+     */
+    public CompletableFuture<@Nullable Void> subscribeTree(MqttBrokerConnection connection,
+            ScheduledExecutorService scheduler, int timeout) {
+        if (topic.isEmpty()) {
+            throw new IllegalStateException("You must call initialize()!");
+        }
+
+        final DeviceTopicTree topicTree = new DeviceTopicTree(this, topic);
+        this.topicTree = topicTree;
+        return topicTree.subscribe(connection, scheduler, timeout)
+                // No matter if values have been received or not -> the subscription has been performed
+                .whenComplete((r, e) -> {
+                    initialized = true;
+                });
+    }
+
     public CompletableFuture<@Nullable Void> attributesReceived(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
         callback.readyStateChanged(attributes.state);
@@ -174,7 +202,11 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
-        return attributes.unsubscribe().thenCompose(
+        final DeviceTopicTree topicTree = this.topicTree;
+        this.topicTree = null;
+        final CompletableFuture<@Nullable Void> treeFuture = topicTree != null ? topicTree.stop()
+                : CompletableFuture.completedFuture(null);
+        return CompletableFuture.allOf(treeFuture, attributes.unsubscribe()).thenCompose(
                 b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
     }
 
@@ -240,7 +272,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * @return A child node
      */
     public Node createNode(String nodeID) {
-        return new Node(topic, nodeID, thingUID, callback, new NodeAttributes());
+        return createNode(nodeID, new NodeAttributes());
     }
 
     /**
@@ -251,7 +283,19 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * @return A child node
      */
     public Node createNode(String nodeID, NodeAttributes attributes) {
-        return new Node(topic, nodeID, thingUID, callback, attributes);
+        Node node = new Node(topic, nodeID, thingUID, callback, attributes);
+        node.setUpdatePolicy(updatePolicy);
+        return node;
+    }
+
+    /**
+     * Sets the update policy (update on change only, throttle, debounce and deadband) for the channels of all
+     * nodes created from now on. Must be called before {@link #initialize(String, String, List)}.
+     *
+     * @param updatePolicy A channel configuration carrying the update policy
+     */
+    public void setUpdatePolicy(ChannelConfig updatePolicy) {
+        this.updatePolicy = updatePolicy;
     }
 
     /**
@@ -275,8 +319,11 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
-                this::notifyNodeRemoved).exceptionally(e -> {
+        final DeviceTopicTree topicTree = this.topicTree;
+        return nodes.apply(attributes.nodes,
+                node -> topicTree != null ? node.attach(topicTree, connection, scheduler, timeout)
+                        : node.subscribe(connection, scheduler, timeout),
+                this::createNode, this::notifyNodeRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
                 });
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
+import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass.AttributeChanged;
+import org.openhab.binding.mqtt.generic.mapping.AttributeClassLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes once to the entire topic tree of a Homie device ("homie/device/#") instead of one topic per attribute of
+ * the device, every node and every property.
+ * <p>
+ * Received attribute values are stored in a topic trie. As soon as the trie is consistent, which means the mandatory
+ * attributes of the device and of every listed node and property have been received, the device attributes, nodes
+ * and properties are created and filled from the trie. From then on, each received attribute value is routed directly
+ * to the attribute class of the trie node.
+ * </p>
+ * Property values are not handled here, those are received by the channel states of the properties.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceTopicTree implements MqttMessageSubscriber {
+    private static final AttributeClassLayout NODE_LAYOUT = AttributeClassLayout.of(NodeAttributes.class);
+    /** The attributes a Homie 3.0 property must have, see {@link PropertyAttributes} */
+    private static final Set<String> PROPERTY_MANDATORY_TOPIC_LEVELS = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("$name", "$datatype")));
+
+    private final Logger logger = LoggerFactory.getLogger(DeviceTopicTree.class);
+    private final Device device;
+    private final String topic;
+    private final String topicPrefix;
+    private final String subscribeTopic;
+    private final TrieNode root = new TrieNode();
+    private final CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+
+    private @Nullable MqttBrokerConnection connection;
+    private @Nullable ScheduledExecutorService scheduler;
+    private @Nullable ScheduledFuture<?> scheduledFuture;
+    private int timeout;
+    private boolean loaded = false;
+    private long startTime;
+    private int receivedMessages;
+
+    /**
+     * A node of the topic trie. Each level of a topic corresponds to one trie node.
+     */
+    private static class TrieNode {
+        final Map<String, TrieNode> children = new HashMap<>();
+        /** The last received payload for each attribute ("$name", ...) of this topic level */
+        final Map<String, byte[]> attributes = new HashMap<>();
+        /** The attribute class that receives the values of this topic level, if already attached */
+        @Nullable
+        AbstractMqttAttributeClass target;
+
+        TrieNode child(String level) {
+            return children.computeIfAbsent(level, l -> new TrieNode());
+        }
+
+        boolean hasAttributes(Set<String> topicLevels) {
+            return attributes.keySet().containsAll(topicLevels);
+        }
+
+        String[] listAttribute(String topicLevel) {
+            final byte[] payload = attributes.get(topicLevel);
+            if (payload == null || payload.length == 0) {
+                return new String[0];
+            }
+            return new String(payload, StandardCharsets.UTF_8).split(",");
+        }
+    }
+
+    /**
+     * Creates a topic tree for the given device.
+     *
+     * @param device The Homie device
+     * @param topic The device topic, e.g. "homie/device"
+     */
+    public DeviceTopicTree(Device device, String topic) {
+        this.device = device;
+        this.topic = topic;
+        this.topicPrefix = topic + "/";
+        this.subscribeTopic = topic + "/#";
+    }
+
+    /**
+     * Subscribes to the device topic tree.
+     *
+     * @param connection A broker connection
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds. If the tree is not consistent after this time, whatever has been
+     *            received so far is applied.
+     * @return A future that completes as soon as the device, its nodes and properties have been created. It completes
+     *         exceptionally if the mandatory device attributes have not been received.
+     */
+    public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
+            ScheduledExecutorService scheduler, int timeout) {
+        this.connection = connection;
+        this.scheduler = scheduler;
+        this.timeout = timeout;
+        this.startTime = System.currentTimeMillis();
+
+        connection.subscribe(subscribeTopic, this).exceptionally(e -> {
+            logger.debug("Failed to subscribe to topic {}", subscribeTopic, e);
+            future.completeExceptionally(e);
+            return false;
+        }).thenRun(() -> {
+            synchronized (this) {
+                if (!future.isDone()) {
+                    scheduledFuture = scheduler.schedule(this::timeoutReached, timeout, TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Unsubscribes from the device topic tree.
+     */
+    public CompletableFuture<@Nullable Void> stop() {
+        final MqttBrokerConnection connection = this.connection;
+        synchronized (this) {
+            cancelTimeout();
+        }
+        if (connection == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return connection.unsubscribe(subscribeTopic, this).thenRun(() -> {
+        });
+    }
+
+    @Override
+    public synchronized void processMessage(String topic, byte[] payload) {
+        if (!topic.startsWith(topicPrefix)) {
+            return;
+        }
+        final String[] levels = topic.substring(topicPrefix.length()).split("/");
+        final String attribute = levels[levels.length - 1];
+        // Only device, node and property attributes are of interest. Property values are received by the channels.
+        if (levels.length > 3 || !attribute.startsWith("$")) {
+            return;
+        }
+        TrieNode node = root;
+        for (int i = 0; i < levels.length - 1; ++i) {
+            if (levels[i].startsWith("$")) {
+                return; // For example "$stats/uptime"
+            }
+            node = node.child(levels[i]);
+        }
+
+        receivedMessages++;
+        if (payload.length == 0) {
+            node.attributes.remove(attribute);
+        } else {
+            node.attributes.put(attribute, payload);
+        }
+
+        final AbstractMqttAttributeClass target = node.target;
+        if (target != null) {
+            target.applyTopicValue(attribute, payload);
+        } else if (!loaded && isConsistent()) {
+            load();
+        }
+    }
+
+    /**
+     * Attaches an attribute class to a level of the topic trie. All values of that level that have already been
+     * received are applied immediately.
+     *
+     * @param attributes The attribute class
+     * @param topic The topic of the attribute class
+     * @param listener The field change listener of the attribute class
+     * @param levels The topic levels, relative to the device topic. None for the device attributes.
+     */
+    synchronized void attach(AbstractMqttAttributeClass attributes, String topic, AttributeChanged listener,
+            String... levels) {
+        final MqttBrokerConnection connection = this.connection;
+        final ScheduledExecutorService scheduler = this.scheduler;
+        if (connection == null || scheduler == null) {
+            throw new IllegalStateException("You must call subscribe()!");
+        }
+        TrieNode node = root;
+        for (String level : levels) {
+            node = node.child(level);
+        }
+        node.target = attributes;
+        attributes.attach(connection, scheduler, topic, listener);
+        node.attributes.forEach(attributes::applyTopicValue);
+    }
+
+    /**
+     * Detaches the attribute class of the given topic level, for example of a removed node or property.
+     * Values of that level are only stored from then on.
+     *
+     * @param levels The topic levels, relative to the device topic.
+     */
+    synchronized void detach(String... levels) {
+        TrieNode node = root;
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (node == null) {
+                return;
+            }
+        }
+        node.target = null;
+    }
+
+    /**
+     * Returns true if all mandatory device attributes and the mandatory attributes of every listed node and property
+     * have been received.
+     */
+    private boolean isConsistent() {
+        if (!root.hasAttributes(device.attributes.getLayout().getMandatoryTopicLevels())) {
+            return false;
+        }
+        for (String nodeID : root.listAttribute("$nodes")) {
+            final TrieNode node = root.children.get(nodeID);
+            if (node == null || !node.hasAttributes(NODE_LAYOUT.getMandatoryTopicLevels())) {
+                return false;
+            }
+            for (String propertyID : node.listAttribute("$properties")) {
+                final TrieNode property = node.children.get(propertyID);
+                if (property == null || !property.hasAttributes(PROPERTY_MANDATORY_TOPIC_LEVELS)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void timeoutReached() {
+        synchronized (this) {
+            scheduledFuture = null;
+            if (loaded || future.isDone()) {
+                return;
+            }
+            logger.debug("Topic tree of Homie device {} not consistent after {} ms", topic, timeout);
+            load();
+        }
+    }
+
+    private void cancelTimeout() {
+        final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            this.scheduledFuture = null;
+        }
+    }
+
+    /**
+     * Creates the device attributes, nodes and properties from the topic trie.
+     */
+    private void load() {
+        loaded = true;
+        cancelTimeout();
+
+        final MqttBrokerConnection connection = this.connection;
+        final ScheduledExecutorService scheduler = this.scheduler;
+        if (connection == null || scheduler == null) {
+            return;
+        }
+
+        attach(device.attributes, topic, device);
+        if (!device.attributes.isComplete()) {
+            future.completeExceptionally(new Exception("Did not receive mandatory device attributes: " + topic));
+            return;
+        }
+        device.attributesReceived(connection, scheduler, timeout).whenComplete((r, e) -> {
+            logger.debug("Topic tree of Homie device {} loaded from {} messages in {} ms", topic, receivedMessages,
+                    System.currentTimeMillis() - startTime);
+            future.complete(null);
+        });
+    }
+}
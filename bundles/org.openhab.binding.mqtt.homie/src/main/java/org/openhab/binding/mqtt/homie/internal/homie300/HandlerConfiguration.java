@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.mqtt.homie.internal.homie300;
 
+import java.math.BigDecimal;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 
 /**
@@ -36,4 +39,15 @@ public class HandlerConfiguration {
      * Indicates if retained topics should be removed when the Thing is deleted.
      */
     public boolean removetopics = false;
+    /**
+     * Subscribe once to the entire device topic tree instead of once per device, node and property attribute.
+     */
+    public boolean wildcardsubscription = false;
+    /**
+     * Update policy applied to all channels of the device, see the channel parameters of the generic MQTT Thing.
+     */
+    public boolean updateOnChangeOnly = false;
+    public int throttle = 0;
+    public int debounce = 0;
+    public @Nullable BigDecimal deadband;
 }
@@ -30,6 +30,8 @@ import org.eclipse.smarthome.core.thing.type.ChannelGroupTypeBuilder;
 import org.eclipse.smarthome.core.thing.type.ChannelGroupTypeUID;
 import org.eclipse.smarthome.core.util.UIDUtils;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.binding.mqtt.generic.ChannelConfig;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
@@ -58,6 +60,8 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
     public final ChannelGroupTypeUID channelGroupTypeUID;
     private final String topic;
     private boolean initialized = false;
+    private @Nullable DeviceTopicTree topicTree;
+    private ChannelConfig updatePolicy = ChannelConfigBuilder.create().build();
 
     /**
      * Creates a Homie Node.
@@ -77,6 +81,17 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
         properties = new ChildMap<>();
     }
 
+    /**
+     * @return The update policy applied to the channels of the properties of this node.
+     */
+    public ChannelConfig getUpdatePolicy() {
+        return updatePolicy;
+    }
+
+    public void setUpdatePolicy(ChannelConfig updatePolicy) {
+        this.updatePolicy = updatePolicy;
+    }
+
     /**
      * Parse node properties. This will not subscribe to properties though. Call
      * {@link Device#startChannels(MqttBrokerConnection)} as soon as the returned future has
@@ -93,6 +108,22 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
                 });
     }
 
+    /**
+     * Like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}, but the node attributes are
+     * received by the given topic tree of the device, instead of own subscriptions.
+     */
+    public CompletableFuture<@Nullable Void> attach(DeviceTopicTree topicTree, MqttBrokerConnection connection,
+            ScheduledExecutorService scheduler, int timeout) {
+        this.topicTree = topicTree;
+        topicTree.attach(attributes, topic, this, nodeID);
+        initialized = true;
+        if (!attributes.isComplete()) {
+            // The properties are applied as soon as the missing attributes are received
+            return CompletableFuture.completedFuture(null);
+        }
+        return attributesReceived(connection, scheduler, timeout);
+    }
+
     public CompletableFuture<@Nullable Void> attributesReceived(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
         callback.nodeAddedOrChanged(this);
@@ -110,6 +141,10 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
      * @return Returns a future that completes as soon as all unsubscriptions have been performed.
      */
     public CompletableFuture<@Nullable Void> stop() {
+        final DeviceTopicTree topicTree = this.topicTree;
+        if (topicTree != null) {
+            topicTree.detach(nodeID);
+        }
         return attributes.unsubscribe().thenCompose(b -> CompletableFuture
                 .allOf(properties.stream().map(Property::stop).toArray(CompletableFuture[]::new)));
     }
@@ -168,13 +203,19 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
      * @param property The removed property.
      */
     protected void notifyPropertyRemoved(Property property) {
+        final DeviceTopicTree topicTree = this.topicTree;
+        if (topicTree != null) {
+            topicTree.detach(nodeID, property.propertyID);
+        }
         property.stop();
         callback.propertyRemoved(property);
     }
 
     protected CompletableFuture<@Nullable Void> applyProperties(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, scheduler, timeout),
+        final DeviceTopicTree topicTree = this.topicTree;
+        return properties.apply(attributes.properties,
+                prop -> topicTree != null ? prop.attach(topicTree) : prop.subscribe(connection, scheduler, timeout),
                 this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
                     logger.warn("Could not subscribe", e);
                     return null;
@@ -110,6 +110,19 @@ public class Property implements AttributeChanged {
                 });
     }
 
+    /**
+     * Like {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}, but the property attributes are
+     * received by the given topic tree of the device, instead of own subscriptions.
+     *
+     * @return Returns a completed future.
+     */
+    public CompletableFuture<@Nullable Void> attach(DeviceTopicTree topicTree) {
+        topicTree.attach(attributes, topic, this, parentNode.nodeID, propertyID);
+        attributesReceived();
+        initialized = true;
+        return CompletableFuture.completedFuture(null);
+    }
+
     private @Nullable BigDecimal convertFromString(String value) {
         try {
             return new BigDecimal(value);
@@ -218,6 +231,8 @@ public class Property implements AttributeChanged {
             b = b.withCommandTopic(commandTopic).withRetain(false);
         }
 
+        b = b.withUpdatePolicy(parentNode.getUpdatePolicy());
+
         final ChannelState channelState = new ChannelState(b.build(), channelUID, value, callback);
         this.channelState = channelState;
 
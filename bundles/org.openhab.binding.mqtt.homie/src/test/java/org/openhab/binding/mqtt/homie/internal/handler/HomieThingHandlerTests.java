@@ -19,6 +19,7 @@ import static org.mockito.Mockito.*;
 import static org.openhab.binding.mqtt.homie.internal.handler.ThingChannelConstants.TEST_HOMIE_THING;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -208,6 +209,35 @@ public class HomieThingHandlerTests {
                 && arg.getStatusDetail().equals(ThingStatusDetail.GONE)));
     }
 
+    @SuppressWarnings("null")
+    @Test
+    public void updatePolicyAppliedToPropertyChannels() {
+        thing.getConfiguration().put("updateOnChangeOnly", true);
+        thing.getConfiguration().put("throttle", 1000);
+        thing.getConfiguration().put("debounce", 200);
+        thing.getConfiguration().put("deadband", new BigDecimal("0.5"));
+        doReturn(future).when(thingHandler.device.attributes).subscribeAndReceive(any(), any(), anyString(), any(),
+                anyInt());
+        doReturn(future).when(thingHandler.device.attributes).unsubscribe();
+        // Prevent a call to accept, that would update our thing.
+        doNothing().when(thingHandler).accept(any());
+
+        thingHandler.initialize();
+
+        Node node = thingHandler.device.createNode("node", spy(new NodeAttributes()));
+        Property property = node.createProperty("property", spy(new PropertyAttributes()));
+        property.attributes.name = "testprop";
+        property.attributes.datatype = DataTypeEnum.float_;
+        property.attributesReceived();
+
+        ChannelState channelState = property.getChannelState();
+        assertNotNull(channelState);
+        assertThat(channelState.getConfig().updateOnChangeOnly, is(true));
+        assertThat(channelState.getConfig().throttle, is(1000));
+        assertThat(channelState.getConfig().debounce, is(200));
+        assertThat(channelState.getConfig().deadband, is(new BigDecimal("0.5")));
+    }
+
     @SuppressWarnings("null")
     @Test
     public void handleCommandRefresh() {
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.mqtt.homie.internal.handler.ThingChannelConstants.TEST_HOMIE_THING;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes.ReadyState;
+import org.openhab.binding.mqtt.homie.internal.homie300.PropertyAttributes.DataTypeEnum;
+
+/**
+ * Tests cases for {@link DeviceTopicTree}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class DeviceTopicTreeTests {
+    private static final String DEVICE_TOPIC = "homie/" + TEST_HOMIE_THING.getId();
+
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    @Mock
+    private DeviceCallback callback;
+
+    private Device device;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        device = new Device(TEST_HOMIE_THING, callback, new DeviceAttributes());
+        device.initialize("homie", TEST_HOMIE_THING.getId(), Collections.emptyList());
+    }
+
+    private void publish(DeviceTopicTree tree, String relativeTopic, String value) {
+        tree.processMessage(DEVICE_TOPIC + "/" + relativeTopic, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void publishDevice(DeviceTopicTree tree) {
+        publish(tree, "$homie", "3.0");
+        publish(tree, "$name", "Name");
+        publish(tree, "$state", "ready");
+        publish(tree, "$nodes", "testnode");
+    }
+
+    private void publishNode(DeviceTopicTree tree) {
+        publish(tree, "testnode/$name", "Testnode");
+        publish(tree, "testnode/$type", "Type");
+        publish(tree, "testnode/$properties", "temperature,doorbell");
+        publish(tree, "testnode/temperature/$name", "Testprop");
+        publish(tree, "testnode/temperature/$settable", "true");
+        publish(tree, "testnode/temperature/$datatype", "float");
+        publish(tree, "testnode/temperature/$format", "-100:100");
+        publish(tree, "testnode/doorbell/$name", "Doorbell");
+        publish(tree, "testnode/doorbell/$retained", "false");
+        publish(tree, "testnode/doorbell/$datatype", "boolean");
+    }
+
+    private DeviceTopicTree subscribeTree() {
+        ArgumentCaptor<DeviceTopicTree> captor = ArgumentCaptor.forClass(DeviceTopicTree.class);
+        device.subscribeTree(connection, scheduler, 500);
+        verify(connection).subscribe(eq(DEVICE_TOPIC + "/#"), captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void loadConsistentTree() throws InterruptedException, ExecutionException {
+        CompletableFuture<@Nullable Void> future = device.subscribeTree(connection, scheduler, 500);
+        ArgumentCaptor<DeviceTopicTree> captor = ArgumentCaptor.forClass(DeviceTopicTree.class);
+        verify(connection).subscribe(eq(DEVICE_TOPIC + "/#"), captor.capture());
+        DeviceTopicTree tree = captor.getValue();
+
+        publishDevice(tree);
+        assertThat(future.isDone(), is(false));
+        publishNode(tree);
+        assertThat(future.isDone(), is(true));
+        future.get();
+
+        // A single subscription for the entire tree
+        verify(connection, times(1)).subscribe(any(), any());
+        assertThat(device.isInitialized(), is(true));
+        assertThat(device.attributes.name, is("Name"));
+        assertThat(device.attributes.state, is(ReadyState.ready));
+        verify(callback).readyStateChanged(eq(ReadyState.ready));
+
+        Node node = device.nodes.get("testnode");
+        assertNotNull(node);
+        assertThat(node.attributes.name, is("Testnode"));
+        assertThat(node.attributes.type, is("Type"));
+        verify(callback, atLeastOnce()).nodeAddedOrChanged(eq(node));
+
+        assertThat(node.properties.size(), is(2));
+        Property property = node.properties.get("temperature");
+        assertThat(property.attributes.name, is("Testprop"));
+        assertThat(property.attributes.settable, is(true));
+        assertThat(property.attributes.datatype, is(DataTypeEnum.float_));
+        assertNotNull(property.getChannelState());
+        assertThat(property.getType().getState().getMinimum().intValue(), is(-100));
+        verify(callback).propertyAddedOrChanged(eq(property));
+
+        Property doorbell = node.properties.get("doorbell");
+        assertThat(doorbell.attributes.retained, is(false));
+        assertThat(doorbell.attributes.datatype, is(DataTypeEnum.boolean_));
+    }
+
+    @Test
+    public void propertyRequiresMandatoryAttributes() {
+        CompletableFuture<@Nullable Void> future = device.subscribeTree(connection, scheduler, 500);
+        ArgumentCaptor<DeviceTopicTree> captor = ArgumentCaptor.forClass(DeviceTopicTree.class);
+        verify(connection).subscribe(eq(DEVICE_TOPIC + "/#"), captor.capture());
+        DeviceTopicTree tree = captor.getValue();
+
+        publishDevice(tree);
+        publish(tree, "testnode/$name", "Testnode");
+        publish(tree, "testnode/$properties", "temperature");
+
+        // Optional attributes alone do not make a property consistent
+        publish(tree, "testnode/temperature/$settable", "true");
+        publish(tree, "testnode/temperature/$unit", "%");
+        assertThat(future.isDone(), is(false));
+
+        publish(tree, "testnode/temperature/$name", "Testprop");
+        assertThat(future.isDone(), is(false));
+
+        publish(tree, "testnode/temperature/$datatype", "float");
+        assertThat(future.isDone(), is(true));
+        assertThat(device.isInitialized(), is(true));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void loadTreeInAnyOrder() {
+        DeviceTopicTree tree = subscribeTree();
+
+        // Retained messages of nodes and properties may arrive before the device attributes
+        publishNode(tree);
+        publishDevice(tree);
+
+        assertThat(device.isInitialized(), is(true));
+        Node node = device.nodes.get("testnode");
+        assertThat(node.attributes.name, is("Testnode"));
+        assertThat(node.properties.get("temperature").attributes.datatype, is(DataTypeEnum.float_));
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void routeChangesAfterLoad() {
+        DeviceTopicTree tree = subscribeTree();
+        publishDevice(tree);
+        publishNode(tree);
+
+        Property property = device.nodes.get("testnode").properties.get("temperature");
+        verify(callback, times(1)).propertyAddedOrChanged(eq(property));
+
+        // A changed property attribute is routed to the existing property
+        publish(tree, "testnode/temperature/$name", "Renamed");
+        assertThat(property.attributes.name, is("Renamed"));
+        verify(callback, times(2)).propertyAddedOrChanged(eq(property));
+
+        // Property values and statistics are not attributes
+        publish(tree, "testnode/temperature", "12");
+        publish(tree, "$stats/uptime", "12");
+        verify(callback, times(2)).propertyAddedOrChanged(eq(property));
+
+        // A new node is created from already received attributes
+        publish(tree, "othernode/$name", "Other");
+        publish(tree, "othernode/$properties", "");
+        publish(tree, "$nodes", "testnode,othernode");
+        Node otherNode = device.nodes.get("othernode");
+        assertNotNull(otherNode);
+        assertThat(otherNode.attributes.name, is("Other"));
+        verify(connection, times(1)).subscribe(any(), any());
+    }
+
+    @Test
+    public void timeoutWithoutMandatoryDeviceAttributes() {
+        CompletableFuture<@Nullable Void> future = device.subscribeTree(connection, scheduler, 500);
+        ArgumentCaptor<DeviceTopicTree> treeCaptor = ArgumentCaptor.forClass(DeviceTopicTree.class);
+        verify(connection).subscribe(any(), treeCaptor.capture());
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timeoutCaptor.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        publish(treeCaptor.getValue(), "$name", "Name");
+        timeoutCaptor.getValue().run();
+
+        assertThat(future.isCompletedExceptionally(), is(true));
+        assertThat(device.isInitialized(), is(true));
+        assertThat(device.attributes.name, is("Name"));
+    }
+
+    @Test
+    public void stopUnsubscribes() {
+        DeviceTopicTree tree = subscribeTree();
+        device.stop();
+        verify(connection).unsubscribe(eq(DEVICE_TOPIC + "/#"), eq(tree));
+    }
+}
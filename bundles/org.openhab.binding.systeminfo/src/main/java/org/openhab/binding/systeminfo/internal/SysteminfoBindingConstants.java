@@ -307,6 +307,51 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_PROCESS_PATH = "process#path";
 
+    /**
+     * Heap memory used by the JVM in MB
+     */
+    public static final String CHANNEL_JVM_HEAP_USED = "jvm#heapUsed";
+
+    /**
+     * Maximum heap memory of the JVM in MB
+     */
+    public static final String CHANNEL_JVM_HEAP_MAX = "jvm#heapMax";
+
+    /**
+     * Non-heap memory used by the JVM in MB
+     */
+    public static final String CHANNEL_JVM_NON_HEAP_USED = "jvm#nonHeapUsed";
+
+    /**
+     * Number of garbage collections of the JVM
+     */
+    public static final String CHANNEL_JVM_GC_COUNT = "jvm#gcCount";
+
+    /**
+     * Accumulated garbage collection time of the JVM in ms
+     */
+    public static final String CHANNEL_JVM_GC_TIME = "jvm#gcTime";
+
+    /**
+     * Number of live threads of the JVM
+     */
+    public static final String CHANNEL_JVM_THREADS = "jvm#threads";
+
+    /**
+     * Number of live daemon threads of the JVM
+     */
+    public static final String CHANNEL_JVM_DAEMON_THREADS = "jvm#daemonThreads";
+
+    /**
+     * Peak number of live threads of the JVM
+     */
+    public static final String CHANNEL_JVM_PEAK_THREADS = "jvm#peakThreads";
+
+    /**
+     * Number of file descriptors opened by the JVM
+     */
+    public static final String CHANNEL_JVM_OPEN_FILES = "jvm#openFiles";
+
     // Thing configuraion
     /**
      * Name of the configuration parameter of the thing that defines refresh time for High priority channels
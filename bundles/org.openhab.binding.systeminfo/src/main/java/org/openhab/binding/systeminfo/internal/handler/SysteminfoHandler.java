@@ -16,7 +16,7 @@ import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants
 
 import java.math.BigDecimal;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -236,18 +236,31 @@ public class SysteminfoHandler extends BaseThingHandler {
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, TimeUnit.SECONDS);
     }
 
+    /**
+     * Reads the states of all linked channels from one sample of the system and publishes them afterwards, so that
+     * the system is read only once per update and the channels show a consistent state.
+     *
+     * @param channels the channels of one priority
+     */
     private void publishData(Set<ChannelUID> channels) {
-        Iterator<ChannelUID> iter = channels.iterator();
-        while (iter.hasNext()) {
-            ChannelUID channeUID = iter.next();
-            if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+        Map<ChannelUID, State> states = new LinkedHashMap<>();
+        synchronized (systeminfo) {
+            systeminfo.startSample();
+            for (ChannelUID channelUID : new HashSet<>(channels)) {
+                if (isLinked(channelUID.getId())) {
+                    states.put(channelUID, getInfoForChannel(channelUID));
+                }
             }
         }
+        states.forEach((channelUID, state) -> updateState(channelUID.getId(), state));
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
-        State state = getInfoForChannel(channelUID);
+        State state;
+        synchronized (systeminfo) {
+            systeminfo.startSample();
+            state = getInfoForChannel(channelUID);
+        }
         String channelID = channelUID.getId();
         updateState(channelID, state);
     }
@@ -434,6 +447,33 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_PROCESS_THREADS:
                     state = systeminfo.getProcessThreads(deviceIndex);
                     break;
+                case CHANNEL_JVM_HEAP_USED:
+                    state = systeminfo.getJvmHeapUsed();
+                    break;
+                case CHANNEL_JVM_HEAP_MAX:
+                    state = systeminfo.getJvmHeapMax();
+                    break;
+                case CHANNEL_JVM_NON_HEAP_USED:
+                    state = systeminfo.getJvmNonHeapUsed();
+                    break;
+                case CHANNEL_JVM_GC_COUNT:
+                    state = systeminfo.getJvmGcCount();
+                    break;
+                case CHANNEL_JVM_GC_TIME:
+                    state = systeminfo.getJvmGcTime();
+                    break;
+                case CHANNEL_JVM_THREADS:
+                    state = systeminfo.getJvmThreads();
+                    break;
+                case CHANNEL_JVM_DAEMON_THREADS:
+                    state = systeminfo.getJvmDaemonThreads();
+                    break;
+                case CHANNEL_JVM_PEAK_THREADS:
+                    state = systeminfo.getJvmPeakThreads();
+                    break;
+                case CHANNEL_JVM_OPEN_FILES:
+                    state = systeminfo.getJvmOpenFiles();
+                    break;
                 default:
                     logger.debug("Channel with unknown ID: {} !", channelID);
             }
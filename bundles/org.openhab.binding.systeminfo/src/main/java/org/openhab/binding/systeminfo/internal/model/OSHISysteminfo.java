@@ -12,7 +12,19 @@
  */
 package org.openhab.binding.systeminfo.internal.model;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -73,6 +85,16 @@ public class OSHISysteminfo implements SysteminfoInterface {
     private @NonNullByDefault({}) PowerSource[] powerSources;
     private @NonNullByDefault({}) HWDiskStore[] drives;
 
+    // Values read once per sample, see startSample()
+    private final Set<Object> updatedDevices = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Integer, OSProcess> sampledProcesses = new HashMap<>();
+    private long sampledMemoryAvailable = NOT_SAMPLED;
+    private long sampledSwapTotal = NOT_SAMPLED;
+    private long sampledSwapUsed = NOT_SAMPLED;
+    private @Nullable MemoryUsage sampledHeapUsage;
+
+    private static final long NOT_SAMPLED = -1;
+
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
     /**
@@ -104,6 +126,58 @@ public class OSHISysteminfo implements SysteminfoInterface {
         drives = hal.getDiskStores();
     }
 
+    @Override
+    public synchronized void startSample() {
+        updatedDevices.clear();
+        sampledProcesses.clear();
+        sampledMemoryAvailable = NOT_SAMPLED;
+        sampledSwapTotal = NOT_SAMPLED;
+        sampledSwapUsed = NOT_SAMPLED;
+        sampledHeapUsage = null;
+    }
+
+    /**
+     * Updates the attributes of the device, if they haven't been updated in the current sample yet
+     */
+    private synchronized void updateOnce(Object device, Runnable update) {
+        if (updatedDevices.add(device)) {
+            update.run();
+        }
+    }
+
+    private synchronized long getSampledMemoryAvailable() {
+        if (sampledMemoryAvailable == NOT_SAMPLED) {
+            sampledMemoryAvailable = memory.getAvailable();
+        }
+        return sampledMemoryAvailable;
+    }
+
+    private synchronized void sampleSwap() {
+        if (sampledSwapTotal == NOT_SAMPLED || sampledSwapUsed == NOT_SAMPLED) {
+            sampledSwapTotal = memory.getVirtualMemory().getSwapTotal();
+            sampledSwapUsed = memory.getVirtualMemory().getSwapUsed();
+        }
+    }
+
+    private synchronized long getSampledSwapTotal() {
+        sampleSwap();
+        return sampledSwapTotal;
+    }
+
+    private synchronized long getSampledSwapUsed() {
+        sampleSwap();
+        return sampledSwapUsed;
+    }
+
+    private synchronized MemoryUsage getSampledHeapUsage() {
+        MemoryUsage heapUsage = sampledHeapUsage;
+        if (heapUsage == null) {
+            heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            sampledHeapUsage = heapUsage;
+        }
+        return heapUsage;
+    }
+
     private Object getDevice(Object @Nullable [] devices, int index) throws DeviceNotFoundException {
         if ((devices == null) || (devices.length <= index)) {
             throw new DeviceNotFoundException("Device with index: " + index + " can not be found!");
@@ -111,10 +185,14 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
-    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+    private synchronized OSProcess getProcess(int pid) throws DeviceNotFoundException {
+        OSProcess process = sampledProcesses.get(pid);
         if (process == null) {
-            throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+            process = operatingSystem.getProcess(pid);
+            if (process == null) {
+                throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+            }
+            sampledProcesses.put(pid, process);
         }
         return process;
     }
@@ -179,7 +257,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getSampledMemoryAvailable();
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
@@ -187,7 +265,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getMemoryUsed() {
         long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getSampledMemoryAvailable();
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -196,7 +274,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateOnce(fileStore, fileStore::updateAtrributes);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -205,7 +283,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateOnce(fileStore, fileStore::updateAtrributes);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -214,7 +292,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        updateOnce(fileStore, fileStore::updateAtrributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -225,7 +303,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        updateOnce(fileStore, fileStore::updateAtrributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -240,7 +318,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        updateOnce(fileStore, fileStore::updateAtrributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -277,7 +355,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
         NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
-        netInterface.updateAttributes();
+        updateOnce(netInterface, netInterface::updateAttributes);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -337,7 +415,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateOnce(powerSource, powerSource::updateAttributes);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -347,7 +425,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
         PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateOnce(powerSource, powerSource::updateAttributes);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -362,7 +440,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getSampledMemoryAvailable();
         long totalMemory = memory.getTotal();
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
@@ -375,7 +453,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getSampledMemoryAvailable();
         long totalMemory = memory.getTotal();
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
@@ -410,15 +488,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = getSampledSwapTotal();
         swapTotal = getSizeInMB(swapTotal);
         return new DecimalType(swapTotal);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSampledSwapTotal();
+        long swapUsed = getSampledSwapUsed();
         long swapAvailable = swapTotal - swapUsed;
         swapAvailable = getSizeInMB(swapAvailable);
         return new DecimalType(swapAvailable);
@@ -426,15 +504,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsed() {
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapUsed = getSampledSwapUsed();
         swapUsed = getSizeInMB(swapUsed);
         return new DecimalType(swapUsed);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailablePercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSampledSwapTotal();
+        long swapUsed = getSampledSwapUsed();
         long swapAvailable = swapTotal - swapUsed;
         if (swapTotal > 0) {
             double swapAvailablePercentDecimal = (double) swapAvailable / (double) swapTotal;
@@ -447,8 +525,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsedPercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSampledSwapTotal();
+        long swapUsed = getSampledSwapUsed();
         if (swapTotal > 0) {
             double swapUsedPercentDecimal = (double) swapUsed / (double) swapTotal;
             BigDecimal swapUsedPercent = getPercentsValue(swapUsedPercentDecimal);
@@ -551,7 +629,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateOnce(network, network::updateAttributes);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
@@ -559,7 +637,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateOnce(network, network::updateAttributes);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
@@ -567,7 +645,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateOnce(network, network::updateAttributes);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
@@ -575,7 +653,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateOnce(network, network::updateAttributes);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -636,4 +714,78 @@ public class OSHISysteminfo implements SysteminfoInterface {
             return null;
         }
     }
+
+    @Override
+    public DecimalType getJvmHeapUsed() {
+        long heapUsed = getSampledHeapUsage().getUsed();
+        return new DecimalType(getSizeInMB(heapUsed));
+    }
+
+    @Override
+    public @Nullable DecimalType getJvmHeapMax() {
+        long heapMax = getSampledHeapUsage().getMax();
+        // The getMax() method returns (-1) if the maximum is not defined
+        return heapMax >= 0 ? new DecimalType(getSizeInMB(heapMax)) : null;
+    }
+
+    @Override
+    public DecimalType getJvmNonHeapUsed() {
+        long nonHeapUsed = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getUsed();
+        return new DecimalType(getSizeInMB(nonHeapUsed));
+    }
+
+    @Override
+    public DecimalType getJvmGcCount() {
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // Collectors return (-1) if the count is undefined
+            gcCount += Math.max(0, gc.getCollectionCount());
+        }
+        return new DecimalType(gcCount);
+    }
+
+    @Override
+    public DecimalType getJvmGcTime() {
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        return new DecimalType(gcTime);
+    }
+
+    @Override
+    public DecimalType getJvmThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return new DecimalType(threads.getThreadCount());
+    }
+
+    @Override
+    public DecimalType getJvmDaemonThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return new DecimalType(threads.getDaemonThreadCount());
+    }
+
+    @Override
+    public DecimalType getJvmPeakThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return new DecimalType(threads.getPeakThreadCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The attribute is read through JMX, so that no JVM specific classes are needed.
+     */
+    @Override
+    public @Nullable DecimalType getJvmOpenFiles() {
+        try {
+            ObjectName osName = new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+            Object openFiles = ManagementFactory.getPlatformMBeanServer().getAttribute(osName,
+                    "OpenFileDescriptorCount");
+            return openFiles instanceof Number ? new DecimalType(((Number) openFiles).longValue()) : null;
+        } catch (JMException e) {
+            logger.trace("Open file descriptors are not available: {}", e.getMessage());
+            return null;
+        }
+    }
 }
@@ -31,6 +31,14 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a new sample. Values which have to be read from the operating system (e.g. the attributes of a storage
+     * or network device, a process or the memory usage) are read once per sample and then shared by all getters, so
+     * that channels updated together show one consistent state of the system. Callers reading several values of one
+     * sample should hold the lock of this object while doing so.
+     */
+    public void startSample();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -437,4 +445,61 @@ public interface SysteminfoInterface {
      * @throws DeviceNotFoundException - thrown if process with this PID can not be found
      */
     public @Nullable DecimalType getProcessThreads(int pid) throws DeviceNotFoundException;
+
+    // JVM info
+    /**
+     * Returns the heap memory used by the JVM running openHAB
+     *
+     * @return memory size in MB
+     */
+    public DecimalType getJvmHeapUsed();
+
+    /**
+     * Returns the maximum heap memory the JVM running openHAB can use
+     *
+     * @return memory size in MB or null, if the maximum is not defined
+     */
+    public @Nullable DecimalType getJvmHeapMax();
+
+    /**
+     * Returns the non-heap memory (e.g. metaspace and code cache) used by the JVM running openHAB
+     *
+     * @return memory size in MB
+     */
+    public DecimalType getJvmNonHeapUsed();
+
+    /**
+     * Returns the number of garbage collections of the JVM running openHAB since its start
+     */
+    public DecimalType getJvmGcCount();
+
+    /**
+     * Returns the accumulated time spent in garbage collections of the JVM running openHAB since its start
+     *
+     * @return time in milliseconds
+     */
+    public DecimalType getJvmGcTime();
+
+    /**
+     * Returns the number of live threads of the JVM running openHAB
+     */
+    public DecimalType getJvmThreads();
+
+    /**
+     * Returns the number of live daemon threads of the JVM running openHAB
+     */
+    public DecimalType getJvmDaemonThreads();
+
+    /**
+     * Returns the highest number of live threads of the JVM running openHAB since its start
+     */
+    public DecimalType getJvmPeakThreads();
+
+    /**
+     * Returns the number of file descriptors opened by the JVM running openHAB. This information is available only on
+     * Unix like OS.
+     *
+     * @return the number of open file descriptors or null, if no information is available
+     */
+    public @Nullable DecimalType getJvmOpenFiles();
 }
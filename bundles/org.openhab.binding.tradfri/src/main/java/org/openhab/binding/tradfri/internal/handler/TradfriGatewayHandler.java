@@ -19,8 +19,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -76,6 +78,7 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
     private static final TradfriVersion MIN_SUPPORTED_VERSION = new TradfriVersion("1.2.42");
 
     private @NonNullByDefault({}) TradfriCoapClient deviceClient;
+    private @Nullable TradfriCoapClient gatewayInfoClient;
     private @NonNullByDefault({}) String gatewayURI;
     private @NonNullByDefault({}) String gatewayInfoURI;
     private @NonNullByDefault({}) DTLSConnector dtlsConnector;
@@ -83,6 +86,9 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
 
     private final Set<DeviceUpdateListener> deviceUpdateListeners = new CopyOnWriteArraySet<>();
 
+    /** instance ids of the devices whose details have been delivered to the listeners since the last full scan */
+    private final Set<String> knownInstanceIds = ConcurrentHashMap.newKeySet();
+
     private @Nullable ScheduledFuture<?> scanJob;
 
     public TradfriGatewayHandler(Bridge bridge) {
@@ -161,10 +167,12 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         dtlsConnector = new DTLSConnector(builder.build());
         endPoint = new CoapEndpoint.Builder().setConnector(dtlsConnector).build();
         deviceClient.setEndpoint(endPoint);
+        gatewayInfoClient = createCoapClient(gatewayInfoURI);
         updateStatus(ThingStatus.UNKNOWN);
 
-        // schedule a new scan every minute
-        scanJob = scheduler.scheduleWithFixedDelay(this::startScan, 0, 1, TimeUnit.MINUTES);
+        // schedule a new scan every minute, known devices are kept up to date by their observe relations
+        knownInstanceIds.clear();
+        scanJob = scheduler.scheduleWithFixedDelay(() -> scan(false), 0, 1, TimeUnit.MINUTES);
     }
 
     /**
@@ -273,15 +281,32 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
             deviceClient.shutdown();
             deviceClient = null;
         }
+        TradfriCoapClient gatewayInfoClient = this.gatewayInfoClient;
+        if (gatewayInfoClient != null) {
+            gatewayInfoClient.shutdown();
+            this.gatewayInfoClient = null;
+        }
         super.dispose();
     }
 
     /**
-     * Does a request to the gateway to list all available devices/services.
+     * Does a request to the gateway to list all available devices/services and requests the details of all of them.
      * The response is received and processed by the method {@link onUpdate(JsonElement data)}.
      */
     public void startScan() {
+        scan(true);
+    }
+
+    /**
+     * Does a request to the gateway to list all available devices/services.
+     *
+     * @param fullScan if true, the details of all devices are requested, otherwise only the ones of new devices
+     */
+    private void scan(boolean fullScan) {
         if (endPoint != null) {
+            if (fullScan) {
+                knownInstanceIds.clear();
+            }
             requestGatewayInfo();
             deviceClient.get(new TradfriCoapHandler(this));
         }
@@ -311,40 +336,63 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
         if (endPoint != null) {
             try {
                 JsonArray array = data.getAsJsonArray();
+                Set<String> instanceIds = new HashSet<>();
                 for (int i = 0; i < array.size(); i++) {
-                    requestDeviceDetails(array.get(i).getAsString());
+                    instanceIds.add(array.get(i).getAsString());
                 }
-            } catch (JsonSyntaxException e) {
+                // forget removed devices, so they are requested again once they are paired again
+                knownInstanceIds.retainAll(instanceIds);
+                instanceIds.removeAll(knownInstanceIds);
+                logger.debug("Requesting details of {} new device(s), {} device(s) already known.", instanceIds.size(),
+                        knownInstanceIds.size());
+                instanceIds.forEach(this::requestDeviceDetails);
+            } catch (JsonSyntaxException | IllegalStateException e) {
                 logger.debug("JSON error: {}", e.getMessage());
                 setStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
             }
         }
     }
 
-    private synchronized void requestGatewayInfo() {
-        // we are reusing our coap client and merely temporarily set a gateway info to call
-        deviceClient.setURI(gatewayInfoURI);
-        deviceClient.asyncGet().thenAccept(data -> {
+    private void requestGatewayInfo() {
+        TradfriCoapClient gatewayInfoClient = this.gatewayInfoClient;
+        if (gatewayInfoClient == null) {
+            return;
+        }
+        gatewayInfoClient.asyncGet().thenAccept(data -> {
             logger.debug("requestGatewayInfo response: {}", data);
             JsonObject json = new JsonParser().parse(data).getAsJsonObject();
             String firmwareVersion = json.get(VERSION).getAsString();
             getThing().setProperty(Thing.PROPERTY_FIRMWARE_VERSION, firmwareVersion);
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
         });
-        // restore root URI
-        deviceClient.setURI(gatewayURI);
     }
 
-    private synchronized void requestDeviceDetails(String instanceId) {
-        // we are reusing our coap client and merely temporarily set a sub-URI to call
-        deviceClient.setURI(gatewayURI + "/" + instanceId);
-        deviceClient.asyncGet().thenAccept(data -> {
+    private void requestDeviceDetails(String instanceId) {
+        // every request uses its own client, so requests for several devices can be pipelined
+        TradfriCoapClient deviceDetailsClient = createCoapClient(gatewayURI + "/" + instanceId);
+        if (deviceDetailsClient == null) {
+            return;
+        }
+        deviceDetailsClient.asyncGet().thenAccept(data -> {
             logger.debug("requestDeviceDetails response: {}", data);
             JsonObject json = new JsonParser().parse(data).getAsJsonObject();
-            deviceUpdateListeners.forEach(listener -> listener.onUpdate(instanceId, json));
-        });
-        // restore root URI
-        deviceClient.setURI(gatewayURI);
+            // a device is only known once a listener got its details, otherwise the next scan requests it again
+            if (!deviceUpdateListeners.isEmpty()) {
+                deviceUpdateListeners.forEach(listener -> listener.onUpdate(instanceId, json));
+                knownInstanceIds.add(instanceId);
+            }
+        }).whenComplete((r, e) -> deviceDetailsClient.shutdown());
+    }
+
+    private @Nullable TradfriCoapClient createCoapClient(String uri) {
+        try {
+            TradfriCoapClient coapClient = new TradfriCoapClient(new URI(uri));
+            coapClient.setEndpoint(endPoint);
+            return coapClient;
+        } catch (URISyntaxException e) {
+            logger.debug("Illegal URI '{}': {}", uri, e.getMessage());
+            return null;
+        }
     }
 
     @Override
@@ -368,7 +416,10 @@ public class TradfriGatewayHandler extends BaseBridgeHandler implements CoapCall
      * @param listener the listener to register
      */
     public void registerDeviceUpdateListener(DeviceUpdateListener listener) {
-        this.deviceUpdateListeners.add(listener);
+        if (this.deviceUpdateListeners.add(listener)) {
+            // the new listener has not seen the known devices yet
+            knownInstanceIds.clear();
+        }
     }
 
     /**
@@ -12,8 +12,18 @@
  */
 package org.openhab.io.homekit.internal;
 
+import static org.openhab.io.homekit.internal.HomekitCharacteristicType.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -30,17 +40,77 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Changes are not passed to HomeKit right away. All changes of a characteristic within a short window are coalesced
+ * into a single notification, and notifications of an accessory are sent at most once per configured minimum
+ * interval. Discrete sensor states (contact, motion, leak, ...) and lock and security system states are always
+ * sent immediately.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
+    /** Window in which changes of the same characteristic are coalesced into one notification */
+    private static final long COALESCE_WINDOW = 100;
+
+    /** Interval of the notification statistics in minutes */
+    private static final long STATISTICS_INTERVAL = 10;
+
+    /** The characteristics that are notified immediately */
+    private static final Set<String> DISCRETE_CHARACTERISTICS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(CONTACT_SENSOR_STATE.getTag(), MOTION_DETECTED_STATE.getTag(),
+                    OCCUPANCY_DETECTED_STATE.getTag(), SMOKE_DETECTED_STATE.getTag(),
+                    CARBON_MONOXIDE_DETECTED_STATE.getTag(), CARBON_DIOXIDE_DETECTED_STATE.getTag(),
+                    LEAK_DETECTED_STATE.getTag(), LOCK_CURRENT_STATE.getTag(), LOCK_TARGET_STATE.getTag(),
+                    SECURITY_SYSTEM_CURRENT_STATE.getTag(), SECURITY_SYSTEM_TARGET_STATE.getTag())));
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AccessoryNotifications> notificationsByAccessory = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> statisticsJob;
+    private volatile long minimumInterval;
+
+    public HomekitAccessoryUpdater(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        this.statisticsJob = scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL,
+                STATISTICS_INTERVAL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Sets the minimum time between two notifications of the same accessory.
+     *
+     * @param minimumInterval the minimum interval in milliseconds, 0 to only coalesce changes
+     */
+    public void setMinimumInterval(long minimumInterval) {
+        this.minimumInterval = Math.max(0, minimumInterval);
+    }
+
+    /**
+     * Cancels all pending notifications and stops the statistics.
+     */
+    public void stop() {
+        statisticsJob.cancel(false);
+        subscriptionsByName.values().forEach(Subscription::cancel);
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
     }
 
     public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
+        subscribe(item, key, callback, item == null ? null : item.getName());
+    }
+
+    /**
+     * Subscribes to the changes of an item.
+     *
+     * @param item the item to subscribe to
+     * @param key the characteristic tag, if any
+     * @param callback the HomeKit callback to notify
+     * @param accessory the name of the accessory the characteristic belongs to, the minimum interval is enforced per
+     *            accessory
+     */
+    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback,
+            String accessory) {
         logger.trace("Received subscription request for {} / {}", item, key);
         if (item == null) {
             return;
@@ -50,13 +120,22 @@ public class HomekitAccessoryUpdater {
             return;
         }
         ItemKey itemKey = new ItemKey(item, key);
+        AccessoryNotifications notifications = notificationsByAccessory
+                .compute(accessory == null ? item.getName() : accessory, (k, v) -> {
+                    AccessoryNotifications accessoryNotifications = v == null ? new AccessoryNotifications(k) : v;
+                    accessoryNotifications.subscriptions++;
+                    return accessoryNotifications;
+                });
         subscriptionsByName.compute(itemKey, (k, v) -> {
             if (v != null) {
                 logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
+                item.removeStateChangeListener(v);
+                v.cancel();
+                release(v.notifications);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(callback, notifications,
+                    key != null && DISCRETE_CHARACTERISTICS.contains(key));
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -73,20 +152,145 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            v.cancel();
+            release(v.notifications);
             return null;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * Removes all subscriptions, e.g. when all accessories are removed from the bridge.
+     */
+    public void clear() {
+        subscriptionsByName.forEach((k, v) -> subscriptionsByName.computeIfPresent(k, (key, subscription) -> {
+            key.item.removeStateChangeListener(subscription);
+            subscription.cancel();
+            release(subscription.notifications);
+            return null;
+        }));
+    }
+
+    /**
+     * Removes the notifications of an accessory together with its last subscription.
+     */
+    private void release(AccessoryNotifications notifications) {
+        notificationsByAccessory.computeIfPresent(notifications.accessory,
+                (k, v) -> v == notifications && --v.subscriptions <= 0 ? null : v);
+    }
+
+    /**
+     * Logs the number of changes and notifications per accessory since the last call.
+     */
+    public void logStatistics() {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        for (AccessoryNotifications notifications : notificationsByAccessory.values()) {
+            notifications.logStatistics();
+        }
+    }
+
+    /**
+     * The notifications of a single accessory
+     */
+    private class AccessoryNotifications {
+        private final String accessory;
+        /** Number of subscriptions of the accessory, only changed while computing its map entry */
+        private int subscriptions;
+        private final AtomicLong changes = new AtomicLong();
+        private final AtomicLong sent = new AtomicLong();
+        private volatile long lastNotification = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        private long statisticsStart = System.nanoTime();
+        private long lastChanges;
+        private long lastSent;
+
+        AccessoryNotifications(String accessory) {
+            this.accessory = accessory;
+        }
+
+        /**
+         * Returns the delay of a coalesced notification, which is at least the coalesce window and keeps the minimum
+         * interval to the last notification of the accessory.
+         */
+        long getDelay() {
+            long nextAllowed = lastNotification + TimeUnit.MILLISECONDS.toNanos(minimumInterval) - System.nanoTime();
+            return Math.max(COALESCE_WINDOW, TimeUnit.NANOSECONDS.toMillis(nextAllowed));
+        }
+
+        void notified() {
+            lastNotification = System.nanoTime();
+            sent.incrementAndGet();
+        }
+
+        synchronized void logStatistics() {
+            long now = System.nanoTime();
+            long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - statisticsStart));
+            long currentChanges = changes.get();
+            long currentSent = sent.get();
+            long newChanges = currentChanges - lastChanges;
+            long newSent = currentSent - lastSent;
+            statisticsStart = now;
+            lastChanges = currentChanges;
+            lastSent = currentSent;
+            if (newChanges > 0) {
+                logger.debug("Accessory {}: {} item changes, {} notifications sent ({} notifications/min)", accessory,
+                        newChanges, newSent, newSent * 60000 / elapsed);
+            }
+        }
+    }
+
+    private class Subscription implements StateChangeListener {
+        private final HomekitCharacteristicChangeCallback callback;
+        private final AccessoryNotifications notifications;
+        private final boolean immediate;
+        private ScheduledFuture<?> pending;
+
+        Subscription(HomekitCharacteristicChangeCallback callback, AccessoryNotifications notifications,
+                boolean immediate) {
+            this.callback = callback;
+            this.notifications = notifications;
+            this.immediate = immediate;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            notifications.changes.incrementAndGet();
+            if (immediate) {
+                notifyHomekit();
+                return;
+            }
+            synchronized (this) {
+                if (pending == null) {
+                    pending = scheduler.schedule(this::notifyHomekit, notifications.getDelay(),
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
+
+        private void notifyHomekit() {
+            synchronized (this) {
+                pending = null;
+            }
+            notifications.notified();
+            try {
+                // HomeKit reads the current value of the characteristic, so all changes since scheduling are included
+                callback.changed();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify HomeKit of change of {}: {}", notifications.accessory, e.getMessage());
+            }
+        }
+
+        synchronized void cancel() {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
     }
 
     private static class ItemKey {
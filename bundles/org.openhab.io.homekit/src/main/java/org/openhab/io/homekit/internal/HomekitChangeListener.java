@@ -54,7 +54,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private final MetadataRegistry metadataRegistry;
     private final Storage<String> storage;
-    private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private HomekitAccessoryUpdater updater;
     private HomekitSettings settings;
     private int lastAccessoryCount;
 
@@ -81,6 +81,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage = storageService.getStorage("homekit");
         this.applyUpdatesDebouncer = new Debouncer("update-homekit-devices", scheduler, Duration.ofMillis(1000),
                 Clock.systemUTC(), this::applyUpdates);
+        this.updater = new HomekitAccessoryUpdater(scheduler);
+        updater.setMinimumInterval(settings.minimumNotificationInterval);
 
         itemRegistry.addRegistryChangeListener(this);
         itemRegistry.getItems().stream().forEach(this::createRootAccessories);
@@ -182,6 +184,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        updater.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -198,10 +201,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void updateSettings(HomekitSettings settings) {
         this.settings = settings;
+        updater.setMinimumInterval(settings.minimumNotificationInterval);
     }
 
     public void stop() {
         this.itemRegistry.removeRegistryChangeListener(this);
+        updater.logStatistics();
+        updater.stop();
     }
 
     public Map<String, HomekitAccessory> getAccessories() {
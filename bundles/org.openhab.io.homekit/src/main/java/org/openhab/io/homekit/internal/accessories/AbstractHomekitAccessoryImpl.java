@@ -124,7 +124,8 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
             HomekitCharacteristicChangeCallback callback) {
         final Optional<HomekitTaggedItem> characteristic = getCharacteristic(characteristicType);
         if (characteristic.isPresent()) {
-            getUpdater().subscribe((GenericItem) characteristic.get().getItem(), characteristicType.getTag(), callback);
+            getUpdater().subscribe((GenericItem) characteristic.get().getItem(), characteristicType.getTag(), callback,
+                    accessory.getName());
         } else {
             logger.warn("Missing mandatory characteristic {}", characteristicType);
         }
@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
@@ -228,7 +229,10 @@ public class HomekitCharacteristicFactory {
 
     protected static Consumer<HomekitCharacteristicChangeCallback> getSubscriber(final HomekitTaggedItem taggedItem,
             final HomekitCharacteristicType key, final HomekitAccessoryUpdater updater) {
-        return (callback) -> updater.subscribe((GenericItem) taggedItem.getItem(), key.getTag(), callback);
+        final GroupItem accessory = taggedItem.getRootDeviceGroupItem();
+        final String accessoryName = accessory != null ? accessory.getName() : taggedItem.getName();
+        return (callback) -> updater.subscribe((GenericItem) taggedItem.getItem(), key.getTag(), callback,
+                accessoryName);
     }
 
     protected static Runnable getUnsubscriber(final HomekitTaggedItem taggedItem, final HomekitCharacteristicType key,
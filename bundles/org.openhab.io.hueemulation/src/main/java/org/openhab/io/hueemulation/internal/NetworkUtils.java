@@ -16,10 +16,14 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -114,6 +118,38 @@ public class NetworkUtils {
         return Response.status(httpCode).entity(str).build();
     }
 
+    /**
+     * Creates a json response with an entity tag computed from the content. Clients that poll
+     * frequently can send the tag in an If-None-Match header and get a "304 Not Modified" response
+     * without a body, as long as the content did not change.
+     *
+     * @param request The request, to evaluate the If-None-Match header
+     * @param json The response content
+     * @return A "200 OK" response with the content or a "304 Not Modified" response
+     */
+    public static Response okWithETag(Request request, String json) {
+        EntityTag tag = new EntityTag(contentHash(json));
+        ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(json).tag(tag).build();
+    }
+
+    private static String contentHash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support MD5
+            return Integer.toHexString(content.hashCode()) + "-" + Integer.toHexString(content.length());
+        }
+    }
+
     public static Response singleSuccess(Gson gson, String message, String uriPart) {
         List<HueResponse> responses = new ArrayList<>();
         responses.add(new HueResponse(new HueSuccessGeneric(message, uriPart)));
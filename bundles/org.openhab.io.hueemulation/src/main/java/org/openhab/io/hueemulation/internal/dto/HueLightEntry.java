@@ -13,12 +13,14 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
@@ -56,6 +58,8 @@ public class HueLightEntry {
     public transient DeviceType deviceType;
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
+    /** The last serialized form, see {@link Serializer} */
+    private transient volatile @Nullable SerializedEntry serialized = null;
 
     public static class Config {
         public final String archetype = "classicbulb";
@@ -158,8 +162,36 @@ public class HueLightEntry {
         state = StateUtils.colorStateFromItemState(item.getState(), deviceType);
     }
 
+    /**
+     * The serialized form of an entry and the values it has been computed from.
+     */
+    private static class SerializedEntry {
+        final JsonElement json;
+        final State itemState;
+        final @Nullable String label;
+        final @Nullable Command lastCommand;
+        final @Nullable HueStateChange lastHueChange;
+
+        SerializedEntry(JsonElement json, State itemState, @Nullable String label, @Nullable Command lastCommand,
+                @Nullable HueStateChange lastHueChange) {
+            this.json = json;
+            this.itemState = itemState;
+            this.label = label;
+            this.lastCommand = lastCommand;
+            this.lastHueChange = lastHueChange;
+        }
+
+        boolean isValid(State itemState, @Nullable String label, @Nullable Command lastCommand,
+                @Nullable HueStateChange lastHueChange) {
+            // item states are immutable and replaced on every change, so an identity check is sufficient
+            return this.itemState == itemState && Objects.equals(this.label, label) && this.lastCommand == lastCommand
+                    && this.lastHueChange == lastHueChange;
+        }
+    }
+
     /**
      * This custom serializer updates the light state and label, before serializing.
+     * The result is kept until the item state, label or last command changes.
      */
     @NonNullByDefault({})
     public static class Serializer implements JsonSerializer<HueLightEntry> {
@@ -169,18 +201,35 @@ public class HueLightEntry {
 
         @Override
         public JsonElement serialize(HueLightEntry product, Type type, JsonSerializationContext context) {
-            product.state = StateUtils.adjustedColorStateFromItemState(product.item.getState(), product.deviceType,
-                    product.lastCommand, product.lastHueChange);
+            State itemState = product.item.getState();
             String label = product.item.getLabel();
+            Command lastCommand = product.lastCommand;
+            HueStateChange lastHueChange = product.lastHueChange;
+
+            SerializedEntry serialized = product.serialized;
+            if (serialized != null && serialized.isValid(itemState, label, lastCommand, lastHueChange)) {
+                return serialized.json;
+            }
+
+            product.state = StateUtils.adjustedColorStateFromItemState(itemState, product.deviceType, lastCommand,
+                    lastHueChange);
             if (label != null) {
                 product.name = label;
             }
 
             JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
+            product.serialized = new SerializedEntry(jsonSubscription, itemState, label, lastCommand, lastHueChange);
             return jsonSubscription;
         }
     }
 
+    /**
+     * Drops the serialized form of this entry, for changes that are not tracked by the {@link Serializer}.
+     */
+    public void invalidate() {
+        serialized = null;
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
@@ -188,6 +237,7 @@ public class HueLightEntry {
      * @param element A replace item
      */
     public void updateItem(GenericItem element) {
+        invalidate();
         item = element;
         state = StateUtils.colorStateFromItemState(item.getState(), deviceType);
 
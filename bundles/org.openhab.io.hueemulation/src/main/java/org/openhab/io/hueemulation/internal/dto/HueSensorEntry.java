@@ -15,6 +15,7 @@ package org.openhab.io.hueemulation.internal.dto;
 import java.lang.reflect.Type;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -44,6 +45,10 @@ public class HueSensorEntry {
     public String uniqueid;
 
     public final @NonNullByDefault({}) transient GenericItem item;
+    /** The last serialized form and the item state it has been computed from, see {@link Serializer} */
+    private transient @Nullable JsonElement serialized = null;
+    private transient @Nullable State serializedState = null;
+    private transient @Nullable String serializedName = null;
 
     private HueSensorEntry() {
         item = null;
@@ -98,9 +103,17 @@ public class HueSensorEntry {
 
         @Override
         public JsonElement serialize(HueSensorEntry product, Type type, JsonSerializationContext context) {
+            State itemState = product.item.getState();
+            synchronized (product) {
+                JsonElement serialized = product.serialized;
+                if (serialized != null && product.serializedState == itemState
+                        && product.name.equals(product.serializedName)) {
+                    return serialized;
+                }
+            }
+
             JsonElement json = context.serialize(product, HueHelper.class);
             JsonObject state = new JsonObject();
-            State itemState = product.item.getState();
             switch (product.type) {
                 case "CLIPOpenClose":
                     if (itemState instanceof OpenClosedType) {
@@ -141,6 +154,11 @@ public class HueSensorEntry {
                     break;
             }
             json.getAsJsonObject().add("state", state);
+            synchronized (product) {
+                product.serialized = json;
+                product.serializedState = itemState;
+                product.serializedName = product.name;
+            }
             return json;
         }
     }
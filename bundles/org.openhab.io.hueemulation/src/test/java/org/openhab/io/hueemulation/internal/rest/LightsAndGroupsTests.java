@@ -334,6 +334,27 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString("ETag");
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.readEntity(String.class), containsString("\"on\":false"));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header("If-None-Match", etag).get();
+        assertEquals(304, response.getStatus());
+
+        // A changed item state must be visible, although the serialized light is cached
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header("If-None-Match", etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString("ETag"), is(not(etag)));
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -23,6 +23,8 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -167,7 +169,11 @@ public class EmbeddedBrokerService
             service.removeBrokerConnection(Constants.CLIENTID);
         }
 
-        connection = new MqttBrokerConnection("localhost", config.port, config.secure, Constants.CLIENTID);
+        if (config.loopback) {
+            connection = new EmbeddedLoopbackConnection(() -> server, config.port, config.secure, Constants.CLIENTID);
+        } else {
+            connection = new MqttBrokerConnection("localhost", config.port, config.secure, Constants.CLIENTID);
+        }
         connection.addConnectionObserver(this);
 
         if (config.username != null) {
@@ -301,15 +307,38 @@ public class EmbeddedBrokerService
         IAuthorizatorPolicy authorizer = null;
         ISslContextCreator sslContextCreator = secure ? nettySSLcontextCreator() : null;
 
+        // The loopback connection receives the messages of network clients from the start of the broker on
+        List<InterceptHandler> handlers = null;
+        MqttBrokerConnection connection = this.connection;
+        EmbeddedLoopbackConnection loopback = null;
+        if (connection instanceof EmbeddedLoopbackConnection) {
+            loopback = (EmbeddedLoopbackConnection) connection;
+            handlers = Collections.singletonList(loopback.getInterceptHandlerForBrokerStart());
+            if (!persistenceFilename.isEmpty()) {
+                try {
+                    loopback.setRetainedMessages(
+                            EmbeddedLoopbackConnection.readRetainedStore(Paths.get(persistenceFilename)));
+                } catch (IOException | IllegalStateException e) {
+                    logger.warn("Could not read the retained messages of {}: {}", persistenceFilename,
+                            e.getMessage());
+                }
+            }
+        }
+
         try {
-            server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator, authorizer);
+            server.startServer(new MemoryConfig(properties), handlers, sslContextCreator, authentificator,
+                    authorizer);
         } catch (IllegalArgumentException e) {
             if (e.getMessage().contains("Could not deserialize")) {
                 Path persistenceFilePath = Paths.get((new File(persistenceFilename)).getAbsolutePath());
                 logger.warn("persistence corrupt: {}, deleting {}", e.getMessage(), persistenceFilePath);
                 Files.delete(persistenceFilePath);
+                if (loopback != null) {
+                    loopback.setRetainedMessages(Collections.emptyMap());
+                }
                 // retry starting broker, if it fails again, don't catch exception
-                server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator, authorizer);
+                server.startServer(new MemoryConfig(properties), handlers, sslContextCreator, authentificator,
+                        authorizer);
             }
         }
         this.server = server;
@@ -332,6 +361,10 @@ public class EmbeddedBrokerService
      * For testing: Returns true if the embedded server confirms that the MqttBrokerConnection is connected.
      */
     protected boolean serverConfirmsEmbeddedClient() {
+        MqttBrokerConnection connection = this.connection;
+        if (connection instanceof EmbeddedLoopbackConnection) {
+            return server != null && connection.connectionState() == MqttConnectionState.CONNECTED;
+        }
         return server != null && server.listConnectedClients().stream()
                 .anyMatch(client -> Constants.CLIENTID.equals(client.getClientID()));
     }
@@ -382,6 +415,13 @@ public class EmbeddedBrokerService
         return connection;
     }
 
+    /**
+     * Returns the embedded broker or null if it is not running.
+     */
+    public @Nullable Server getServer() {
+        return server;
+    }
+
     public String getPersistenceFilename() {
         return persistenceFilename;
     }
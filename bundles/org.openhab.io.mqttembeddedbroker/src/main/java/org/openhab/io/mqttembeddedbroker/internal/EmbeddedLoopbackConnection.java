@@ -0,0 +1,448 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionObserver;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.moquette.broker.RetainedMessage;
+import io.moquette.broker.Server;
+import io.moquette.broker.subscriptions.Topic;
+import io.moquette.interception.InterceptHandler;
+import io.moquette.interception.messages.InterceptAcknowledgedMessage;
+import io.moquette.interception.messages.InterceptConnectMessage;
+import io.moquette.interception.messages.InterceptConnectionLostMessage;
+import io.moquette.interception.messages.InterceptDisconnectMessage;
+import io.moquette.interception.messages.InterceptPublishMessage;
+import io.moquette.interception.messages.InterceptSubscribeMessage;
+import io.moquette.interception.messages.InterceptUnsubscribeMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttQoS;
+
+/**
+ * A {@link MqttBrokerConnection} that talks to the embedded broker within the JVM instead of connecting via TCP.
+ * <p>
+ * Messages are published with the internal publish API of the broker. Messages of network clients are received by
+ * a broker intercept handler. Messages published by this connection are dispatched to the subscribers of this
+ * connection directly. No MQTT encoding, decoding or socket is involved for openHAB's own messages.
+ * <p>
+ * The broker has no API to query retained messages. The connection therefore keeps its own copy of all retained
+ * messages. It is initialized from the retained store of the persistence file before the broker starts, see
+ * {@link #readRetainedStore(Path)}, and kept up to date by the intercept handler, see
+ * {@link #getInterceptHandlerForBrokerStart()}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class EmbeddedLoopbackConnection extends MqttBrokerConnection {
+    /** The name of the map of the broker's persistence file that contains the retained messages */
+    private static final String RETAINED_STORE = "retained_store";
+
+    private final Logger logger = LoggerFactory.getLogger(EmbeddedLoopbackConnection.class);
+    private final Supplier<@Nullable Server> serverSupplier;
+    private final Map<String, List<MqttMessageSubscriber>> subscriptions = new ConcurrentHashMap<>();
+    /** The topic filters with wildcards, by their first topic level, which may be a wildcard as well */
+    private final Map<String, Set<String>> wildcardFilters = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> retainedMessages = new ConcurrentHashMap<>();
+    private final List<MqttConnectionObserver> observers = new CopyOnWriteArrayList<>();
+    private final PublishInterceptor interceptor = new PublishInterceptor();
+
+    private volatile MqttConnectionState state = MqttConnectionState.DISCONNECTED;
+    private volatile boolean interceptorPassedToBroker = false;
+    private @Nullable ScheduledExecutorService executor;
+    private @Nullable Server server;
+
+    /**
+     * Receives the messages of network clients from the broker.
+     */
+    @NonNullByDefault({})
+    private class PublishInterceptor implements InterceptHandler {
+        @Override
+        public String getID() {
+            return "loopback-" + getClientId();
+        }
+
+        @Override
+        public Class<?>[] getInterceptedMessageTypes() {
+            return new Class<?>[] { InterceptPublishMessage.class };
+        }
+
+        @Override
+        public void onConnect(InterceptConnectMessage msg) {
+        }
+
+        @Override
+        public void onDisconnect(InterceptDisconnectMessage msg) {
+        }
+
+        @Override
+        public void onConnectionLost(InterceptConnectionLostMessage msg) {
+        }
+
+        @Override
+        public void onPublish(InterceptPublishMessage msg) {
+            if (getClientId().equals(msg.getClientID())) {
+                return; // Already dispatched in publish()
+            }
+            // The payload buffer is released after this call, copy it
+            ByteBuf buffer = msg.getPayload();
+            byte[] payload = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), payload);
+            received(msg.getTopicName(), payload, msg.isRetainFlag());
+        }
+
+        @Override
+        public void onSubscribe(InterceptSubscribeMessage msg) {
+        }
+
+        @Override
+        public void onUnsubscribe(InterceptUnsubscribeMessage msg) {
+        }
+
+        @Override
+        public void onMessageAcknowledged(InterceptAcknowledgedMessage msg) {
+        }
+    }
+
+    /**
+     * Creates a loopback connection.
+     *
+     * @param serverSupplier Returns the embedded broker, once it is started
+     * @param port The port of the embedded broker, as reported by {@link #getPort()}
+     * @param secure If the embedded broker only accepts secure connections
+     * @param clientId The client id of this connection
+     */
+    public EmbeddedLoopbackConnection(Supplier<@Nullable Server> serverSupplier, @Nullable Integer port,
+            boolean secure, String clientId) {
+        super("localhost", port, secure, clientId);
+        this.serverSupplier = serverSupplier;
+    }
+
+    /**
+     * Returns the intercept handler that receives the messages of network clients, to be passed to the broker when it
+     * is started. The retained messages are then kept up to date before this connection is started, and as long as
+     * the broker runs. Otherwise the connection registers the intercept handler with the running broker on start.
+     */
+    public InterceptHandler getInterceptHandlerForBrokerStart() {
+        interceptorPassedToBroker = true;
+        return interceptor;
+    }
+
+    /**
+     * Sets the messages that are retained by the broker when it starts.
+     *
+     * @param retainedMessages The payloads of the retained messages by topic
+     */
+    public void setRetainedMessages(Map<String, byte[]> retainedMessages) {
+        this.retainedMessages.clear();
+        this.retainedMessages.putAll(retainedMessages);
+    }
+
+    /**
+     * Reads the retained messages of a broker persistence file. The broker may still hold the lock of the file, so a
+     * copy of the file is read.
+     *
+     * @param persistenceFile The persistence file of the broker
+     * @return The payloads of the retained messages by topic. Empty if the file does not exist.
+     * @throws IOException If the file could not be copied
+     */
+    public static Map<String, byte[]> readRetainedStore(Path persistenceFile) throws IOException {
+        final Map<String, byte[]> messages = new HashMap<>();
+        if (!Files.exists(persistenceFile)) {
+            return messages;
+        }
+        final Path copy = Files.createTempFile("mqttembedded", ".bin");
+        try {
+            Files.copy(persistenceFile, copy, StandardCopyOption.REPLACE_EXISTING);
+            final MVStore store = new MVStore.Builder().fileName(copy.toString()).readOnly().open();
+            try {
+                if (store.hasMap(RETAINED_STORE)) {
+                    final MVMap<Topic, RetainedMessage> map = store.openMap(RETAINED_STORE);
+                    map.forEach((topic, message) -> messages.put(topic.toString(), message.getPayload()));
+                }
+            } finally {
+                store.close();
+            }
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+        return messages;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> start() {
+        if (state != MqttConnectionState.DISCONNECTED) {
+            return CompletableFuture.completedFuture(state == MqttConnectionState.CONNECTED);
+        }
+        final Server server = serverSupplier.get();
+        if (server == null) {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("The embedded broker is not running"));
+            return future;
+        }
+        this.server = server;
+        if (!interceptorPassedToBroker) {
+            server.addInterceptHandler(interceptor);
+        }
+        final ScheduledExecutorService executor = Executors
+                .newSingleThreadScheduledExecutor(r -> new Thread(r, "MQTT loopback " + getClientId()));
+        this.executor = executor;
+        logger.debug("Loopback connection starts with {} retained messages", retainedMessages.size());
+        setState(MqttConnectionState.CONNECTED, null);
+        // Subscriptions that have been added before the connection was started receive retained messages now
+        subscriptions.forEach((filter, subscribers) -> subscribers
+                .forEach(subscriber -> executor.execute(() -> deliverRetained(filter, subscriber))));
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> stop() {
+        final Server server = this.server;
+        if (server != null) {
+            if (!interceptorPassedToBroker) {
+                server.removeInterceptHandler(interceptor);
+            }
+            this.server = null;
+        }
+        final ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            this.executor = null;
+        }
+        if (state != MqttConnectionState.DISCONNECTED) {
+            setState(MqttConnectionState.DISCONNECTED, null);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public MqttConnectionState connectionState() {
+        return state;
+    }
+
+    private void setState(MqttConnectionState state, @Nullable Throwable error) {
+        this.state = state;
+        observers.forEach(observer -> observer.connectionStateChanged(state, error));
+    }
+
+    @Override
+    public void addConnectionObserver(MqttConnectionObserver connectionObserver) {
+        super.addConnectionObserver(connectionObserver);
+        observers.add(connectionObserver);
+    }
+
+    @Override
+    public void removeConnectionObserver(MqttConnectionObserver connectionObserver) {
+        super.removeConnectionObserver(connectionObserver);
+        observers.remove(connectionObserver);
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        List<MqttMessageSubscriber> subscribers = subscriptions.computeIfAbsent(topic, t -> {
+            if (isWildcardFilter(t)) {
+                wildcardFilters.computeIfAbsent(firstLevel(t), l -> ConcurrentHashMap.newKeySet()).add(t);
+            }
+            return new CopyOnWriteArrayList<>();
+        });
+        if (subscribers.contains(subscriber)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscribers.add(subscriber);
+        final ScheduledExecutorService executor = this.executor;
+        if (executor != null && state == MqttConnectionState.CONNECTED) {
+            executor.execute(() -> deliverRetained(topic, subscriber));
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        subscriptions.computeIfPresent(topic, (t, subscribers) -> {
+            subscribers.remove(subscriber);
+            if (!subscribers.isEmpty()) {
+                return subscribers;
+            }
+            if (isWildcardFilter(t)) {
+                wildcardFilters.computeIfPresent(firstLevel(t), (l, filters) -> {
+                    filters.remove(t);
+                    return filters.isEmpty() ? null : filters;
+                });
+            }
+            return null;
+        });
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload) {
+        return publish(topic, payload, getQos(), isRetain());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        final Server server = this.server;
+        if (server == null || state != MqttConnectionState.CONNECTED) {
+            logger.debug("Not connected, message to topic {} is not published", topic);
+            return CompletableFuture.completedFuture(false);
+        }
+        MqttPublishMessage message = MqttMessageBuilders.publish().topicName(topic).retained(retain)
+                .qos(MqttQoS.valueOf(qos)).payload(Unpooled.wrappedBuffer(payload)).build();
+        server.internalPublish(message, getClientId());
+        received(topic, payload, retain);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Stores a retained message and dispatches the message to all subscribers with a matching topic filter.
+     */
+    private void received(String topic, byte[] payload, boolean retain) {
+        if (retain) {
+            if (payload.length == 0) {
+                retainedMessages.remove(topic);
+            } else {
+                retainedMessages.put(topic, payload);
+            }
+        }
+        final ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return;
+        }
+        executor.execute(() -> {
+            deliverToFilter(topic, topic, payload);
+            final String firstLevel = firstLevel(topic);
+            deliverWildcard(firstLevel, topic, payload);
+            deliverWildcard("+", topic, payload);
+            deliverWildcard("#", topic, payload);
+        });
+    }
+
+    /**
+     * Dispatches a message to the subscribers of the wildcard filters with the given first topic level.
+     */
+    private void deliverWildcard(String firstLevel, String topic, byte[] payload) {
+        final Set<String> filters = wildcardFilters.get(firstLevel);
+        if (filters != null) {
+            for (String filter : filters) {
+                if (topicMatches(filter, topic)) {
+                    deliverToFilter(filter, topic, payload);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatches a message to the subscribers of the given topic filter.
+     */
+    private void deliverToFilter(String filter, String topic, byte[] payload) {
+        final List<MqttMessageSubscriber> subscribers = subscriptions.get(filter);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> deliver(subscriber, topic, payload));
+        }
+    }
+
+    private void deliverRetained(String filter, MqttMessageSubscriber subscriber) {
+        if (!isWildcardFilter(filter)) {
+            final byte[] payload = retainedMessages.get(filter);
+            if (payload != null) {
+                deliver(subscriber, filter, payload);
+            }
+            return;
+        }
+        retainedMessages.forEach((topic, payload) -> {
+            if (topicMatches(filter, topic)) {
+                deliver(subscriber, topic, payload);
+            }
+        });
+    }
+
+    private void deliver(MqttMessageSubscriber subscriber, String topic, byte[] payload) {
+        try {
+            subscriber.processMessage(topic, payload);
+        } catch (RuntimeException e) {
+            logger.warn("Subscriber of topic {} failed to process a message", topic, e);
+        }
+    }
+
+    private static boolean isWildcardFilter(String filter) {
+        return filter.indexOf('+') >= 0 || filter.indexOf('#') >= 0;
+    }
+
+    private static String firstLevel(String topic) {
+        final int index = topic.indexOf('/');
+        return index < 0 ? topic : topic.substring(0, index);
+    }
+
+    /**
+     * Returns true if the given topic matches the topic filter, which may contain the MQTT wildcards "+" and "#".
+     * Topics starting with "$" are not matched by a wildcard on the first level.
+     *
+     * @param filter A topic filter, for example "homie/+/$name" or "homie/#"
+     * @param topic A topic without wildcards
+     */
+    static boolean topicMatches(String filter, String topic) {
+        if (filter.equals(topic)) {
+            return true;
+        }
+        final String[] filterLevels = filter.split("/", -1);
+        final String[] topicLevels = topic.split("/", -1);
+        for (int i = 0; i < filterLevels.length; ++i) {
+            final String level = filterLevels[i];
+            if ("#".equals(level)) {
+                return i > 0 || !topic.startsWith("$");
+            }
+            if (i >= topicLevels.length) {
+                return false;
+            }
+            if ("+".equals(level)) {
+                if (i == 0 && topic.startsWith("$")) {
+                    return false;
+                }
+            } else if (!level.equals(topicLevels[i])) {
+                return false;
+            }
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+}
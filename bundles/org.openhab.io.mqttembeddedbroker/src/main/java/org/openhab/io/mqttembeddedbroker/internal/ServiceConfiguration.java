@@ -25,6 +25,7 @@ public class ServiceConfiguration {
     public @Nullable Integer port;
     public Boolean secure = false;
     public String persistenceFile = "mqttembedded.bin";
+    public Boolean loopback = false;
 
     public @Nullable String username;
     public @Nullable String password;
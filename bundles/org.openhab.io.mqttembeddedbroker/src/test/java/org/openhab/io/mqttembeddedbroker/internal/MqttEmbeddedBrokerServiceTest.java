@@ -22,8 +22,13 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +42,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection.Protocol;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionObserver;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
 import org.eclipse.smarthome.io.transport.mqtt.MqttException;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 import org.eclipse.smarthome.io.transport.mqtt.MqttService;
 import org.eclipse.smarthome.test.java.JavaTest;
 import org.h2.mvstore.MVMap;
@@ -153,6 +159,130 @@ public class MqttEmbeddedBrokerServiceTest extends JavaTest {
         verify(service).addBrokerConnection(anyString(), eq(c));
     }
 
+    @Test
+    public void connectLoopback() throws InterruptedException, IOException, ExecutionException {
+        config.put("loopback", true);
+        subject.modified(config);
+
+        MqttBrokerConnection c = subject.getConnection();
+        assertThat(c instanceof EmbeddedLoopbackConnection, is(true));
+        waitForConnectionChange(c, MqttConnectionState.CONNECTED);
+        assertThat(c.connectionState(), is(MqttConnectionState.CONNECTED));
+        assertTrue(subject.serverConfirmsEmbeddedClient());
+        verify(service).addBrokerConnection(anyString(), eq(c));
+
+        MqttBrokerConnection client = new MqttBrokerConnection(Protocol.TCP, c.getHost(), c.getPort(), false,
+                "client");
+        client.setCredentials(c.getUser(), c.getPassword());
+        assertTrue(client.start().get());
+
+        // Retained messages of the loopback connection are received by network clients and on subscribe
+        assertTrue(c.publish("loopback/retained", "retained".getBytes(), 1, true).get());
+        CountDownLatch clientReceived = new CountDownLatch(1);
+        client.subscribe("loopback/#", (topic, payload) -> clientReceived.countDown()).get();
+        assertTrue(clientReceived.await(1000, TimeUnit.MILLISECONDS));
+
+        CountDownLatch retainedReceived = new CountDownLatch(1);
+        c.subscribe("loopback/+", (topic, payload) -> retainedReceived.countDown()).get();
+        assertTrue(retainedReceived.await(1000, TimeUnit.MILLISECONDS));
+
+        // Messages of network clients and of the loopback connection itself are received by the loopback connection
+        CountDownLatch messagesReceived = new CountDownLatch(2);
+        c.subscribe("other/#", (topic, payload) -> messagesReceived.countDown()).get();
+        client.publish("other/client", "a".getBytes(), 1, false).get();
+        c.publish("other/loopback", "b".getBytes(), 1, false).get();
+        assertTrue(messagesReceived.await(1000, TimeUnit.MILLISECONDS));
+
+        client.stop().get();
+    }
+
+    @Test
+    public void loopbackDispatchesByTopicFilter() throws InterruptedException, IOException, ExecutionException {
+        config.put("loopback", true);
+        subject.modified(config);
+        MqttBrokerConnection c = subject.getConnection();
+        waitForConnectionChange(c, MqttConnectionState.CONNECTED);
+
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        Map<String, MqttMessageSubscriber> subscribers = new HashMap<>();
+        CountDownLatch done = new CountDownLatch(1);
+        for (String filter : Arrays.asList("a/b/c", "a/+/c", "a/#", "+/b/c", "#", "x/#", "a/b")) {
+            MqttMessageSubscriber subscriber = (topic, payload) -> {
+                received.computeIfAbsent(filter, f -> new CopyOnWriteArrayList<>()).add(topic);
+                if ("done".equals(topic)) {
+                    done.countDown();
+                }
+            };
+            subscribers.put(filter, subscriber);
+            c.subscribe(filter, subscriber).get();
+        }
+        c.unsubscribe("a/b", subscribers.get("a/b")).get();
+        c.unsubscribe("x/#", subscribers.get("x/#")).get();
+
+        c.publish("a/b/c", "1".getBytes(), 1, false).get();
+        c.publish("a/b", "2".getBytes(), 1, false).get();
+        c.publish("done", "3".getBytes(), 1, false).get();
+        assertTrue(done.await(1000, TimeUnit.MILLISECONDS));
+
+        assertThat(received.get("a/b/c"), is(Arrays.asList("a/b/c")));
+        assertThat(received.get("a/+/c"), is(Arrays.asList("a/b/c")));
+        assertThat(received.get("+/b/c"), is(Arrays.asList("a/b/c")));
+        assertThat(received.get("a/#"), is(Arrays.asList("a/b/c", "a/b")));
+        assertThat(received.get("#"), is(Arrays.asList("a/b/c", "a/b", "done")));
+        assertNull(received.get("a/b"));
+        assertNull(received.get("x/#"));
+    }
+
+    @Test
+    public void loopbackReadsRetainedMessagesOfPersistenceFile()
+            throws InterruptedException, IOException, ExecutionException {
+        config.put("persistenceFile", "loopback.mqtt");
+        File persistenceFile = Paths.get(ConfigConstants.getUserDataFolder()).toAbsolutePath().resolve("loopback.mqtt")
+                .toFile();
+        if (persistenceFile.exists()) {
+            persistenceFile.delete();
+        }
+        subject.modified(config);
+        MqttBrokerConnection c = subject.getConnection();
+        waitForConnectionChange(c, MqttConnectionState.CONNECTED);
+        c.publish("loopback/persisted", "persisted".getBytes(), 1, true).get();
+
+        // Stop server -> close persistence storage and sync it to disk
+        subject.deactivate();
+        waitForAssert(() -> assertEquals(12288, persistenceFile.length()));
+        assertThat(new String(
+                EmbeddedLoopbackConnection.readRetainedStore(persistenceFile.toPath()).get("loopback/persisted")),
+                is("persisted"));
+
+        // The loopback connection knows the retained message without asking the broker
+        config.put("loopback", true);
+        subject.modified(config);
+        c = subject.getConnection();
+        assertThat(c instanceof EmbeddedLoopbackConnection, is(true));
+        waitForConnectionChange(c, MqttConnectionState.CONNECTED);
+        CountDownLatch retainedReceived = new CountDownLatch(1);
+        c.subscribe("loopback/persisted", (topic, payload) -> {
+            if ("persisted".equals(new String(payload))) {
+                retainedReceived.countDown();
+            }
+        }).get();
+        assertTrue(retainedReceived.await(1000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void loopbackTopicMatches() {
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("a/b", "a/b"));
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("a/+", "a/b"));
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("a/+/c", "a/b/c"));
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("a/#", "a/b/c"));
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("a/#", "a"));
+        assertTrue(EmbeddedLoopbackConnection.topicMatches("#", "a/b"));
+        assertFalse(EmbeddedLoopbackConnection.topicMatches("a/+", "a/b/c"));
+        assertFalse(EmbeddedLoopbackConnection.topicMatches("a/b/c", "a/b"));
+        assertFalse(EmbeddedLoopbackConnection.topicMatches("#", "$SYS/uptime"));
+        assertFalse(EmbeddedLoopbackConnection.topicMatches("+/uptime", "$SYS/uptime"));
+    }
+
     @Test
     public void testPersistence() throws InterruptedException, IOException, ExecutionException {
         config.put("persistenceFile", "persist.mqtt");
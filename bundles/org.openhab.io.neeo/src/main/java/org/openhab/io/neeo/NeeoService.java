@@ -378,6 +378,7 @@ public class NeeoService implements EventSubscriber, NetworkAddressChangeListene
                 validate(eventPublisher, "eventPublisher"), validate(networkAddressService, "networkAddressService"));
 
         context = localContext;
+        localContext.getSearchIndex().start();
         discovery = new MdnsBrainDiscovery(localContext);
         discovery.addListener(discoveryListener);
 
@@ -433,6 +434,7 @@ public class NeeoService implements EventSubscriber, NetworkAddressChangeListene
 
         final ServiceContext localContext = context;
         if (localContext != null) {
+            localContext.getSearchIndex().stop();
             localContext.getDefinitions().save();
 
             final HttpService service = localContext.getHttpService();
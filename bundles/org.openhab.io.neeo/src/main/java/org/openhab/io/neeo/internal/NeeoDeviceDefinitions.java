@@ -148,6 +148,7 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(device, "device cannot be null");
 
         uidToDevice.put(device.getUid(), device);
+        context.getSearchIndex().invalidate(device.getUid());
         save();
     }
 
@@ -162,6 +163,7 @@ public class NeeoDeviceDefinitions {
 
         final boolean found = uidToDevice.remove(uid) != null;
         if (found) {
+            context.getSearchIndex().invalidate(uid);
             save();
         }
         return found;
@@ -175,8 +177,7 @@ public class NeeoDeviceDefinitions {
     public List<NeeoDevice> getExposed() {
         final List<NeeoDevice> devices = new ArrayList<>();
         for (NeeoDevice device : exposeAll || exposeNeeoBinding ? getAllDevices() : uidToDevice.values()) {
-            if (device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
-                    && StringUtils.isNotEmpty(device.getType().toString())) {
+            if (isExposed(device)) {
                 devices.add(device);
             }
         }
@@ -184,6 +185,39 @@ public class NeeoDeviceDefinitions {
         return devices;
     }
 
+    /**
+     * Returns the {@link NeeoDevice} for the given {@link NeeoThingUID} if it would be part of {@link #getExposed()}
+     *
+     * @param uid the non-null uid
+     * @return the exposed device or null if the device is not exposed
+     */
+    @Nullable
+    public NeeoDevice getExposed(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+
+        NeeoDevice device = uidToDevice.get(uid);
+        if (exposeAll || exposeNeeoBinding) {
+            if (device == null) {
+                final Thing thing = context.getThingRegistry().get(uid.asThingUID());
+                device = thing == null ? null : converter.convert(thing);
+            } else if (!StringUtils.equalsIgnoreCase(NeeoConstants.NEEOIO_BINDING_ID, uid.getBindingId())) {
+                device = context.getThingRegistry().get(uid.asThingUID()) == null ? null : device.merge(context);
+            }
+        }
+        return device != null && isExposed(device) ? device : null;
+    }
+
+    /**
+     * Checks whether the device has exposed channels and a type that isn't {@link NeeoDeviceType#EXCLUDE}
+     *
+     * @param device the non-null device
+     * @return true if exposed, false otherwise
+     */
+    private boolean isExposed(NeeoDevice device) {
+        return device.getExposedChannels().length > 0 && !NeeoDeviceType.EXCLUDE.equals(device.getType())
+                && StringUtils.isNotEmpty(device.getType().toString());
+    }
+
     /**
      *
      * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted index of the search tokens (device name, location, vendor, thing type label, binding id and name) of
+ * all exposed {@link NeeoDevice}. Each distinct token is scored only once per query and the score is then added to
+ * every device that has the token.
+ * <p>
+ * Changes to things, item channel links and device definitions only mark the affected device as stale. Stale devices
+ * are looked up again on the next search. The thing type and binding registries don't report changes, so devices whose
+ * thing type or binding info could not be found (e.g. because the binding was not started yet) are indexed again as
+ * soon as both can be found.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class TokenSearchIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(TokenSearchIndex.class);
+
+    /** The service context */
+    private final ServiceContext context;
+
+    /** The indexed devices by their uid */
+    private final Map<NeeoThingUID, IndexEntry> entries = new HashMap<>();
+
+    /** The uids (and number of occurrences) of the devices by token */
+    private final Map<String, Map<NeeoThingUID, Integer>> index = new HashMap<>();
+
+    /** The devices that need to be indexed again */
+    private final Set<NeeoThingUID> stale = ConcurrentHashMap.newKeySet();
+
+    /** The devices whose thing type or binding info could not be found, and whether the thing type was found */
+    private final Map<NeeoThingUID, Boolean> unresolved = new HashMap<>();
+
+    /** Whether all devices need to be indexed again */
+    private volatile boolean rebuild = true;
+
+    /** Listens for thing changes */
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void removed(Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            invalidate(new NeeoThingUID(element.getUID()));
+        }
+    };
+
+    /** Listens for link changes, which change the exposed channels of a device */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidate(new NeeoThingUID(oldElement.getLinkedUID().getThingUID()));
+            invalidate(new NeeoThingUID(element.getLinkedUID().getThingUID()));
+        }
+    };
+
+    /**
+     * Creates the index based on the {@link ServiceContext}. The index is built on the first search.
+     *
+     * @param context the non-null context
+     */
+    TokenSearchIndex(ServiceContext context) {
+        Objects.requireNonNull(context, "context cannot be null");
+        this.context = context;
+    }
+
+    /**
+     * Starts listening to registry changes
+     */
+    public void start() {
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+        rebuild = true;
+    }
+
+    /**
+     * Stops listening to registry changes
+     */
+    public void stop() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+        rebuild = true;
+    }
+
+    /**
+     * Marks the device with the given uid to be indexed again on the next search
+     *
+     * @param uid the non-null uid
+     */
+    public void invalidate(NeeoThingUID uid) {
+        Objects.requireNonNull(uid, "uid cannot be null");
+        stale.add(uid);
+    }
+
+    /**
+     * Scores all exposed devices against the needles
+     *
+     * @param needles the non-null items to search
+     * @return a non-null, possibly empty list with the score of every exposed device
+     */
+    public synchronized List<TokenScore<NeeoDevice>> score(String[] needles) {
+        Objects.requireNonNull(needles, "needles cannot be null");
+        refresh();
+
+        final Map<NeeoThingUID, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<NeeoThingUID, Integer>> token : index.entrySet()) {
+            final int score = TokenSearch.searchAlgorithm(token.getKey(), needles);
+            if (score > 0) {
+                for (Map.Entry<NeeoThingUID, Integer> uid : token.getValue().entrySet()) {
+                    scores.merge(uid.getKey(), score * uid.getValue(), Integer::sum);
+                }
+            }
+        }
+
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>(entries.size());
+        for (Map.Entry<NeeoThingUID, IndexEntry> entry : entries.entrySet()) {
+            final Integer score = scores.get(entry.getKey());
+            results.add(new TokenScore<>(score == null ? 0 : score, entry.getValue().device));
+        }
+        return results;
+    }
+
+    /**
+     * Brings the index up to date, either by indexing all exposed devices or only the stale ones
+     */
+    private void refresh() {
+        if (rebuild) {
+            rebuild = false;
+            stale.clear();
+            entries.clear();
+            index.clear();
+            unresolved.clear();
+            for (NeeoDevice device : context.getDefinitions().getExposed()) {
+                add(device);
+            }
+            logger.debug("Indexed {} devices with {} distinct tokens", entries.size(), index.size());
+        } else if (!stale.isEmpty()) {
+            for (NeeoThingUID uid : new ArrayList<>(stale)) {
+                stale.remove(uid);
+                remove(uid);
+                final NeeoDevice device = context.getDefinitions().getExposed(uid);
+                if (device != null) {
+                    add(device);
+                }
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            for (Map.Entry<NeeoThingUID, Boolean> uid : new ArrayList<>(unresolved.entrySet())) {
+                final Thing thing = context.getThingRegistry().get(uid.getKey().asThingUID());
+                final IndexEntry entry = entries.get(uid.getKey());
+                if (thing == null || entry == null) {
+                    unresolved.remove(uid.getKey());
+                    continue;
+                }
+                final ThingType tt = getThingType(thing);
+                if (tt != null && (!uid.getValue() || getBindingInfo(tt) != null)) {
+                    logger.debug("Thing type or binding info of {} found, indexing it again", uid.getKey());
+                    add(entry.device);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the tokens of the device to the index
+     *
+     * @param device the non-null device
+     */
+    private void add(NeeoDevice device) {
+        unresolved.remove(device.getUid());
+        final IndexEntry entry = new IndexEntry(device, tokenize(device));
+        final IndexEntry old = entries.put(device.getUid(), entry);
+        if (old != null) {
+            removeTokens(device.getUid(), old);
+        }
+        for (Map.Entry<String, Integer> token : entry.tokens.entrySet()) {
+            index.computeIfAbsent(token.getKey(), k -> new HashMap<>()).put(device.getUid(), token.getValue());
+        }
+    }
+
+    /**
+     * Removes the device with the given uid from the index
+     *
+     * @param uid the non-null uid
+     */
+    private void remove(NeeoThingUID uid) {
+        unresolved.remove(uid);
+        final IndexEntry old = entries.remove(uid);
+        if (old != null) {
+            removeTokens(uid, old);
+        }
+    }
+
+    private void removeTokens(NeeoThingUID uid, IndexEntry entry) {
+        for (String token : entry.tokens.keySet()) {
+            final Map<NeeoThingUID, Integer> uids = index.get(token);
+            if (uids != null) {
+                uids.remove(uid);
+                if (uids.isEmpty()) {
+                    index.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the tokens the brain searches for a device (see {@link TokenSearch}). Remembers the device as unresolved
+     * if the thing type or binding info of its thing can not be found.
+     *
+     * @param device the non-null device
+     * @return the non-null tokens and the number of times they occur
+     */
+    private Map<String, Integer> tokenize(NeeoDevice device) {
+        final Map<String, Integer> tokens = new HashMap<>();
+        addTokens(tokens, device.getName());
+        addTokens(tokens, "openhab");
+        addTokens(tokens, device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            addTokens(tokens, thing.getLocation());
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            addTokens(tokens, properties.get(Thing.PROPERTY_VENDOR));
+
+            final ThingType tt = getThingType(thing);
+            if (tt != null) {
+                addTokens(tokens, tt.getLabel());
+            }
+
+            final BindingInfo bi = getBindingInfo(tt);
+            if (bi != null) {
+                addTokens(tokens, bi.getName());
+            } else {
+                unresolved.put(device.getUid(), tt != null);
+            }
+        }
+        return tokens;
+    }
+
+    private @Nullable ThingType getThingType(Thing thing) {
+        return context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+    }
+
+    private @Nullable BindingInfo getBindingInfo(@Nullable ThingType tt) {
+        return tt == null ? null : context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, @Nullable String text) {
+        if (text != null && StringUtils.isNotEmpty(text)) {
+            for (String token : StringUtils.split(text, TokenSearch.DELIMITER)) {
+                tokens.merge(token, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * An indexed device and its tokens
+     */
+    private static class IndexEntry {
+        private final NeeoDevice device;
+        private final Map<String, Integer> tokens;
+
+        private IndexEntry(NeeoDevice device, Map<String, Integer> tokens) {
+            this.device = device;
+            this.tokens = tokens;
+        }
+    }
+}
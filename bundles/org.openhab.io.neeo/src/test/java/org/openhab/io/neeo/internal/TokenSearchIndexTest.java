@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.binding.BindingInfoRegistry;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingRegistry;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.openhab.io.neeo.internal.models.NeeoDeviceType;
+import org.openhab.io.neeo.internal.models.NeeoThingUID;
+import org.openhab.io.neeo.internal.models.TokenScore;
+
+/**
+ * Tests the scores of the {@link TokenSearchIndex}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class TokenSearchIndexTest {
+
+    private static final String[] QUERIES = { "living", "Living Room", "hue light", "h", "li ro", "openhab",
+            "Philips", "philips hue bulb", "kitchen sonos", "sonos", "play:1", "zwave", "nothing matches",
+            "room room" };
+
+    private final Map<ThingUID, Thing> things = new HashMap<>();
+    private final Map<ThingTypeUID, ThingType> thingTypes = new HashMap<>();
+    private final Map<String, BindingInfo> bindingInfos = new HashMap<>();
+    private final List<NeeoDevice> devices = new ArrayList<>();
+
+    private ServiceContext context;
+    private TokenSearchIndex index;
+
+    @Before
+    public void setUp() {
+        final ThingRegistry thingRegistry = mock(ThingRegistry.class);
+        when(thingRegistry.get(any())).thenAnswer(i -> things.get(i.getArgument(0)));
+        final ThingTypeRegistry thingTypeRegistry = mock(ThingTypeRegistry.class);
+        when(thingTypeRegistry.getThingType(any(ThingTypeUID.class)))
+                .thenAnswer(i -> thingTypes.get(i.getArgument(0)));
+        final BindingInfoRegistry bindingInfoRegistry = mock(BindingInfoRegistry.class);
+        when(bindingInfoRegistry.getBindingInfo(anyString())).thenAnswer(i -> bindingInfos.get(i.getArgument(0)));
+        final NeeoDeviceDefinitions definitions = mock(NeeoDeviceDefinitions.class);
+        when(definitions.getExposed()).thenAnswer(i -> new ArrayList<>(devices));
+        when(definitions.getExposed(any(NeeoThingUID.class))).thenAnswer(i -> devices.stream()
+                .filter(d -> d.getUid().equals(i.getArgument(0))).findFirst().orElse(null));
+
+        context = mock(ServiceContext.class);
+        when(context.getThingRegistry()).thenReturn(thingRegistry);
+        when(context.getThingTypeRegistry()).thenReturn(thingTypeRegistry);
+        when(context.getBindingInfoRegistry()).thenReturn(bindingInfoRegistry);
+        when(context.getDefinitions()).thenReturn(definitions);
+        index = new TokenSearchIndex(context);
+
+        addBinding("hue", "Philips Hue Binding");
+        addBinding("sonos", "Sonos Binding");
+        addThingType("hue:0210", "Extended Color Light");
+        addThingType("sonos:PLAY1", "PLAY:1");
+        addThingType("sonos:PLAY3", "PLAY:3");
+
+        addDevice("hue:0210:bridge:1", "Living Room Light", "Living Room", "Philips");
+        addDevice("hue:0210:bridge:2", "Kitchen Light", "Kitchen", "Philips");
+        addDevice("hue:0210:bridge:3", "Hue Bulb", null, null);
+        addDevice("sonos:PLAY1:kitchen", "Kitchen Sonos", "Kitchen", "Sonos");
+        addDevice("sonos:PLAY3:living", "Living Room Sonos", "Living Room  ", "");
+        // no thing, thing type or binding info
+        addDevice("zwave:device:controller:node2", "Room Sensor", null, null);
+        devices.add(device("network:pingdevice:router", "Router"));
+    }
+
+    @Test
+    public void scoresEqualPerDeviceScoring() {
+        for (String query : QUERIES) {
+            assertScores(query);
+        }
+    }
+
+    @Test
+    public void invalidatedDevicesAreScoredAgain() {
+        assertScores("kitchen");
+
+        things.get(new ThingUID("hue:0210:bridge:2")).setLocation("Living Room");
+        index.invalidate(new NeeoThingUID("hue:0210:bridge:2"));
+        devices.remove(0);
+        index.invalidate(new NeeoThingUID("hue:0210:bridge:1"));
+        addDevice("hue:0210:bridge:4", "Desk Light", "Office", "Philips");
+        index.invalidate(new NeeoThingUID("hue:0210:bridge:4"));
+
+        for (String query : QUERIES) {
+            assertScores(query);
+        }
+        assertScores("office");
+    }
+
+    @Test
+    public void devicesAreIndexedAgainOnceTheirThingTypeAppears() {
+        addDevice("zwave:fibaro_fgs212:controller:node3", "Plug", "Office", "Fibaro");
+        assertScores("fibaro wall plug zwave");
+
+        addThingType("zwave:fibaro_fgs212", "Wall Plug");
+        assertScores("fibaro wall plug zwave");
+
+        addBinding("zwave", "ZWave Binding");
+        assertScores("fibaro wall plug zwave");
+        assertScores("binding");
+    }
+
+    /**
+     * Asserts that the index scores every device like the search did before the index was introduced.
+     */
+    private void assertScores(String query) {
+        final String[] needles = StringUtils.split(query, TokenSearch.DELIMITER);
+        final Map<NeeoThingUID, Double> expected = new HashMap<>();
+        for (NeeoDevice device : devices) {
+            expected.put(device.getUid(), (double) score(device, needles));
+        }
+
+        final Map<NeeoThingUID, Double> actual = new HashMap<>();
+        for (TokenScore<NeeoDevice> score : index.score(needles)) {
+            actual.put(score.getItem().getUid(), score.getScore());
+        }
+        assertEquals(query, expected, actual);
+    }
+
+    /**
+     * The scoring of a single device as {@link TokenSearch} did it before the index was introduced.
+     */
+    private int score(NeeoDevice device, String[] needles) {
+        int score = search(device.getName(), needles);
+        score += search("openhab", needles);
+        score += search(device.getUid().getBindingId(), needles);
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && StringUtils.isNotEmpty(location)) {
+                score += search(location, needles);
+            }
+
+            final String vendor = thing.getProperties().get(Thing.PROPERTY_VENDOR);
+            if (StringUtils.isNotEmpty(vendor)) {
+                score += search(vendor, needles);
+            }
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                score += search(tt.getLabel(), needles);
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    score += search(bi.getName(), needles);
+                }
+            }
+        }
+        return score;
+    }
+
+    private int search(String haystack, String[] needles) {
+        return Arrays.stream(StringUtils.split(haystack, TokenSearch.DELIMITER))
+                .mapToInt(hs -> TokenSearch.searchAlgorithm(hs, needles)).sum();
+    }
+
+    private NeeoDevice device(String uid, String name) {
+        return new NeeoDevice(new NeeoThingUID(uid), 1, NeeoDeviceType.ACCESSOIRE, "openHAB", name,
+                Collections.emptyList(), null, null, null, null);
+    }
+
+    private void addDevice(String uid, String name, String location, String vendor) {
+        final ThingUID thingUID = new ThingUID(uid);
+        final Thing thing = mock(Thing.class);
+        final Map<String, String> properties = new HashMap<>();
+        if (vendor != null) {
+            properties.put(Thing.PROPERTY_VENDOR, vendor);
+        }
+        final String[] thingLocation = { location };
+        when(thing.getUID()).thenReturn(thingUID);
+        when(thing.getThingTypeUID())
+                .thenReturn(new ThingTypeUID(thingUID.getBindingId(), new NeeoThingUID(thingUID).getThingType()));
+        when(thing.getLocation()).thenAnswer(i -> thingLocation[0]);
+        doAnswer(i -> thingLocation[0] = i.getArgument(0)).when(thing).setLocation(any());
+        when(thing.getProperties()).thenReturn(properties);
+        things.put(thingUID, thing);
+        devices.add(device(uid, name));
+    }
+
+    private void addThingType(String uid, String label) {
+        final ThingTypeUID thingTypeUID = new ThingTypeUID(uid);
+        final ThingType thingType = mock(ThingType.class);
+        when(thingType.getUID()).thenReturn(thingTypeUID);
+        when(thingType.getBindingId()).thenReturn(thingTypeUID.getBindingId());
+        when(thingType.getLabel()).thenReturn(label);
+        thingTypes.put(thingTypeUID, thingType);
+    }
+
+    private void addBinding(String id, String name) {
+        final BindingInfo bindingInfo = mock(BindingInfo.class);
+        when(bindingInfo.getUID()).thenReturn(id);
+        when(bindingInfo.getName()).thenReturn(name);
+        bindingInfos.put(id, bindingInfo);
+    }
+}
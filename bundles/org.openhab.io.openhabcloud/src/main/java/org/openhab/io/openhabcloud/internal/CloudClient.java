@@ -12,20 +12,27 @@
  */
 package org.openhab.io.openhabcloud.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
@@ -37,11 +44,13 @@ import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
@@ -67,6 +76,13 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Response content is collected up to this size before it is sent to the openHAB Cloud as one message
+     */
+    private static final int RESPONSE_FRAME_SIZE = 32 * 1024;
+
     /*
      * Logger for this class
      */
@@ -102,6 +118,22 @@ public class CloudClient {
      */
     private Map<Integer, Request> runningRequests;
 
+    /*
+     * This map holds HTTP requests to local openHAB which wait for a running request to finish, in the order of
+     * their arrival. Access is guarded by the runningRequests map.
+     */
+    private final Map<Integer, ResponseListener> queuedRequests = new LinkedHashMap<>();
+
+    /*
+     * The maximum number of concurrently running HTTP requests to local openHAB
+     */
+    private final int maxConcurrentRequests;
+
+    /*
+     * This variable indicates if textual responses are compressed, if the requesting client accepts it
+     */
+    private final boolean compressResponses;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -131,6 +163,34 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * The time window in milliseconds in which updates of the same item are coalesced before they are sent
+     */
+    private final int itemUpdateWindow;
+
+    /*
+     * This variable indicates if item updates are sent as one batched message per window
+     */
+    private final boolean itemUpdateBatching;
+
+    /*
+     * This map holds the latest not yet sent state of each item, in the order of the first update.
+     * It is kept while the connection is down and sent as soon as the connection is established again.
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+
+    /*
+     * The scheduled job which sends the pending item updates
+     */
+    private ScheduledFuture<?> itemUpdateJob;
+
+    /*
+     * Statistics of the item update uplink
+     */
+    private final AtomicLong sentItemUpdates = new AtomicLong();
+    private final AtomicLong coalescedItemUpdates = new AtomicLong();
+    private final AtomicLong droppedItemUpdates = new AtomicLong();
+
     /**
      * Constructor of CloudClient
      *
@@ -138,15 +198,24 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateWindow Time window in milliseconds in which updates of the same item are coalesced
+     * @param itemUpdateBatching Send the item updates of a window as one batched message
+     * @param maxConcurrentRequests Maximum number of concurrently proxied requests, further requests are queued
+     * @param compressResponses Compress textual responses, if the requesting client accepts it
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, int itemUpdateWindow, boolean itemUpdateBatching,
+            int maxConcurrentRequests, boolean compressResponses) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
+        this.itemUpdateWindow = Math.max(0, itemUpdateWindow);
+        this.itemUpdateBatching = itemUpdateBatching;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.compressResponses = compressResponses;
         runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
     }
@@ -230,7 +299,13 @@ public class CloudClient {
 
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
-        isConnected = true;
+        synchronized (pendingItemUpdates) {
+            isConnected = true;
+            // Send the updates which have been held back while the connection was down
+            if (!pendingItemUpdates.isEmpty()) {
+                scheduleItemUpdates(0);
+            }
+        }
     }
 
     /**
@@ -240,10 +315,14 @@ public class CloudClient {
     public void onDisconnect() {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
-        isConnected = false;
+        synchronized (pendingItemUpdates) {
+            isConnected = false;
+            cancelItemUpdates();
+        }
         // And clean up the list of running requests
-        if (runningRequests != null) {
+        synchronized (runningRequests) {
             runningRequests.clear();
+            queuedRequests.clear();
         }
     }
 
@@ -285,8 +364,10 @@ public class CloudClient {
             String requestPath = data.getString("path");
             // Get request method
             String requestMethod = data.getString("method");
-            // Get request body
-            String requestBody = data.getString("body");
+            // Get request body, which is either a string or binary
+            Object body = data.get("body");
+            byte[] requestBody = body instanceof byte[] ? (byte[]) body
+                    : body.toString().getBytes(StandardCharsets.UTF_8);
             // Get JSONObject for request headers
             JSONObject requestHeadersJson = data.getJSONObject("headers");
             logger.debug("{}", requestHeadersJson.toString());
@@ -325,25 +406,72 @@ public class CloudClient {
                 request.method(HttpMethod.GET);
             } else if (requestMethod.equals("POST")) {
                 request.method(HttpMethod.POST);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(new BytesContentProvider(requestBody));
             } else if (requestMethod.equals("PUT")) {
                 request.method(HttpMethod.PUT);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(new BytesContentProvider(requestBody));
             } else {
                 // TODO: Reject unsupported methods
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
-            runningRequests.put(requestId, request);
+            ResponseListener listener = new ResponseListener(requestId, request, requestMethod + " " + requestPath,
+                    compressResponses && acceptsGzip(requestHeadersJson));
+            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener);
+            submitRequest(listener);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    /**
+     * Sends the request to local openHAB, or queues it if the maximum number of concurrent requests is reached.
+     */
+    private void submitRequest(ResponseListener listener) {
+        synchronized (runningRequests) {
+            if (runningRequests.size() >= maxConcurrentRequests) {
+                logger.debug("Queueing request {}, {} requests are running", listener.mRequestId,
+                        runningRequests.size());
+                queuedRequests.put(listener.mRequestId, listener);
+                return;
+            }
+            // Add the request to the list of currently running requests to be able to cancel it if needed
+            runningRequests.put(listener.mRequestId, listener.mRequest);
+        }
+        listener.send();
+    }
+
+    /**
+     * Removes a finished request from the running requests and sends the next queued request, if any.
+     */
+    private void finishRequest(int requestId) {
+        ResponseListener next = null;
+        synchronized (runningRequests) {
+            runningRequests.remove(requestId);
+            Iterator<ResponseListener> iterator = queuedRequests.values().iterator();
+            if (iterator.hasNext() && runningRequests.size() < maxConcurrentRequests) {
+                next = iterator.next();
+                iterator.remove();
+                runningRequests.put(next.mRequestId, next.mRequest);
+            }
+        }
+        if (next != null) {
+            next.send();
+        }
+    }
+
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        @SuppressWarnings("unchecked")
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if (HttpHeader.ACCEPT_ENCODING.is(headerName)) {
+                return requestHeadersJson.optString(headerName).toLowerCase().contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         @SuppressWarnings("unchecked")
         Iterator<String> headersIterator = requestHeadersJson.keys();
@@ -367,11 +495,15 @@ public class CloudClient {
         try {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
-            // Find and abort running request
-            if (runningRequests.containsKey(requestId)) {
-                Request request = runningRequests.get(requestId);
+            // Find and abort running request, or drop it if it is still queued
+            Request request;
+            synchronized (runningRequests) {
+                queuedRequests.remove(requestId);
+                request = runningRequests.get(requestId);
+            }
+            if (request != null) {
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
+                finishRequest(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -469,28 +601,131 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are not sent immediately, but collected for the configured
+     * time window. Only the latest state of each item within the window is sent. While there is no connection to the
+     * openHAB Cloud, the latest state of each item is kept and sent as soon as the connection is established again.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
+        synchronized (pendingItemUpdates) {
+            if (pendingItemUpdates.put(itemName, itemState) != null) {
+                coalescedItemUpdates.incrementAndGet();
+                logger.trace("Coalesced update '{}' for item '{}'", itemState, itemName);
+            }
+            if (isConnected()) {
+                scheduleItemUpdates(itemUpdateWindow);
+            } else {
+                logger.debug("No connection, Item update for '{}' is held back", itemName);
+            }
+        }
+    }
+
+    /**
+     * Schedules sending the pending item updates, if not already scheduled.
+     * Must be called with the lock of {@link #pendingItemUpdates} held.
+     */
+    private void scheduleItemUpdates(int delay) {
+        if (itemUpdateJob == null || itemUpdateJob.isDone()) {
+            itemUpdateJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD)
+                    .schedule(this::sendPendingItemUpdates, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels sending the pending item updates. The updates are kept.
+     * Must be called with the lock of {@link #pendingItemUpdates} held.
+     */
+    private void cancelItemUpdates() {
+        if (itemUpdateJob != null) {
+            itemUpdateJob.cancel(false);
+            itemUpdateJob = null;
+        }
+    }
+
+    private void sendPendingItemUpdates() {
+        Map<String, String> itemUpdates;
+        synchronized (pendingItemUpdates) {
+            itemUpdateJob = null;
+            if (!isConnected() || pendingItemUpdates.isEmpty()) {
+                return;
+            }
+            itemUpdates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+        }
+
+        if (itemUpdateBatching && itemUpdates.size() > 1) {
+            JSONArray updates = new JSONArray();
+            for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+                JSONObject itemUpdateMessage = createItemUpdateMessage(itemUpdate.getKey(), itemUpdate.getValue());
+                if (itemUpdateMessage != null) {
+                    updates.put(itemUpdateMessage);
+                }
+            }
+            logger.debug("Sending {} item updates", updates.length());
+            JSONObject itemUpdatesMessage = new JSONObject();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
+                itemUpdatesMessage.put("updates", updates);
+                socket.emit("itemupdates", itemUpdatesMessage);
+                sentItemUpdates.addAndGet(updates.length());
             } catch (JSONException e) {
+                droppedItemUpdates.addAndGet(updates.length());
                 logger.debug("{}", e.getMessage());
             }
         } else {
-            logger.debug("No connection, Item update is not sent");
+            for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+                logger.debug("Sending update '{}' for item '{}'", itemUpdate.getValue(), itemUpdate.getKey());
+                JSONObject itemUpdateMessage = createItemUpdateMessage(itemUpdate.getKey(), itemUpdate.getValue());
+                if (itemUpdateMessage != null) {
+                    socket.emit("itemupdate", itemUpdateMessage);
+                    sentItemUpdates.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private JSONObject createItemUpdateMessage(String itemName, String itemState) {
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            return itemUpdateMessage;
+        } catch (JSONException e) {
+            droppedItemUpdates.incrementAndGet();
+            logger.debug("{}", e.getMessage());
+            return null;
         }
     }
 
+    private void logItemUpdateStatistics() {
+        logger.debug("Item updates: {} sent, {} coalesced, {} dropped", getSentItemUpdates(),
+                getCoalescedItemUpdates(), getDroppedItemUpdates());
+    }
+
+    /**
+     * Returns the number of item updates which have been sent to the openHAB Cloud
+     */
+    public long getSentItemUpdates() {
+        return sentItemUpdates.get();
+    }
+
+    /**
+     * Returns the number of item updates which have been replaced by a later update of the same item before they
+     * were sent
+     */
+    public long getCoalescedItemUpdates() {
+        return coalescedItemUpdates.get();
+    }
+
+    /**
+     * Returns the number of item updates which could not be sent
+     */
+    public long getDroppedItemUpdates() {
+        return droppedItemUpdates.get();
+    }
+
     /**
      * Returns true if openHAB Cloud connection is active
      */
@@ -503,6 +738,12 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        synchronized (pendingItemUpdates) {
+            cancelItemUpdates();
+            droppedItemUpdates.addAndGet(pendingItemUpdates.size());
+            pendingItemUpdates.clear();
+        }
+        logItemUpdateStatistics();
         socket.disconnect();
     }
 
@@ -519,35 +760,111 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Response content is collected up to RESPONSE_FRAME_SIZE bytes before it is sent, and compressed if
+     * enabled for this request and the response is textual.
      */
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
-        private int mRequestId;
+        private final int mRequestId;
+        private final Request mRequest;
+        private final String mDescription;
+        private final boolean mCompressionAccepted;
         private boolean mHeadersSent = false;
-
-        public ResponseListener(int requestId) {
+        private boolean mFailed = false;
+        private final ByteArrayOutputStream mFrameBuffer = new ByteArrayOutputStream(RESPONSE_FRAME_SIZE);
+        private OutputStream mContentStream = mFrameBuffer;
+
+        /*
+         * Timing metrics of this request, in nanoseconds, and the transferred response content
+         */
+        private final long mCreated = System.nanoTime();
+        private long mSent;
+        private long mHeadersReceived;
+        private long mContentBytes;
+        private long mSentBytes;
+        private int mSentFrames;
+
+        public ResponseListener(int requestId, Request request, String description, boolean compressionAccepted) {
             mRequestId = requestId;
+            mRequest = request;
+            mDescription = description;
+            mCompressionAccepted = compressionAccepted;
         }
 
-        private JSONObject getJSONHeaders(HttpFields httpFields) {
+        private void send() {
+            mSent = System.nanoTime();
+            mRequest.send(this);
+        }
+
+        private boolean isCompressible(Response response) {
+            if (!mCompressionAccepted || response.getStatus() != HttpStatus.OK_200
+                    || response.getHeaders().containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+                return false;
+            }
+            String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+            if (contentType == null) {
+                return false;
+            }
+            contentType = contentType.toLowerCase();
+            return contentType.startsWith("text/") || contentType.contains("json") || contentType.contains("xml")
+                    || contentType.contains("javascript");
+        }
+
+        private JSONObject getJSONHeaders(HttpFields httpFields, boolean compressed) {
             JSONObject headersJSON = new JSONObject();
             try {
                 for (HttpField field : httpFields) {
+                    if (compressed && field.getHeader() == HttpHeader.CONTENT_LENGTH) {
+                        continue;
+                    }
                     headersJSON.put(field.getName(), field.getValue());
                 }
+                if (compressed) {
+                    headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                }
             } catch (JSONException e) {
                 logger.warn("Error forming response headers: {}", e.getMessage());
             }
             return headersJSON;
         }
 
+        /*
+         * Sends the collected response content to the openHAB Cloud
+         */
+        private void sendFrame() {
+            if (mFrameBuffer.size() == 0) {
+                return;
+            }
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", mRequestId);
+                responseJson.put("body", mFrameBuffer.toByteArray());
+                socket.emit("responseContentBinary", responseJson);
+                mSentBytes += mFrameBuffer.size();
+                mSentFrames++;
+                logger.trace("Sent {} bytes of content to request {}", mFrameBuffer.size(), mRequestId);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+            mFrameBuffer.reset();
+        }
+
         @Override
         public void onComplete(Result result) {
+            synchronized (this) {
+                try {
+                    mContentStream.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to finish response content of request {}: {}", mRequestId, e.getMessage());
+                }
+                if (!mFailed) {
+                    sendFrame();
+                }
+            }
             // Remove this request from list of running requests
-            runningRequests.remove(mRequestId);
+            finishRequest(mRequestId);
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -560,6 +877,17 @@ public class CloudClient {
                     logger.warn("Response Failure: {}", result.getResponseFailure().getMessage());
                 }
             }
+            if (logger.isDebugEnabled()) {
+                long now = System.nanoTime();
+                logger.debug(
+                        "Request {} ({}) completed with status {} in {} ms: queued {} ms, headers after {} ms, "
+                                + "{} bytes of content sent as {} bytes in {} messages",
+                        mRequestId, mDescription,
+                        result != null && result.getResponse() != null ? result.getResponse().getStatus() : "-",
+                        TimeUnit.NANOSECONDS.toMillis(now - mCreated), TimeUnit.NANOSECONDS.toMillis(mSent - mCreated),
+                        mHeadersReceived > 0 ? TimeUnit.NANOSECONDS.toMillis(mHeadersReceived - mSent) : "-",
+                        mContentBytes, mSentBytes, mSentFrames);
+            }
 
             /**
              * What is this? In some cases where latency is very low the myopenhab service
@@ -580,6 +908,8 @@ public class CloudClient {
 
         @Override
         public synchronized void onFailure(Request request, Throwable failure) {
+            mFailed = true;
+            mFrameBuffer.reset();
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
@@ -591,28 +921,43 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
+        public synchronized void onContent(Response response, ByteBuffer content) {
+            logger.trace("Jetty received response content of size {}", content.remaining());
+            mContentBytes += content.remaining();
             try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+                if (content.hasArray()) {
+                    mContentStream.write(content.array(), content.arrayOffset() + content.position(),
+                            content.remaining());
+                } else {
+                    mContentStream.write(BufferUtil.toArray(content));
+                }
+            } catch (IOException e) {
+                logger.debug("Failed to collect response content of request {}: {}", mRequestId, e.getMessage());
+            }
+            if (mFrameBuffer.size() >= RESPONSE_FRAME_SIZE) {
+                sendFrame();
             }
         }
 
         @Override
-        public void onHeaders(Response response) {
+        public synchronized void onHeaders(Response response) {
             if (!mHeadersSent) {
                 logger.debug("Jetty finished receiving response header");
+                mHeadersReceived = System.nanoTime();
+                boolean compressed = isCompressible(response);
+                if (compressed) {
+                    try {
+                        mContentStream = new GZIPOutputStream(mFrameBuffer, RESPONSE_FRAME_SIZE);
+                    } catch (IOException e) {
+                        logger.debug("Failed to compress response of request {}: {}", mRequestId, e.getMessage());
+                        compressed = false;
+                    }
+                }
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
                 try {
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(response.getHeaders(), compressed));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
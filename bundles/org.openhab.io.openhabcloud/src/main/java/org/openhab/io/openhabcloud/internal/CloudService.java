@@ -82,10 +82,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_WINDOW = "itemUpdateWindow";
+    private static final String CFG_ITEM_UPDATE_BATCHING = "itemUpdateBatching";
+    private static final String CFG_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+    private static final String CFG_COMPRESS_RESPONSES = "compressResponses";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
+    private static final int DEFAULT_ITEM_UPDATE_WINDOW = 250;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 32;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
@@ -218,6 +224,14 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        int itemUpdateWindow = getIntConfig(config, CFG_ITEM_UPDATE_WINDOW, DEFAULT_ITEM_UPDATE_WINDOW);
+        Object batchingCfg = config.get(CFG_ITEM_UPDATE_BATCHING);
+        boolean itemUpdateBatching = batchingCfg != null && Boolean.parseBoolean(batchingCfg.toString().trim());
+        int maxConcurrentRequests = getIntConfig(config, CFG_MAX_CONCURRENT_REQUESTS,
+                DEFAULT_MAX_CONCURRENT_REQUESTS);
+        Object compressCfg = config.get(CFG_COMPRESS_RESPONSES);
+        boolean compressResponses = compressCfg == null || Boolean.parseBoolean(compressCfg.toString().trim());
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
@@ -237,13 +251,26 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateWindow, itemUpdateBatching, maxConcurrentRequests,
+                compressResponses);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    private int getIntConfig(Map<String, ?> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for '{}', using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
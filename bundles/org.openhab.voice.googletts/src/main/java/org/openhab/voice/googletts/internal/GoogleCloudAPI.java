@@ -16,17 +16,13 @@ import static java.util.Collections.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,8 +31,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.FilenameUtils;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.io.net.http.HttpRequestBuilder;
 import org.openhab.voice.googletts.internal.protocol.AudioConfig;
@@ -104,9 +101,14 @@ class GoogleCloudAPI {
     private final Map<Locale, Set<GoogleTTSVoice>> voices = new HashMap<>();
 
     /**
-     * Cache folder
+     * Audio cache
      */
-    private File cacheFolder;
+    private final TTSAudioCache cache;
+
+    /**
+     * Voices and audio formats for which the configured phrases have been pre-warmed
+     */
+    private final Set<String> prewarmedVoices = ConcurrentHashMap.newKeySet();
 
     /**
      * Configuration
@@ -128,7 +130,7 @@ class GoogleCloudAPI {
      * @param cacheFolder Service cache folder
      */
     GoogleCloudAPI(File cacheFolder) {
-        this.cacheFolder = cacheFolder;
+        this.cache = new TTSAudioCache("Google Cloud TTS", cacheFolder);
     }
 
     /**
@@ -156,12 +158,13 @@ class GoogleCloudAPI {
 
         // maintain cache
         if (config.getPurgeCache() != null && config.getPurgeCache()) {
-            File[] files = cacheFolder.listFiles();
-            if (files != null && files.length > 0) {
-                Arrays.stream(files).forEach(File::delete);
-            }
-            logger.debug("Cache purged.");
+            cache.purge();
         }
+        cache.configure(config.getCacheSize() * 1024L * 1024L, TimeUnit.DAYS.toMillis(config.getCacheExpiration()),
+                config.getCacheMemorySize() * 1024L * 1024L);
+        cache.prewarm(config.getCachePrewarm());
+        // phrases that are not cached yet are synthesized once a voice is used
+        prewarmedVoices.clear();
     }
 
     private Credentials createCredentials(String serviceAccountKey) throws IOException {
@@ -276,63 +279,27 @@ class GoogleCloudAPI {
 
     byte[] synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
         String[] format = getFormatForCodec(codec);
-        String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName());
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
+        if (prewarmedVoices.add(voice.getTechnicalName() + "." + format[1])) {
+            cache.prewarm(config.getCachePrewarm(), phrase -> createCacheRequest(phrase, voice, format));
+        }
+        TTSAudioCache.Request request = createCacheRequest(text, voice, format);
         try {
-            // check if in cache
-            if (audioFileInCache.exists()) {
-                logger.debug("Audio file {} was found in cache.", audioFileInCache.getName());
-                return Files.readAllBytes(audioFileInCache.toPath());
-            }
-
-            // if not in cache, get audio data and put to cache
-            byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
-            if (audio != null) {
-                saveAudioAndTextToFile(text, audioFileInCache, audio, voice.getTechnicalName());
-            }
-            return audio;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
+            return cache.get(request.getKey(), request.getText(), request.getLoader());
         } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
+            logger.error("Could not get audio for {} from cache or service", request.getKey(), ex);
             return null;
         }
     }
 
-    /**
-     * Create cache entry.
-     *
-     * @param text Converted text.
-     * @param cacheFile Cache entry file.
-     * @param audio Byte array of the audio.
-     * @param voiceName Used voice
-     * @throws IOException in case of file handling exceptions
-     */
-    private void saveAudioAndTextToFile(String text, File cacheFile, byte[] audio, String voiceName)
-            throws IOException {
-        logger.debug("Caching audio file {}", cacheFile.getName());
-        try (FileOutputStream audioFileOutputStream = new FileOutputStream(cacheFile)) {
-            audioFileOutputStream.write(audio);
-        }
-
+    private TTSAudioCache.Request createCacheRequest(String text, GoogleTTSVoice voice, String[] format) {
+        String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName()) + "." + format[1];
         // write text to file for transparency too
         // this allows to know which contents is in which audio file
-        String textFileName = FilenameUtils.removeExtension(cacheFile.getName()) + ".txt";
-        logger.debug("Caching text file {}", textFileName);
-        try (FileOutputStream textFileOutputStream = new FileOutputStream(new File(cacheFolder, textFileName))) {
-            // @formatter:off
-            StringBuilder sb = new StringBuilder("Config: ")
-                    .append(config.toConfigString())
-                    .append(",voice=")
-                    .append(voiceName)
-                    .append(System.lineSeparator())
-                    .append("Text: ")
-                    .append(text)
-                    .append(System.lineSeparator());
-            // @formatter:on
-            textFileOutputStream.write(sb.toString().getBytes(UTF_8));
-        }
+        String description = new StringBuilder(text).append(System.lineSeparator()).append("Config: ")
+                .append(config.toConfigString()).append(",voice=").append(voice.getTechnicalName())
+                .append(System.lineSeparator()).toString();
+        return new TTSAudioCache.Request(fileNameInCache, description,
+                () -> synthesizeSpeechByGoogle(text, voice, format[0]));
     }
 
     /**
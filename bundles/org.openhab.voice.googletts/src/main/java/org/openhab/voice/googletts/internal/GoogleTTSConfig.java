@@ -12,6 +12,9 @@
  */
 package org.openhab.voice.googletts.internal;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Voice service implementation.
  *
@@ -43,6 +46,26 @@ class GoogleTTSConfig {
      */
     private Double volumeGainDb = 0d;
 
+    /**
+     * Maximum size of the cache folder in MB, 0 for no limit.
+     */
+    private int cacheSize = 100;
+
+    /**
+     * Days after which unused cache files are purged, 0 to keep them.
+     */
+    private int cacheExpiration = 0;
+
+    /**
+     * Maximum size of the audio kept in memory in MB, 0 to disable it.
+     */
+    private int cacheMemorySize = 4;
+
+    /**
+     * Phrases whose cached audio is loaded into memory at startup.
+     */
+    private List<String> cachePrewarm = Collections.emptyList();
+
     String getServiceAccountKey() {
         return serviceAccountKey;
     }
@@ -83,11 +106,44 @@ class GoogleTTSConfig {
         this.purgeCache = purgeCache;
     }
 
+    int getCacheSize() {
+        return cacheSize;
+    }
+
+    void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    int getCacheExpiration() {
+        return cacheExpiration;
+    }
+
+    void setCacheExpiration(int cacheExpiration) {
+        this.cacheExpiration = cacheExpiration;
+    }
+
+    int getCacheMemorySize() {
+        return cacheMemorySize;
+    }
+
+    void setCacheMemorySize(int cacheMemorySize) {
+        this.cacheMemorySize = cacheMemorySize;
+    }
+
+    List<String> getCachePrewarm() {
+        return cachePrewarm;
+    }
+
+    void setCachePrewarm(List<String> cachePrewarm) {
+        this.cachePrewarm = cachePrewarm;
+    }
+
     @Override
     public String toString() {
         return "GoogleTTSConfig{" + "serviceAccountKey='" + serviceAccountKey + '\'' + ", pitch=" + pitch
                 + ", speakingRate=" + speakingRate + ", volumeGainDb=" + volumeGainDb + ", purgeCache=" + purgeCache
-                + '}';
+                + ", cacheSize=" + cacheSize + ", cacheExpiration=" + cacheExpiration + ", cacheMemorySize="
+                + cacheMemorySize + ", cachePrewarm=" + cachePrewarm + '}';
     }
 
     String toConfigString() {
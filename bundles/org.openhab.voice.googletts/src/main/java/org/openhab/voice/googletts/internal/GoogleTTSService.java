@@ -15,7 +15,10 @@ package org.openhab.voice.googletts.internal;
 import static org.openhab.voice.googletts.internal.GoogleTTSService.*;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -79,6 +82,10 @@ public class GoogleTTSService implements TTSService {
     private static final String PARAM_SPEAKING_RATE = "speakingRate";
     private static final String PARAM_VOLUME_GAIN_DB = "volumeGainDb";
     private static final String PARAM_PURGE_CACHE = "purgeCache";
+    private static final String PARAM_CACHE_SIZE = "cacheSize";
+    private static final String PARAM_CACHE_EXPIRATION = "cacheExpiration";
+    private static final String PARAM_CACHE_MEMORY_SIZE = "cacheMemorySize";
+    private static final String PARAM_CACHE_PREWARM = "cachePrewarm";
 
     /**
      * Logger.
@@ -209,6 +216,35 @@ public class GoogleTTSService implements TTSService {
             if (param != null) {
                 config.setPurgeCache(Boolean.parseBoolean(param));
             }
+
+            // cache bounds
+            param = newConfig.containsKey(PARAM_CACHE_SIZE) ? newConfig.get(PARAM_CACHE_SIZE).toString() : null;
+            if (param != null) {
+                config.setCacheSize((int) Double.parseDouble(param));
+            }
+            param = newConfig.containsKey(PARAM_CACHE_EXPIRATION) ? newConfig.get(PARAM_CACHE_EXPIRATION).toString()
+                    : null;
+            if (param != null) {
+                config.setCacheExpiration((int) Double.parseDouble(param));
+            }
+            param = newConfig.containsKey(PARAM_CACHE_MEMORY_SIZE)
+                    ? newConfig.get(PARAM_CACHE_MEMORY_SIZE).toString()
+                    : null;
+            if (param != null) {
+                config.setCacheMemorySize((int) Double.parseDouble(param));
+            }
+
+            // cachePrewarm
+            Object phrases = newConfig.get(PARAM_CACHE_PREWARM);
+            List<String> cachePrewarm = new ArrayList<>();
+            if (phrases instanceof Collection) {
+                for (Object phrase : (Collection<?>) phrases) {
+                    cachePrewarm.add(phrase.toString().trim());
+                }
+            } else if (phrases != null && !phrases.toString().trim().isEmpty()) {
+                cachePrewarm.add(phrases.toString().trim());
+            }
+            config.setCachePrewarm(cachePrewarm);
             logger.trace("New configuration: {}", config.toString());
 
             if (config.getServiceAccountKey() != null) {
@@ -15,11 +15,12 @@ package org.openhab.voice.marytts.internal;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
-import javax.sound.sampled.AudioInputStream;
-
-import org.apache.commons.io.IOUtils;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioSource;
@@ -27,39 +28,88 @@ import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
 
 /**
  * Implementation of the {@link AudioSource} interface for the {@link MaryTTSService}
+ * <p>
+ * The raw audio of the sentences is appended while they are synthesized, so reading can start as soon as the first
+ * sentence is available. Reads block until more audio is appended or the synthesis is complete. If reading starts
+ * before the synthesis is complete, the WAV header announces the largest possible length, as players read streamed
+ * WAV data until the end of the stream anyway. {@link #length()} and {@link #getClonedStream()} wait for the
+ * synthesis to complete and use the exact length.
  *
  * @author Kelly Davis - Initial contribution and API
  * @author Kai Kreuzer - Refactored to updated APIs and moved to openHAB
  */
 class MaryTTSAudioStream extends FixedLengthAudioStream {
 
+    /**
+     * Length of the data chunk in the header of a stream whose length is not known yet (largest even int minus the
+     * remaining header size)
+     */
+    private static final long STREAMING_DATA_LENGTH = Integer.MAX_VALUE - 37;
+
     /**
      * {@link AudioFormat} of this {@link AudioSource}
      */
     private final AudioFormat audioFormat;
 
     /**
-     * {@link InputStream} of this {@link AudioSource}
+     * The raw audio of the sentences synthesized so far
      */
-    private InputStream inputStream;
+    private final List<byte[]> rawAudio = new ArrayList<>();
+    private long rawLength;
+    private boolean complete;
+    private IOException failure;
+    private boolean closed;
 
-    private final byte[] rawAudio;
-    private final int length;
+    /**
+     * Read position: the header, followed by the index and offset within the raw audio
+     */
+    private byte[] header;
+    private int headerOffset;
+    private int audioIndex;
+    private int audioOffset;
 
     /**
-     * Constructs an instance with the passed properties
+     * Constructs an instance with the passed properties, the audio is appended while it is synthesized
      *
-     * @param inputStream The InputStream of this instance
      * @param audioFormat The AudioFormat of this instance
-     * @throws IOException
      */
-    public MaryTTSAudioStream(AudioInputStream inputStream, AudioFormat audioFormat) throws IOException {
-        rawAudio = IOUtils.toByteArray(inputStream);
-        this.length = rawAudio.length + 36;
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
+    public MaryTTSAudioStream(AudioFormat audioFormat) {
         this.audioFormat = audioFormat;
     }
 
+    /**
+     * Appends the raw audio of the next sentence
+     */
+    synchronized void append(byte[] audio) {
+        rawAudio.add(audio);
+        rawLength += audio.length;
+        notifyAll();
+    }
+
+    /**
+     * Marks the synthesis as complete
+     */
+    synchronized void complete() {
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * Marks the synthesis as failed, reading the remaining audio throws the passed exception
+     */
+    synchronized void fail(IOException e) {
+        failure = e;
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * @return true if the stream has been closed and the remaining sentences need not be synthesized
+     */
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
     @Override
     public AudioFormat getFormat() {
         return this.audioFormat;
@@ -67,34 +117,99 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
 
     @Override
     public int read(byte[] b) throws IOException {
-        return inputStream.read(b, 0, b.length);
+        return read(b, 0, b.length);
     }
 
     @Override
-    public int read(byte[] b, int off, int len) throws IOException {
-        return inputStream.read(b, off, len);
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (header == null) {
+            header = complete ? getWavHeader(rawLength) : getWavHeader(STREAMING_DATA_LENGTH);
+        }
+        if (headerOffset < header.length) {
+            int count = Math.min(len, header.length - headerOffset);
+            System.arraycopy(header, headerOffset, b, off, count);
+            headerOffset += count;
+            return count;
+        }
+        while (true) {
+            if (closed) {
+                return -1;
+            }
+            if (audioIndex < rawAudio.size()) {
+                byte[] audio = rawAudio.get(audioIndex);
+                int count = Math.min(len, audio.length - audioOffset);
+                System.arraycopy(audio, audioOffset, b, off, count);
+                audioOffset += count;
+                if (audioOffset == audio.length) {
+                    audioIndex++;
+                    audioOffset = 0;
+                }
+                if (count > 0) {
+                    return count;
+                }
+                continue;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (complete) {
+                return -1;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for synthesized audio");
+            }
+        }
     }
 
     @Override
     public int read() throws IOException {
-        return inputStream.read();
+        byte[] b = new byte[1];
+        int count;
+        do {
+            count = read(b, 0, 1);
+        } while (count == 0);
+        return count < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public synchronized long length() {
+        awaitComplete();
+        return rawLength + 36;
     }
 
     @Override
-    public long length() {
-        return length;
+    public synchronized void close() throws IOException {
+        closed = true;
+        notifyAll();
     }
 
-    private InputStream getWavHeaderInputStream(int length) throws IOException {
+    private void awaitComplete() {
+        while (!complete && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private byte[] getWavHeader(long rawLength) {
         // WAVE header
         // see http://www-mmsp.ece.mcgill.ca/Documents/AudioFormats/WAVE/WAVE.html
         byte[] header = new byte[44];
 
+        long length = rawLength + 36;
         byte format = 0x10; // PCM
         byte bits = 16;
         byte channel = 1;
         long srate = (this.audioFormat != null) ? this.audioFormat.getFrequency() : 48000l;
-        long rawLength = length - 36;
         long bitrate = srate * channel * bits;
 
         header[0] = 'R';
@@ -141,21 +256,28 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         header[41] = (byte) ((rawLength >> 8) & 0xff);
         header[42] = (byte) ((rawLength >> 16) & 0xff);
         header[43] = (byte) ((rawLength >> 24) & 0xff);
-        return new ByteArrayInputStream(header);
+        return header;
     }
 
     @Override
     public synchronized void reset() throws IOException {
-        IOUtils.closeQuietly(inputStream);
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
+        header = null;
+        headerOffset = 0;
+        audioIndex = 0;
+        audioOffset = 0;
     }
 
     @Override
-    public InputStream getClonedStream() throws AudioException {
-        try {
-            return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
-        } catch (IOException e) {
-            throw new AudioException(e);
+    public synchronized InputStream getClonedStream() throws AudioException {
+        awaitComplete();
+        if (failure != null) {
+            throw new AudioException(failure);
+        }
+        List<InputStream> streams = new ArrayList<>(rawAudio.size() + 1);
+        streams.add(new ByteArrayInputStream(getWavHeader(rawLength)));
+        for (byte[] audio : rawAudio) {
+            streams.add(new ByteArrayInputStream(audio));
         }
+        return new SequenceInputStream(Collections.enumeration(streams));
     }
 }
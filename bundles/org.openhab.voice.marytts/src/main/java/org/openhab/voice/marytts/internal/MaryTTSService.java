@@ -15,12 +15,21 @@ package org.openhab.voice.marytts.internal;
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
 import java.io.IOException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.IOUtils;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.osgi.service.component.annotations.Component;
@@ -35,6 +44,10 @@ import marytts.modules.synthesis.Voice;
 
 /**
  * This is a TTS service implementation for using MaryTTS.
+ * <p>
+ * The text is synthesized sentence by sentence: the first sentence is synthesized right away and the stream is
+ * returned, the remaining sentences are synthesized in the background while the first one is played. The audio of
+ * recently used sentences is cached.
  *
  * @author Kelly Davis - Initial contribution and API
  * @author Kai Kreuzer - Refactored to updated APIs and moved to openHAB
@@ -42,8 +55,32 @@ import marytts.modules.synthesis.Voice;
 @Component
 public class MaryTTSService implements TTSService {
 
+    /**
+     * Number of sentences whose audio is cached
+     */
+    private static final int SENTENCE_CACHE_SIZE = 32;
+
+    /**
+     * Audio larger than this is not cached (about 10 seconds at 48 kHz)
+     */
+    private static final int MAX_CACHED_AUDIO_SIZE = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
+    private final ExecutorService executor = ThreadPoolManager.getPool("marytts");
+
+    /**
+     * The raw audio of recently synthesized sentences by voice and sentence
+     */
+    private final Map<String, byte[]> sentenceCache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > SENTENCE_CACHE_SIZE;
+        }
+    };
+
     private MaryInterface marytts;
 
     /**
@@ -114,18 +151,98 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
+        long start = System.nanoTime();
+        List<String> sentences = getSentences(text, voice.getLocale());
+        MaryTTSAudioStream audioStream = new MaryTTSAudioStream(maryTTSVoiceAudioFormat);
+        try {
+            audioStream.append(generateAudio(sentences.get(0), voice));
+        } catch (SynthesisException | IOException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        }
+        long firstAudio = System.nanoTime() - start;
+
+        if (sentences.size() == 1) {
+            audioStream.complete();
+            logger.debug("Synthesized 1 sentence in {} ms", TimeUnit.NANOSECONDS.toMillis(firstAudio));
+            return audioStream;
+        }
+        executor.execute(() -> {
+            for (String sentence : sentences.subList(1, sentences.size())) {
+                if (audioStream.isClosed()) {
+                    logger.debug("Audio stream closed, skipping the remaining sentences");
+                    return;
+                }
+                try {
+                    audioStream.append(generateAudio(sentence, voice));
+                } catch (SynthesisException | IOException e) {
+                    logger.warn("Error generating audio for '{}': {}", sentence, e.getMessage());
+                    audioStream.fail(e instanceof IOException ? (IOException) e : new IOException(e));
+                    return;
+                }
+            }
+            audioStream.complete();
+            logger.debug("Synthesized {} sentences, first audio after {} ms, complete after {} ms", sentences.size(),
+                    TimeUnit.NANOSECONDS.toMillis(firstAudio),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+        return audioStream;
+    }
+
+    /**
+     * Splits the text into sentences
+     *
+     * @param text The text
+     * @param locale The locale of the text
+     * @return The non-empty list of sentences
+     */
+    private List<String> getSentences(String text, Locale locale) {
+        List<String> sentences = new ArrayList<>();
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
+            }
+        }
+        if (sentences.isEmpty()) {
+            sentences.add(text);
+        }
+        return sentences;
+    }
+
+    /**
+     * Returns the raw audio of a sentence from the cache or synthesizes it
+     *
+     * @param sentence The sentence
+     * @param voice The voice
+     * @return The raw audio
+     */
+    private byte[] generateAudio(String sentence, org.eclipse.smarthome.core.voice.Voice voice)
+            throws SynthesisException, IOException {
+        String key = voice.getLabel() + '\n' + sentence;
+        synchronized (sentenceCache) {
+            byte[] audio = sentenceCache.get(key);
+            if (audio != null) {
+                return audio;
+            }
+        }
+
+        byte[] audio;
         // Synchronize on marytts
         synchronized (marytts) {
             // Set voice (Each voice supports only a single AudioFormat)
             marytts.setLocale(voice.getLocale());
             marytts.setVoice(voice.getLabel());
-
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+            audio = IOUtils.toByteArray(marytts.generateAudio(sentence));
+        }
+        if (audio.length <= MAX_CACHED_AUDIO_SIZE) {
+            synchronized (sentenceCache) {
+                sentenceCache.put(key, audio);
             }
         }
+        return audio;
     }
 
     /**
@@ -12,8 +12,8 @@
  */
 package org.openhab.voice.pollytts.internal.cloudapi;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -21,7 +21,9 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -30,6 +32,7 @@ import org.slf4j.LoggerFactory;
 /**
  * This class implements a cache for the retrieved audio data. It will preserve them in the file system,
  * as audio files with an additional .txt file to indicate what content is in the audio file.
+ * Frequently used audio is also kept in memory, see {@link TTSAudioCache}.
  *
  * @author Robert Hillman - Initial contribution
  */
@@ -39,7 +42,12 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
 
     private final Logger logger = LoggerFactory.getLogger(CachedPollyTTSCloudImpl.class);
 
-    private final File cacheFolder;
+    private final TTSAudioCache cache;
+
+    private final List<String> cachePrewarm;
+
+    /** Voices and audio formats for which the configured phrases have been pre-warmed */
+    private final Set<String> prewarmedVoices = ConcurrentHashMap.newKeySet();
 
     /**
      * Create the file folder to hold the the cached speech files.
@@ -48,42 +56,36 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
      */
     public CachedPollyTTSCloudImpl(PollyTTSConfig config, File cacheFolder) throws IOException {
         super(config);
-        this.cacheFolder = cacheFolder;
+        cache = new TTSAudioCache("PollyTTS", cacheFolder);
+        cache.configure(config.getCacheSize() * 1024L * 1024L, TimeUnit.DAYS.toMillis(config.getExpireDate()),
+                config.getCacheMemorySize() * 1024L * 1024L);
+        cachePrewarm = config.getCachePrewarm();
+        // phrases that are not cached yet are synthesized once a voice is used
+        cache.prewarm(cachePrewarm);
     }
 
     /**
-     * Fetch the specified text as an audio file.
-     * The audio file will be obtained from the cached folder if it
+     * Fetch the specified text as audio data.
+     * The audio will be obtained from the cache if it
      * exist or generated by use to the external voice service.
-     * The cached file txt description time stamp will be updated
-     * to identify last use.
      */
-    public File getTextToSpeechAsFile(String text, String label, String audioFormat) throws IOException {
-        String fileNameInCache = getUniqueFilenameForText(text, label);
-        // check if in cache
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + audioFormat.toLowerCase());
-        if (audioFileInCache.exists()) {
-            // update use date
-            updateTimeStamp(audioFileInCache);
-            updateTimeStamp(new File(cacheFolder, fileNameInCache + ".txt"));
-            purgeAgedFiles();
-            return audioFileInCache;
+    public byte[] getTextToSpeechAsBytes(String text, String label, String audioFormat) throws IOException {
+        if (prewarmedVoices.add(label + "." + audioFormat)) {
+            cache.prewarm(cachePrewarm, phrase -> createCacheRequest(phrase, label, audioFormat));
         }
+        TTSAudioCache.Request request = createCacheRequest(text, label, audioFormat);
+        return cache.get(request.getKey(), request.getText(), request.getLoader());
+    }
 
-        // if not in cache, get audio data and put to cache
-        try (InputStream is = getTextToSpeech(text, label, audioFormat);
-                FileOutputStream fos = new FileOutputStream(audioFileInCache)) {
-            copyStream(is, fos);
-            // write text to file for transparency too
-            // this allows to know which contents is in which audio file
-            File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
-            writeText(txtFileInCache, text);
-            // return from cache
-            return audioFileInCache;
-        } catch (IOException ex) {
-            logger.warn("Could not write {} to cache, return null", audioFileInCache, ex);
-            return null;
-        }
+    private TTSAudioCache.Request createCacheRequest(String text, String label, String audioFormat) {
+        String fileNameInCache = getUniqueFilenameForText(text, label) + "." + audioFormat.toLowerCase();
+        return new TTSAudioCache.Request(fileNameInCache, text, () -> {
+            try (InputStream is = getTextToSpeech(text, label, audioFormat);
+                    ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                copyStream(is, os);
+                return os.toByteArray();
+            }
+        });
     }
 
     /**
@@ -122,41 +124,4 @@ public class CachedPollyTTSCloudImpl extends PollyTTSCloudImpl {
             read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
         }
     }
-
-    private void writeText(File file, String text) throws IOException {
-        try (OutputStream outputStream = new FileOutputStream(file)) {
-            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
-        }
-    }
-
-    private void updateTimeStamp(File file) throws IOException {
-        // update use date for cache management
-        file.setLastModified(System.currentTimeMillis());
-    }
-
-    private void purgeAgedFiles() throws IOException {
-        // just exit if expiration set to 0/disabled
-        if (config.getExpireDate() == 0) {
-            return;
-        }
-        long now = new Date().getTime();
-        long diff = now - config.getLastDelete();
-        // only execute ~ once every 2 days if cache called
-        long oneDayMillis = TimeUnit.DAYS.toMillis(1);
-        logger.debug("PollyTTS cache cleaner lastdelete {}", diff);
-        if (diff > (2 * oneDayMillis)) {
-            config.setLastDelete(now);
-            long xDaysAgo = config.getExpireDate() * oneDayMillis;
-            // Now search folders and delete old files
-            int filesDeleted = 0;
-            for (File file : cacheFolder.listFiles()) {
-                diff = now - file.lastModified();
-                if (diff > xDaysAgo) {
-                    filesDeleted++;
-                    file.delete();
-                }
-            }
-            logger.debug("PollyTTS cache cleaner deleted '{}' aged files", filesDeleted);
-        }
-    }
 }
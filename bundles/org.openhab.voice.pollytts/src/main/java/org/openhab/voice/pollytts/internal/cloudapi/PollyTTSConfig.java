@@ -12,6 +12,9 @@
  */
 package org.openhab.voice.pollytts.internal.cloudapi;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,13 +32,18 @@ public class PollyTTSConfig {
     private static final String SERVICE_REGION = "serviceRegion";
     private static final String AUDIO_FORMAT = "audioFormat";
     private static final String CACHE_EXPIRATION = "cacheExpiration";
+    private static final String CACHE_SIZE = "cacheSize";
+    private static final String CACHE_MEMORY_SIZE = "cacheMemorySize";
+    private static final String CACHE_PREWARM = "cachePrewarm";
 
     private String accessKey = "";
     private String secretKey = "";
     private String serviceRegion = "eu-west-1";
     private int expireDate = 0;
     private String audioFormat = "default";
-    private long lastDelete;
+    private int cacheSize = 100;
+    private int cacheMemorySize = 4;
+    private List<String> cachePrewarm = Collections.emptyList();
 
     public PollyTTSConfig(Map<String, Object> config) {
         assertValidConfig(config);
@@ -46,6 +54,18 @@ public class PollyTTSConfig {
         audioFormat = config.getOrDefault(AUDIO_FORMAT, audioFormat).toString();
         expireDate = (int) Double
                 .parseDouble(config.getOrDefault(CACHE_EXPIRATION, Double.toString(expireDate)).toString());
+        cacheSize = (int) Double.parseDouble(config.getOrDefault(CACHE_SIZE, Double.toString(cacheSize)).toString());
+        cacheMemorySize = (int) Double
+                .parseDouble(config.getOrDefault(CACHE_MEMORY_SIZE, Double.toString(cacheMemorySize)).toString());
+        Object prewarm = config.get(CACHE_PREWARM);
+        if (prewarm instanceof Collection) {
+            cachePrewarm = new ArrayList<>();
+            for (Object phrase : (Collection<?>) prewarm) {
+                cachePrewarm.add(phrase.toString().trim());
+            }
+        } else if (prewarm != null && !prewarm.toString().trim().isEmpty()) {
+            cachePrewarm = Collections.singletonList(prewarm.toString().trim());
+        }
     }
 
     private void assertValidConfig(Map<String, Object> config) {
@@ -86,17 +106,24 @@ public class PollyTTSConfig {
     }
 
     /**
-     * get the date when cache was cleaned last
+     * get the maximum size of the cache folder in MB
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * get the maximum size of the audio kept in memory in MB
      */
-    public long getLastDelete() {
-        return lastDelete;
+    public int getCacheMemorySize() {
+        return cacheMemorySize;
     }
 
     /**
-     * set the date when cache was cleaned last
+     * get the phrases that are loaded into memory at startup
      */
-    public void setLastDelete(long lastDelete) {
-        this.lastDelete = lastDelete;
+    public List<String> getCachePrewarm() {
+        return cachePrewarm;
     }
 
     @Override
@@ -104,7 +131,9 @@ public class PollyTTSConfig {
         StringBuilder builder = new StringBuilder();
         builder.append("PollyTTSConfig [accessKey=").append(accessKey).append(", secretKey=").append(secretKey)
                 .append(", serviceRegion=").append(serviceRegion).append(", expireDate=").append(expireDate)
-                .append(", audioFormat=").append(audioFormat).append(", lastDelete=").append(lastDelete).append("]");
+                .append(", audioFormat=").append(audioFormat).append(", cacheSize=").append(cacheSize)
+                .append(", cacheMemorySize=").append(cacheMemorySize).append(", cachePrewarm=").append(cachePrewarm)
+                .append("]");
         return builder.toString();
     }
 }
@@ -0,0 +1,528 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.pollytts.internal.cloudapi;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the audio data retrieved from a cloud TTS service in two tiers:
+ * <ul>
+ * <li>All audio files are kept in the cache folder, together with a .txt file that tells which text is in the audio
+ * file. The folder is bounded by size and by the age of the last use, the least recently used files are deleted
+ * first.</li>
+ * <li>Frequently used audio (requested at least twice, or configured to be pre-warmed) is additionally kept in memory,
+ * bounded by size, so repeated announcements are not read from disk again.</li>
+ * </ul>
+ * The cache counts memory hits, disk hits and misses together with the time they take and logs them at debug level.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class TTSAudioCache {
+
+    /**
+     * Loads the audio data of a cache miss from the cloud service.
+     */
+    @FunctionalInterface
+    public interface AudioLoader {
+        /**
+         * @return the audio data or null if the service did not return any
+         */
+        byte[] load() throws IOException;
+    }
+
+    /**
+     * Resolves a configured phrase to the cache entry of a voice and audio format, see
+     * {@link TTSAudioCache#prewarm(Collection, PhraseResolver)}.
+     */
+    @FunctionalInterface
+    public interface PhraseResolver {
+        Request resolve(String phrase);
+    }
+
+    /**
+     * A cache entry together with the loader of its audio.
+     */
+    public static class Request {
+        private final String key;
+        private final String text;
+        private final AudioLoader loader;
+
+        /**
+         * @param key file name of the entry, including the extension
+         * @param text content of the .txt file written next to a new audio file, starting with the synthesized text
+         * @param loader loads the audio from the service in case of a cache miss
+         */
+        public Request(String key, String text, AudioLoader loader) {
+            this.key = key;
+            this.text = text;
+            this.loader = loader;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public AudioLoader getLoader() {
+            return loader;
+        }
+    }
+
+    private static final String TEXT_EXTENSION = ".txt";
+
+    /** Number of uses after which audio is kept in memory */
+    private static final int MEMORY_USES = 2;
+
+    /** Number of requests after which the statistics are logged */
+    private static final int STATISTICS_INTERVAL = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(TTSAudioCache.class);
+
+    private final String name;
+    private final File cacheFolder;
+
+    /** Maximum size of the cache folder in bytes, 0 for no limit */
+    private long maxDiskSize;
+
+    /** Maximum time since the last use of a file in milliseconds, 0 for no limit */
+    private long maxAge;
+
+    /** Maximum size of the memory tier in bytes, 0 to disable it */
+    private long maxMemorySize;
+
+    /** The audio files in the cache folder, least recently used first */
+    private final LinkedHashMap<String, DiskEntry> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize;
+
+    /** The audio data kept in memory, least recently used first */
+    private final LinkedHashMap<String, DiskEntry> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong diskTime = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong missTime = new AtomicLong();
+
+    /**
+     * Creates the cache and indexes the audio files that already are in the cache folder.
+     *
+     * @param name name of the service, used for logging
+     * @param cacheFolder folder of the audio files, created if it does not exist
+     */
+    public TTSAudioCache(String name, File cacheFolder) {
+        this.name = name;
+        this.cacheFolder = cacheFolder;
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        File[] files = cacheFolder.listFiles((dir, fileName) -> !fileName.endsWith(TEXT_EXTENSION));
+        if (files != null) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (File file : files) {
+                if (file.isFile()) {
+                    DiskEntry entry = new DiskEntry(file, file.length(), file.lastModified());
+                    diskEntries.put(file.getName(), entry);
+                    diskSize += entry.size;
+                }
+            }
+        }
+        logger.debug("{} cache contains {} audio files ({} KB)", name, diskEntries.size(), diskSize / 1024);
+    }
+
+    /**
+     * Sets the bounds of the cache and removes the entries that exceed them.
+     *
+     * @param maxDiskSize maximum size of the cache folder in bytes, 0 for no limit
+     * @param maxAge maximum time since the last use of an audio file in milliseconds, 0 for no limit
+     * @param maxMemorySize maximum size of the audio kept in memory in bytes, 0 to disable the memory tier
+     */
+    public synchronized void configure(long maxDiskSize, long maxAge, long maxMemorySize) {
+        this.maxDiskSize = Math.max(0, maxDiskSize);
+        this.maxAge = Math.max(0, maxAge);
+        this.maxMemorySize = Math.max(0, maxMemorySize);
+        evictDisk(null);
+        evictMemory();
+    }
+
+    /**
+     * Returns the file of a cache entry. The file exists once the entry has been requested with
+     * {@link #get(String, String, AudioLoader)}, unless it has been evicted since.
+     *
+     * @param key file name of the entry, including the extension
+     * @return the file of the entry
+     */
+    public File getFile(String key) {
+        return new File(cacheFolder, key);
+    }
+
+    /**
+     * Returns the audio of a cache entry, loading it from the service if it is not cached.
+     *
+     * @param key file name of the entry, including the extension
+     * @param text content of the .txt file written next to a new audio file, starting with the synthesized text
+     * @param loader loads the audio from the service in case of a cache miss
+     * @return the audio data or null if the service did not return any
+     * @throws IOException if the service could not be reached or the audio could not be stored
+     */
+    public byte[] get(String key, String text, AudioLoader loader) throws IOException {
+        long start = System.nanoTime();
+        try {
+            DiskEntry entry;
+            byte[] audio = null;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                entry = diskEntries.get(key);
+                if (entry != null && isExpired(entry, now)) {
+                    remove(key);
+                    entry = null;
+                } else if (entry != null) {
+                    // the file is only touched on a disk hit or when the audio leaves the memory
+                    if (memoryEntries.get(key) != null) {
+                        audio = entry.audio;
+                        memoryHits.incrementAndGet();
+                        entry.used(now);
+                    }
+                }
+            }
+            if (audio != null) {
+                return audio;
+            }
+
+            if (entry != null) {
+                audio = read(key, entry);
+                if (audio != null) {
+                    diskHits.incrementAndGet();
+                    diskTime.addAndGet(System.nanoTime() - start);
+                    return audio;
+                }
+            }
+
+            audio = loader.load();
+            misses.incrementAndGet();
+            missTime.addAndGet(System.nanoTime() - start);
+            if (audio != null) {
+                write(key, text, audio);
+            }
+            return audio;
+        } finally {
+            if (requests.incrementAndGet() % STATISTICS_INTERVAL == 0) {
+                logStatistics();
+            }
+        }
+    }
+
+    /**
+     * Loads the audio of all cached entries of the given phrases into memory, for any voice and audio format. The phrases are matched against the
+     * first line of the .txt file of the entries. This runs in the background.
+     *
+     * @param phrases the phrases to keep in memory
+     */
+    public void prewarm(Collection<String> phrases) {
+        if (phrases.isEmpty()) {
+            return;
+        }
+        ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(() -> {
+            List<DiskEntry> entries;
+            synchronized (this) {
+                entries = new ArrayList<>(diskEntries.values());
+            }
+            int loaded = 0;
+            for (DiskEntry entry : entries) {
+                String key = entry.file.getName();
+                File textFile = getTextFile(key);
+                try {
+                    if (textFile.exists() && phrases.contains(readFirstLine(textFile))) {
+                        byte[] audio = Files.readAllBytes(entry.file.toPath());
+                        synchronized (this) {
+                            if (diskEntries.containsKey(key)) {
+                                putInMemory(key, entry, audio);
+                            }
+                        }
+                        loaded++;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Could not pre-warm {} cache entry {}: {}", name, key, e.getMessage());
+                }
+            }
+            logger.debug("Pre-warmed {} cached audio files of {} phrases for {}", loaded, phrases.size(), name);
+        });
+    }
+
+    /**
+     * Keeps the audio of the given phrases in memory, synthesizing the phrases that are not cached yet. This runs in
+     * the background.
+     *
+     * @param phrases the phrases to keep in memory
+     * @param resolver resolves a phrase to the cache entry of the voice and audio format to pre-warm
+     */
+    public void prewarm(Collection<String> phrases, PhraseResolver resolver) {
+        if (phrases.isEmpty()) {
+            return;
+        }
+        ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(() -> {
+            int synthesized = 0;
+            for (String phrase : phrases) {
+                Request request = resolver.resolve(phrase);
+                try {
+                    DiskEntry entry;
+                    synchronized (this) {
+                        entry = diskEntries.get(request.key);
+                        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+                            remove(request.key);
+                            entry = null;
+                        }
+                    }
+                    byte[] audio;
+                    if (entry != null) {
+                        audio = Files.readAllBytes(entry.file.toPath());
+                    } else {
+                        audio = request.loader.load();
+                        if (audio == null) {
+                            continue;
+                        }
+                        write(request.key, request.text, audio);
+                        synthesized++;
+                    }
+                    synchronized (this) {
+                        DiskEntry current = diskEntries.get(request.key);
+                        if (current != null) {
+                            putInMemory(request.key, current, audio);
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.debug("Could not pre-warm {} phrase '{}': {}", name, phrase, e.getMessage());
+                }
+            }
+            logger.debug("Pre-warmed {} phrases for {}, {} of them synthesized", phrases.size(), name, synthesized);
+        });
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public synchronized void purge() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            Arrays.stream(files).forEach(File::delete);
+        }
+        diskEntries.clear();
+        diskSize = 0;
+        memoryEntries.clear();
+        memorySize = 0;
+        logger.debug("{} cache purged", name);
+    }
+
+    /**
+     * Logs the hit rates and timings of the cache.
+     */
+    public void logStatistics() {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        long memory = memoryHits.get();
+        long disk = diskHits.get();
+        long miss = misses.get();
+        long total = Math.max(1, memory + disk + miss);
+        int diskEntryCount;
+        int memoryEntryCount;
+        long currentDiskSize;
+        long currentMemorySize;
+        synchronized (this) {
+            diskEntryCount = diskEntries.size();
+            memoryEntryCount = memoryEntries.size();
+            currentDiskSize = diskSize;
+            currentMemorySize = memorySize;
+        }
+        logger.debug(
+                "{} cache: {}% memory hits, {}% disk hits (average {} ms), {}% misses (average {} ms); "
+                        + "{} files ({} KB) on disk, {} in memory ({} KB)",
+                name, memory * 100 / total, disk * 100 / total,
+                disk == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(diskTime.get() / disk), miss * 100 / total,
+                miss == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(missTime.get() / miss), diskEntryCount,
+                currentDiskSize / 1024, memoryEntryCount, currentMemorySize / 1024);
+    }
+
+    private byte[] read(String key, DiskEntry entry) {
+        try {
+            byte[] audio = Files.readAllBytes(entry.file.toPath());
+            long now = System.currentTimeMillis();
+            entry.file.setLastModified(now);
+            synchronized (this) {
+                entry.used(now);
+                if (entry.uses >= MEMORY_USES) {
+                    putInMemory(key, entry, audio);
+                }
+            }
+            return audio;
+        } catch (IOException e) {
+            logger.debug("Could not read {} cache entry {}, loading it again: {}", name, key, e.getMessage());
+            synchronized (this) {
+                remove(key);
+            }
+            return null;
+        }
+    }
+
+    private void write(String key, String text, byte[] audio) throws IOException {
+        File audioFile = getFile(key);
+        try (OutputStream outputStream = new FileOutputStream(audioFile)) {
+            outputStream.write(audio);
+        }
+        // write text to file for transparency too
+        // this allows to know which contents is in which audio file
+        try (OutputStream outputStream = new FileOutputStream(getTextFile(key))) {
+            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        synchronized (this) {
+            DiskEntry old = diskEntries.put(key, new DiskEntry(audioFile, audio.length, System.currentTimeMillis()));
+            if (old != null) {
+                diskSize -= old.size;
+                removeFromMemory(key);
+            }
+            diskSize += audio.length;
+            evictDisk(key);
+        }
+    }
+
+    private void putInMemory(String key, DiskEntry entry, byte[] audio) {
+        if (audio.length > maxMemorySize) {
+            return;
+        }
+        removeFromMemory(key);
+        entry.audio = audio;
+        memoryEntries.put(key, entry);
+        memorySize += audio.length;
+        evictMemory();
+    }
+
+    private void removeFromMemory(String key) {
+        DiskEntry entry = memoryEntries.remove(key);
+        if (entry != null && entry.audio != null) {
+            memorySize -= entry.audio.length;
+            entry.audio = null;
+        }
+    }
+
+    /**
+     * Removes the least recently used files until the cache folder is within its bounds.
+     *
+     * @param keep key of an entry that is not removed, as it is just being returned
+     */
+    private void evictDisk(String keep) {
+        long expired = maxAge > 0 ? System.currentTimeMillis() - maxAge : Long.MIN_VALUE;
+        int removed = 0;
+        Iterator<Map.Entry<String, DiskEntry>> iterator = diskEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, DiskEntry> eldest = iterator.next();
+            boolean tooLarge = maxDiskSize > 0 && diskSize > maxDiskSize;
+            if (!tooLarge && eldest.getValue().lastUsed >= expired) {
+                break;
+            }
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            delete(eldest.getKey(), eldest.getValue());
+            removed++;
+        }
+        if (removed > 0) {
+            logger.debug("Removed {} audio files from the {} cache", removed, name);
+        }
+    }
+
+    private void evictMemory() {
+        Iterator<DiskEntry> iterator = memoryEntries.values().iterator();
+        while (memorySize > maxMemorySize && iterator.hasNext()) {
+            DiskEntry eldest = iterator.next();
+            iterator.remove();
+            memorySize -= eldest.audio.length;
+            eldest.audio = null;
+            // keep the age of the file up to date, it is evaluated again after a restart
+            eldest.file.setLastModified(eldest.lastUsed);
+        }
+    }
+
+    private void remove(String key) {
+        DiskEntry entry = diskEntries.remove(key);
+        if (entry != null) {
+            delete(key, entry);
+        }
+    }
+
+    private void delete(String key, DiskEntry entry) {
+        diskSize -= entry.size;
+        entry.file.delete();
+        getTextFile(key).delete();
+        removeFromMemory(key);
+    }
+
+    private boolean isExpired(DiskEntry entry, long now) {
+        return maxAge > 0 && entry.lastUsed < now - maxAge;
+    }
+
+    private File getTextFile(String key) {
+        int extension = key.lastIndexOf('.');
+        return new File(cacheFolder, (extension < 0 ? key : key.substring(0, extension)) + TEXT_EXTENSION);
+    }
+
+    private static String readFirstLine(File file) throws IOException {
+        String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        int end = text.indexOf('\n');
+        return (end < 0 ? text : text.substring(0, end)).trim();
+    }
+
+    private static class DiskEntry {
+        private final File file;
+        private final long size;
+        private long lastUsed;
+        private int uses;
+
+        /** The audio data while the entry is kept in memory */
+        private byte[] audio;
+
+        private DiskEntry(File file, long size, long lastUsed) {
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+
+        private void used(long time) {
+            lastUsed = time;
+            uses++;
+        }
+    }
+}
@@ -14,17 +14,21 @@ package org.openhab.voice.voicerss.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
@@ -54,6 +58,16 @@ public class VoiceRSSTTSService implements TTSService {
     private static final String CONFIG_API_KEY = "apiKey";
     private String apiKey;
 
+    // Cache bounds come from ConfigAdmin
+    private static final String CONFIG_CACHE_SIZE = "cacheSize";
+    private static final String CONFIG_CACHE_EXPIRATION = "cacheExpiration";
+    private static final String CONFIG_CACHE_MEMORY_SIZE = "cacheMemorySize";
+    private static final String CONFIG_CACHE_PREWARM = "cachePrewarm";
+    private int cacheSize = 100;
+    private int cacheExpiration = 0;
+    private int cacheMemorySize = 4;
+    private List<String> cachePrewarm = Collections.emptyList();
+
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
     /**
@@ -76,8 +90,8 @@ public class VoiceRSSTTSService implements TTSService {
      */
     protected void activate(Map<String, Object> config) {
         try {
-            modified(config);
             voiceRssImpl = initVoiceImplementation();
+            modified(config);
             voices = initVoices();
             audioFormats = initAudioFormats();
 
@@ -91,7 +105,29 @@ public class VoiceRSSTTSService implements TTSService {
     protected void modified(Map<String, Object> config) {
         if (config != null) {
             apiKey = config.containsKey(CONFIG_API_KEY) ? config.get(CONFIG_API_KEY).toString() : null;
+            cacheSize = getIntConfig(config, CONFIG_CACHE_SIZE, cacheSize);
+            cacheExpiration = getIntConfig(config, CONFIG_CACHE_EXPIRATION, cacheExpiration);
+            cacheMemorySize = getIntConfig(config, CONFIG_CACHE_MEMORY_SIZE, cacheMemorySize);
+            Object prewarm = config.get(CONFIG_CACHE_PREWARM);
+            cachePrewarm = new ArrayList<>();
+            if (prewarm instanceof Collection) {
+                for (Object phrase : (Collection<?>) prewarm) {
+                    cachePrewarm.add(phrase.toString().trim());
+                }
+            } else if (prewarm != null && !prewarm.toString().trim().isEmpty()) {
+                cachePrewarm.add(prewarm.toString().trim());
+            }
         }
+        if (voiceRssImpl != null) {
+            voiceRssImpl.getCache().configure(cacheSize * 1024L * 1024L, TimeUnit.DAYS.toMillis(cacheExpiration),
+                    cacheMemorySize * 1024L * 1024L);
+            voiceRssImpl.setCachePrewarm(cachePrewarm);
+        }
+    }
+
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        return value != null ? (int) Double.parseDouble(value.toString()) : defaultValue;
     }
 
     @Override
@@ -137,14 +173,12 @@ public class VoiceRSSTTSService implements TTSService {
         // now create the input stream for given text, locale, format. There is
         // only a default voice
         try {
-            File cacheAudioFile = voiceRssImpl.getTextToSpeechAsFile(apiKey, trimmedText,
+            byte[] audio = voiceRssImpl.getTextToSpeechAsBytes(apiKey, trimmedText,
                     voice.getLocale().toLanguageTag(), getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
+            if (audio == null) {
                 throw new TTSException("Could not read from VoiceRSS service");
             }
-            return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
-        } catch (AudioException ex) {
-            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
+            return new ByteArrayAudioStream(audio, requestedFormat);
         } catch (IOException ex) {
             throw new TTSException("Could not read from VoiceRSS service: " + ex.getMessage(), ex);
         }
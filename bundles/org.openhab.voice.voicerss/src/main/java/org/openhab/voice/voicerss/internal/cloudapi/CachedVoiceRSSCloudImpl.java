@@ -12,9 +12,8 @@
  */
 package org.openhab.voice.voicerss.internal.cloudapi;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -22,6 +21,10 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,7 +32,8 @@ import org.slf4j.LoggerFactory;
 /**
  * This class implements a cache for the retrieved audio data. It will preserve
  * them in file system, as audio files with an additional .txt file to indicate
- * what content is in the audio file.
+ * what content is in the audio file. Frequently used audio is also kept in
+ * memory, see {@link TTSAudioCache}.
  *
  * @author Jochen Hiller - Initial contribution
  */
@@ -37,7 +41,12 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
 
     private final Logger logger = LoggerFactory.getLogger(CachedVoiceRSSCloudImpl.class);
 
-    private final File cacheFolder;
+    private final TTSAudioCache cache;
+
+    private volatile List<String> cachePrewarm = Collections.emptyList();
+
+    /** Voices and audio formats for which the configured phrases have been pre-warmed */
+    private final Set<String> prewarmedVoices = ConcurrentHashMap.newKeySet();
 
     /**
      * Stream buffer size
@@ -49,38 +58,50 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
             throw new IllegalStateException("Folder for cache must be defined");
         }
         // Lazy create the cache folder
-        cacheFolder = new File(cacheFolderName);
-        if (!cacheFolder.exists()) {
-            cacheFolder.mkdirs();
-        }
+        cache = new TTSAudioCache("VoiceRSS", new File(cacheFolderName));
     }
 
-    public File getTextToSpeechAsFile(String apiKey, String text, String locale, String audioFormat)
+    /**
+     * Returns the cache of the audio data, e.g. to configure its bounds.
+     */
+    public TTSAudioCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the phrases to keep in memory. Cached phrases are loaded right away, the others are synthesized once a
+     * voice is used.
+     */
+    public void setCachePrewarm(List<String> cachePrewarm) {
+        this.cachePrewarm = cachePrewarm;
+        prewarmedVoices.clear();
+        cache.prewarm(cachePrewarm);
+    }
+
+    public byte[] getTextToSpeechAsBytes(String apiKey, String text, String locale, String audioFormat)
             throws IOException {
-        String fileNameInCache = getUniqueFilenameForText(text, locale);
-        // check if in cache
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + audioFormat.toLowerCase());
-        if (audioFileInCache.exists()) {
-            return audioFileInCache;
+        if (prewarmedVoices.add(locale + "." + audioFormat)) {
+            cache.prewarm(cachePrewarm, phrase -> createCacheRequest(apiKey, phrase, locale, audioFormat));
         }
+        TTSAudioCache.Request request = createCacheRequest(apiKey, text, locale, audioFormat);
+        return cache.get(request.getKey(), request.getText(), request.getLoader());
+    }
 
-        // if not in cache, get audio data and put to cache
-        try (InputStream is = super.getTextToSpeech(apiKey, text, locale, audioFormat);
-                FileOutputStream fos = new FileOutputStream(audioFileInCache)) {
-            copyStream(is, fos);
-            // write text to file for transparency too
-            // this allows to know which contents is in which audio file
-            File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
-            writeText(txtFileInCache, text);
-            // return from cache
-            return audioFileInCache;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
-        } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
-            return null;
-        }
+    private TTSAudioCache.Request createCacheRequest(String apiKey, String text, String locale, String audioFormat) {
+        String fileNameInCache = getUniqueFilenameForText(text, locale) + "." + audioFormat.toLowerCase();
+        return new TTSAudioCache.Request(fileNameInCache, text, () -> {
+            try (InputStream is = super.getTextToSpeech(apiKey, text, locale, audioFormat);
+                    ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                copyStream(is, os);
+                return os.toByteArray();
+            }
+        });
+    }
+
+    public File getTextToSpeechAsFile(String apiKey, String text, String locale, String audioFormat)
+            throws IOException {
+        getTextToSpeechAsBytes(apiKey, text, locale, audioFormat);
+        return cache.getFile(getUniqueFilenameForText(text, locale) + "." + audioFormat.toLowerCase());
     }
 
     /**
@@ -119,10 +140,4 @@ public class CachedVoiceRSSCloudImpl extends VoiceRSSCloudImpl {
             read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
         }
     }
-
-    private void writeText(File file, String text) throws IOException {
-        try (OutputStream outputStream = new FileOutputStream(file)) {
-            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
-        }
-    }
 }
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants.HOMIE300_MQTT_THING;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
+import org.eclipse.smarthome.io.transport.mqtt.MqttService;
+import org.eclipse.smarthome.test.java.JavaOSGiTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openhab.binding.mqtt.homie.internal.homie300.Device;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceCallback;
+import org.openhab.binding.mqtt.homie.internal.homie300.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the startup time of a Homie device with one subscription per attribute and with a single wildcard
+ * subscription. A synthetic retained device tree is served by the embedded MQTT broker.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class HomieStartupBenchmarkTest extends JavaOSGiTest {
+    private final Logger logger = LoggerFactory.getLogger(HomieStartupBenchmarkTest.class);
+
+    private static final String BASE_TOPIC = "homie";
+    private static final ThingUID THING_UID = new ThingUID(HOMIE300_MQTT_THING, "benchmark");
+    private static final String DEVICE_TOPIC = BASE_TOPIC + "/" + THING_UID.getId();
+    private static final int NODES = 4;
+    private static final int PROPERTIES_PER_NODE = 20;
+
+    private MqttBrokerConnection embeddedConnection;
+    private MqttBrokerConnection connection;
+    private ScheduledExecutorService scheduler;
+
+    // The handler is not tested here, so just mock the callback
+    @Mock
+    DeviceCallback callback;
+
+    @Before
+    public void setUp() throws InterruptedException, ExecutionException, TimeoutException {
+        registerVolatileStorageService();
+        initMocks(this);
+        MqttService mqttService = getService(MqttService.class);
+
+        embeddedConnection = new EmbeddedBrokerTools().waitForConnection(mqttService);
+        embeddedConnection.setQos(1);
+        embeddedConnection.setRetain(true);
+
+        connection = new MqttBrokerConnection(embeddedConnection.getHost(), embeddedConnection.getPort(),
+                embeddedConnection.isSecure(), "homiebenchmark");
+        connection.setQos(1);
+        connection.setPersistencePath(Paths.get("benchmarkconn"));
+        connection.start().get(500, TimeUnit.MILLISECONDS);
+        assertThat(connection.connectionState(), is(MqttConnectionState.CONNECTED));
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        List<String> nodeIDs = IntStream.range(0, NODES).mapToObj(i -> "node" + i).collect(Collectors.toList());
+        futures.add(embeddedConnection.publish(DEVICE_TOPIC + "/$homie", "3.0".getBytes()));
+        futures.add(embeddedConnection.publish(DEVICE_TOPIC + "/$name", "Benchmark".getBytes()));
+        futures.add(embeddedConnection.publish(DEVICE_TOPIC + "/$state", "ready".getBytes()));
+        futures.add(embeddedConnection.publish(DEVICE_TOPIC + "/$nodes", String.join(",", nodeIDs).getBytes()));
+
+        for (String nodeID : nodeIDs) {
+            final String nodeTopic = DEVICE_TOPIC + "/" + nodeID;
+            List<String> propertyIDs = IntStream.range(0, PROPERTIES_PER_NODE).mapToObj(i -> "property" + i)
+                    .collect(Collectors.toList());
+            futures.add(embeddedConnection.publish(nodeTopic + "/$name", nodeID.getBytes()));
+            futures.add(embeddedConnection.publish(nodeTopic + "/$type", "Type".getBytes()));
+            futures.add(
+                    embeddedConnection.publish(nodeTopic + "/$properties", String.join(",", propertyIDs).getBytes()));
+
+            for (String propertyID : propertyIDs) {
+                final String propertyTopic = nodeTopic + "/" + propertyID;
+                futures.add(embeddedConnection.publish(propertyTopic, "10".getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$name", propertyID.getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$settable", "false".getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$retained", "true".getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$unit", "W".getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$datatype", "integer".getBytes()));
+                futures.add(embeddedConnection.publish(propertyTopic + "/$format", "0:1000".getBytes()));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5000, TimeUnit.MILLISECONDS);
+
+        scheduler = new ScheduledThreadPoolExecutor(6);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException, ExecutionException, TimeoutException {
+        if (connection != null) {
+            connection.stop().get(500, TimeUnit.MILLISECONDS);
+        }
+        scheduler.shutdownNow();
+    }
+
+    private Device createDevice() {
+        Device device = new Device(THING_UID, callback, new DeviceAttributes());
+        device.initialize(BASE_TOPIC, THING_UID.getId(), Collections.emptyList());
+        return device;
+    }
+
+    private void assertDeviceTree(Device device) {
+        assertThat(device.isInitialized(), is(true));
+        assertThat(device.attributes.name, is("Benchmark"));
+        assertThat(device.nodes.size(), is(NODES));
+        for (Node node : device.nodes.stream().collect(Collectors.toList())) {
+            assertThat(node.properties.size(), is(PROPERTIES_PER_NODE));
+            node.properties.stream().forEach(property -> {
+                assertThat(property.attributes.unit, is("W"));
+                assertNotNull(property.getChannelState());
+            });
+        }
+    }
+
+    @Test
+    public void compareStartupTime() throws InterruptedException, ExecutionException, TimeoutException {
+        Device perAttributeDevice = createDevice();
+        long start = System.nanoTime();
+        perAttributeDevice.subscribe(connection, scheduler, 500).get(60, TimeUnit.SECONDS);
+        long perAttributeTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertDeviceTree(perAttributeDevice);
+        perAttributeDevice.stop().get(5000, TimeUnit.MILLISECONDS);
+
+        Device wildcardDevice = createDevice();
+        start = System.nanoTime();
+        wildcardDevice.subscribeTree(connection, scheduler, 5000).get(60, TimeUnit.SECONDS);
+        long wildcardTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // Attributes that arrive after the tree became consistent are applied to the existing properties
+        waitForAssert(() -> assertDeviceTree(wildcardDevice));
+        wildcardDevice.stop().get(5000, TimeUnit.MILLISECONDS);
+        assertThat(connection.hasSubscribers(), is(false));
+
+        logger.info("Homie device with {} nodes and {} properties: {} ms with a subscription per attribute, "
+                + "{} ms with a single wildcard subscription", NODES, NODES * PROPERTIES_PER_NODE, perAttributeTime,
+                wildcardTime);
+    }
+}
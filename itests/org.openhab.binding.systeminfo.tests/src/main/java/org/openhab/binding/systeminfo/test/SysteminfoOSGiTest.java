@@ -61,6 +61,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants;
 import org.openhab.binding.systeminfo.internal.SysteminfoHandlerFactory;
 import org.openhab.binding.systeminfo.internal.discovery.SysteminfoDiscoveryService;
@@ -1013,6 +1014,58 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedProcessLoad);
     }
 
+    @Test
+    public void assertChannelJvmHeapUsedIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_HEAP_USED;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedHeapUsedValue = new DecimalType(256);
+        when(mockedSystemInfo.getJvmHeapUsed()).thenReturn(mockedHeapUsedValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedHeapUsedValue);
+    }
+
+    @Test
+    public void assertChannelJvmGcTimeIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_GC_TIME;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedGcTimeValue = new DecimalType(1200);
+        when(mockedSystemInfo.getJvmGcTime()).thenReturn(mockedGcTimeValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedGcTimeValue);
+    }
+
+    @Test
+    public void assertChannelJvmOpenFilesIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_JVM_OPEN_FILES;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedOpenFilesValue = new DecimalType(420);
+        when(mockedSystemInfo.getJvmOpenFiles()).thenReturn(mockedOpenFilesValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedOpenFilesValue);
+    }
+
+    @Test
+    public void assertSampleIsStartedBeforeChannelsAreUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_CPU_THREADS;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedCpuThreadsValue = new DecimalType(16);
+        when(mockedSystemInfo.getCpuThreads()).thenReturn(mockedCpuThreadsValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedCpuThreadsValue);
+
+        InOrder inOrder = inOrder(mockedSystemInfo);
+        inOrder.verify(mockedSystemInfo, atLeastOnce()).startSample();
+        inOrder.verify(mockedSystemInfo, atLeastOnce()).getCpuThreads();
+    }
+
     @Test
     public void testThingHandlesChannelPriorityChange() {
         String priorityKey = "priority";
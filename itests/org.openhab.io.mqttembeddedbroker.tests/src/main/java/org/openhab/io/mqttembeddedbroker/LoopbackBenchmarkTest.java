@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.eclipse.smarthome.io.transport.mqtt.MqttService;
+import org.eclipse.smarthome.test.java.JavaOSGiTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.mqttembeddedbroker.internal.EmbeddedBrokerService;
+import org.openhab.io.mqttembeddedbroker.internal.EmbeddedLoopbackConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the message throughput between openHAB subscribers and publishers of a TCP connection to the embedded
+ * broker and of an in-process loopback connection.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class LoopbackBenchmarkTest extends JavaOSGiTest {
+    private final Logger logger = LoggerFactory.getLogger(LoopbackBenchmarkTest.class);
+
+    private static final int MESSAGES = 5000;
+    private static final String TEST_TOPIC = "benchmark";
+
+    private MqttBrokerConnection tcpConnection;
+    private EmbeddedLoopbackConnection loopbackConnection;
+
+    @Before
+    public void setUp() throws InterruptedException, ExecutionException, TimeoutException {
+        registerVolatileStorageService();
+        MqttService mqttService = getService(MqttService.class);
+        MqttBrokerConnection embeddedConnection = new EmbeddedBrokerTools().waitForConnection(mqttService);
+        EmbeddedBrokerService brokerService = getService(EmbeddedBrokerService.class);
+        assertNotNull(brokerService.getServer());
+
+        tcpConnection = new MqttBrokerConnection(embeddedConnection.getHost(), embeddedConnection.getPort(),
+                embeddedConnection.isSecure(), "benchmark-tcp");
+        tcpConnection.start().get(1000, TimeUnit.MILLISECONDS);
+        assertThat(tcpConnection.connectionState(), is(MqttConnectionState.CONNECTED));
+
+        loopbackConnection = new EmbeddedLoopbackConnection(brokerService::getServer, embeddedConnection.getPort(),
+                embeddedConnection.isSecure(), "benchmark-loopback");
+        loopbackConnection.start().get(10, TimeUnit.SECONDS);
+        assertThat(loopbackConnection.connectionState(), is(MqttConnectionState.CONNECTED));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException, ExecutionException, TimeoutException {
+        if (tcpConnection != null) {
+            tcpConnection.stop().get(1000, TimeUnit.MILLISECONDS);
+        }
+        if (loopbackConnection != null) {
+            loopbackConnection.stop().get(1000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes messages with the given connection and waits until all of them have been received by a subscriber
+     * of the same connection.
+     *
+     * @return The number of messages per second
+     */
+    private long measure(MqttBrokerConnection connection, String id)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final String topic = TEST_TOPIC + "/" + id;
+        final CountDownLatch latch = new CountDownLatch(MESSAGES);
+        final MqttMessageSubscriber subscriber = (t, payload) -> latch.countDown();
+        connection.subscribe(topic + "/#", subscriber).get(1000, TimeUnit.MILLISECONDS);
+
+        final byte[] payload = "12.5".getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; ++i) {
+            connection.publish(topic + "/" + (i % 10), payload, 1, false);
+        }
+        assertTrue("Not all messages received", latch.await(60, TimeUnit.SECONDS));
+        long time = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        connection.unsubscribe(topic + "/#", subscriber).get(1000, TimeUnit.MILLISECONDS);
+        return MESSAGES * 1000L / time;
+    }
+
+    @Test
+    public void compareThroughput() throws InterruptedException, ExecutionException, TimeoutException {
+        long tcp = measure(tcpConnection, "tcp");
+        long loopback = measure(loopbackConnection, "loopback");
+        logger.info("{} messages from openHAB to openHAB: {} messages/s via TCP, {} messages/s via loopback",
+                MESSAGES, tcp, loopback);
+    }
+}